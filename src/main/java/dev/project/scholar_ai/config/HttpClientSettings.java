@@ -0,0 +1,32 @@
+package dev.project.scholar_ai.config;
+
+import java.time.Duration;
+import lombok.Data;
+
+/**
+ * Connection pool, timeouts and compression of the HTTP client for one
+ * outbound target, bound from {@code scholarai.http.clients.<target>}.
+ */
+@Data
+public class HttpClientSettings {
+
+    /** Time to establish a TCP connection */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /** Time to wait for response data, which bounds how long a caller's thread is held */
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /** Time to wait for a pooled connection before failing, rather than queueing behind a slow target */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /** Connections open at once, i.e. requests in flight to the target */
+    private int maxConnections = 50;
+
+    private int maxConnectionsPerRoute = 20;
+
+    /** Kept-alive connections unused for this long are closed */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Request bodies at least this large are sent gzipped; 0 never compresses (the target must decode it) */
+    private int compressRequestsOverBytes = 0;
+}
@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.Map;
 import javax.sql.DataSource;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
@@ -12,6 +13,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
@@ -24,6 +26,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  * - DataSource bean named "paperDataSource"
  * - LocalContainerEntityManagerFactoryBean named "paperEntityManagerFactory"
  * - JpaTransactionManager named "paperTransactionManager"
+ * - JdbcTemplate named "paperJdbcTemplate"
  *
  * Scans:
  * - Entities in dev.project.scholar_ai.model.paper
@@ -38,6 +41,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
         transactionManagerRef = "paperTransactionManager")
 public class PaperDataSourceConfig {
 
+    @Value("${scholarai.paper.ingest.jdbc-batch-size:50}")
+    private int jdbcBatchSize;
+
     /**
      * 1) Bind to spring.datasource.paper.* (URL, user, pass, driver, hikari)
      */
@@ -82,6 +88,11 @@ public class PaperDataSourceConfig {
         jpaPropertiesMap.put("hibernate.format_sql", true);
         jpaPropertiesMap.put("hibernate.use_sql_comments", true);
 
+        // Group inserts/updates per table into JDBC batches
+        jpaPropertiesMap.put("hibernate.jdbc.batch_size", jdbcBatchSize);
+        jpaPropertiesMap.put("hibernate.order_inserts", true);
+        jpaPropertiesMap.put("hibernate.order_updates", true);
+
         factory.setJpaPropertyMap(jpaPropertiesMap);
 
         return factory;
@@ -95,4 +106,13 @@ public class PaperDataSourceConfig {
             @Qualifier("paperEntityManagerFactory") EntityManagerFactory emf) {
         return new JpaTransactionManager(emf);
     }
+
+    /**
+     * 5) Plain JDBC access to paperDB for bulk writes
+     * — Joins transactions opened by "paperTransactionManager"
+     */
+    @Bean(name = "paperJdbcTemplate")
+    public JdbcTemplate paperJdbcTemplate(@Qualifier("paperDataSource") DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
 }
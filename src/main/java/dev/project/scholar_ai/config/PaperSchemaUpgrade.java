@@ -0,0 +1,57 @@
+package dev.project.scholar_ai.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the paper DB schema changes that {@code hibernate.hbm2ddl.auto=update}
+ * cannot make: it adds tables and columns but never relaxes a constraint or
+ * changes column storage.
+ *
+ * <p>Runs once the paper entity manager factory has updated the schema and
+ * before the context starts its listeners and web server, so no paper is
+ * written against the old schema. Every statement is idempotent. The same
+ * changes are in the db/migration scripts for databases migrated by hand.
+ */
+@Slf4j
+@Component
+public class PaperSchemaUpgrade implements InitializingBean {
+
+    private static final List<String> POSTGRES_STATEMENTS = List.of(
+            // full_text is no longer written; the text is stored once in paper_texts (V20261017_002)
+            "ALTER TABLE extracted_documents ALTER COLUMN full_text DROP NOT NULL",
+            // paper_texts.content is already deflate-compressed: store it uncompressed out of line, which
+            // also lets range reads fetch only the TOAST chunks they need (V20261017_002)
+            "ALTER TABLE paper_texts ALTER COLUMN content SET STORAGE EXTERNAL");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param entityManagerFactory Only injected so that the schema has been generated first
+     */
+    public PaperSchemaUpgrade(
+            @Qualifier("paperJdbcTemplate") JdbcTemplate jdbcTemplate,
+            @Qualifier("paperEntityManagerFactory") EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>)
+                connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.debug("Paper DB is {}, skipping PostgreSQL schema upgrade", database);
+            return;
+        }
+        for (String statement : POSTGRES_STATEMENTS) {
+            jdbcTemplate.execute(statement);
+        }
+        log.info("Applied {} paper DB schema upgrade statements", POSTGRES_STATEMENTS.size());
+    }
+}
@@ -0,0 +1,141 @@
+package dev.project.scholar_ai.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Pooled, keep-alive HTTP client for one outbound target, and the
+ * {@link RestTemplate} over it.
+ *
+ * <p>Every wait is bounded, so a slow target cannot take all request threads:
+ * at most {@code max-connections} requests are in flight to it, a caller
+ * beyond that fails after {@code connection-request-timeout}, and a request
+ * fails when no data arrives for {@code read-timeout}. Responses are accepted
+ * gzip- or deflate-compressed and decompressed transparently; request bodies
+ * of {@code compress-requests-over-bytes} or more are sent gzipped.
+ *
+ * <p>Metrics: the pool gauges {@code httpcomponents.httpclient.pool.*} tagged
+ * {@code httpclient=<target>}, and {@code scholarai.http.client.requests} by
+ * {@code target} and {@code outcome}.
+ */
+@Slf4j
+public class PooledHttpClient implements AutoCloseable {
+
+    private final String target;
+    private final HttpClientSettings settings;
+    private final MeterRegistry meterRegistry;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    public PooledHttpClient(String target, HttpClientSettings settings, MeterRegistry meterRegistry) {
+        this.target = target;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.getMaxConnections())
+                .setMaxConnPerRoute(settings.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(settings.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(settings.getReadTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(settings.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(settings.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(settings.getIdleTimeout()))
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, target).bindTo(meterRegistry);
+        log.info(
+                "HTTP client '{}': {} connections ({} per route), connect {} ms, read {} ms, pool wait {} ms",
+                target,
+                settings.getMaxConnections(),
+                settings.getMaxConnectionsPerRoute(),
+                settings.getConnectTimeout().toMillis(),
+                settings.getReadTimeout().toMillis(),
+                settings.getConnectionRequestTimeout().toMillis());
+    }
+
+    /**
+     * A RestTemplate sending through this client, with the builder's message
+     * converters and customizers (such as Spring Boot's observation of
+     * {@code http.client.requests})
+     */
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .additionalInterceptors(this::time, this::compress)
+                .build();
+    }
+
+    PoolStats poolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    @Override
+    public void close() {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+    private ClientHttpResponse time(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            outcome = status >= 500 ? "server_error" : status >= 400 ? "client_error" : "success";
+            return response;
+        } finally {
+            Timer.builder("scholarai.http.client.requests")
+                    .description("Outbound HTTP requests by target until the response headers arrive")
+                    .tag("target", target)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ClientHttpResponse compress(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        int threshold = settings.getCompressRequestsOverBytes();
+        HttpHeaders headers = request.getHeaders();
+        if (threshold <= 0 || body.length < threshold || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return execution.execute(request, body);
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        headers.setContentLength(compressed.size());
+        return execution.execute(request, compressed.toByteArray());
+    }
+}
@@ -1,5 +1,12 @@
 package dev.project.scholar_ai.config;
 
+import dev.project.scholar_ai.enums.RequestLane;
+import dev.project.scholar_ai.messaging.listener.ListenerConcurrencyController;
+import dev.project.scholar_ai.messaging.listener.ListenerTuning;
+import dev.project.scholar_ai.messaging.retry.FailedMessageRouter;
+import dev.project.scholar_ai.messaging.retry.RetryPolicy;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Getter;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
@@ -95,6 +102,139 @@ public class RabbitMQConfig {
     @Value("${scholarai.rabbitmq.structuring.completed-routing-key}")
     private String structuringCompletedRoutingKey;
 
+    // Batch consumption of the completed-result queues
+
+    @Value("${scholarai.rabbitmq.web-search.completed-batch-size:10}")
+    private int webSearchCompletedBatchSize;
+
+    @Value("${scholarai.rabbitmq.web-search.completed-receive-timeout-ms:1000}")
+    private long webSearchCompletedReceiveTimeoutMs;
+
+    @Value("${scholarai.rabbitmq.extraction.completed-batch-size:25}")
+    private int extractionCompletedBatchSize;
+
+    @Value("${scholarai.rabbitmq.extraction.completed-receive-timeout-ms:1000}")
+    private long extractionCompletedReceiveTimeoutMs;
+
+    @Value("${scholarai.rabbitmq.structuring.completed-batch-size:25}")
+    private int structuringCompletedBatchSize;
+
+    @Value("${scholarai.rabbitmq.structuring.completed-receive-timeout-ms:1000}")
+    private long structuringCompletedReceiveTimeoutMs;
+
+    @Value("${scholarai.rabbitmq.summarization.completed-batch-size:25}")
+    private int summarizationCompletedBatchSize;
+
+    @Value("${scholarai.rabbitmq.summarization.completed-receive-timeout-ms:1000}")
+    private long summarizationCompletedReceiveTimeoutMs;
+
+    @Value("${scholarai.rabbitmq.gap-analysis.completed-batch-size:25}")
+    private int gapAnalysisCompletedBatchSize;
+
+    @Value("${scholarai.rabbitmq.gap-analysis.completed-receive-timeout-ms:1000}")
+    private long gapAnalysisCompletedReceiveTimeoutMs;
+
+    // Priority lanes of the extraction, structuring and web search request queues
+
+    // 0 (the default) declares the queues without priorities; see prioritized() before raising it
+    @Value("${scholarai.rabbitmq.lanes.max-priority:0}")
+    private int lanesMaxPriority;
+
+    @Value("${scholarai.rabbitmq.lanes.interactive-priority:10}")
+    private int interactivePriority;
+
+    @Value("${scholarai.rabbitmq.lanes.bulk-priority:1}")
+    private int bulkPriority;
+
+    // Per-queue container tuning of the completed-result listeners
+
+    @Value("${scholarai.rabbitmq.paper-fetch.completed-min-consumers:1}")
+    private int paperFetchCompletedMinConsumers;
+
+    @Value("${scholarai.rabbitmq.paper-fetch.completed-max-consumers:3}")
+    private int paperFetchCompletedMaxConsumers;
+
+    @Value("${scholarai.rabbitmq.paper-fetch.completed-prefetch:10}")
+    private int paperFetchCompletedPrefetch;
+
+    @Value("${scholarai.rabbitmq.web-search.completed-min-consumers:1}")
+    private int webSearchCompletedMinConsumers;
+
+    @Value("${scholarai.rabbitmq.web-search.completed-max-consumers:4}")
+    private int webSearchCompletedMaxConsumers;
+
+    @Value("${scholarai.rabbitmq.web-search.completed-prefetch:20}")
+    private int webSearchCompletedPrefetch;
+
+    @Value("${scholarai.rabbitmq.extraction.completed-min-consumers:2}")
+    private int extractionCompletedMinConsumers;
+
+    @Value("${scholarai.rabbitmq.extraction.completed-max-consumers:8}")
+    private int extractionCompletedMaxConsumers;
+
+    @Value("${scholarai.rabbitmq.extraction.completed-prefetch:50}")
+    private int extractionCompletedPrefetch;
+
+    @Value("${scholarai.rabbitmq.structuring.completed-min-consumers:1}")
+    private int structuringCompletedMinConsumers;
+
+    @Value("${scholarai.rabbitmq.structuring.completed-max-consumers:4}")
+    private int structuringCompletedMaxConsumers;
+
+    @Value("${scholarai.rabbitmq.structuring.completed-prefetch:50}")
+    private int structuringCompletedPrefetch;
+
+    @Value("${scholarai.rabbitmq.summarization.completed-min-consumers:1}")
+    private int summarizationCompletedMinConsumers;
+
+    @Value("${scholarai.rabbitmq.summarization.completed-max-consumers:3}")
+    private int summarizationCompletedMaxConsumers;
+
+    @Value("${scholarai.rabbitmq.summarization.completed-prefetch:10}")
+    private int summarizationCompletedPrefetch;
+
+    @Value("${scholarai.rabbitmq.gap-analysis.completed-min-consumers:1}")
+    private int gapAnalysisCompletedMinConsumers;
+
+    @Value("${scholarai.rabbitmq.gap-analysis.completed-max-consumers:3}")
+    private int gapAnalysisCompletedMaxConsumers;
+
+    @Value("${scholarai.rabbitmq.gap-analysis.completed-prefetch:10}")
+    private int gapAnalysisCompletedPrefetch;
+
+    // Delayed retry and dead-lettering of the completed-result queues
+
+    @Value("${scholarai.rabbitmq.retry.exchange:scholarai.retry}")
+    private String retryExchangeName;
+
+    @Value("${scholarai.rabbitmq.dead-letter.exchange:scholarai.dlx}")
+    private String deadLetterExchangeName;
+
+    @Value("${scholarai.rabbitmq.retry.max-attempts:4}")
+    private int retryMaxAttempts;
+
+    @Value("${scholarai.rabbitmq.retry.initial-delay-ms:5000}")
+    private long retryInitialDelayMs;
+
+    @Value("${scholarai.rabbitmq.retry.multiplier:3.0}")
+    private double retryMultiplier;
+
+    @Value("${scholarai.rabbitmq.retry.max-delay-ms:300000}")
+    private long retryMaxDelayMs;
+
+    /**
+     * @return The queues agents publish results to, which this application consumes.
+     */
+    public List<String> getCompletedQueues() {
+        return List.of(
+                paperFetchCompletedQueue,
+                webSearchCompletedQueue,
+                extractionCompletedQueue,
+                structuringCompletedQueue,
+                summarizationCompletedQueue,
+                gapAnalysisCompletedQueue);
+    }
+
     /**
      * Creates a durable topic exchange for the application.
      * Topic exchanges route messages based on wildcard matches between the routing
@@ -145,7 +285,7 @@ public class RabbitMQConfig {
      */
     @Bean
     public Queue webSearchQueue() {
-        return QueueBuilder.durable(webSearchQueue).build();
+        return prioritized(QueueBuilder.durable(webSearchQueue)).build();
     }
 
     /**
@@ -195,7 +335,7 @@ public class RabbitMQConfig {
      */
     @Bean
     public Queue extractionQueue() {
-        return QueueBuilder.durable(extractionQueue).build();
+        return prioritized(QueueBuilder.durable(extractionQueue)).build();
     }
 
     /**
@@ -215,7 +355,7 @@ public class RabbitMQConfig {
      */
     @Bean
     public Queue structuringQueue() {
-        return QueueBuilder.durable(structuringQueue).build();
+        return prioritized(QueueBuilder.durable(structuringQueue)).build();
     }
 
     /**
@@ -385,6 +525,62 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(structuringCompletedQueue).to(appExchange).with(structuringCompletedRoutingKey);
     }
 
+    /**
+     * Retry delays and attempt limit for messages that fail on a completed queue.
+     *
+     * @return The RetryPolicy.
+     */
+    @Bean
+    public RetryPolicy retryPolicy() {
+        return new RetryPolicy(retryMaxAttempts, retryInitialDelayMs, retryMultiplier, retryMaxDelayMs);
+    }
+
+    /**
+     * Declares the retry and dead-letter topology of every completed queue.
+     * The completed queues themselves are left as declared above, so existing
+     * queues need not be redeclared with new arguments; failed messages are
+     * routed here explicitly by FailedMessageRouter.
+     * <ul>
+     *   <li>{@code <queue>.retry.<n>} on the retry exchange: holds a message
+     *       for the delay of attempt n, then its TTL dead-letters it through
+     *       the default exchange straight back onto {@code <queue>};</li>
+     *   <li>{@code <queue>.dlq} on the dead-letter exchange: holds messages
+     *       until they are inspected or replayed.</li>
+     * </ul>
+     *
+     * @param retryPolicy The retry delays and attempt limit.
+     * @return The exchanges, queues and bindings.
+     */
+    @Bean
+    public Declarables retryTopology(RetryPolicy retryPolicy) {
+        DirectExchange retryExchange =
+                ExchangeBuilder.directExchange(retryExchangeName).durable(true).build();
+        DirectExchange deadLetterExchange = ExchangeBuilder.directExchange(deadLetterExchangeName)
+                .durable(true)
+                .build();
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(retryExchange);
+        declarables.add(deadLetterExchange);
+        for (String queue : getCompletedQueues()) {
+            Queue deadLetterQueue =
+                    QueueBuilder.durable(RetryPolicy.deadLetterQueue(queue)).build();
+            declarables.add(deadLetterQueue);
+            declarables.add(
+                    BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(queue));
+            for (int attempt = 1; attempt <= retryPolicy.retryTiers(); attempt++) {
+                Queue retryQueue = QueueBuilder.durable(RetryPolicy.retryQueue(queue, attempt))
+                        .ttl((int) retryPolicy.delayMs(attempt))
+                        .deadLetterExchange("")
+                        .deadLetterRoutingKey(queue)
+                        .build();
+                declarables.add(retryQueue);
+                declarables.add(
+                        BindingBuilder.bind(retryQueue).to(retryExchange).with(RetryPolicy.retryQueue(queue, attempt)));
+            }
+        }
+        return new Declarables(declarables);
+    }
+
     /**
      * Creates a message converter to serialize and deserialize messages as JSON.
      * This allows Java objects to be sent and received as JSON payloads.
@@ -414,7 +610,7 @@ public class RabbitMQConfig {
     /**
      * Configures the listener container factory for message listeners.
      * This factory sets up concurrency, message conversion, and error handling
-     * for RabbitMQ message listeners.
+     * for RabbitMQ message listeners that have no factory of their own.
      *
      * @param cf The connection factory for RabbitMQ.
      * @return The configured SimpleRabbitListenerContainerFactory.
@@ -426,7 +622,233 @@ public class RabbitMQConfig {
         factory.setMessageConverter(jsonMessageConverter());
         factory.setConcurrentConsumers(3);
         factory.setMaxConcurrentConsumers(10);
-        factory.setDefaultRequeueRejected(false); // send bad messages to DLQ
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+
+    /**
+     * Listener factory for the paper fetch completed queue.
+     *
+     * @param cf The connection factory for RabbitMQ.
+     * @param controller Adjusts the container's consumers at runtime.
+     * @param router Sends failed messages to retry or dead-letter queues.
+     * @return The configured SimpleRabbitListenerContainerFactory.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory paperFetchResultFactory(
+            ConnectionFactory cf, ListenerConcurrencyController controller, FailedMessageRouter router) {
+        return tunedListenerFactory(
+                cf,
+                controller,
+                router,
+                new ListenerTuning(
+                        paperFetchCompletedQueue,
+                        paperFetchCompletedMinConsumers,
+                        paperFetchCompletedMaxConsumers,
+                        paperFetchCompletedPrefetch));
+    }
+
+    /**
+     * Batch listener factory for the summarization completed queue.
+     *
+     * @param cf The connection factory for RabbitMQ.
+     * @param controller Adjusts the container's consumers at runtime.
+     * @param router Sends failed messages to retry or dead-letter queues.
+     * @return The configured batch SimpleRabbitListenerContainerFactory.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory summarizationResultBatchFactory(
+            ConnectionFactory cf, ListenerConcurrencyController controller, FailedMessageRouter router) {
+        return batchListenerFactory(
+                cf,
+                controller,
+                router,
+                new ListenerTuning(
+                        summarizationCompletedQueue,
+                        summarizationCompletedMinConsumers,
+                        summarizationCompletedMaxConsumers,
+                        summarizationCompletedPrefetch),
+                summarizationCompletedBatchSize,
+                summarizationCompletedReceiveTimeoutMs);
+    }
+
+    /**
+     * Batch listener factory for the gap analysis completed queue.
+     *
+     * @param cf The connection factory for RabbitMQ.
+     * @param controller Adjusts the container's consumers at runtime.
+     * @param router Sends failed messages to retry or dead-letter queues.
+     * @return The configured batch SimpleRabbitListenerContainerFactory.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory gapAnalysisResultBatchFactory(
+            ConnectionFactory cf, ListenerConcurrencyController controller, FailedMessageRouter router) {
+        return batchListenerFactory(
+                cf,
+                controller,
+                router,
+                new ListenerTuning(
+                        gapAnalysisCompletedQueue,
+                        gapAnalysisCompletedMinConsumers,
+                        gapAnalysisCompletedMaxConsumers,
+                        gapAnalysisCompletedPrefetch),
+                gapAnalysisCompletedBatchSize,
+                gapAnalysisCompletedReceiveTimeoutMs);
+    }
+
+    /**
+     * Batch listener factory for the web search completed queue.
+     *
+     * @param cf The connection factory for RabbitMQ.
+     * @param controller Adjusts the container's consumers at runtime.
+     * @param router Sends failed messages to retry or dead-letter queues.
+     * @return The configured batch SimpleRabbitListenerContainerFactory.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory webSearchResultBatchFactory(
+            ConnectionFactory cf, ListenerConcurrencyController controller, FailedMessageRouter router) {
+        return batchListenerFactory(
+                cf,
+                controller,
+                router,
+                new ListenerTuning(
+                        webSearchCompletedQueue,
+                        webSearchCompletedMinConsumers,
+                        webSearchCompletedMaxConsumers,
+                        webSearchCompletedPrefetch),
+                webSearchCompletedBatchSize,
+                webSearchCompletedReceiveTimeoutMs);
+    }
+
+    /**
+     * Batch listener factory for the extraction completed queue.
+     *
+     * @param cf The connection factory for RabbitMQ.
+     * @param controller Adjusts the container's consumers at runtime.
+     * @param router Sends failed messages to retry or dead-letter queues.
+     * @return The configured batch SimpleRabbitListenerContainerFactory.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory extractionResultBatchFactory(
+            ConnectionFactory cf, ListenerConcurrencyController controller, FailedMessageRouter router) {
+        return batchListenerFactory(
+                cf,
+                controller,
+                router,
+                new ListenerTuning(
+                        extractionCompletedQueue,
+                        extractionCompletedMinConsumers,
+                        extractionCompletedMaxConsumers,
+                        extractionCompletedPrefetch),
+                extractionCompletedBatchSize,
+                extractionCompletedReceiveTimeoutMs);
+    }
+
+    /**
+     * Batch listener factory for the structuring completed queue.
+     *
+     * @param cf The connection factory for RabbitMQ.
+     * @param controller Adjusts the container's consumers at runtime.
+     * @param router Sends failed messages to retry or dead-letter queues.
+     * @return The configured batch SimpleRabbitListenerContainerFactory.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory structuringResultBatchFactory(
+            ConnectionFactory cf, ListenerConcurrencyController controller, FailedMessageRouter router) {
+        return batchListenerFactory(
+                cf,
+                controller,
+                router,
+                new ListenerTuning(
+                        structuringCompletedQueue,
+                        structuringCompletedMinConsumers,
+                        structuringCompletedMaxConsumers,
+                        structuringCompletedPrefetch),
+                structuringCompletedBatchSize,
+                structuringCompletedReceiveTimeoutMs);
+    }
+
+    /**
+     * Message priority of a request lane on the prioritized request queues.
+     *
+     * @param lane The lane the request was sent from.
+     * @return The priority, or {@code null} when the queues are not prioritized.
+     */
+    public Integer getPriority(RequestLane lane) {
+        if (lanesMaxPriority <= 0) {
+            return null;
+        }
+        return Math.min(lanesMaxPriority, lane == RequestLane.BULK ? bulkPriority : interactivePriority);
+    }
+
+    /**
+     * Declares a request queue with {@code x-max-priority} so interactive
+     * requests are delivered ahead of queued bulk requests, when lanes are
+     * enabled.
+     *
+     * <p>Queue arguments cannot change on an existing queue: the broker
+     * rejects a redeclaration with different arguments with
+     * {@code PRECONDITION_FAILED}. That applies to this application and to
+     * every agent that declares the same queues. To enable lanes:
+     * <ol>
+     *   <li>Give the agents' declarations of the web-search, extraction and
+     *       structuring request queues the same {@code x-max-priority}, or
+     *       have them declare passively.</li>
+     *   <li>Stop the publishers and let the consumers drain the three queues.</li>
+     *   <li>Delete the queues, then deploy with
+     *       {@code scholarai.rabbitmq.lanes.max-priority} set; they are
+     *       recreated with the argument on startup.</li>
+     * </ol>
+     * Disabling lanes again needs the same steps in reverse.
+     */
+    private QueueBuilder prioritized(QueueBuilder queue) {
+        return lanesMaxPriority > 0 ? queue.maxPriority(lanesMaxPriority) : queue;
+    }
+
+    /**
+     * Listener factory with the queue's own prefetch and consumer bounds. The
+     * adaptive controller, when enabled, owns the consumer count between the
+     * bounds; otherwise the container scales itself between them. Listener
+     * failures are retried with a delay and then dead-lettered by the router.
+     */
+    private SimpleRabbitListenerContainerFactory tunedListenerFactory(
+            ConnectionFactory cf,
+            ListenerConcurrencyController controller,
+            FailedMessageRouter router,
+            ListenerTuning tuning) {
+        var factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(cf);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setPrefetchCount(tuning.prefetch());
+        factory.setConcurrentConsumers(tuning.minConsumers());
+        if (!controller.isEnabled()) {
+            factory.setMaxConcurrentConsumers(tuning.maxConsumers());
+        }
+        factory.setAdviceChain(controller.register(tuning), router.advice());
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+
+    /**
+     * Listener factory delivering up to {@code batchSize} messages at once, or
+     * fewer when no further message arrives within {@code receiveTimeoutMs}.
+     * Acknowledgement is manual so each message of a batch is acked or rejected
+     * on its own (see BatchResultProcessor).
+     */
+    private SimpleRabbitListenerContainerFactory batchListenerFactory(
+            ConnectionFactory cf,
+            ListenerConcurrencyController controller,
+            FailedMessageRouter router,
+            ListenerTuning tuning,
+            int batchSize,
+            long receiveTimeoutMs) {
+        var factory = tunedListenerFactory(cf, controller, router, tuning);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(Math.max(tuning.prefetch(), batchSize));
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
         return factory;
     }
 }
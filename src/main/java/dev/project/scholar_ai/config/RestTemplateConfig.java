@@ -1,13 +1,57 @@
 package dev.project.scholar_ai.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Outbound HTTP clients, one {@link PooledHttpClient} per target so a slow
+ * target only uses up its own connections: {@code fastapi} for the FastAPI
+ * agents ({@code fastApiRestTemplate}) and {@code oauth} for the identity
+ * providers, which is also the default {@code restTemplate}.
+ */
 @Configuration
 public class RestTemplateConfig {
+
+    @Bean
+    @ConfigurationProperties("scholarai.http.clients.fastapi")
+    public HttpClientSettings fastApiHttpClientSettings() {
+        return new HttpClientSettings();
+    }
+
+    @Bean
+    @ConfigurationProperties("scholarai.http.clients.oauth")
+    public HttpClientSettings oauthHttpClientSettings() {
+        return new HttpClientSettings();
+    }
+
+    @Bean
+    public PooledHttpClient fastApiHttpClient(
+            @Qualifier("fastApiHttpClientSettings") HttpClientSettings settings, MeterRegistry meterRegistry) {
+        return new PooledHttpClient("fastapi", settings, meterRegistry);
+    }
+
+    @Bean
+    public PooledHttpClient oauthHttpClient(
+            @Qualifier("oauthHttpClientSettings") HttpClientSettings settings, MeterRegistry meterRegistry) {
+        return new PooledHttpClient("oauth", settings, meterRegistry);
+    }
+
+    @Bean
+    public RestTemplate fastApiRestTemplate(
+            RestTemplateBuilder restTemplateBuilder, @Qualifier("fastApiHttpClient") PooledHttpClient httpClient) {
+        return httpClient.restTemplate(restTemplateBuilder);
+    }
+
+    @Primary
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            RestTemplateBuilder restTemplateBuilder, @Qualifier("oauthHttpClient") PooledHttpClient httpClient) {
+        return httpClient.restTemplate(restTemplateBuilder);
     }
 }
@@ -0,0 +1,47 @@
+package dev.project.scholar_ai.config;
+
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking client for streamed QA agent answers.
+ *
+ * <p>Each streamed answer keeps its connection for the whole generation, so
+ * the shared Reactor Netty pool (two connections per core, at least 16) would
+ * queue concurrent chats behind each other. The stream gets its own pool of
+ * {@code max-connections}; a chat waits at most {@code pending-acquire-seconds}
+ * for one.
+ */
+@Configuration
+public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider qaStreamConnectionProvider(
+            @Value("${scholarai.qa.stream.max-connections:500}") int maxConnections,
+            @Value("${scholarai.qa.stream.pending-acquire-seconds:10}") long pendingAcquireSeconds) {
+        return ConnectionProvider.builder("qa-stream")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(pendingAcquireSeconds))
+                .build();
+    }
+
+    @Bean
+    public WebClient qaStreamWebClient(
+            WebClient.Builder webClientBuilder,
+            @Qualifier("qaStreamConnectionProvider") ConnectionProvider connectionProvider,
+            @Value("${scholarai.qa.stream.connect-timeout-ms:5000}") int connectTimeoutMs) {
+        HttpClient httpClient =
+                HttpClient.create(connectionProvider).option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs);
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
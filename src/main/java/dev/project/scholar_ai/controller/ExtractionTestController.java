@@ -13,6 +13,7 @@ import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -105,10 +106,8 @@ public class ExtractionTestController {
             response.put("paperId", paperId);
             response.put("extractionStatus", paper.getExtractionStatus());
             response.put("extractedAt", paper.getExtractedAt());
-            response.put("hasExtractedText", paper.getExtractedText() != null);
-            response.put(
-                    "textLength",
-                    paper.getExtractedText() != null ? paper.getExtractedText().length() : 0);
+            response.put("hasExtractedText", paper.getExtractedTextLength() != null);
+            response.put("textLength", paper.getExtractedTextLength() != null ? paper.getExtractedTextLength() : 0);
             response.put("pdfUrl", paper.getPdfUrl());
 
             return ResponseEntity.ok(response);
@@ -133,18 +132,20 @@ public class ExtractionTestController {
 
         try {
             // Find papers with PDF URLs but no extracted text
-            var papers = paperRepository.findByPdfUrlIsNotNullAndExtractedTextIsNull().stream()
-                    .limit(limit)
-                    .map(paper -> {
-                        Map<String, Object> paperInfo = new HashMap<>();
-                        paperInfo.put("id", paper.getId());
-                        paperInfo.put("title", paper.getTitle());
-                        paperInfo.put("pdfUrl", paper.getPdfUrl());
-                        paperInfo.put("extractionStatus", paper.getExtractionStatus());
-                        paperInfo.put("source", paper.getSource());
-                        return paperInfo;
-                    })
-                    .toList();
+            var papers =
+                    paperRepository
+                            .findByPdfUrlIsNotNullAndExtractedTextLengthIsNullOrderById(PageRequest.of(0, limit))
+                            .stream()
+                            .map(paper -> {
+                                Map<String, Object> paperInfo = new HashMap<>();
+                                paperInfo.put("id", paper.getId());
+                                paperInfo.put("title", paper.getTitle());
+                                paperInfo.put("pdfUrl", paper.getPdfUrl());
+                                paperInfo.put("extractionStatus", paper.getExtractionStatus());
+                                paperInfo.put("source", paper.getSource());
+                                return paperInfo;
+                            })
+                            .toList();
 
             response.put("success", true);
             response.put("papers", papers);
@@ -161,74 +162,6 @@ public class ExtractionTestController {
         }
     }
 
-    /**
-     * Trigger extraction for multiple papers with PDF URLs
-     */
-    @PostMapping("/papers/extract-batch")
-    public ResponseEntity<Map<String, Object>> triggerBatchExtraction(
-            @RequestParam(defaultValue = "5") int limit, Authentication authentication) {
-
-        Map<String, Object> response = new HashMap<>();
-
-        try {
-            // Find papers ready for extraction
-            var papers = paperRepository.findByPdfUrlIsNotNullAndExtractedTextIsNull().stream()
-                    .limit(limit)
-                    .toList();
-
-            if (papers.isEmpty()) {
-                response.put("success", true);
-                response.put("message", "No papers found that are ready for extraction");
-                response.put("processedCount", 0);
-                return ResponseEntity.ok(response);
-            }
-
-            int processedCount = 0;
-            String requestedBy = authentication != null ? authentication.getName() : "test-user";
-
-            for (Paper paper : papers) {
-                try {
-                    ExtractionRequest request = ExtractionRequest.builder()
-                            .correlationId(UUID.randomUUID().toString())
-                            .paperId(paper.getId())
-                            .pdfUrl(paper.getPdfUrl())
-                            .requestedBy(requestedBy)
-                            .build();
-
-                    // Update paper status
-                    extractionService.initiateExtraction(paper.getId(), paper.getPdfUrl(), requestedBy);
-
-                    // Send extraction request
-                    extractionRequestSender.send(request);
-
-                    processedCount++;
-
-                    // Small delay to avoid overwhelming the system
-                    Thread.sleep(100);
-
-                } catch (Exception e) {
-                    log.error("Failed to process extraction for paper {}: {}", paper.getId(), e.getMessage());
-                }
-            }
-
-            response.put("success", true);
-            response.put("message", "Batch extraction requests sent");
-            response.put("totalPapers", papers.size());
-            response.put("processedCount", processedCount);
-
-            log.info("Batch extraction triggered for {} papers", processedCount);
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            log.error("Failed to trigger batch extraction: {}", e.getMessage());
-
-            response.put("success", false);
-            response.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(response);
-        }
-    }
-
     @PostMapping("/papers/{paperId}/simulate-extraction-result")
     public ResponseEntity<Map<String, Object>> simulateExtractionResult(
             @PathVariable UUID paperId, @RequestBody(required = false) Map<String, String> requestBody) {
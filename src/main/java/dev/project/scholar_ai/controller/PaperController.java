@@ -1,14 +1,26 @@
 package dev.project.scholar_ai.controller;
 
 import dev.project.scholar_ai.dto.agent.request.ExtractionRequest;
+import dev.project.scholar_ai.dto.analysis.GapAnalysisDto;
+import dev.project.scholar_ai.dto.analysis.GeneratedSummaryDto;
+import dev.project.scholar_ai.dto.paper.metadata.AuthorDto;
+import dev.project.scholar_ai.dto.paper.metadata.PaperSummaryDto;
 import dev.project.scholar_ai.messaging.publisher.ExtractionRequestSender;
 import dev.project.scholar_ai.model.paper.metadata.Paper;
 import dev.project.scholar_ai.model.paper.structure.StructuredFacts;
 import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.repository.paper.projection.AuthorRow;
 import dev.project.scholar_ai.repository.paper.structure.StructuredFactsRepository;
+import dev.project.scholar_ai.service.analysis.AnalysisResultService;
+import dev.project.scholar_ai.service.extraction.ExtractedTextService;
 import dev.project.scholar_ai.service.extraction.ExtractionService;
+import dev.project.scholar_ai.service.extraction.PaperTextStore;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,9 +28,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -30,12 +47,15 @@ public class PaperController {
     private final StructuredFactsRepository structuredFactsRepository;
     private final ExtractionRequestSender extractionRequestSender;
     private final ExtractionService extractionService;
+    private final PaperTextStore paperTextStore;
+    private final ExtractedTextService extractedTextService;
+    private final AnalysisResultService analysisResultService;
 
     /**
-     * Get all papers with pagination and sorting
+     * Get all papers with pagination and sorting (metadata only, no extracted text)
      */
     @GetMapping
-    public ResponseEntity<Page<Paper>> getAllPapers(
+    public ResponseEntity<Page<PaperSummaryDto>> getAllPapers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "publicationDate") String sortBy,
@@ -46,7 +66,7 @@ public class PaperController {
                 : Sort.by(sortBy).ascending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Paper> papers = paperRepository.findAll(pageable);
+        Page<PaperSummaryDto> papers = withAuthors(paperRepository.findAllSummaries(pageable));
 
         return ResponseEntity.ok(papers);
     }
@@ -140,10 +160,8 @@ public class PaperController {
             response.put("paperId", paperId);
             response.put("extractionStatus", paper.getExtractionStatus());
             response.put("extractedAt", paper.getExtractedAt());
-            response.put("hasExtractedText", paper.getExtractedText() != null);
-            response.put(
-                    "textLength",
-                    paper.getExtractedText() != null ? paper.getExtractedText().length() : 0);
+            response.put("hasExtractedText", paper.getExtractedTextLength() != null);
+            response.put("textLength", paper.getExtractedTextLength() != null ? paper.getExtractedTextLength() : 0);
 
             return ResponseEntity.ok(response);
 
@@ -157,10 +175,17 @@ public class PaperController {
     }
 
     /**
-     * Get extracted text for a paper
+     * Get a page of the extracted text of a paper. Pages are at most
+     * scholarai.paper.text.max-page-chars characters; follow nextOffset for the
+     * rest. With a section index, offsets are relative to that section and
+     * pages stop at its end.
      */
     @GetMapping("/{paperId}/extracted-text")
-    public ResponseEntity<Map<String, Object>> getExtractedText(@PathVariable UUID paperId) {
+    public ResponseEntity<Map<String, Object>> getExtractedText(
+            @PathVariable UUID paperId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) Integer length,
+            @RequestParam(required = false) Integer section) {
         Map<String, Object> response = new HashMap<>();
 
         try {
@@ -168,7 +193,12 @@ public class PaperController {
                     .findById(paperId)
                     .orElseThrow(() -> new RuntimeException("Paper not found with ID: " + paperId));
 
-            if (paper.getExtractedText() == null) {
+            Optional<ExtractedTextService.TextPage> page = paper.getExtractedTextLength() == null
+                    ? Optional.empty()
+                    : section != null
+                            ? extractedTextService.sectionPage(paperId, section, offset, length)
+                            : extractedTextService.page(paperId, offset, length);
+            if (page.isEmpty()) {
                 response.put("success", false);
                 response.put("error", "No extracted text available for this paper");
                 return ResponseEntity.notFound().build();
@@ -176,12 +206,24 @@ public class PaperController {
 
             response.put("success", true);
             response.put("paperId", paperId);
-            response.put("extractedText", paper.getExtractedText());
+            response.put("extractedText", page.get().text());
+            response.put("offset", page.get().offset());
+            response.put("length", page.get().text().length());
+            response.put("totalLength", page.get().totalLength());
+            response.put("nextOffset", page.get().nextOffset());
+            if (section != null) {
+                response.put("section", section);
+            }
             response.put("extractedAt", paper.getExtractedAt());
             response.put("extractionStatus", paper.getExtractionStatus());
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+
         } catch (Exception e) {
             log.error("Failed to get extracted text for paper {}: {}", paperId, e.getMessage());
 
@@ -192,35 +234,117 @@ public class PaperController {
     }
 
     /**
-     * Search papers by title or content
+     * Get the sections of a paper's extracted text with their character ranges,
+     * for section-aligned paging of /extracted-text
+     */
+    @GetMapping("/{paperId}/extracted-text/sections")
+    public ResponseEntity<Map<String, Object>> getExtractedTextSections(@PathVariable UUID paperId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            List<ExtractedTextService.Section> sections = extractedTextService.sections(paperId);
+
+            response.put("success", true);
+            response.put("paperId", paperId);
+            response.put("sections", sections);
+            response.put("sectionCount", sections.size());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Failed to get extracted text sections for paper {}: {}", paperId, e.getMessage());
+
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Stream the extracted text of a paper as UTF-8 plain text. Supports a
+     * single HTTP byte Range; the text is streamed block by block from storage.
+     */
+    @GetMapping("/{paperId}/extracted-text/raw")
+    public ResponseEntity<StreamingResponseBody> getExtractedTextRaw(
+            @PathVariable UUID paperId, @RequestHeader HttpHeaders requestHeaders) {
+        Optional<PaperTextStore.TextLayout> layout = paperTextStore.layout(paperId);
+        if (layout.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        int totalBytes = layout.get().byteLength();
+        List<HttpRange> ranges;
+        try {
+            ranges = requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .build();
+        }
+        if (ranges.size() > 1) {
+            // Multipart byteranges are not supported; serve the whole text
+            ranges = List.of();
+        }
+
+        int from = 0;
+        int to = totalBytes;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        HttpStatus status = HttpStatus.OK;
+        if (!ranges.isEmpty()) {
+            if (totalBytes == 0) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .build();
+            }
+            try {
+                from = (int) ranges.get(0).getRangeStart(totalBytes);
+                to = (int) ranges.get(0).getRangeEnd(totalBytes) + 1;
+            } catch (IllegalArgumentException e) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + totalBytes);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .headers(headers)
+                        .build();
+            }
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + from + "-" + (to - 1) + "/" + totalBytes);
+            status = HttpStatus.PARTIAL_CONTENT;
+        }
+        headers.setContentLength(to - from);
+
+        int start = from;
+        int end = to;
+        StreamingResponseBody body = out -> paperTextStore.writeUtf8(paperId, layout.get(), start, end, out);
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    /**
+     * Search papers by title or abstract (metadata only, no extracted text)
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<Paper>> searchPapers(
+    public ResponseEntity<Page<PaperSummaryDto>> searchPapers(
             @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
 
         Pageable pageable =
                 PageRequest.of(page, size, Sort.by("publicationDate").descending());
-        Page<Paper> papers = paperRepository.findByTitleContainingIgnoreCaseOrAbstractTextContainingIgnoreCase(
-                query, query, pageable);
+        Page<PaperSummaryDto> papers = withAuthors(paperRepository.searchSummaries(query, pageable));
 
         return ResponseEntity.ok(papers);
     }
 
     /**
-     * Get papers by extraction status
+     * Get papers by extraction status (metadata only, no extracted text)
      */
     @GetMapping("/by-extraction-status")
-    public ResponseEntity<Page<Paper>> getPapersByExtractionStatus(
+    public ResponseEntity<Page<PaperSummaryDto>> getPapersByExtractionStatus(
             @RequestParam String status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
 
         Pageable pageable =
                 PageRequest.of(page, size, Sort.by("publicationDate").descending());
-        Page<Paper> papers = paperRepository.findByExtractionStatus(
-                dev.project.scholar_ai.enums.ExtractionStatus.valueOf(status.toUpperCase()), pageable);
+        Page<PaperSummaryDto> papers = withAuthors(paperRepository.findSummariesByExtractionStatus(
+                dev.project.scholar_ai.enums.ExtractionStatus.valueOf(status.toUpperCase()), pageable));
 
         return ResponseEntity.ok(papers);
     }
@@ -297,6 +421,66 @@ public class PaperController {
         }
     }
 
+    /**
+     * Get the stored summary of a paper, without calling the summarization agent
+     */
+    @GetMapping("/{paperId}/summary")
+    public ResponseEntity<Map<String, Object>> getSummary(@PathVariable UUID paperId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            Optional<GeneratedSummaryDto> summary = analysisResultService.getSummary(paperId);
+
+            response.put("success", true);
+            response.put("paperId", paperId);
+            response.put("hasSummary", summary.isPresent());
+            if (summary.isPresent()) {
+                response.put("summary", summary.get());
+            } else {
+                response.put("message", "No summary found for this paper");
+            }
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Failed to get summary for paper {}: {}", paperId, e.getMessage());
+
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Get the stored research gaps of a paper, without calling the gap analysis agent
+     */
+    @GetMapping("/{paperId}/gaps")
+    public ResponseEntity<Map<String, Object>> getGapAnalysis(@PathVariable UUID paperId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            Optional<GapAnalysisDto> gapAnalysis = analysisResultService.getGapAnalysis(paperId);
+
+            response.put("success", true);
+            response.put("paperId", paperId);
+            response.put("hasGapAnalysis", gapAnalysis.isPresent());
+            if (gapAnalysis.isPresent()) {
+                response.put("gapAnalysis", gapAnalysis.get());
+            } else {
+                response.put("message", "No gap analysis found for this paper");
+            }
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Failed to get gap analysis for paper {}: {}", paperId, e.getMessage());
+
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
     /**
      * Manual trigger for structuring (for testing)
      */
@@ -309,20 +493,19 @@ public class PaperController {
                     .findById(paperId)
                     .orElseThrow(() -> new RuntimeException("Paper not found with ID: " + paperId));
 
-            if (paper.getExtractedText() == null
-                    || paper.getExtractedText().trim().isEmpty()) {
+            if (!paper.hasExtractedText()) {
                 response.put("success", false);
                 response.put("error", "Paper has no extracted text. Run extraction first.");
                 return ResponseEntity.badRequest().body(response);
             }
 
             // Manually trigger structuring
-            extractionService.triggerStructuring(paperId, paper.getExtractedText());
+            extractionService.triggerStructuring(paperId);
 
             response.put("success", true);
             response.put("message", "Structuring triggered manually");
             response.put("paperId", paperId);
-            response.put("textLength", paper.getExtractedText().length());
+            response.put("textLength", paper.getExtractedTextLength());
 
             return ResponseEntity.ok(response);
 
@@ -334,4 +517,20 @@ public class PaperController {
             return ResponseEntity.status(500).body(response);
         }
     }
+
+    /**
+     * Attaches the authors of a page of summaries with one query.
+     */
+    private Page<PaperSummaryDto> withAuthors(Page<PaperSummaryDto> papers) {
+        if (papers.isEmpty()) {
+            return papers;
+        }
+        Map<UUID, List<AuthorDto>> authors = new HashMap<>();
+        for (AuthorRow author : paperRepository.findAuthorRowsByPaperIds(
+                papers.map(PaperSummaryDto::id).toList())) {
+            authors.computeIfAbsent(author.paperId(), id -> new ArrayList<>())
+                    .add(new AuthorDto(author.name(), author.authorId(), author.orcid(), author.affiliation()));
+        }
+        return papers.map(paper -> paper.withAuthors(authors.getOrDefault(paper.id(), List.of())));
+    }
 }
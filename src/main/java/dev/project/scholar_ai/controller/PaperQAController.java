@@ -2,6 +2,7 @@ package dev.project.scholar_ai.controller;
 
 import dev.project.scholar_ai.dto.qa.ChatRequest;
 import dev.project.scholar_ai.dto.qa.ChatResponse;
+import dev.project.scholar_ai.dto.qa.ChatStreamEvent;
 import dev.project.scholar_ai.model.qa.QAMessage;
 import dev.project.scholar_ai.model.qa.QASession;
 import dev.project.scholar_ai.service.qa.PaperQAService;
@@ -12,9 +13,12 @@ import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 @Slf4j
 @RestController
@@ -50,6 +54,26 @@ public class PaperQAController {
         }
     }
 
+    /**
+     * Chat with a paper, streaming the answer as Server-Sent Events while it is
+     * generated: a session event, token events, then done (or error)
+     */
+    @PostMapping(value = "/{paperId}/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChatStreamEvent>> streamChatWithPaper(
+            @PathVariable UUID paperId, @RequestBody ChatRequest request, Authentication authentication) {
+
+        String username = authentication != null ? authentication.getName() : "anonymous";
+        log.info("Streaming chat request received for paper: {} by user: {}", paperId, username);
+
+        if (request.getMessage() == null || request.getMessage().trim().isEmpty()) {
+            return Flux.just(ServerSentEvent.builder(ChatStreamEvent.error("Message cannot be empty"))
+                    .event("error")
+                    .build());
+        }
+
+        return paperQAService.streamChatWithPaper(paperId, request, username);
+    }
+
     /**
      * Get conversation history for a QA session
      */
@@ -0,0 +1,103 @@
+package dev.project.scholar_ai.controller.admin;
+
+import dev.project.scholar_ai.dto.admin.DeadLetterDto;
+import dev.project.scholar_ai.dto.admin.DeadLetterQueueDto;
+import dev.project.scholar_ai.dto.common.APIResponse;
+import dev.project.scholar_ai.messaging.retry.DeadLetterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/admin/dead-letters")
+@Tag(name = "☠️ Dead Letters", description = "Inspect and replay result messages that exhausted their retries")
+public class DeadLetterController {
+
+    private final DeadLetterService deadLetterService;
+
+    @GetMapping
+    @Operation(
+            summary = "List dead-letter queues",
+            description = "Dead-letter queue and waiting message count of every completed-result queue.")
+    public ResponseEntity<APIResponse<List<DeadLetterQueueDto>>> listQueues() {
+        try {
+            return ResponseEntity.ok(APIResponse.success(
+                    HttpStatus.OK.value(),
+                    "Dead-letter queues retrieved successfully",
+                    deadLetterService.listQueues()));
+        } catch (Exception e) {
+            log.error("Failed to list dead-letter queues", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(APIResponse.error(
+                            HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to list dead-letter queues", null));
+        }
+    }
+
+    @GetMapping("/{queue}")
+    @Operation(
+            summary = "Inspect dead letters",
+            description = "Oldest dead letters of a completed-result queue with their attempts and last error. "
+                    + "Messages are requeued after reading, so the queue is left unchanged.")
+    public ResponseEntity<APIResponse<List<DeadLetterDto>>> inspect(
+            @PathVariable
+                    @Parameter(description = "Completed-result queue", example = "scholarai.extraction.completed.queue")
+                    String queue,
+            @RequestParam(defaultValue = "20")
+                    @Parameter(
+                            description = "Maximum messages to return (at most " + DeadLetterService.MAX_INSPECT + ")")
+                    int limit) {
+        try {
+            List<DeadLetterDto> deadLetters = deadLetterService.inspect(queue, limit);
+            return ResponseEntity.ok(APIResponse.success(
+                    HttpStatus.OK.value(), "Retrieved " + deadLetters.size() + " dead letters", deadLetters));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(APIResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("Failed to inspect dead letters of {}", queue, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(APIResponse.error(
+                            HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to inspect dead letters", null));
+        }
+    }
+
+    @PostMapping("/{queue}/replay")
+    @Operation(
+            summary = "Replay dead letters",
+            description = "Moves up to `limit` dead letters back onto their completed-result queue with a fresh "
+                    + "attempt count, oldest first.")
+    public ResponseEntity<APIResponse<Map<String, Object>>> replay(
+            @PathVariable
+                    @Parameter(description = "Completed-result queue", example = "scholarai.extraction.completed.queue")
+                    String queue,
+            @RequestParam(defaultValue = "100")
+                    @Parameter(
+                            description = "Maximum messages to replay (at most " + DeadLetterService.MAX_REPLAY + ")")
+                    int limit) {
+        try {
+            log.info("Dead-letter replay of up to {} messages requested for {}", limit, queue);
+            int replayed = deadLetterService.replay(queue, limit);
+            return ResponseEntity.ok(APIResponse.success(
+                    HttpStatus.OK.value(),
+                    "Replayed " + replayed + " dead letters",
+                    Map.of("queue", queue, "replayed", replayed)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(APIResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("Failed to replay dead letters of {}", queue, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(APIResponse.error(
+                            HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to replay dead letters", null));
+        }
+    }
+}
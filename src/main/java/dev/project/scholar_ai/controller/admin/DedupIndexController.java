@@ -0,0 +1,52 @@
+package dev.project.scholar_ai.controller.admin;
+
+import dev.project.scholar_ai.dto.common.APIResponse;
+import dev.project.scholar_ai.service.websearch.PaperIdentifierIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/admin/dedup-index")
+@Tag(name = "🔎 Deduplication Index", description = "Inspect and rebuild the in-memory paper identifier index")
+public class DedupIndexController {
+
+    private final PaperIdentifierIndex paperIdentifierIndex;
+
+    @GetMapping
+    @Operation(
+            summary = "Deduplication index stats",
+            description = "State of the in-memory identifier index used to skip duplicate lookups, "
+                    + "including its hit rate and false-positive rate.")
+    public ResponseEntity<APIResponse<Map<String, Object>>> stats() {
+        return ResponseEntity.ok(APIResponse.success(
+                HttpStatus.OK.value(), "Deduplication index stats retrieved", paperIdentifierIndex.stats()));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(
+            summary = "Rebuild deduplication index",
+            description = "Starts rebuilding the identifier index from the paper database in the background. "
+                    + "Lookups keep using the current index until the rebuild completes; poll the stats for "
+                    + "`rebuilding`.")
+    public ResponseEntity<APIResponse<Map<String, Object>>> rebuild() {
+        if (!paperIdentifierIndex.rebuildAsync()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(APIResponse.error(
+                            HttpStatus.CONFLICT.value(), "A deduplication index rebuild is already running", null));
+        }
+        log.info("Started paper identifier index rebuild");
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(APIResponse.success(
+                        HttpStatus.ACCEPTED.value(),
+                        "Deduplication index rebuild started",
+                        paperIdentifierIndex.stats()));
+    }
+}
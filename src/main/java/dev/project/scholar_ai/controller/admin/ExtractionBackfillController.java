@@ -0,0 +1,121 @@
+package dev.project.scholar_ai.controller.admin;
+
+import dev.project.scholar_ai.dto.common.APIResponse;
+import dev.project.scholar_ai.dto.extraction.ExtractionBackfillDto;
+import dev.project.scholar_ai.service.extraction.ExtractionBackfillService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/admin/extraction-backfills")
+@Tag(name = "📚 Extraction Backfills", description = "Rate-controlled bulk text extraction of papers with PDFs")
+public class ExtractionBackfillController {
+
+    private final ExtractionBackfillService extractionBackfillService;
+
+    @PostMapping
+    @Operation(
+            summary = "Start an extraction backfill",
+            description = "Requests text extraction for every paper with a PDF but no extracted text, in the bulk "
+                    + "lane at a steady rate, pausing while the extraction queue is deep. Only one backfill runs "
+                    + "at a time; it survives restarts.")
+    public ResponseEntity<APIResponse<ExtractionBackfillDto>> start(
+            @RequestParam(required = false) @Parameter(description = "Papers to request at most; all if omitted")
+                    Integer maxPapers,
+            @RequestParam(required = false)
+                    @Parameter(description = "Requests per second; the configured rate if omitted")
+                    Double ratePerSecond,
+            Principal principal) {
+        try {
+            ExtractionBackfillDto backfill =
+                    extractionBackfillService.start(principal.getName(), maxPapers, ratePerSecond);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(APIResponse.success(HttpStatus.CREATED.value(), "Extraction backfill started", backfill));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(APIResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(APIResponse.error(HttpStatus.CONFLICT.value(), e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("Failed to start extraction backfill", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(APIResponse.error(
+                            HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to start extraction backfill", null));
+        }
+    }
+
+    @GetMapping
+    @Operation(summary = "List extraction backfills", description = "Most recent backfills first, with their progress.")
+    public ResponseEntity<APIResponse<List<ExtractionBackfillDto>>> list(
+            @RequestParam(defaultValue = "20") @Parameter(description = "Maximum backfills to return") int limit) {
+        try {
+            return ResponseEntity.ok(APIResponse.success(
+                    HttpStatus.OK.value(),
+                    "Extraction backfills retrieved successfully",
+                    extractionBackfillService.list(limit)));
+        } catch (Exception e) {
+            log.error("Failed to list extraction backfills", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(APIResponse.error(
+                            HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to list extraction backfills", null));
+        }
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Get extraction backfill progress",
+            description = "Requests sent and failed, current extraction queue depth, whether the backfill is "
+                    + "paused for it, and the estimated time left.")
+    public ResponseEntity<APIResponse<ExtractionBackfillDto>> get(
+            @PathVariable @Parameter(description = "Backfill ID") UUID id) {
+        try {
+            return extractionBackfillService
+                    .get(id)
+                    .map(backfill -> ResponseEntity.ok(APIResponse.success(
+                            HttpStatus.OK.value(), "Extraction backfill retrieved successfully", backfill)))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(APIResponse.error(
+                                    HttpStatus.NOT_FOUND.value(), "Extraction backfill not found: " + id, null)));
+        } catch (Exception e) {
+            log.error("Failed to get extraction backfill {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(APIResponse.error(
+                            HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to get extraction backfill", null));
+        }
+    }
+
+    @PostMapping("/{id}/cancel")
+    @Operation(
+            summary = "Cancel an extraction backfill",
+            description = "Stops a running backfill after its current page. Requests already sent are not withdrawn.")
+    public ResponseEntity<APIResponse<ExtractionBackfillDto>> cancel(
+            @PathVariable @Parameter(description = "Backfill ID") UUID id) {
+        try {
+            return ResponseEntity.ok(APIResponse.success(
+                    HttpStatus.OK.value(), "Extraction backfill cancelled", extractionBackfillService.cancel(id)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(APIResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(APIResponse.error(HttpStatus.CONFLICT.value(), e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("Failed to cancel extraction backfill {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(APIResponse.error(
+                            HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to cancel extraction backfill", null));
+        }
+    }
+}
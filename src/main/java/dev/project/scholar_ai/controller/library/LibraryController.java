@@ -4,10 +4,12 @@ import dev.project.scholar_ai.dto.common.APIResponse;
 import dev.project.scholar_ai.dto.library.LibraryResponseDto;
 import dev.project.scholar_ai.dto.paper.metadata.PaperMetadataDto;
 import dev.project.scholar_ai.dto.paper.metadata.UploadedPaperRequest;
+import dev.project.scholar_ai.dto.pipeline.PipelineProgressDto;
 import dev.project.scholar_ai.model.core.auth.AuthUser;
 import dev.project.scholar_ai.repository.core.auth.AuthUserRepository;
 import dev.project.scholar_ai.service.library.LibraryService;
 import dev.project.scholar_ai.service.library.UploadedPaperService;
+import dev.project.scholar_ai.service.pipeline.PaperPipelineService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -34,6 +36,7 @@ public class LibraryController {
 
     private final LibraryService libraryService;
     private final UploadedPaperService uploadedPaperService;
+    private final PaperPipelineService paperPipelineService;
     private final AuthUserRepository authUserRepository;
 
     /**
@@ -258,4 +261,53 @@ public class LibraryController {
                             null));
         }
     }
+
+    @GetMapping("/project/{projectId}/pipeline")
+    @Operation(
+            summary = "⚙️ Get Project Pipeline Progress",
+            description = "Retrieve where each paper in the project's library is in the processing pipeline "
+                    + "(extraction, structuring, summarization, gap analysis): its current stage, status, "
+                    + "attempt and timestamps, plus per-stage counts and how long the oldest queued paper "
+                    + "has been waiting.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Pipeline progress retrieved successfully",
+                        content = @Content(schema = @Schema(implementation = APIResponse.class))),
+                @ApiResponse(responseCode = "404", description = "Project not found or access denied")
+            })
+    public ResponseEntity<APIResponse<PipelineProgressDto>> getProjectPipelineProgress(
+            @PathVariable
+                    @Parameter(
+                            description = "Project ID to retrieve pipeline progress for",
+                            example = "123e4567-e89b-12d3-a456-426614174000")
+                    UUID projectId,
+            Principal principal) {
+        try {
+            if (principal == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(APIResponse.error(HttpStatus.UNAUTHORIZED.value(), "Authentication required", null));
+            }
+
+            log.info("Get project pipeline progress {} endpoint hit by user: {}", projectId, principal.getName());
+
+            UUID userId = getUserIdFromPrincipal(principal);
+            PipelineProgressDto progress = paperPipelineService.getProjectProgress(projectId, userId);
+
+            String message = String.format(
+                    "%d of %d papers completed the pipeline", progress.finished(), progress.totalPapers());
+
+            return ResponseEntity.ok(APIResponse.success(HttpStatus.OK.value(), message, progress));
+        } catch (RuntimeException e) {
+            log.error("Error retrieving pipeline progress for project {}: {}", projectId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(APIResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("Unexpected error retrieving pipeline progress for project {}: {}", projectId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(APIResponse.error(
+                            HttpStatus.INTERNAL_SERVER_ERROR.value(), "Failed to retrieve pipeline progress", null));
+        }
+    }
 }
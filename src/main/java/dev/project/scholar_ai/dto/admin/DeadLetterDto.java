@@ -0,0 +1,14 @@
+package dev.project.scholar_ai.dto.admin;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A dead-lettered result message")
+public record DeadLetterDto(
+        @Schema(description = "AMQP message ID, when the sender set one") String messageId,
+        @Schema(description = "Correlation ID, when the sender set one") String correlationId,
+        @Schema(description = "Attempts made before it was dead-lettered") Integer attempts,
+        @Schema(description = "Error of the last attempt") String lastError,
+        @Schema(description = "When processing first failed (ISO-8601)") String firstFailedAt,
+        @Schema(description = "When it was dead-lettered (ISO-8601)") String deadLetteredAt,
+        @Schema(description = "Size of the message body in bytes") int bodyBytes,
+        @Schema(description = "Start of the message body as UTF-8") String bodyPreview) {}
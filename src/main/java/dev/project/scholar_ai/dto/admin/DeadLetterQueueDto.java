@@ -0,0 +1,13 @@
+package dev.project.scholar_ai.dto.admin;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Dead-letter queue of a completed-result queue")
+public record DeadLetterQueueDto(
+        @Schema(
+                        description = "Completed-result queue the messages failed on",
+                        example = "scholarai.extraction.completed.queue")
+                String queue,
+        @Schema(description = "Queue holding its dead letters", example = "scholarai.extraction.completed.queue.dlq")
+                String deadLetterQueue,
+        @Schema(description = "Number of dead letters waiting") long messageCount) {}
@@ -23,10 +23,14 @@ public class StructuringRequest {
     @NotNull(message = "Paper ID is required") @JsonProperty("paperId")
     private UUID paperId;
 
-    @NotBlank(message = "Extracted text is required")
+    /** Inline text; null when the text is passed by {@link #textRef}. */
     @JsonProperty("extractedText")
     private String extractedText;
 
+    /** Claim check for the text when it is too large to send inline. */
+    @JsonProperty("textRef")
+    private TextReference textRef;
+
     @JsonProperty("paperMetadata")
     private Map<String, Object> paperMetadata;
 
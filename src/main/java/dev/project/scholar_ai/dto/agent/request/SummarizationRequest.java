@@ -3,5 +3,10 @@ package dev.project.scholar_ai.dto.agent.request;
 import java.util.UUID;
 import lombok.Builder;
 
+/**
+ * Summarization request. The paper text is sent either inline as {@code content}
+ * or, above the inline threshold, as a {@code textRef} claim check.
+ */
 @Builder
-public record SummarizationRequest(String correlationId, UUID paperId, String content, String requestedBy) {}
+public record SummarizationRequest(
+        String correlationId, UUID paperId, String content, TextReference textRef, String requestedBy) {}
@@ -0,0 +1,16 @@
+package dev.project.scholar_ai.dto.agent.request;
+
+import java.util.UUID;
+
+/**
+ * Claim check for a paper's extracted text. Messages carry this instead of the
+ * text once it is larger than the inline threshold, and the consumer fetches
+ * the text from the backend's text store.
+ *
+ * @param paperId The paper the text belongs to
+ * @param contentHash {@code crc32c:} followed by the CRC32C of the UTF-8 text as 8 hex digits
+ * @param charLength Length of the text in characters
+ * @param byteLength Size of the UTF-8 text, as served by {@code fetchUrl}
+ * @param fetchUrl Plain-text download of the text; supports HTTP byte ranges
+ */
+public record TextReference(UUID paperId, String contentHash, int charLength, int byteLength, String fetchUrl) {}
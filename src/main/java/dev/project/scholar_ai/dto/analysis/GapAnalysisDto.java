@@ -0,0 +1,13 @@
+package dev.project.scholar_ai.dto.analysis;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Stored gap analysis of a paper")
+public record GapAnalysisDto(
+        @Schema(description = "Paper ID") UUID paperId,
+        @Schema(description = "Research gaps in the order the agent reported them") List<String> gaps,
+        @Schema(description = "When the paper was first analyzed") LocalDateTime createdAt,
+        @Schema(description = "When the gaps were last replaced") LocalDateTime updatedAt) {}
@@ -0,0 +1,12 @@
+package dev.project.scholar_ai.dto.analysis;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Stored summary of a paper")
+public record GeneratedSummaryDto(
+        @Schema(description = "Paper ID") UUID paperId,
+        @Schema(description = "Summary produced by the summarization agent") String summaryText,
+        @Schema(description = "When the paper was first summarized") LocalDateTime createdAt,
+        @Schema(description = "When the summary was last replaced") LocalDateTime updatedAt) {}
@@ -0,0 +1,27 @@
+package dev.project.scholar_ai.dto.extraction;
+
+import dev.project.scholar_ai.enums.BackfillStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Progress of a bulk extraction backfill")
+public record ExtractionBackfillDto(
+        @Schema(description = "Backfill ID") UUID id,
+        @Schema(description = "Status of the run", example = "RUNNING") BackfillStatus status,
+        @Schema(description = "Who started the run") String requestedBy,
+        @Schema(description = "Papers the run will request at most; null for every candidate") Integer maxPapers,
+        @Schema(description = "Candidate papers when the run was started, capped by maxPapers", example = "1200")
+                long totalPapers,
+        @Schema(description = "Extraction requests sent", example = "350") long sent,
+        @Schema(description = "Papers whose request could not be sent", example = "2") long failed,
+        @Schema(description = "Requests sent per second", example = "5.0") double ratePerSecond,
+        @Schema(description = "Messages waiting on the extraction queue; null when the run is not running")
+                Long queueDepth,
+        @Schema(description = "Whether the run is paused because the extraction queue is too deep") boolean throttled,
+        @Schema(description = "Seconds left at the configured rate, ignoring pauses; null when not running")
+                Long estimatedSecondsRemaining,
+        @Schema(description = "Error of the last failed request") String lastError,
+        @Schema(description = "When the run was started") LocalDateTime createdAt,
+        @Schema(description = "When progress was last recorded") LocalDateTime updatedAt,
+        @Schema(description = "When the run completed or was cancelled") LocalDateTime completedAt) {}
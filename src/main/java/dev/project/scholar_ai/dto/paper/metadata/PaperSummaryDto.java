@@ -0,0 +1,94 @@
+package dev.project.scholar_ai.dto.paper.metadata;
+
+import dev.project.scholar_ai.enums.ExtractionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(
+        description = "Paper metadata for list endpoints. Never carries the extracted full text; "
+                + "fetch it from /api/papers/{paperId}/extracted-text")
+public record PaperSummaryDto(
+        @Schema(description = "Unique identifier for the paper") UUID id,
+        @Schema(description = "Search operation that first stored the paper") String correlationId,
+        @Schema(description = "Paper title") String title,
+        @Schema(description = "Paper abstract") String abstractText,
+        @Schema(description = "Publication date") LocalDate publicationDate,
+        @Schema(description = "Digital Object Identifier") String doi,
+        @Schema(description = "Unique ID from Semantic Scholar") String semanticScholarId,
+        @Schema(description = "Source the paper was found in") String source,
+        @Schema(description = "PDF URL in our storage, when uploaded") String pdfContentUrl,
+        @Schema(description = "Original open access PDF URL") String pdfUrl,
+        @Schema(description = "Whether the paper is open access") Boolean isOpenAccess,
+        @Schema(description = "Landing page URL") String paperUrl,
+        @Schema(description = "Comma-separated publication types") String publicationTypes,
+        @Schema(description = "Comma-separated fields of study") String fieldsOfStudy,
+        @Schema(description = "Text extraction status") ExtractionStatus extractionStatus,
+        @Schema(description = "When the text was extracted") LocalDateTime extractedAt,
+        @Schema(description = "Whether extracted text is available") boolean hasExtractedText,
+        @Schema(description = "List of authors") List<AuthorDto> authors) {
+
+    /** Used by the listing queries; the authors are attached afterwards with {@link #withAuthors}. */
+    public PaperSummaryDto(
+            UUID id,
+            String correlationId,
+            String title,
+            String abstractText,
+            LocalDate publicationDate,
+            String doi,
+            String semanticScholarId,
+            String source,
+            String pdfContentUrl,
+            String pdfUrl,
+            Boolean isOpenAccess,
+            String paperUrl,
+            String publicationTypes,
+            String fieldsOfStudy,
+            ExtractionStatus extractionStatus,
+            LocalDateTime extractedAt,
+            boolean hasExtractedText) {
+        this(
+                id,
+                correlationId,
+                title,
+                abstractText,
+                publicationDate,
+                doi,
+                semanticScholarId,
+                source,
+                pdfContentUrl,
+                pdfUrl,
+                isOpenAccess,
+                paperUrl,
+                publicationTypes,
+                fieldsOfStudy,
+                extractionStatus,
+                extractedAt,
+                hasExtractedText,
+                List.of());
+    }
+
+    public PaperSummaryDto withAuthors(List<AuthorDto> authors) {
+        return new PaperSummaryDto(
+                id,
+                correlationId,
+                title,
+                abstractText,
+                publicationDate,
+                doi,
+                semanticScholarId,
+                source,
+                pdfContentUrl,
+                pdfUrl,
+                isOpenAccess,
+                paperUrl,
+                publicationTypes,
+                fieldsOfStudy,
+                extractionStatus,
+                extractedAt,
+                hasExtractedText,
+                authors);
+    }
+}
@@ -0,0 +1,21 @@
+package dev.project.scholar_ai.dto.pipeline;
+
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.enums.PipelineStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Pipeline state of one paper")
+public record PaperPipelineDto(
+        @Schema(description = "Paper ID") UUID paperId,
+        @Schema(description = "Paper title") String title,
+        @Schema(description = "Current stage; null if the paper has not entered the pipeline", example = "STRUCTURING")
+                PipelineStage stage,
+        @Schema(description = "Status within the current stage", example = "QUEUED") PipelineStatus status,
+        @Schema(description = "Times the current stage has been requested", example = "1") Integer attempt,
+        @Schema(description = "When the current stage was requested") LocalDateTime stageStartedAt,
+        @Schema(description = "When the current stage's result was received") LocalDateTime resultReceivedAt,
+        @Schema(description = "Seconds the paper has been waiting on the current stage's agent, while queued")
+                Long waitingSeconds,
+        @Schema(description = "Error reported by the last failed stage") String lastError) {}
@@ -0,0 +1,16 @@
+package dev.project.scholar_ai.dto.pipeline;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Agent pipeline progress of a project's library")
+public record PipelineProgressDto(
+        @Schema(description = "Project ID") UUID projectId,
+        @Schema(description = "Papers in the project's library") int totalPapers,
+        @Schema(description = "Papers that have not entered the pipeline") int notStarted,
+        @Schema(description = "Papers that completed every stage") int finished,
+        @Schema(description = "Paper counts per stage, in pipeline order") List<PipelineStageCountDto> stages,
+        @Schema(description = "Per-paper pipeline state") List<PaperPipelineDto> papers,
+        @Schema(description = "Timestamp when the progress was retrieved") LocalDateTime retrievedAt) {}
@@ -0,0 +1,12 @@
+package dev.project.scholar_ai.dto.pipeline;
+
+import dev.project.scholar_ai.enums.PipelineStage;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Number of papers at a pipeline stage, by status")
+public record PipelineStageCountDto(
+        @Schema(description = "Pipeline stage", example = "SUMMARIZATION") PipelineStage stage,
+        @Schema(description = "Papers waiting on the stage's agent") long queued,
+        @Schema(description = "Papers whose stage result was applied") long completed,
+        @Schema(description = "Papers whose stage failed") long failed,
+        @Schema(description = "Seconds the longest-waiting queued paper has been waiting") Long oldestQueuedSeconds) {}
@@ -0,0 +1,31 @@
+package dev.project.scholar_ai.dto.qa;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.UUID;
+
+@Schema(description = "Data of a streamed chat event; which fields are set depends on the event name")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChatStreamEvent(
+        @Schema(description = "Chat session of the turn (session and done events); null for anonymous users")
+                UUID sessionId,
+        @Schema(description = "Next piece of the answer (token events)") String token,
+        @Schema(description = "The complete answer as stored (done events)") String response,
+        @Schema(description = "Why the turn failed (error events)") String error) {
+
+    public static ChatStreamEvent session(UUID sessionId) {
+        return new ChatStreamEvent(sessionId, null, null, null);
+    }
+
+    public static ChatStreamEvent token(String token) {
+        return new ChatStreamEvent(null, token, null, null);
+    }
+
+    public static ChatStreamEvent done(UUID sessionId, String response) {
+        return new ChatStreamEvent(sessionId, null, response, null);
+    }
+
+    public static ChatStreamEvent error(String error) {
+        return new ChatStreamEvent(null, null, null, error);
+    }
+}
@@ -0,0 +1,8 @@
+package dev.project.scholar_ai.enums;
+
+public enum BackfillStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,19 @@
+package dev.project.scholar_ai.enums;
+
+/**
+ * Agent stages a paper goes through after it is added to a library, in order.
+ */
+public enum PipelineStage {
+    EXTRACTION,
+    STRUCTURING,
+    SUMMARIZATION,
+    GAP_ANALYSIS;
+
+    /**
+     * @return The stage that follows this one, or {@code null} after the last stage
+     */
+    public PipelineStage next() {
+        PipelineStage[] stages = values();
+        return ordinal() + 1 < stages.length ? stages[ordinal() + 1] : null;
+    }
+}
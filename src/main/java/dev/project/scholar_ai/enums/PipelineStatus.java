@@ -0,0 +1,13 @@
+package dev.project.scholar_ai.enums;
+
+/**
+ * Status of a paper within its current {@link PipelineStage}.
+ */
+public enum PipelineStatus {
+    /** Request sent to the stage's agent, result not received yet */
+    QUEUED,
+    /** Result applied; the next stage has not been requested yet */
+    COMPLETED,
+    /** The agent reported a failure */
+    FAILED
+}
@@ -0,0 +1,11 @@
+package dev.project.scholar_ai.enums;
+
+/**
+ * Origin class of an agent request. Interactive requests come from a user
+ * waiting on the result and are delivered ahead of bulk requests queued by
+ * batch runs and backfills.
+ */
+public enum RequestLane {
+    INTERACTIVE,
+    BULK
+}
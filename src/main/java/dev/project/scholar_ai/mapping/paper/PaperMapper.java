@@ -7,6 +7,11 @@ import dev.project.scholar_ai.model.paper.metadata.ExternalId;
 import dev.project.scholar_ai.model.paper.metadata.Paper;
 import dev.project.scholar_ai.model.paper.metadata.PaperMetrics;
 import dev.project.scholar_ai.model.paper.metadata.PublicationVenue;
+import dev.project.scholar_ai.repository.paper.projection.AuthorRow;
+import dev.project.scholar_ai.repository.paper.projection.ExternalIdRow;
+import dev.project.scholar_ai.repository.paper.projection.PaperRow;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -44,6 +49,49 @@ public interface PaperMapper {
     @Mapping(target = "fieldsOfStudy", source = "fieldsOfStudy", qualifiedByName = "stringToList")
     PaperMetadataDto toDto(Paper entity);
 
+    /**
+     * Assembles a DTO from read projections, for list endpoints that must not
+     * initialize {@link Paper} entities and their lazy associations.
+     *
+     * @param row The paper, venue and metrics columns
+     * @param authors The paper's author rows, in database order
+     * @param externalIds The paper's external ID rows
+     */
+    default PaperMetadataDto toDto(PaperRow row, List<AuthorRow> authors, List<ExternalIdRow> externalIds) {
+        List<AuthorDto> authorDtos = new ArrayList<>(authors.size());
+        for (AuthorRow author : authors) {
+            authorDtos.add(new AuthorDto(author.name(), author.authorId(), author.orcid(), author.affiliation()));
+        }
+        Map<String, Object> externalIdMap = new LinkedHashMap<>();
+        for (ExternalIdRow externalId : externalIds) {
+            externalIdMap.putIfAbsent(externalId.source(), externalId.value());
+        }
+        return new PaperMetadataDto(
+                row.id().toString(),
+                row.title(),
+                row.abstractText(),
+                authorDtos,
+                row.publicationDate(),
+                row.doi(),
+                row.semanticScholarId(),
+                externalIdMap,
+                row.source(),
+                row.pdfContentUrl(),
+                row.pdfUrl(),
+                row.isOpenAccess(),
+                row.paperUrl(),
+                row.venueName(),
+                row.publisher(),
+                stringToList(row.publicationTypes()),
+                row.volume(),
+                row.issue(),
+                row.pages(),
+                row.citationCount(),
+                row.referenceCount(),
+                row.influentialCitationCount(),
+                stringToList(row.fieldsOfStudy()));
+    }
+
     @Named("mapAuthors")
     default List<Author> mapAuthors(List<AuthorDto> authorDtos) {
         if (authorDtos == null) return null;
@@ -0,0 +1,241 @@
+package dev.project.scholar_ai.messaging.idempotency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ledger of result messages that have already been applied, so that a
+ * RabbitMQ redelivery or a double send is acknowledged without redoing the
+ * paper update or re-triggering the downstream agents.
+ *
+ * <p>Messages are keyed by consumer plus {@code "<correlationId>:<paperId>"}
+ * and claimed in {@code processed_messages} on the caller's paper transaction:
+ * the claim commits with the work it guards, and a rolled-back batch releases
+ * its claims so the retry is not mistaken for a duplicate. Follow-up work done
+ * after the commit, such as requesting the next agent, releases the claims of
+ * the messages it failed for. Claims are pruned after
+ * {@code scholarai.messaging.idempotency.retention-hours}.
+ */
+@Slf4j
+@Component
+public class ProcessedMessageLedger {
+
+    public static final String EXTRACTION_RESULTS = "extraction.completed";
+    public static final String STRUCTURING_RESULTS = "structuring.completed";
+    public static final String SUMMARIZATION_RESULTS = "summarization.completed";
+    public static final String GAP_ANALYSIS_RESULTS = "gap-analysis.completed";
+
+    private static final String SELECT_CLAIMED =
+            "SELECT message_key FROM processed_messages WHERE consumer = ? AND message_key IN (%s)";
+    private static final String INSERT_CLAIMS =
+            "INSERT INTO processed_messages (consumer, message_key, processed_at) VALUES %s ON CONFLICT DO NOTHING";
+    private static final String DELETE_CLAIMS =
+            "DELETE FROM processed_messages WHERE consumer = ? AND message_key IN (%s)";
+    private static final String DELETE_EXPIRED = "DELETE FROM processed_messages WHERE processed_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration retention;
+    private final long pruneIntervalMinutes;
+    private ScheduledExecutorService scheduler;
+
+    public ProcessedMessageLedger(
+            @Qualifier("paperJdbcTemplate") JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${scholarai.messaging.idempotency.enabled:true}") boolean enabled,
+            @Value("${scholarai.messaging.idempotency.retention-hours:168}") long retentionHours,
+            @Value("${scholarai.messaging.idempotency.prune-interval-minutes:60}") long pruneIntervalMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.retention = Duration.ofHours(retentionHours);
+        this.pruneIntervalMinutes = pruneIntervalMinutes;
+    }
+
+    /**
+     * Key of a result message, or {@code null} when it carries no correlation
+     * ID and cannot be told apart from a legitimate repeat.
+     */
+    public static String key(String correlationId, UUID paperId) {
+        return correlationId == null || correlationId.isBlank() ? null : correlationId + ":" + paperId;
+    }
+
+    /**
+     * Claims the given messages for a consumer and returns the ones that have
+     * not been applied before, in their original order. Messages without a key
+     * are always returned. Duplicates are counted per consumer.
+     *
+     * <p>Must run on the paper transaction that applies the returned messages.
+     * If a concurrent transaction claims part of a multi-message batch first,
+     * the claim fails with an {@link IllegalStateException}; the batch is
+     * rolled back and replayed one message at a time, where the claim is exact.
+     *
+     * @param consumer The consuming queue, e.g. {@link #EXTRACTION_RESULTS}
+     * @param messages The messages about to be applied
+     * @param keyOf Key of a message, see {@link #key(String, UUID)}
+     * @return The messages to apply
+     */
+    public <T> List<T> claim(String consumer, List<T> messages, Function<T, String> keyOf) {
+        if (!enabled || messages.isEmpty()) {
+            return messages;
+        }
+
+        int unkeyed = 0;
+        Map<String, T> keyed = new LinkedHashMap<>();
+        int duplicates = 0;
+        for (T message : messages) {
+            String key = keyOf.apply(message);
+            if (key == null) {
+                unkeyed++;
+            } else if (keyed.putIfAbsent(key, message) != null) {
+                duplicates++; // sent twice within the same batch
+            }
+        }
+        if (keyed.isEmpty()) {
+            return messages;
+        }
+
+        // Cheap read first: a redelivery is normally already committed
+        List<Object> selectArgs = new ArrayList<>(keyed.size() + 1);
+        selectArgs.add(consumer);
+        selectArgs.addAll(keyed.keySet());
+        List<String> claimed = jdbcTemplate.queryForList(
+                SELECT_CLAIMED.formatted(placeholders(keyed.size(), "?")), String.class, selectArgs.toArray());
+        for (String key : claimed) {
+            if (keyed.remove(key) != null) {
+                duplicates++;
+            }
+        }
+
+        if (!keyed.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object> insertArgs = new ArrayList<>(keyed.size() * 3);
+            for (String key : keyed.keySet()) {
+                insertArgs.add(consumer);
+                insertArgs.add(key);
+                insertArgs.add(now);
+            }
+            int inserted = jdbcTemplate.update(
+                    INSERT_CLAIMS.formatted(placeholders(keyed.size(), "(?, ?, ?)")), insertArgs.toArray());
+            if (inserted < keyed.size()) {
+                if (keyed.size() > 1) {
+                    throw new IllegalStateException("Messages of a " + consumer + " batch were claimed concurrently");
+                }
+                // The only message was committed by a concurrent consumer while this claim waited on it
+                duplicates++;
+                keyed.clear();
+            }
+        }
+
+        if (duplicates == 0) {
+            return messages;
+        }
+        meterRegistry
+                .counter("scholarai.messaging.duplicates.suppressed", "queue", consumer)
+                .increment(duplicates);
+        log.info("🔁 Suppressed {} duplicate {} messages", duplicates, consumer);
+
+        // Keep delivery order across keyed and unkeyed messages
+        List<T> result = new ArrayList<>(unkeyed + keyed.size());
+        for (T message : messages) {
+            String key = keyOf.apply(message);
+            if (key == null || keyed.remove(key, message)) {
+                result.add(message);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Releases the claims of messages that were applied but whose follow-up
+     * work failed after the claim committed, such as requesting the next agent.
+     * Their redelivery is then applied again instead of being skipped as a
+     * duplicate. Runs outside the caller's transaction, which has committed.
+     *
+     * @param consumer The consuming queue the messages were claimed for
+     * @param keys Keys of the messages, see {@link #key(String, UUID)}; null keys are ignored
+     * @return The number of claims released
+     */
+    public int release(String consumer, Collection<String> keys) {
+        List<Object> args = new ArrayList<>(keys.size() + 1);
+        args.add(consumer);
+        keys.stream().filter(Objects::nonNull).distinct().forEach(args::add);
+        if (!enabled || args.size() == 1) {
+            return 0;
+        }
+        int released = jdbcTemplate.update(DELETE_CLAIMS.formatted(placeholders(args.size() - 1, "?")), args.toArray());
+        meterRegistry
+                .counter("scholarai.messaging.claims.released", "queue", consumer)
+                .increment(released);
+        log.warn("Released {} {} claims for redelivery", released, consumer);
+        return released;
+    }
+
+    /**
+     * Removes claims older than the retention period. A message redelivered
+     * after that is applied again.
+     *
+     * @return The number of claims removed
+     */
+    public int pruneExpired() {
+        int removed = jdbcTemplate.update(
+                DELETE_EXPIRED, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+        if (removed > 0) {
+            log.info("Pruned {} processed-message claims older than {}", removed, retention);
+        }
+        return removed;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("processed-message-pruner").factory());
+        scheduler.scheduleWithFixedDelay(
+                this::pruneQuietly, pruneIntervalMinutes, pruneIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void pruneQuietly() {
+        try {
+            pruneExpired();
+        } catch (RuntimeException e) {
+            log.warn("Could not prune processed-message claims: {}", e.getMessage());
+        }
+    }
+
+    private static String placeholders(int count, String placeholder) {
+        return String.join(", ", Collections.nCopies(count, placeholder));
+    }
+}
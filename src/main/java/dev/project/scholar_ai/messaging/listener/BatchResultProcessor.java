@@ -0,0 +1,150 @@
+package dev.project.scholar_ai.messaging.listener;
+
+import com.rabbitmq.client.Channel;
+import dev.project.scholar_ai.messaging.retry.FailedMessageRouter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a batch of result messages through a batch handler, isolating failures
+ * to the messages that caused them.
+ *
+ * <p>Messages that cannot be converted are dead-lettered up front. The rest go
+ * to the batch handler, which processes them in one transaction; when it fails
+ * the transaction is rolled back and each message is replayed on its own
+ * through the single-message handler, so only a poisoned message is handed to
+ * the {@link FailedMessageRouter} for a delayed retry (or its dead-letter queue)
+ * while the others are acknowledged. Containers using this must run with
+ * manual acknowledgement.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchResultProcessor {
+
+    private final MessageConverter jsonMessageConverter;
+    private final FailedMessageRouter failedMessageRouter;
+
+    /**
+     * Processes and acknowledges a batch.
+     *
+     * @param messages The batch as delivered by the container
+     * @param channel The channel the batch was delivered on
+     * @param type The payload type of the queue
+     * @param batchHandler Processes all payloads in one transaction
+     * @param singleHandler Processes one payload in its own transaction
+     * @return The number of messages sent to retry or dead-lettered
+     */
+    public <T> int process(
+            List<Message> messages,
+            Channel channel,
+            Class<T> type,
+            Consumer<List<T>> batchHandler,
+            Consumer<T> singleHandler) {
+        List<T> payloads = new ArrayList<>(messages.size());
+        List<Message> converted = new ArrayList<>(messages.size());
+        int failed = 0;
+        for (Message message : messages) {
+            try {
+                payloads.add(convert(message, type));
+                converted.add(message);
+            } catch (RuntimeException e) {
+                log.error(
+                        "❌ Unreadable {} message (delivery tag {}): {}",
+                        type.getSimpleName(),
+                        message.getMessageProperties().getDeliveryTag(),
+                        e.getMessage());
+                settleFailed(channel, message, () -> failedMessageRouter.deadLetter(message, e));
+                failed++;
+            }
+        }
+        if (payloads.isEmpty()) {
+            return failed;
+        }
+
+        try {
+            batchHandler.accept(payloads);
+            for (Message message : converted) {
+                ack(channel, message.getMessageProperties().getDeliveryTag());
+            }
+            return failed;
+        } catch (RuntimeException e) {
+            log.warn(
+                    "⚠️ Batch of {} {} messages failed, retrying one by one: {}",
+                    payloads.size(),
+                    type.getSimpleName(),
+                    e.getMessage());
+        }
+
+        for (int i = 0; i < payloads.size(); i++) {
+            Message message = converted.get(i);
+            long deliveryTag = message.getMessageProperties().getDeliveryTag();
+            try {
+                singleHandler.accept(payloads.get(i));
+            } catch (RuntimeException e) {
+                log.error(
+                        "❌ Failed to process {} message (delivery tag {}): {}",
+                        type.getSimpleName(),
+                        deliveryTag,
+                        e.getMessage(),
+                        e);
+                settleFailed(channel, message, () -> failedMessageRouter.route(message, e));
+                failed++;
+                continue;
+            }
+            ack(channel, deliveryTag);
+        }
+        return failed;
+    }
+
+    /**
+     * Acknowledges a failed message once its retry or dead-letter copy is
+     * published, or requeues it when the copy could not be published.
+     */
+    private static void settleFailed(Channel channel, Message message, Runnable routing) {
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        try {
+            routing.run();
+        } catch (RuntimeException e) {
+            log.error(
+                    "❌ Could not route failed message (delivery tag {}), requeueing: {}", deliveryTag, e.getMessage());
+            requeue(channel, deliveryTag);
+            return;
+        }
+        ack(channel, deliveryTag);
+    }
+
+    private <T> T convert(Message message, Class<T> type) {
+        // Agents do not send type headers; convert to the queue's payload type as a listener method would
+        message.getMessageProperties().setInferredArgumentType(type);
+        Object payload = jsonMessageConverter.fromMessage(message);
+        if (!type.isInstance(payload)) {
+            throw new IllegalArgumentException("Expected " + type.getSimpleName() + " but got "
+                    + payload.getClass().getSimpleName());
+        }
+        return type.cast(payload);
+    }
+
+    private static void ack(Channel channel, long deliveryTag) {
+        try {
+            channel.basicAck(deliveryTag, false);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to acknowledge message " + deliveryTag, e);
+        }
+    }
+
+    private static void requeue(Channel channel, long deliveryTag) {
+        try {
+            channel.basicNack(deliveryTag, false, true);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to requeue message " + deliveryTag, e);
+        }
+    }
+}
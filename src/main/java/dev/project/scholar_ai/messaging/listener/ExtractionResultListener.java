@@ -1,12 +1,17 @@
 package dev.project.scholar_ai.messaging.listener;
 
+import com.rabbitmq.client.Channel;
 import dev.project.scholar_ai.dto.agent.response.ExtractionResult;
+import dev.project.scholar_ai.messaging.idempotency.ProcessedMessageLedger;
 import dev.project.scholar_ai.service.extraction.ExtractionService;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -14,19 +19,40 @@ import org.springframework.transaction.annotation.Transactional;
 public class ExtractionResultListener {
 
     private final ExtractionService extractionService;
+    private final BatchResultProcessor batchResultProcessor;
+    private final ProcessedMessageLedger processedMessageLedger;
 
-    @RabbitListener(queues = "${scholarai.rabbitmq.extraction.completed-queue}", containerFactory = "listenerFactory")
-    @Transactional(transactionManager = "paperTransactionManager")
-    public void onExtractionCompleted(ExtractionResult result) {
+    @RabbitListener(
+            queues = "${scholarai.rabbitmq.extraction.completed-queue}",
+            containerFactory = "extractionResultBatchFactory")
+    public void onExtractionResults(List<Message> messages, Channel channel) {
+        log.info("📄 Received batch of {} text extraction results", messages.size());
+        batchResultProcessor.process(
+                messages, channel, ExtractionResult.class, this::onExtractionBatch, this::onExtractionCompleted);
+    }
+
+    void onExtractionBatch(List<ExtractionResult> results) {
+        // One transaction for the whole batch
+        List<UUID> completed = extractionService.updatePapersWithExtractedText(results);
+
+        log.info("✅ Text extraction results stored for {} papers, {} completed", results.size(), completed.size());
+
+        // Structuring reads the stored text, so it is triggered once the batch has committed
+        requestStructuring(results, completed);
+    }
+
+    void onExtractionCompleted(ExtractionResult result) {
         log.info(
-                "📄 Received text extraction result - Paper ID: {}, Correlation ID: {}, Status: {}",
+                "📄 Processing text extraction result - Paper ID: {}, Correlation ID: {}, Status: {}",
                 result.getPaperId(),
                 result.getCorrelationId(),
                 result.getStatus());
 
         try {
             // Update the paper with extracted text
-            extractionService.updatePaperWithExtractedText(result);
+            if (!extractionService.updatePaperWithExtractedText(result)) {
+                return; // duplicate delivery, already applied
+            }
 
             if ("COMPLETED".equals(result.getStatus()) && result.getExtractedText() != null) {
                 log.info(
@@ -35,8 +61,8 @@ public class ExtractionResultListener {
                         result.getTextLength(),
                         result.getExtractionMethod());
 
-                // Trigger text structuring if text extraction was successful
-                extractionService.triggerStructuring(result.getPaperId(), result.getExtractedText());
+                // Trigger text structuring if text extraction was successful; it reads the stored text
+                requestStructuring(List.of(result), List.of(result.getPaperId()));
 
             } else {
                 log.warn(
@@ -55,4 +81,26 @@ public class ExtractionResultListener {
             throw new RuntimeException("Failed to process extraction results", e);
         }
     }
+
+    /**
+     * Requests structuring of papers whose results have committed. Their
+     * ledger claims committed with them, so a redelivery would be skipped as a
+     * duplicate and a failed request never retried: the claims of the papers
+     * whose request failed are released and the results fail, to be redelivered
+     * and applied again.
+     */
+    private void requestStructuring(List<ExtractionResult> results, List<UUID> paperIds) {
+        List<UUID> failed = extractionService.triggerStructuring(paperIds);
+        if (failed.isEmpty()) {
+            return;
+        }
+        Set<UUID> failedIds = Set.copyOf(failed);
+        processedMessageLedger.release(
+                ProcessedMessageLedger.EXTRACTION_RESULTS,
+                results.stream()
+                        .filter(result -> failedIds.contains(result.getPaperId()))
+                        .map(result -> ProcessedMessageLedger.key(result.getCorrelationId(), result.getPaperId()))
+                        .toList());
+        throw new IllegalStateException("Could not request text structuring for " + failed.size() + " papers");
+    }
 }
@@ -1,19 +1,48 @@
 package dev.project.scholar_ai.messaging.listener;
 
+import com.rabbitmq.client.Channel;
 import dev.project.scholar_ai.dto.event.GapAnalysisCompletedEvent;
+import dev.project.scholar_ai.service.analysis.AnalysisResultService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class GapAnalysisResultListener {
 
-    @RabbitListener(queues = "${scholarai.rabbitmq.gap-analysis.completed-queue}", containerFactory = "listenerFactory")
-    @Transactional(transactionManager = "paperTransactionManager")
-    public void onGapAnalysisCompleted(GapAnalysisCompletedEvent evt) {
-        // write identifiedGaps into your gap_analysis table:
-        // gapRepo.save(evt.paperId(), evt.identifiedGaps());
+    private final AnalysisResultService analysisResultService;
+    private final BatchResultProcessor batchResultProcessor;
 
-        // optionally notify frontend or mark pipeline "done"
+    @RabbitListener(
+            queues = "${scholarai.rabbitmq.gap-analysis.completed-queue}",
+            containerFactory = "gapAnalysisResultBatchFactory")
+    public void onGapAnalysisResults(List<Message> messages, Channel channel) {
+        log.info("🔍 Received batch of {} gap analysis results", messages.size());
+        batchResultProcessor.process(
+                messages,
+                channel,
+                GapAnalysisCompletedEvent.class,
+                this::onGapAnalysisBatch,
+                this::onGapAnalysisCompleted);
+    }
+
+    void onGapAnalysisBatch(List<GapAnalysisCompletedEvent> results) {
+        // One transaction for the whole batch
+        int stored = analysisResultService.storeGapAnalyses(results);
+
+        log.info("✅ Gap analysis results stored for {} of {} papers", stored, results.size());
+    }
+
+    void onGapAnalysisCompleted(GapAnalysisCompletedEvent result) {
+        log.info(
+                "🔍 Processing gap analysis result - Paper ID: {}, Correlation ID: {}",
+                result.paperId(),
+                result.correlationId());
+        onGapAnalysisBatch(List.of(result));
     }
 }
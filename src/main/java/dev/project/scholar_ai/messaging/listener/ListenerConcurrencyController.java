@@ -0,0 +1,287 @@
+package dev.project.scholar_ai.messaging.listener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grows and shrinks the consumers of each tuned listener container between its
+ * configured bounds, one consumer per tick.
+ *
+ * <p>Every {@code interval-ms} the controller reads the queue depth and the
+ * handler latency per message measured since the last tick (smoothed), and
+ * estimates how long the current consumers need to drain the backlog:
+ * <ul>
+ *   <li>longer than {@code target-drain-seconds}: add a consumer, unless the
+ *       handler is already slower than {@code max-latency-ms}, where more
+ *       consumers only add contention on the database or downstream service;</li>
+ *   <li>handler slower than {@code max-latency-ms}: remove a consumer;</li>
+ *   <li>empty queue, or drain well under the target: remove a consumer.</li>
+ * </ul>
+ *
+ * <p>Settings and decisions are published as {@code scholarai.rabbitmq.listener.*}
+ * gauges tagged by queue. When disabled, containers fall back to the
+ * container's own busy/idle scaling between the same bounds.
+ */
+@Slf4j
+@Component
+public class ListenerConcurrencyController {
+
+    enum Decision {
+        SHRINK(-1),
+        HOLD(0),
+        GROW(1);
+
+        final int step;
+
+        Decision(int step) {
+            this.step = step;
+        }
+    }
+
+    private static final double LATENCY_SMOOTHING = 0.5;
+
+    private final RabbitListenerEndpointRegistry endpointRegistry;
+    private final AmqpAdmin amqpAdmin;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long intervalMs;
+    private final double targetDrainSeconds;
+    private final double maxLatencyMs;
+    private final Map<String, QueueState> queues = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public ListenerConcurrencyController(
+            RabbitListenerEndpointRegistry endpointRegistry,
+            AmqpAdmin amqpAdmin,
+            MeterRegistry meterRegistry,
+            @Value("${scholarai.rabbitmq.adaptive-concurrency.enabled:true}") boolean enabled,
+            @Value("${scholarai.rabbitmq.adaptive-concurrency.interval-ms:10000}") long intervalMs,
+            @Value("${scholarai.rabbitmq.adaptive-concurrency.target-drain-seconds:30}") double targetDrainSeconds,
+            @Value("${scholarai.rabbitmq.adaptive-concurrency.max-latency-ms:5000}") double maxLatencyMs) {
+        this.endpointRegistry = endpointRegistry;
+        this.amqpAdmin = amqpAdmin;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        this.targetDrainSeconds = targetDrainSeconds;
+        this.maxLatencyMs = maxLatencyMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers a queue's tuning and returns the advice that times its handler;
+     * the advice goes on the container's advice chain.
+     *
+     * @param tuning The settings of the queue's container
+     * @return Advice recording handler latency per message
+     */
+    public MethodInterceptor register(ListenerTuning tuning) {
+        QueueState state = queues.computeIfAbsent(tuning.queue(), queue -> newState(tuning));
+        return invocation -> {
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                // Arguments are (Channel, Message) or (Channel, List<Message>) for batch containers
+                Object[] arguments = invocation.getArguments();
+                int messages = arguments.length > 1 && arguments[1] instanceof List<?> batch ? batch.size() : 1;
+                state.record(System.nanoTime() - start, messages);
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || queues.isEmpty()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("listener-concurrency").factory());
+        scheduler.scheduleWithFixedDelay(this::adjustAll, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Adaptive listener concurrency started for {} queues, every {} ms", queues.size(), intervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void adjustAll() {
+        for (MessageListenerContainer container : endpointRegistry.getListenerContainers()) {
+            if (!(container instanceof SimpleMessageListenerContainer simple)) {
+                continue;
+            }
+            for (String queue : simple.getQueueNames()) {
+                QueueState state = queues.get(queue);
+                if (state != null) {
+                    try {
+                        adjust(simple, state);
+                    } catch (RuntimeException e) {
+                        log.warn("Could not adjust consumers for queue {}: {}", queue, e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    void adjust(SimpleMessageListenerContainer container, QueueState state) {
+        QueueInformation info = amqpAdmin.getQueueInfo(state.tuning.queue());
+        if (info == null) {
+            return;
+        }
+        state.depth = info.getMessageCount();
+        double latencyMs = state.sampleLatencyMs();
+
+        Decision decision =
+                decide(state.consumers, state.depth, latencyMs, state.tuning, targetDrainSeconds, maxLatencyMs);
+        state.decision = decision;
+        if (decision == Decision.HOLD) {
+            return;
+        }
+
+        int consumers = state.consumers + decision.step;
+        container.setConcurrentConsumers(consumers);
+        state.consumers = consumers;
+        meterRegistry
+                .counter(
+                        "scholarai.rabbitmq.listener.scaling",
+                        "queue",
+                        state.tuning.queue(),
+                        "direction",
+                        decision.name().toLowerCase())
+                .increment();
+        log.info(
+                "{} consumers of {} to {} (depth {}, {} ms per message)",
+                decision == Decision.GROW ? "Growing" : "Shrinking",
+                state.tuning.queue(),
+                consumers,
+                state.depth,
+                String.format("%.1f", latencyMs));
+    }
+
+    /**
+     * One control step.
+     *
+     * @param consumers Current consumers
+     * @param depth Messages ready in the queue
+     * @param latencyMs Smoothed handler latency per message, NaN before the first sample
+     */
+    static Decision decide(
+            int consumers,
+            long depth,
+            double latencyMs,
+            ListenerTuning tuning,
+            double targetDrainSeconds,
+            double maxLatencyMs) {
+        boolean canGrow = consumers < tuning.maxConsumers();
+        boolean canShrink = consumers > tuning.minConsumers();
+        if (depth == 0) {
+            return canShrink ? Decision.SHRINK : Decision.HOLD;
+        }
+        if (Double.isNaN(latencyMs)) {
+            return Decision.HOLD; // nothing handled yet, no basis for an estimate
+        }
+        if (latencyMs > maxLatencyMs) {
+            return canShrink ? Decision.SHRINK : Decision.HOLD;
+        }
+        double drainSeconds = depth * latencyMs / 1000.0 / consumers;
+        if (drainSeconds > targetDrainSeconds) {
+            return canGrow ? Decision.GROW : Decision.HOLD;
+        }
+        if (drainSeconds < targetDrainSeconds / 4) {
+            return canShrink ? Decision.SHRINK : Decision.HOLD;
+        }
+        return Decision.HOLD;
+    }
+
+    private QueueState newState(ListenerTuning tuning) {
+        QueueState state = new QueueState(tuning);
+        String prefix = "scholarai.rabbitmq.listener.";
+        String queue = tuning.queue();
+        Gauge.builder(prefix + "consumers", state, s -> s.consumers)
+                .description("Consumers the controller currently runs")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        Gauge.builder(prefix + "consumers.min", tuning, ListenerTuning::minConsumers)
+                .tag("queue", queue)
+                .register(meterRegistry);
+        Gauge.builder(prefix + "consumers.max", tuning, ListenerTuning::maxConsumers)
+                .tag("queue", queue)
+                .register(meterRegistry);
+        Gauge.builder(prefix + "prefetch", tuning, ListenerTuning::prefetch)
+                .tag("queue", queue)
+                .register(meterRegistry);
+        Gauge.builder(prefix + "queue.depth", state, s -> s.depth)
+                .description("Messages ready in the queue at the last tick")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        Gauge.builder(prefix + "latency", state, s -> s.latencyMs)
+                .description("Smoothed handler latency per message in milliseconds")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        Gauge.builder(prefix + "decision", state, s -> s.decision.step)
+                .description("Last decision: -1 shrink, 0 hold, 1 grow")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        return state;
+    }
+
+    /** Controller view of one queue; written by the control thread, latency by listener threads. */
+    static final class QueueState {
+
+        final ListenerTuning tuning;
+        final LongAdder handledNanos = new LongAdder();
+        final LongAdder handledMessages = new LongAdder();
+        volatile int consumers;
+        volatile long depth;
+        volatile double latencyMs = Double.NaN;
+        volatile Decision decision = Decision.HOLD;
+
+        QueueState(ListenerTuning tuning) {
+            this.tuning = tuning;
+            this.consumers = tuning.minConsumers();
+        }
+
+        void record(long nanos, int messages) {
+            handledNanos.add(nanos);
+            handledMessages.add(messages);
+        }
+
+        /** Folds the latency measured since the last tick into the smoothed value. */
+        double sampleLatencyMs() {
+            long messages = handledMessages.sumThenReset();
+            long nanos = handledNanos.sumThenReset();
+            if (messages > 0) {
+                double sample = nanos / 1_000_000.0 / messages;
+                latencyMs = Double.isNaN(latencyMs)
+                        ? sample
+                        : LATENCY_SMOOTHING * sample + (1 - LATENCY_SMOOTHING) * latencyMs;
+            }
+            return latencyMs;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dev.project.scholar_ai.messaging.listener;
+
+/**
+ * Container settings of one listener queue.
+ *
+ * @param queue The queue the container consumes
+ * @param minConsumers Consumers the container starts with and never goes below
+ * @param maxConsumers Upper bound for consumers
+ * @param prefetch Unacknowledged messages each consumer may hold
+ */
+public record ListenerTuning(String queue, int minConsumers, int maxConsumers, int prefetch) {
+
+    public ListenerTuning {
+        if (minConsumers < 1 || maxConsumers < minConsumers) {
+            throw new IllegalArgumentException(
+                    "Invalid consumer bounds for " + queue + ": " + minConsumers + "-" + maxConsumers);
+        }
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch for " + queue + " must be at least 1");
+        }
+    }
+}
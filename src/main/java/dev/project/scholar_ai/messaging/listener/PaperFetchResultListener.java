@@ -9,7 +9,9 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class PaperFetchResultListener {
 
-    @RabbitListener(queues = "${scholarai.rabbitmq.paper-fetch.completed-queue}", containerFactory = "listenerFactory")
+    @RabbitListener(
+            queues = "${scholarai.rabbitmq.paper-fetch.completed-queue}",
+            containerFactory = "paperFetchResultFactory")
     @Transactional(transactionManager = "paperTransactionManager")
     public void onPaperFetchCompleted(PaperFetchCompletedEvent evt) {
         // 1) Upsert metadata + pdfUrl into your Postgres via JPA or JdbcTemplate
@@ -1,12 +1,17 @@
 package dev.project.scholar_ai.messaging.listener;
 
+import com.rabbitmq.client.Channel;
 import dev.project.scholar_ai.dto.agent.response.StructuringResult;
+import dev.project.scholar_ai.messaging.idempotency.ProcessedMessageLedger;
 import dev.project.scholar_ai.service.structuring.StructuringService;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -14,19 +19,40 @@ import org.springframework.transaction.annotation.Transactional;
 public class StructuringResultListener {
 
     private final StructuringService structuringService;
+    private final BatchResultProcessor batchResultProcessor;
+    private final ProcessedMessageLedger processedMessageLedger;
 
-    @RabbitListener(queues = "${scholarai.rabbitmq.structuring.completed-queue}", containerFactory = "listenerFactory")
-    @Transactional(transactionManager = "paperTransactionManager")
-    public void onStructuringCompleted(StructuringResult result) {
+    @RabbitListener(
+            queues = "${scholarai.rabbitmq.structuring.completed-queue}",
+            containerFactory = "structuringResultBatchFactory")
+    public void onStructuringResults(List<Message> messages, Channel channel) {
+        log.info("🏗️ Received batch of {} text structuring results", messages.size());
+        batchResultProcessor.process(
+                messages, channel, StructuringResult.class, this::onStructuringBatch, this::onStructuringCompleted);
+    }
+
+    void onStructuringBatch(List<StructuringResult> results) {
+        // One transaction for the whole batch
+        List<UUID> completed = structuringService.updatePapersWithStructuredContent(results);
+
+        log.info("✅ Structured content stored for {} of {} papers", completed.size(), results.size());
+
+        // Summarization is requested once the batch has committed, so a failed batch sends nothing
+        requestSummarization(results, completed);
+    }
+
+    void onStructuringCompleted(StructuringResult result) {
         log.info(
-                "🏗️ Received text structuring result - Paper ID: {}, Correlation ID: {}, Status: {}",
+                "🏗️ Processing text structuring result - Paper ID: {}, Correlation ID: {}, Status: {}",
                 result.getPaperId(),
                 result.getCorrelationId(),
                 result.getStatus());
 
         try {
             // Update the paper with structured content
-            structuringService.updatePaperWithStructuredContent(result);
+            if (!structuringService.updatePaperWithStructuredContent(result)) {
+                return; // duplicate delivery, already applied
+            }
 
             if ("COMPLETED".equals(result.getStatus())) {
                 log.info(
@@ -34,6 +60,9 @@ public class StructuringResultListener {
                         result.getPaperId(),
                         result.getSectionsCount(),
                         result.getProcessingModel());
+
+                // Summarization is requested once the structured content has committed
+                requestSummarization(List.of(result), List.of(result.getPaperId()));
             } else {
                 log.warn(
                         "⚠️ Text structuring failed for paper ID: {} - Status: {}, Error: {}",
@@ -51,4 +80,32 @@ public class StructuringResultListener {
             throw new RuntimeException("Failed to process structuring results", e);
         }
     }
+
+    /**
+     * Requests summarization of papers whose results have committed. Their
+     * ledger claims committed with them, so a redelivery would be skipped as a
+     * duplicate and a failed request never retried: the claims of the papers
+     * whose request failed are released and the results fail, to be redelivered
+     * and applied again.
+     */
+    private void requestSummarization(List<StructuringResult> results, List<UUID> paperIds) {
+        List<UUID> failed;
+        try {
+            failed = structuringService.triggerSummarization(paperIds);
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to trigger summarization for {} papers: {}", paperIds.size(), e.getMessage(), e);
+            failed = paperIds;
+        }
+        if (failed.isEmpty()) {
+            return;
+        }
+        Set<UUID> failedIds = Set.copyOf(failed);
+        processedMessageLedger.release(
+                ProcessedMessageLedger.STRUCTURING_RESULTS,
+                results.stream()
+                        .filter(result -> failedIds.contains(result.getPaperId()))
+                        .map(result -> ProcessedMessageLedger.key(result.getCorrelationId(), result.getPaperId()))
+                        .toList());
+        throw new IllegalStateException("Could not request summarization for " + failed.size() + " papers");
+    }
 }
@@ -1,21 +1,77 @@
 package dev.project.scholar_ai.messaging.listener;
 
+import com.rabbitmq.client.Channel;
 import dev.project.scholar_ai.dto.event.SummarizationCompletedEvent;
+import dev.project.scholar_ai.messaging.idempotency.ProcessedMessageLedger;
+import dev.project.scholar_ai.service.analysis.AnalysisResultService;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class SummarizationResultListener {
 
+    private final AnalysisResultService analysisResultService;
+    private final BatchResultProcessor batchResultProcessor;
+    private final ProcessedMessageLedger processedMessageLedger;
+
     @RabbitListener(
             queues = "${scholarai.rabbitmq.summarization.completed-queue}",
-            containerFactory = "listenerFactory")
-    @Transactional(transactionManager = "paperTransactionManager")
-    public void onSummarizationCompleted(SummarizationCompletedEvent evt) {
-        // persist summaryText into your summaries table:
-        // summaryRepo.save(evt.paperId(), evt.summaryText());
+            containerFactory = "summarizationResultBatchFactory")
+    public void onSummarizationResults(List<Message> messages, Channel channel) {
+        log.info("📝 Received batch of {} summarization results", messages.size());
+        batchResultProcessor.process(
+                messages,
+                channel,
+                SummarizationCompletedEvent.class,
+                this::onSummarizationBatch,
+                this::onSummarizationCompleted);
+    }
+
+    void onSummarizationBatch(List<SummarizationCompletedEvent> results) {
+        // One transaction for the whole batch
+        List<SummarizationCompletedEvent> summarized = analysisResultService.storeSummaries(results);
+
+        log.info("✅ Summarization results stored for {} papers, {} summarized", results.size(), summarized.size());
+
+        // Gap analysis is requested once the summaries have committed
+        requestGapAnalysis(summarized);
+    }
+
+    void onSummarizationCompleted(SummarizationCompletedEvent result) {
+        log.info(
+                "📝 Processing summarization result - Paper ID: {}, Correlation ID: {}",
+                result.paperId(),
+                result.correlationId());
+        onSummarizationBatch(List.of(result));
+    }
 
-        // then kick off GapAnalysisRequestSender.send(...)
+    /**
+     * Requests gap analysis of papers whose summaries have committed. Their
+     * ledger claims committed with them, so a redelivery would be skipped as a
+     * duplicate and a failed request never retried: the claims of the papers
+     * whose request failed are released and the results fail, to be redelivered
+     * and applied again.
+     */
+    private void requestGapAnalysis(List<SummarizationCompletedEvent> summarized) {
+        List<UUID> failed = analysisResultService.triggerGapAnalysis(summarized);
+        if (failed.isEmpty()) {
+            return;
+        }
+        Set<UUID> failedIds = Set.copyOf(failed);
+        processedMessageLedger.release(
+                ProcessedMessageLedger.SUMMARIZATION_RESULTS,
+                summarized.stream()
+                        .filter(result -> failedIds.contains(result.paperId()))
+                        .map(result -> ProcessedMessageLedger.key(result.correlationId(), result.paperId()))
+                        .toList());
+        throw new IllegalStateException("Could not request gap analysis for " + failed.size() + " papers");
     }
 }
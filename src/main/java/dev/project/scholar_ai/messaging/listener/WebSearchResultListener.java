@@ -1,13 +1,15 @@
 package dev.project.scholar_ai.messaging.listener;
 
+import com.rabbitmq.client.Channel;
 import dev.project.scholar_ai.dto.event.WebSearchCompletedEvent;
 import dev.project.scholar_ai.service.websearch.PaperPersistenceService;
 import dev.project.scholar_ai.service.websearch.WebSearchService;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -16,12 +18,32 @@ public class WebSearchResultListener {
 
     private final WebSearchService webSearchService;
     private final PaperPersistenceService paperPersistenceService;
+    private final BatchResultProcessor batchResultProcessor;
 
-    @RabbitListener(queues = "${scholarai.rabbitmq.web-search.completed-queue}", containerFactory = "listenerFactory")
-    @Transactional(transactionManager = "paperTransactionManager")
-    public void onWebSearchCompleted(WebSearchCompletedEvent event) {
+    @RabbitListener(
+            queues = "${scholarai.rabbitmq.web-search.completed-queue}",
+            containerFactory = "webSearchResultBatchFactory")
+    public void onWebSearchResults(List<Message> messages, Channel channel) {
+        log.info("📄 Received batch of {} web search results", messages.size());
+        batchResultProcessor.process(
+                messages, channel, WebSearchCompletedEvent.class, this::onWebSearchBatch, this::onWebSearchCompleted);
+    }
+
+    void onWebSearchBatch(List<WebSearchCompletedEvent> events) {
+        // One transaction per database for the whole batch
+        webSearchService.updateSearchResults(events);
+        int inserted = paperPersistenceService.saveSearchResults(events);
+
+        log.info(
+                "✅ Web search processing completed for {} searches - {} papers received, {} new",
+                events.size(),
+                events.stream().mapToInt(event -> event.papers().size()).sum(),
+                inserted);
+    }
+
+    void onWebSearchCompleted(WebSearchCompletedEvent event) {
         log.info(
-                "📄 Received web search result - Project ID: {}, Correlation ID: {}, Papers found: {}",
+                "📄 Processing web search result - Project ID: {}, Correlation ID: {}, Papers found: {}",
                 event.projectId(),
                 event.correlationId(),
                 event.papers().size());
@@ -30,8 +52,8 @@ public class WebSearchResultListener {
             // Update the search results in the service
             webSearchService.updateSearchResults(event);
 
-            // Persist papers to database
-            paperPersistenceService.savePapers(event.papers(), event.correlationId());
+            // Persist papers and add them (new or already known) to the project library
+            paperPersistenceService.savePapers(event.papers(), event.correlationId(), event.projectId());
 
             // Log summary of processed papers
             event.papers().forEach(paper -> {
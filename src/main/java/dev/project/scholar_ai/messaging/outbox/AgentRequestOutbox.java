@@ -0,0 +1,82 @@
+package dev.project.scholar_ai.messaging.outbox;
+
+import dev.project.scholar_ai.model.core.outbox.OutboxMessage;
+import dev.project.scholar_ai.repository.core.outbox.OutboxMessageRepository;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes agent requests to the outbox table of the core database.
+ *
+ * <p>The caller's transaction must be on the core transaction manager, so the
+ * request is committed or rolled back together with the row that caused it.
+ * The payload is converted with the same JSON converter the request senders
+ * use, so relayed messages are byte-for-byte what a direct send would have
+ * published.
+ */
+@Component
+@RequiredArgsConstructor
+public class AgentRequestOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final MessageConverter jsonMessageConverter;
+    private final OutboxRelay outboxRelay;
+
+    /**
+     * Adds a request to the outbox within the current transaction.
+     *
+     * @param exchange The exchange to publish to
+     * @param routingKey The routing key to publish with
+     * @param correlationId Correlation ID of the operation, for tracing
+     * @param payload The request
+     * @return The stored outbox message
+     */
+    @Transactional(transactionManager = "transactionManager", propagation = Propagation.MANDATORY)
+    public OutboxMessage enqueue(String exchange, String routingKey, String correlationId, Object payload) {
+        return enqueue(exchange, routingKey, correlationId, payload, null);
+    }
+
+    /**
+     * Adds a request with a message priority to the outbox within the current
+     * transaction.
+     *
+     * @param exchange The exchange to publish to
+     * @param routingKey The routing key to publish with
+     * @param correlationId Correlation ID of the operation, for tracing
+     * @param payload The request
+     * @param priority Message priority to publish with, or {@code null} for none
+     * @return The stored outbox message
+     */
+    @Transactional(transactionManager = "transactionManager", propagation = Propagation.MANDATORY)
+    public OutboxMessage enqueue(
+            String exchange, String routingKey, String correlationId, Object payload, Integer priority) {
+        Message message = jsonMessageConverter.toMessage(payload, new MessageProperties());
+        OutboxMessage outboxMessage = outboxMessageRepository.save(OutboxMessage.builder()
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .correlationId(correlationId)
+                .payloadType(
+                        message.getMessageProperties().getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME))
+                .payload(new String(message.getBody(), StandardCharsets.UTF_8))
+                .priority(priority)
+                .build());
+
+        // Publish as soon as the row is visible instead of waiting for the next poll
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+        return outboxMessage;
+    }
+}
@@ -0,0 +1,255 @@
+package dev.project.scholar_ai.messaging.outbox;
+
+import dev.project.scholar_ai.model.core.outbox.OutboxMessage;
+import dev.project.scholar_ai.repository.core.outbox.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes outbox messages to RabbitMQ in batches on a background thread.
+ *
+ * <p>Each cycle locks up to {@code batch-size} of the oldest unpublished rows
+ * (skipping rows another instance holds), publishes them on one channel, waits
+ * once for the broker's publisher confirms of the whole batch and marks the
+ * rows published in the same transaction. A nack or timeout leaves the batch
+ * unpublished with its error recorded, and it is retried after a backoff;
+ * delivery is at least once, and every message carries its outbox ID as
+ * message ID for consumers that deduplicate.
+ *
+ * <p>The relay is woken when a transaction that wrote to the outbox commits
+ * and otherwise polls every {@code poll-interval-ms}. Published rows are kept
+ * for {@code retention-hours} for inspection and then deleted.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(10);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long confirmTimeoutMs;
+    private final Duration retention;
+    private final Semaphore work = new Semaphore(0);
+    private final Counter published;
+    private final Counter failed;
+    private final Timer batchTimer;
+    private final Timer lag;
+    private volatile boolean running;
+    private Thread relayThread;
+    private Instant lastPrunedAt = Instant.EPOCH;
+
+    public OutboxRelay(
+            OutboxMessageRepository outboxMessageRepository,
+            RabbitTemplate rabbitTemplate,
+            @Qualifier("transactionManager") PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${scholarai.messaging.outbox.enabled:true}") boolean enabled,
+            @Value("${scholarai.messaging.outbox.batch-size:100}") int batchSize,
+            @Value("${scholarai.messaging.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+            @Value("${scholarai.messaging.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+            @Value("${scholarai.messaging.outbox.retention-hours:24}") long retentionHours) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.retention = Duration.ofHours(retentionHours);
+        this.published = Counter.builder("scholarai.outbox.published")
+                .description("Outbox messages confirmed by the broker")
+                .register(meterRegistry);
+        this.failed = Counter.builder("scholarai.outbox.failed")
+                .description("Outbox messages whose publish was not confirmed and will be retried")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("scholarai.outbox.relay.batch")
+                .description("Time to lock, publish, confirm and mark one outbox batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("scholarai.outbox.lag")
+                .description("Time from outbox write to broker confirm")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!(rabbitTemplate.getConnectionFactory() instanceof CachingConnectionFactory cf)
+                || !cf.isSimplePublisherConfirms()) {
+            log.warn("⚠️ spring.rabbitmq.publisher-confirm-type is not 'simple'; outbox batches will not be confirmed");
+        }
+        running = true;
+        relayThread = Thread.ofVirtual().name("outbox-relay").start(this::run);
+        log.info("Outbox relay started, batches of {} every {} ms", batchSize, pollIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (relayThread != null) {
+            relayThread.interrupt();
+        }
+    }
+
+    /** Signals that new messages were committed to the outbox. */
+    public void wakeUp() {
+        work.release();
+    }
+
+    private void run() {
+        int consecutiveFailures = 0;
+        while (running) {
+            try {
+                int count = relayBatch();
+                consecutiveFailures = 0;
+                if (count < batchSize) {
+                    pruneIfDue();
+                    awaitWork();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                consecutiveFailures++;
+                long backoffMs = Math.min(MAX_BACKOFF_MS, pollIntervalMs << Math.min(consecutiveFailures, 10));
+                log.error("❌ Outbox relay cycle failed, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void awaitWork() throws InterruptedException {
+        work.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+        work.drainPermits();
+    }
+
+    /**
+     * Publishes one batch of pending messages.
+     *
+     * @return The number of messages published and confirmed
+     * @throws AmqpException When the batch could not be published or confirmed;
+     *     the failure is recorded on its rows
+     */
+    public int relayBatch() {
+        AmqpException[] failure = new AmqpException[1];
+        Integer count = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = outboxMessageRepository.lockPendingBatch(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<UUID> ids = batch.stream().map(OutboxMessage::getId).toList();
+            try {
+                publish(batch);
+            } catch (AmqpException e) {
+                // Commit the failure so attempts and the error stay visible on the rows
+                outboxMessageRepository.recordFailure(ids, truncate(e.getMessage()));
+                failed.increment(batch.size());
+                failure[0] = e;
+                return 0;
+            }
+            Instant now = Instant.now();
+            outboxMessageRepository.markPublished(ids, now);
+            published.increment(batch.size());
+            for (OutboxMessage message : batch) {
+                lag.record(Duration.between(message.getCreatedAt(), now));
+            }
+            log.debug("Relayed {} outbox messages", batch.size());
+            return batch.size();
+        }));
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return count == null ? 0 : count;
+    }
+
+    private void publish(List<OutboxMessage> batch) {
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxMessage message : batch) {
+                operations.send(message.getExchange(), message.getRoutingKey(), toAmqpMessage(message));
+            }
+            if (operations.getConnectionFactory() instanceof CachingConnectionFactory cf
+                    && cf.isSimplePublisherConfirms()) {
+                operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            }
+            return null;
+        });
+    }
+
+    static Message toAmqpMessage(OutboxMessage message) {
+        Message amqpMessage = MessageBuilder.withBody(message.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setMessageId(message.getId().toString())
+                .setCorrelationId(message.getCorrelationId())
+                .setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, message.getPayloadType())
+                .build();
+        if (message.getPriority() != null) {
+            amqpMessage.getMessageProperties().setPriority(message.getPriority());
+        }
+        return amqpMessage;
+    }
+
+    private void pruneIfDue() {
+        Instant now = Instant.now();
+        if (lastPrunedAt.plus(PRUNE_INTERVAL).isAfter(now)) {
+            return;
+        }
+        lastPrunedAt = now;
+        Integer deleted = transactionTemplate.execute(
+                status -> outboxMessageRepository.deletePublishedBefore(now.minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Pruned {} published outbox messages older than {}", deleted, retention);
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
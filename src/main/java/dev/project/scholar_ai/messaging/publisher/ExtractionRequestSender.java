@@ -2,6 +2,7 @@ package dev.project.scholar_ai.messaging.publisher;
 
 import dev.project.scholar_ai.config.RabbitMQConfig;
 import dev.project.scholar_ai.dto.agent.request.ExtractionRequest;
+import dev.project.scholar_ai.enums.RequestLane;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
@@ -9,13 +10,24 @@ import org.springframework.stereotype.Service;
 public class ExtractionRequestSender {
     private final RabbitTemplate rt;
     private final RabbitMQConfig rabbitMQConfig;
+    private final RequestLanes requestLanes;
 
-    public ExtractionRequestSender(RabbitTemplate rabbitTemplate, RabbitMQConfig rabbitMQConfig) {
+    public ExtractionRequestSender(
+            RabbitTemplate rabbitTemplate, RabbitMQConfig rabbitMQConfig, RequestLanes requestLanes) {
         this.rt = rabbitTemplate;
         this.rabbitMQConfig = rabbitMQConfig;
+        this.requestLanes = requestLanes;
     }
 
     public void send(ExtractionRequest req) {
-        rt.convertAndSend(rabbitMQConfig.getExchangeName(), rabbitMQConfig.getExtractionRoutingKey(), req);
+        send(req, RequestLane.INTERACTIVE);
+    }
+
+    public void send(ExtractionRequest req, RequestLane lane) {
+        rt.convertAndSend(
+                rabbitMQConfig.getExchangeName(),
+                rabbitMQConfig.getExtractionRoutingKey(),
+                req,
+                requestLanes.forLane(rabbitMQConfig.getExtractionQueue(), lane));
     }
 }
@@ -0,0 +1,64 @@
+package dev.project.scholar_ai.messaging.publisher;
+
+import dev.project.scholar_ai.config.RabbitMQConfig;
+import dev.project.scholar_ai.enums.RequestLane;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts agent requests in their lane: sets the lane's message priority on the
+ * prioritized request queues, tags the message with the lane and counts the
+ * requests sent per queue and lane ({@code scholarai.agent.requests}).
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestLanes {
+
+    public static final String LANE_HEADER = "x-request-lane";
+
+    private final RabbitMQConfig rabbitMQConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Post-processor for a request sent to {@code queue} in {@code lane}; the
+     * request is counted when it is published.
+     *
+     * @param queue The request queue, for the metric
+     * @param lane The lane of the request
+     * @return The post-processor to pass to the send
+     */
+    public MessagePostProcessor forLane(String queue, RequestLane lane) {
+        Integer priority = priority(lane);
+        return message -> {
+            if (priority != null) {
+                message.getMessageProperties().setPriority(priority);
+            }
+            message.getMessageProperties().setHeader(LANE_HEADER, lane.name());
+            sent(queue, lane);
+            return message;
+        };
+    }
+
+    /**
+     * @param lane The lane of a request
+     * @return Its message priority, or {@code null} when the queues are not prioritized
+     */
+    public Integer priority(RequestLane lane) {
+        return rabbitMQConfig.getPriority(lane);
+    }
+
+    /**
+     * Counts a request sent without {@link #forLane}, e.g. through the outbox.
+     */
+    public void sent(String queue, RequestLane lane) {
+        Counter.builder("scholarai.agent.requests")
+                .description("Agent requests sent, per request queue and lane")
+                .tag("queue", queue)
+                .tag("lane", lane.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+}
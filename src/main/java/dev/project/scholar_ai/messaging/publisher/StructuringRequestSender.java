@@ -2,6 +2,7 @@ package dev.project.scholar_ai.messaging.publisher;
 
 import dev.project.scholar_ai.config.RabbitMQConfig;
 import dev.project.scholar_ai.dto.agent.request.StructuringRequest;
+import dev.project.scholar_ai.enums.RequestLane;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -14,16 +15,25 @@ public class StructuringRequestSender {
 
     private final RabbitTemplate rabbitTemplate;
     private final RabbitMQConfig rabbitMQConfig;
+    private final RequestLanes requestLanes;
 
     public void send(StructuringRequest request) {
+        send(request, RequestLane.INTERACTIVE);
+    }
+
+    public void send(StructuringRequest request, RequestLane lane) {
         try {
             log.info(
-                    "📤 Sending text structuring request for paper: {} with correlation ID: {}",
+                    "📤 Sending text structuring request for paper: {} with correlation ID: {} ({} lane)",
                     request.getPaperId(),
-                    request.getCorrelationId());
+                    request.getCorrelationId(),
+                    lane);
 
             rabbitTemplate.convertAndSend(
-                    rabbitMQConfig.getExchangeName(), rabbitMQConfig.getStructuringRoutingKey(), request);
+                    rabbitMQConfig.getExchangeName(),
+                    rabbitMQConfig.getStructuringRoutingKey(),
+                    request,
+                    requestLanes.forLane(rabbitMQConfig.getStructuringQueue(), lane));
 
             log.info("✅ Text structuring request sent successfully for paper: {}", request.getPaperId());
 
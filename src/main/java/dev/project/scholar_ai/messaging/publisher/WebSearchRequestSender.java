@@ -2,6 +2,9 @@ package dev.project.scholar_ai.messaging.publisher;
 
 import dev.project.scholar_ai.config.RabbitMQConfig;
 import dev.project.scholar_ai.dto.agent.request.WebSearchRequest;
+import dev.project.scholar_ai.enums.RequestLane;
+import dev.project.scholar_ai.messaging.outbox.AgentRequestOutbox;
+import dev.project.scholar_ai.messaging.outbox.OutboxRelay;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
@@ -9,13 +12,58 @@ import org.springframework.stereotype.Service;
 public class WebSearchRequestSender {
     private final RabbitTemplate rt;
     private final RabbitMQConfig rabbitMQConfig;
+    private final AgentRequestOutbox agentRequestOutbox;
+    private final OutboxRelay outboxRelay;
+    private final RequestLanes requestLanes;
 
-    public WebSearchRequestSender(RabbitTemplate rabbitTemplate, RabbitMQConfig rabbitMQConfig) {
+    public WebSearchRequestSender(
+            RabbitTemplate rabbitTemplate,
+            RabbitMQConfig rabbitMQConfig,
+            AgentRequestOutbox agentRequestOutbox,
+            OutboxRelay outboxRelay,
+            RequestLanes requestLanes) {
         this.rt = rabbitTemplate;
         this.rabbitMQConfig = rabbitMQConfig;
+        this.agentRequestOutbox = agentRequestOutbox;
+        this.outboxRelay = outboxRelay;
+        this.requestLanes = requestLanes;
     }
 
     public void send(WebSearchRequest req) {
-        rt.convertAndSend(rabbitMQConfig.getExchangeName(), rabbitMQConfig.getWebSearchRoutingKey(), req);
+        send(req, RequestLane.INTERACTIVE);
+    }
+
+    public void send(WebSearchRequest req, RequestLane lane) {
+        rt.convertAndSend(
+                rabbitMQConfig.getExchangeName(),
+                rabbitMQConfig.getWebSearchRoutingKey(),
+                req,
+                requestLanes.forLane(rabbitMQConfig.getWebSearchQueue(), lane));
+    }
+
+    /**
+     * Sends the request through the outbox, in the caller's core-database
+     * transaction; publishes directly when the outbox relay is disabled.
+     */
+    public void enqueue(WebSearchRequest req) {
+        enqueue(req, RequestLane.INTERACTIVE);
+    }
+
+    /**
+     * Sends the request in a lane through the outbox, which keeps the lane's
+     * priority for the relay.
+     */
+    public void enqueue(WebSearchRequest req, RequestLane lane) {
+        if (!outboxRelay.isEnabled()) {
+            send(req, lane);
+            return;
+        }
+        agentRequestOutbox.enqueue(
+                rabbitMQConfig.getExchangeName(),
+                rabbitMQConfig.getWebSearchRoutingKey(),
+                req.correlationId(),
+                req,
+                requestLanes.priority(lane));
+        requestLanes.sent(rabbitMQConfig.getWebSearchQueue(), lane);
     }
 }
@@ -0,0 +1,180 @@
+package dev.project.scholar_ai.messaging.retry;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import dev.project.scholar_ai.config.RabbitMQConfig;
+import dev.project.scholar_ai.dto.admin.DeadLetterDto;
+import dev.project.scholar_ai.dto.admin.DeadLetterQueueDto;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Inspects and replays the dead-letter queues of the completed-result queues.
+ *
+ * <p>Inspection fetches messages without acknowledging them and requeues them
+ * afterwards, so it leaves the queue as it was. Replay moves messages back onto
+ * their original queue with a fresh attempt count; each replayed batch is
+ * confirmed by the broker before it is removed from the dead-letter queue.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeadLetterService {
+
+    public static final int MAX_INSPECT = 100;
+    public static final int MAX_REPLAY = 1000;
+    static final String REPLAYED_AT_HEADER = "x-replayed-at";
+    private static final int PREVIEW_BYTES = 2048;
+    private static final long CONFIRM_TIMEOUT_MS = 5000;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final AmqpAdmin amqpAdmin;
+    private final RabbitMQConfig rabbitMQConfig;
+
+    /**
+     * @return Every completed queue's dead-letter queue and how many messages it holds
+     */
+    public List<DeadLetterQueueDto> listQueues() {
+        return rabbitMQConfig.getCompletedQueues().stream()
+                .map(queue -> {
+                    String deadLetterQueue = RetryPolicy.deadLetterQueue(queue);
+                    QueueInformation info = amqpAdmin.getQueueInfo(deadLetterQueue);
+                    return new DeadLetterQueueDto(queue, deadLetterQueue, info == null ? 0 : info.getMessageCount());
+                })
+                .toList();
+    }
+
+    /**
+     * Returns the oldest dead letters of a queue without removing them.
+     *
+     * @param queue A completed-result queue
+     * @param limit Maximum number of messages, at most {@value #MAX_INSPECT}
+     * @return The dead letters, oldest first
+     */
+    public List<DeadLetterDto> inspect(String queue, int limit) {
+        String deadLetterQueue = deadLetterQueueOf(queue);
+        int count = clamp(limit, MAX_INSPECT);
+        return rabbitTemplate.execute(channel -> {
+            List<DeadLetterDto> deadLetters = new ArrayList<>(count);
+            long lastTag = -1;
+            try {
+                for (int i = 0; i < count; i++) {
+                    GetResponse response = channel.basicGet(deadLetterQueue, false);
+                    if (response == null) {
+                        break;
+                    }
+                    lastTag = response.getEnvelope().getDeliveryTag();
+                    deadLetters.add(toDto(response));
+                }
+            } finally {
+                if (lastTag >= 0) {
+                    channel.basicNack(lastTag, true, true);
+                }
+            }
+            return deadLetters;
+        });
+    }
+
+    /**
+     * Moves dead letters back onto their original queue for another round of
+     * attempts.
+     *
+     * @param queue A completed-result queue
+     * @param limit Maximum number of messages, at most {@value #MAX_REPLAY}
+     * @return The number of messages replayed
+     */
+    public int replay(String queue, int limit) {
+        String deadLetterQueue = deadLetterQueueOf(queue);
+        int count = clamp(limit, MAX_REPLAY);
+        boolean confirms = rabbitTemplate.getConnectionFactory() instanceof CachingConnectionFactory cf
+                && cf.isSimplePublisherConfirms();
+        Integer replayed = rabbitTemplate.execute(channel -> {
+            int moved = 0;
+            long lastTag = -1;
+            try {
+                for (int i = 0; i < count; i++) {
+                    GetResponse response = channel.basicGet(deadLetterQueue, false);
+                    if (response == null) {
+                        break;
+                    }
+                    lastTag = response.getEnvelope().getDeliveryTag();
+                    channel.basicPublish("", queue, replayProperties(response.getProps()), response.getBody());
+                    moved++;
+                }
+                if (lastTag >= 0) {
+                    if (confirms) {
+                        channel.waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
+                    }
+                    channel.basicAck(lastTag, true);
+                }
+                return moved;
+            } catch (IOException | TimeoutException | InterruptedException | RuntimeException e) {
+                // Keep the dead letters; anything already republished may be processed twice
+                if (lastTag >= 0 && channel.isOpen()) {
+                    channel.basicNack(lastTag, true, true);
+                }
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new RuntimeException("Failed to replay dead letters of " + queue, e);
+            }
+        });
+        log.info("🔁 Replayed {} dead letters from {} onto {}", replayed, deadLetterQueue, queue);
+        return replayed == null ? 0 : replayed;
+    }
+
+    private String deadLetterQueueOf(String queue) {
+        if (!rabbitMQConfig.getCompletedQueues().contains(queue)) {
+            throw new IllegalArgumentException("Unknown completed queue: " + queue);
+        }
+        return RetryPolicy.deadLetterQueue(queue);
+    }
+
+    static AMQP.BasicProperties replayProperties(AMQP.BasicProperties properties) {
+        Map<String, Object> headers =
+                properties.getHeaders() == null ? new HashMap<>() : new HashMap<>(properties.getHeaders());
+        headers.remove(RetryPolicy.ATTEMPT_HEADER);
+        headers.remove(RetryPolicy.DEAD_LETTERED_AT_HEADER);
+        headers.put(REPLAYED_AT_HEADER, Instant.now().toString());
+        return properties.builder().headers(headers).build();
+    }
+
+    private static DeadLetterDto toDto(GetResponse response) {
+        AMQP.BasicProperties properties = response.getProps();
+        Map<String, Object> headers = properties.getHeaders() == null ? Map.of() : properties.getHeaders();
+        byte[] body = response.getBody();
+        Object attempts = headers.get(RetryPolicy.ATTEMPT_HEADER);
+        return new DeadLetterDto(
+                properties.getMessageId(),
+                properties.getCorrelationId(),
+                attempts instanceof Number number ? number.intValue() : null,
+                header(headers, RetryPolicy.LAST_ERROR_HEADER),
+                header(headers, RetryPolicy.FIRST_FAILED_AT_HEADER),
+                header(headers, RetryPolicy.DEAD_LETTERED_AT_HEADER),
+                body.length,
+                new String(body, 0, Math.min(body.length, PREVIEW_BYTES), StandardCharsets.UTF_8));
+    }
+
+    // AMQP string headers arrive as LongString
+    private static String header(Map<String, Object> headers, String name) {
+        Object value = headers.get(name);
+        return value == null ? null : value.toString();
+    }
+
+    private static int clamp(int limit, int max) {
+        return Math.max(1, Math.min(limit, max));
+    }
+}
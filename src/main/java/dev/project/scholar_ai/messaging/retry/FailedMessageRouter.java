@@ -0,0 +1,202 @@
+package dev.project.scholar_ai.messaging.retry;
+
+import dev.project.scholar_ai.config.RabbitMQConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageBuilderSupport;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends a result message that could not be processed to its next retry tier,
+ * or to its dead-letter queue once its attempts are used up.
+ *
+ * <p>Retries are parked on TTL queues rather than slept on, so a failing
+ * message never holds a consumer thread. Messages that can never succeed
+ * (unreadable payloads, or a listener throwing
+ * {@link AmqpRejectAndDontRequeueException}) are dead-lettered on the first
+ * failure. The copy is published with publisher confirms before the caller
+ * acknowledges the original; if it cannot be published the original is
+ * requeued instead of dropped.
+ */
+@Slf4j
+@Component
+public class FailedMessageRouter {
+
+    public enum Outcome {
+        RETRY_SCHEDULED,
+        DEAD_LETTERED
+    }
+
+    private static final long CONFIRM_TIMEOUT_MS = 5000;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final RabbitMQConfig rabbitMQConfig;
+    private final RetryPolicy retryPolicy;
+    private final MeterRegistry meterRegistry;
+
+    public FailedMessageRouter(
+            RabbitTemplate rabbitTemplate,
+            RabbitMQConfig rabbitMQConfig,
+            RetryPolicy retryPolicy,
+            MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.rabbitMQConfig = rabbitMQConfig;
+        this.retryPolicy = retryPolicy;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Schedules a retry of a failed message, or dead-letters it.
+     *
+     * @param message The message as delivered from a completed queue
+     * @param cause Why processing failed
+     * @return What was done with the message
+     */
+    public Outcome route(Message message, Throwable cause) {
+        String queue = queueOf(message);
+        int attempt = attemptsOf(message) + 1;
+        if (!isRetryable(cause) || attempt >= retryPolicy.maxAttempts()) {
+            deadLetter(message, queue, attempt, cause, isRetryable(cause) ? "exhausted" : "unrecoverable");
+            return Outcome.DEAD_LETTERED;
+        }
+
+        Message retry = copy(message, queue, attempt, cause).build();
+        publish(rabbitMQConfig.getRetryExchangeName(), RetryPolicy.retryQueue(queue, attempt), retry);
+        meterRegistry
+                .counter("scholarai.rabbitmq.retry.scheduled", "queue", queue)
+                .increment();
+        log.warn(
+                "🔁 Retrying message from {} in {} ms (attempt {} of {}): {}",
+                queue,
+                retryPolicy.delayMs(attempt),
+                attempt,
+                retryPolicy.maxAttempts(),
+                rootMessage(cause));
+        return Outcome.RETRY_SCHEDULED;
+    }
+
+    /**
+     * Dead-letters a message without retrying it.
+     *
+     * @param message The message as delivered from a completed queue
+     * @param cause Why it cannot be processed
+     */
+    public void deadLetter(Message message, Throwable cause) {
+        deadLetter(message, queueOf(message), attemptsOf(message) + 1, cause, "unrecoverable");
+    }
+
+    /**
+     * Advice for single-message containers: a listener failure is routed here
+     * and the original acknowledged, instead of the container rejecting it.
+     * Batch containers route failures themselves (see BatchResultProcessor).
+     */
+    public MethodInterceptor advice() {
+        return invocation -> {
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                Object[] arguments = invocation.getArguments();
+                if (arguments.length < 2 || !(arguments[1] instanceof Message message)) {
+                    throw e;
+                }
+                try {
+                    route(message, e);
+                } catch (RuntimeException routingFailure) {
+                    throw new ImmediateRequeueAmqpException("Could not route failed message", routingFailure);
+                }
+                return null;
+            }
+        };
+    }
+
+    private void deadLetter(Message message, String queue, int attempt, Throwable cause, String reason) {
+        Message deadLetter = copy(message, queue, attempt, cause)
+                .setHeader(RetryPolicy.DEAD_LETTERED_AT_HEADER, Instant.now().toString())
+                .build();
+        publish(rabbitMQConfig.getDeadLetterExchangeName(), queue, deadLetter);
+        meterRegistry
+                .counter("scholarai.rabbitmq.dead.letters", "queue", queue, "reason", reason)
+                .increment();
+        log.error(
+                "☠️ Dead-lettered message from {} to {} after {} attempt(s) ({}): {}",
+                queue,
+                RetryPolicy.deadLetterQueue(queue),
+                attempt,
+                reason,
+                rootMessage(cause));
+    }
+
+    private MessageBuilderSupport<Message> copy(Message message, String queue, int attempt, Throwable cause) {
+        Object firstFailedAt = message.getMessageProperties().getHeader(RetryPolicy.FIRST_FAILED_AT_HEADER);
+        return MessageBuilder.fromClonedMessage(message)
+                .setHeader(RetryPolicy.ATTEMPT_HEADER, attempt)
+                .setHeader(RetryPolicy.MAX_ATTEMPTS_HEADER, retryPolicy.maxAttempts())
+                .setHeader(RetryPolicy.ORIGINAL_QUEUE_HEADER, queue)
+                .setHeader(RetryPolicy.LAST_ERROR_HEADER, truncate(rootMessage(cause)))
+                .setHeader(
+                        RetryPolicy.FIRST_FAILED_AT_HEADER,
+                        firstFailedAt != null ? firstFailedAt : Instant.now().toString());
+    }
+
+    private void publish(String exchange, String routingKey, Message message) {
+        rabbitTemplate.invoke(operations -> {
+            operations.send(exchange, routingKey, message);
+            if (operations.getConnectionFactory() instanceof CachingConnectionFactory cf
+                    && cf.isSimplePublisherConfirms()) {
+                operations.waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
+            }
+            return null;
+        });
+    }
+
+    static String queueOf(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        Object original = properties.getHeader(RetryPolicy.ORIGINAL_QUEUE_HEADER);
+        String queue = properties.getConsumerQueue() != null
+                ? properties.getConsumerQueue()
+                : original != null ? original.toString() : null;
+        if (queue == null) {
+            throw new IllegalStateException("Cannot tell which queue the failed message came from");
+        }
+        return queue;
+    }
+
+    static int attemptsOf(Message message) {
+        Object attempts = message.getMessageProperties().getHeader(RetryPolicy.ATTEMPT_HEADER);
+        return attempts instanceof Number number ? number.intValue() : 0;
+    }
+
+    static boolean isRetryable(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof MessageConversionException
+                    || t instanceof org.springframework.messaging.converter.MessageConversionException
+                    || t instanceof AmqpRejectAndDontRequeueException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String rootMessage(Throwable cause) {
+        Throwable root = cause;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + ": " + root.getMessage();
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
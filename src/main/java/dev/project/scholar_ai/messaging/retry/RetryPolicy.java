@@ -0,0 +1,55 @@
+package dev.project.scholar_ai.messaging.retry;
+
+/**
+ * Delayed-retry settings shared by all completed-result queues, and the names
+ * of the queues derived from them.
+ *
+ * <p>Attempt {@code n} (1-based) that fails is retried after
+ * {@code initialDelayMs * multiplier^(n-1)}, capped at {@code maxDelayMs}, by
+ * parking the message on {@code <queue>.retry.<n>}; that queue's TTL expires it
+ * back onto the original queue. After {@code maxAttempts} attempts the message
+ * goes to {@code <queue>.dlq}.
+ */
+public record RetryPolicy(int maxAttempts, long initialDelayMs, double multiplier, long maxDelayMs) {
+
+    /** Attempts made so far, including the one that just failed */
+    public static final String ATTEMPT_HEADER = "x-retry-attempt";
+
+    public static final String MAX_ATTEMPTS_HEADER = "x-max-attempts";
+    public static final String ORIGINAL_QUEUE_HEADER = "x-original-queue";
+    public static final String LAST_ERROR_HEADER = "x-last-error";
+    public static final String FIRST_FAILED_AT_HEADER = "x-first-failed-at";
+    public static final String DEAD_LETTERED_AT_HEADER = "x-dead-lettered-at";
+
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (initialDelayMs < 1 || maxDelayMs < initialDelayMs || multiplier < 1) {
+            throw new IllegalArgumentException("Invalid retry delays: initial " + initialDelayMs + "ms, max "
+                    + maxDelayMs + "ms, multiplier " + multiplier);
+        }
+    }
+
+    /**
+     * @param attempt The attempt that failed, 1-based
+     * @return How long the message waits before its next attempt
+     */
+    public long delayMs(int attempt) {
+        double delay = initialDelayMs * Math.pow(multiplier, attempt - 1);
+        return (long) Math.min(delay, maxDelayMs);
+    }
+
+    /** Number of retry tiers, and so of retry queues, per completed queue */
+    public int retryTiers() {
+        return maxAttempts - 1;
+    }
+
+    public static String retryQueue(String queue, int attempt) {
+        return queue + ".retry." + attempt;
+    }
+
+    public static String deadLetterQueue(String queue) {
+        return queue + ".dlq";
+    }
+}
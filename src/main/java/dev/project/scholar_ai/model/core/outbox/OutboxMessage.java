@@ -0,0 +1,64 @@
+package dev.project.scholar_ai.model.core.outbox;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An agent request written in the same transaction as the state change that
+ * caused it, and published to RabbitMQ afterwards by the outbox relay.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+        name = "outbox_messages",
+        indexes = {@Index(name = "idx_outbox_messages_published_created", columnList = "published_at, created_at")})
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 100)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false, length = 100)
+    private String routingKey;
+
+    @Column(name = "correlation_id", length = 100)
+    private String correlationId;
+
+    /** Java type header the JSON converter would have sent with the payload */
+    @Column(name = "payload_type", nullable = false, length = 255)
+    private String payloadType;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    /** Message priority on prioritized queues; null publishes without one */
+    @Column
+    private Integer priority;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+}
@@ -0,0 +1,54 @@
+package dev.project.scholar_ai.model.paper.analysis;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Latest research gaps the gap analysis agent identified for a paper, in the
+ * order the agent reported them.
+ *
+ * <p>One row per paper plus one {@code gap_analysis_gaps} row per gap, written
+ * in bulk by {@code AnalysisResultWriter}. An analysis with no gaps is kept as
+ * a row with {@code gap_count = 0}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "gap_analyses")
+public class GapAnalysis {
+
+    @Id
+    @Column(name = "paper_id")
+    private UUID paperId;
+
+    @Column(name = "gap_count", nullable = false)
+    private int gapCount;
+
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "gap_analysis_gaps", joinColumns = @JoinColumn(name = "paper_id"))
+    @OrderColumn(name = "position")
+    @Column(name = "gap_text", nullable = false, columnDefinition = "TEXT")
+    private List<String> gaps = new ArrayList<>();
+
+    // Correlation ID of the result message the gaps came from
+    @Column(name = "correlation_id", length = 100)
+    private String correlationId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
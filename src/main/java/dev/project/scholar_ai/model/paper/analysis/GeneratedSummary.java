@@ -0,0 +1,43 @@
+package dev.project.scholar_ai.model.paper.analysis;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Latest summary the summarization agent produced for a paper.
+ *
+ * <p>One row per paper, written in bulk by {@code AnalysisResultWriter} and
+ * served without calling the agent again.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "generated_summaries")
+public class GeneratedSummary {
+
+    @Id
+    @Column(name = "paper_id")
+    private UUID paperId;
+
+    @Column(name = "summary_text", nullable = false, columnDefinition = "TEXT")
+    private String summaryText;
+
+    // Correlation ID of the result message the summary came from
+    @Column(name = "correlation_id", length = 100)
+    private String correlationId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package dev.project.scholar_ai.model.paper.backfill;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of a one-time data backfill, so that it resumes after a restart
+ * and stops running once it has completed.
+ *
+ * <p>{@code cursor} is the last key the backfill handled, in the order it
+ * pages its source; its meaning belongs to the backfill named by {@code name}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "data_backfill_checkpoints")
+public class DataBackfillCheckpoint {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    // Last key handled; null before the first page
+    @Column(name = "cursor_value")
+    private String cursor;
+
+    @Column(name = "processed", nullable = false)
+    private long processed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
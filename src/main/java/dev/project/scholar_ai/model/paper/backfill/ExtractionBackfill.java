@@ -0,0 +1,80 @@
+package dev.project.scholar_ai.model.paper.backfill;
+
+import dev.project.scholar_ai.enums.BackfillStatus;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A bulk extraction run: which papers it has reached, how many requests it has
+ * sent and which instance is currently working it.
+ *
+ * <p>Candidates are paged by paper ID, so {@code cursor} is the last paper ID
+ * handled and a run restarted on any instance continues after it. The lease
+ * keeps two instances from working the same run.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "extraction_backfills", indexes = @Index(name = "idx_extraction_backfills_status", columnList = "status"))
+public class ExtractionBackfill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private BackfillStatus status;
+
+    @Column(name = "requested_by", nullable = false)
+    private String requestedBy;
+
+    // Candidates the run will send at most; null for all of them
+    @Column(name = "max_papers")
+    private Integer maxPapers;
+
+    // Candidates when the run was started, capped by maxPapers
+    @Column(name = "total_papers", nullable = false)
+    private long totalPapers;
+
+    @Column(name = "rate_per_second", nullable = false)
+    private double ratePerSecond;
+
+    // Last paper ID handled; null before the first page
+    @Column(name = "last_paper_id")
+    private UUID cursor;
+
+    @Column(name = "sent", nullable = false)
+    private long sent;
+
+    @Column(name = "failed", nullable = false)
+    private long failed;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Instance working the run and until when; another instance may take over once it expires
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
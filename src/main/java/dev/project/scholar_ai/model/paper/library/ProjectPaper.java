@@ -0,0 +1,53 @@
+package dev.project.scholar_ai.model.paper.library;
+
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Membership of a paper in a project's library.
+ *
+ * <p>A paper is stored once in {@code papers} but can belong to any number of
+ * projects; {@code correlationId} records the search operation that first
+ * contributed it to this project.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+        name = "project_papers",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"project_id", "paper_id"}),
+        indexes = {
+            @Index(name = "idx_project_papers_correlation_id", columnList = "correlation_id"),
+            @Index(name = "idx_project_papers_paper_id", columnList = "paper_id")
+        })
+public class ProjectPaper {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "paper_id", nullable = false)
+    private Paper paper;
+
+    // Search operation that contributed the paper to this project
+    @Column(name = "correlation_id", nullable = false, length = 100)
+    private String correlationId;
+
+    @Column(name = "added_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime addedAt = LocalDateTime.now();
+}
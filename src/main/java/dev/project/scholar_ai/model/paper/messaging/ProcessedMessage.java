@@ -0,0 +1,59 @@
+package dev.project.scholar_ai.model.paper.messaging;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A result message that has already been applied, keyed by the consumer that
+ * applied it and the message's correlation and paper IDs.
+ *
+ * <p>Mapped for schema generation; rows are claimed and pruned through
+ * {@code ProcessedMessageLedger} in the same transaction as the work they guard.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(ProcessedMessage.Key.class)
+@Table(
+        name = "processed_messages",
+        indexes = @Index(name = "idx_processed_messages_processed_at", columnList = "processed_at"))
+public class ProcessedMessage {
+
+    // Consumer that applied the message, e.g. "extraction.completed"
+    @Id
+    @Column(name = "consumer", length = 64)
+    private String consumer;
+
+    // "<correlationId>:<paperId>" of the message
+    @Id
+    @Column(name = "message_key", length = 128)
+    private String messageKey;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String consumer;
+        private String messageKey;
+    }
+}
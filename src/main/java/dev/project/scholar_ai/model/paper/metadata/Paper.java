@@ -74,9 +74,13 @@ public class Paper {
     @Column(name = "fields_of_study", columnDefinition = "TEXT")
     private String fieldsOfStudy;
 
-    // Text Extraction Fields
-    @Column(name = "extracted_text", columnDefinition = "TEXT")
-    private String extractedText;
+    // Text Extraction Fields. The text itself is stored compressed in paper_texts (see PaperTextStore)
+    @Column(name = "extracted_text_length")
+    private Integer extractedTextLength;
+
+    // CRC32C of the UTF-8 encoded text
+    @Column(name = "extracted_text_checksum")
+    private Long extractedTextChecksum;
 
     @Column(name = "extraction_status")
     @Enumerated(EnumType.STRING)
@@ -155,6 +159,10 @@ public class Paper {
     }
 
     // Status check methods
+    public boolean hasExtractedText() {
+        return extractedTextLength != null && extractedTextLength > 0;
+    }
+
     public boolean hasExtractedDocument() {
         return extractedDocument != null;
     }
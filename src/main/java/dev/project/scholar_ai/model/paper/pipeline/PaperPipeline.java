@@ -0,0 +1,74 @@
+package dev.project.scholar_ai.model.paper.pipeline;
+
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.enums.PipelineStatus;
+import dev.project.scholar_ai.enums.RequestLane;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Where a paper is in the agent pipeline: its current stage, the status within
+ * that stage, how many times the stage was requested and when.
+ *
+ * <p>One row per paper, moved forward by {@code PaperPipelineService} as
+ * requests are sent and results arrive.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+        name = "paper_pipelines",
+        indexes = @Index(name = "idx_paper_pipelines_stage_status", columnList = "stage, status"))
+public class PaperPipeline {
+
+    @Id
+    @Column(name = "paper_id")
+    private UUID paperId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stage", nullable = false, length = 20)
+    private PipelineStage stage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private PipelineStatus status;
+
+    // Lane the paper's requests are sent in; null on rows written before lanes, read as interactive
+    @Enumerated(EnumType.STRING)
+    @Column(name = "lane", length = 20)
+    private RequestLane lane;
+
+    // Times the current stage has been requested for this paper
+    @Column(name = "attempt", nullable = false)
+    private int attempt;
+
+    // When the current stage's request was sent
+    @Column(name = "stage_started_at")
+    private LocalDateTime stageStartedAt;
+
+    // When the current stage's result was received
+    @Column(name = "result_received_at")
+    private LocalDateTime resultReceivedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Also tells new rows (null) from existing ones, so saving a new row needs no select
+    @Version
+    private Long version;
+}
@@ -31,13 +31,20 @@ public class ExtractedDocument {
     @JoinColumn(name = "paper_id", nullable = false, unique = true)
     private Paper paper;
 
-    @Column(name = "full_text", nullable = false, columnDefinition = "TEXT")
+    // Legacy copy of the extracted text, no longer written (the text lives in PaperTextStore) and cleared by
+    // PaperTextBackfill. Kept mapped as nullable; PaperSchemaUpgrade drops the old NOT NULL on existing databases
+    @Column(name = "full_text", columnDefinition = "TEXT")
     private String fullText;
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "sections", nullable = false, columnDefinition = "jsonb")
     private List<Map<String, Object>> sections;
 
+    // Where each section starts and ends in the stored text: title, start, end, located
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "section_index", columnDefinition = "jsonb")
+    private List<Map<String, Object>> sectionIndex;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,60 @@
+package dev.project.scholar_ai.model.paper.text;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Compressed extracted text of a paper, stored once per paper and kept out of
+ * the {@code papers} row so that loading a paper never reads its text.
+ *
+ * <p>Mapped for schema generation; reads and writes go through
+ * {@code PaperTextStore}, which streams and inflates the content.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "paper_texts")
+public class PaperText {
+
+    @Id
+    @Column(name = "paper_id")
+    private UUID paperId;
+
+    // Compression codec of content, e.g. "deflate-blocks"
+    @Column(name = "codec", nullable = false, length = 16)
+    private String codec;
+
+    // Length of the text in characters
+    @Column(name = "char_length", nullable = false)
+    private int charLength;
+
+    // Length of the uncompressed UTF-8 encoding
+    @Column(name = "byte_length", nullable = false)
+    private int byteLength;
+
+    // CRC32C of the uncompressed UTF-8 encoding
+    @Column(name = "checksum", nullable = false)
+    private long checksum;
+
+    // Per compressed block: first character, first UTF-8 byte and offset in content, as int triples
+    @Column(name = "block_index", nullable = false, columnDefinition = "bytea")
+    private byte[] blockIndex;
+
+    @Column(name = "content", nullable = false, columnDefinition = "bytea")
+    private byte[] content;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
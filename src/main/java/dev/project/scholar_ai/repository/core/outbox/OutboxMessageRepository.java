@@ -0,0 +1,44 @@
+package dev.project.scholar_ai.repository.core.outbox;
+
+import dev.project.scholar_ai.model.core.outbox.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    /**
+     * Oldest unpublished messages, locked for the current transaction. Rows
+     * locked by another relay instance are skipped rather than waited on.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxMessage o WHERE o.publishedAt IS NULL ORDER BY o.createdAt, o.id")
+    List<OutboxMessage> lockPendingBatch(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.publishedAt = :publishedAt, o.attempts = o.attempts + 1 WHERE o.id IN :ids")
+    int markPublished(@Param("ids") Collection<UUID> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.attempts = o.attempts + 1, o.lastError = :error WHERE o.id IN :ids")
+    int recordFailure(@Param("ids") Collection<UUID> ids, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage o WHERE o.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+
+    long countByPublishedAtIsNull();
+}
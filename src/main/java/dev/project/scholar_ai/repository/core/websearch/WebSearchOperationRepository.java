@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -86,4 +87,10 @@ public interface WebSearchOperationRepository extends JpaRepository<WebSearchOpe
      * Find by correlation ID (alternative to findById for clarity)
      */
     Optional<WebSearchOperation> findByCorrelationId(String correlationId);
+
+    /**
+     * Page of operations after a correlation ID, in correlation ID order (keyset pagination)
+     */
+    List<WebSearchOperation> findByCorrelationIdGreaterThanOrderByCorrelationId(
+            String correlationId, Pageable pageable);
 }
@@ -0,0 +1,22 @@
+package dev.project.scholar_ai.repository.paper;
+
+import dev.project.scholar_ai.model.paper.metadata.ExternalId;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExternalIdRepository extends JpaRepository<ExternalId, UUID> {
+
+    /**
+     * Find external IDs (with their owning paper) whose source and value are both in the given sets.
+     * The result is a superset of the exact (source, value) pairs, so callers must match pairs in memory.
+     */
+    @Query("SELECT e FROM ExternalId e JOIN FETCH e.paper WHERE e.source IN :sources AND e.value IN :values")
+    List<ExternalId> findWithPaperBySourceInAndValueIn(
+            @Param("sources") Collection<String> sources, @Param("values") Collection<String> values);
+}
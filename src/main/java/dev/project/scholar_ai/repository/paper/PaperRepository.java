@@ -1,7 +1,11 @@
 package dev.project.scholar_ai.repository.paper;
 
+import dev.project.scholar_ai.dto.paper.metadata.PaperSummaryDto;
 import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.paper.projection.AuthorRow;
+import dev.project.scholar_ai.repository.paper.projection.ExtractionCandidateRow;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -47,8 +51,32 @@ public interface PaperRepository extends JpaRepository<Paper, UUID> {
     @Query("SELECT p FROM Paper p JOIN p.externalIds e WHERE e.source IN :sources AND e.value IN :values")
     List<Paper> findByExternalIds(@Param("sources") List<String> sources, @Param("values") List<String> values);
 
+    // Set-based lookups for batch deduplication
+    List<Paper> findByDoiIn(Collection<String> dois);
+
+    List<Paper> findBySemanticScholarIdIn(Collection<String> semanticScholarIds);
+
+    // Batch result processing: the inverse one-to-ones cannot be proxied, so they are fetched in the same statement
+    @Query("SELECT DISTINCT p FROM Paper p LEFT JOIN FETCH p.venue LEFT JOIN FETCH p.metrics"
+            + " LEFT JOIN FETCH p.extractedDocument LEFT JOIN FETCH p.humanSummary LEFT JOIN FETCH p.structuredFacts"
+            + " WHERE p.id IN :ids")
+    List<Paper> findAllWithDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
     // Text extraction related queries
-    List<Paper> findByPdfUrlIsNotNullAndExtractedTextIsNull();
+    List<Paper> findByPdfUrlIsNotNullAndExtractedTextLengthIsNullOrderById(Pageable pageable);
+
+    // Extraction candidates: a PDF, no extracted text and no extraction already running
+    String EXTRACTION_CANDIDATES = " FROM Paper p WHERE p.pdfUrl IS NOT NULL AND p.extractedTextLength IS NULL"
+            + " AND (p.extractionStatus IS NULL"
+            + " OR p.extractionStatus <> dev.project.scholar_ai.enums.ExtractionStatus.IN_PROGRESS)";
+
+    // Keyset page after a paper ID, so each page is an index range scan however far the backfill has got
+    @Query("SELECT new dev.project.scholar_ai.repository.paper.projection.ExtractionCandidateRow(p.id, p.pdfUrl)"
+            + EXTRACTION_CANDIDATES + " AND p.id > :after ORDER BY p.id")
+    List<ExtractionCandidateRow> findExtractionCandidatesAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query("SELECT COUNT(p)" + EXTRACTION_CANDIDATES)
+    long countExtractionCandidates();
 
     List<Paper> findByExtractionStatus(dev.project.scholar_ai.enums.ExtractionStatus status);
 
@@ -57,4 +85,40 @@ public interface PaperRepository extends JpaRepository<Paper, UUID> {
     // Search methods with pagination
     Page<Paper> findByTitleContainingIgnoreCaseOrAbstractTextContainingIgnoreCase(
             String titleQuery, String abstractQuery, Pageable pageable);
+
+    // Summary projections for list endpoints: metadata columns only, never extracted_text
+    String SELECT_SUMMARY = "SELECT new dev.project.scholar_ai.dto.paper.metadata.PaperSummaryDto("
+            + "p.id, p.correlationId, p.title, p.abstractText, p.publicationDate, p.doi, p.semanticScholarId, p.source,"
+            + " p.pdfContentUrl, p.pdfUrl, p.isOpenAccess, p.paperUrl, p.publicationTypes, p.fieldsOfStudy,"
+            + " p.extractionStatus, p.extractedAt, CASE WHEN p.extractedTextLength IS NOT NULL THEN true ELSE false END)"
+            + " FROM Paper p";
+
+    @Query(value = SELECT_SUMMARY, countQuery = "SELECT COUNT(p) FROM Paper p")
+    Page<PaperSummaryDto> findAllSummaries(Pageable pageable);
+
+    String MATCHES_PATTERN =
+            " WHERE UPPER(p.title) LIKE UPPER(:pattern) ESCAPE '\\' OR UPPER(p.abstractText) LIKE UPPER(:pattern) ESCAPE '\\'";
+
+    @Query(value = SELECT_SUMMARY + MATCHES_PATTERN, countQuery = "SELECT COUNT(p) FROM Paper p" + MATCHES_PATTERN)
+    Page<PaperSummaryDto> findSummariesMatching(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Summaries of papers whose title or abstract contains {@code query},
+     * ignoring case. {@code %}, {@code _} and {@code \} match themselves.
+     */
+    default Page<PaperSummaryDto> searchSummaries(String query, Pageable pageable) {
+        String escaped = query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return findSummariesMatching("%" + escaped + "%", pageable);
+    }
+
+    @Query(
+            value = SELECT_SUMMARY + " WHERE p.extractionStatus = :status",
+            countQuery = "SELECT COUNT(p) FROM Paper p WHERE p.extractionStatus = :status")
+    Page<PaperSummaryDto> findSummariesByExtractionStatus(
+            @Param("status") dev.project.scholar_ai.enums.ExtractionStatus status, Pageable pageable);
+
+    // Authors of a page of summaries, fetched in one query
+    @Query("SELECT new dev.project.scholar_ai.repository.paper.projection.AuthorRow("
+            + "a.paper.id, a.name, a.authorId, a.orcid, a.affiliation) FROM Author a WHERE a.paper.id IN :paperIds")
+    List<AuthorRow> findAuthorRowsByPaperIds(@Param("paperIds") Collection<UUID> paperIds);
 }
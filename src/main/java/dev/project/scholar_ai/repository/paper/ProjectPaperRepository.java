@@ -0,0 +1,68 @@
+package dev.project.scholar_ai.repository.paper;
+
+import dev.project.scholar_ai.model.paper.library.ProjectPaper;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.paper.projection.AuthorRow;
+import dev.project.scholar_ai.repository.paper.projection.ExternalIdRow;
+import dev.project.scholar_ai.repository.paper.projection.PaperRow;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProjectPaperRepository extends JpaRepository<ProjectPaper, UUID> {
+
+    String SELECT_PAPER_ROW = "SELECT new dev.project.scholar_ai.repository.paper.projection.PaperRow("
+            + "p.id, p.title, p.abstractText, p.publicationDate, p.doi, p.semanticScholarId, p.source,"
+            + " p.pdfContentUrl, p.pdfUrl, p.isOpenAccess, p.paperUrl, p.publicationTypes, p.fieldsOfStudy,"
+            + " v.venueName, v.publisher, v.volume, v.issue, v.pages,"
+            + " m.citationCount, m.referenceCount, m.influentialCitationCount)"
+            + " FROM ProjectPaper pp JOIN pp.paper p LEFT JOIN p.venue v LEFT JOIN p.metrics m";
+
+    String SELECT_AUTHOR_ROW = "SELECT new dev.project.scholar_ai.repository.paper.projection.AuthorRow("
+            + "a.paper.id, a.name, a.authorId, a.orcid, a.affiliation) FROM Author a";
+
+    String SELECT_EXTERNAL_ID_ROW = "SELECT new dev.project.scholar_ai.repository.paper.projection.ExternalIdRow("
+            + "e.paper.id, e.source, e.value) FROM ExternalId e";
+
+    /**
+     * All papers in a project's library, oldest membership first. One indexed
+     * join regardless of how many searches contributed to the project.
+     */
+    @Query("SELECT p FROM ProjectPaper pp JOIN pp.paper p WHERE pp.projectId = :projectId ORDER BY pp.addedAt, p.id")
+    List<Paper> findPapersByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Papers contributed by a single search operation, including existing papers
+     * that deduplication linked instead of inserting.
+     */
+    @Query("SELECT p FROM ProjectPaper pp JOIN pp.paper p WHERE pp.correlationId = :correlationId ORDER BY p.id")
+    List<Paper> findPapersByCorrelationId(@Param("correlationId") String correlationId);
+
+    // DTO read path: scalar projections, one statement per table group, no entity initialization
+
+    @Query(SELECT_PAPER_ROW + " WHERE pp.projectId = :projectId ORDER BY pp.addedAt, p.id")
+    List<PaperRow> findPaperRowsByProjectId(@Param("projectId") UUID projectId);
+
+    @Query(SELECT_AUTHOR_ROW
+            + " WHERE a.paper.id IN (SELECT pp.paper.id FROM ProjectPaper pp WHERE pp.projectId = :projectId)")
+    List<AuthorRow> findAuthorRowsByProjectId(@Param("projectId") UUID projectId);
+
+    @Query(SELECT_EXTERNAL_ID_ROW
+            + " WHERE e.paper.id IN (SELECT pp.paper.id FROM ProjectPaper pp WHERE pp.projectId = :projectId)")
+    List<ExternalIdRow> findExternalIdRowsByProjectId(@Param("projectId") UUID projectId);
+
+    @Query(SELECT_PAPER_ROW + " WHERE pp.correlationId = :correlationId ORDER BY p.id")
+    List<PaperRow> findPaperRowsByCorrelationId(@Param("correlationId") String correlationId);
+
+    @Query(SELECT_AUTHOR_ROW
+            + " WHERE a.paper.id IN (SELECT pp.paper.id FROM ProjectPaper pp WHERE pp.correlationId = :correlationId)")
+    List<AuthorRow> findAuthorRowsByCorrelationId(@Param("correlationId") String correlationId);
+
+    @Query(SELECT_EXTERNAL_ID_ROW
+            + " WHERE e.paper.id IN (SELECT pp.paper.id FROM ProjectPaper pp WHERE pp.correlationId = :correlationId)")
+    List<ExternalIdRow> findExternalIdRowsByCorrelationId(@Param("correlationId") String correlationId);
+}
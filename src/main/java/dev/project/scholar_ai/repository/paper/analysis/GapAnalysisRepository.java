@@ -0,0 +1,18 @@
+package dev.project.scholar_ai.repository.paper.analysis;
+
+import dev.project.scholar_ai.model.paper.analysis.GapAnalysis;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GapAnalysisRepository extends JpaRepository<GapAnalysis, UUID> {
+
+    /**
+     * Find the gap analysis of a paper with its gaps in one query
+     */
+    @EntityGraph(attributePaths = "gaps")
+    Optional<GapAnalysis> findWithGapsByPaperId(UUID paperId);
+}
@@ -0,0 +1,9 @@
+package dev.project.scholar_ai.repository.paper.analysis;
+
+import dev.project.scholar_ai.model.paper.analysis.GeneratedSummary;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GeneratedSummaryRepository extends JpaRepository<GeneratedSummary, UUID> {}
@@ -0,0 +1,8 @@
+package dev.project.scholar_ai.repository.paper.backfill;
+
+import dev.project.scholar_ai.model.paper.backfill.DataBackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DataBackfillCheckpointRepository extends JpaRepository<DataBackfillCheckpoint, String> {}
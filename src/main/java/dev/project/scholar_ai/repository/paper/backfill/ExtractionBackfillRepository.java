@@ -0,0 +1,62 @@
+package dev.project.scholar_ai.repository.paper.backfill;
+
+import dev.project.scholar_ai.enums.BackfillStatus;
+import dev.project.scholar_ai.model.paper.backfill.ExtractionBackfill;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExtractionBackfillRepository extends JpaRepository<ExtractionBackfill, UUID> {
+
+    List<ExtractionBackfill> findByStatusOrderByCreatedAt(BackfillStatus status);
+
+    List<ExtractionBackfill> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    boolean existsByStatus(BackfillStatus status);
+
+    /**
+     * Takes or renews the lease of a running backfill. Fails when the backfill
+     * is no longer running or another instance holds an unexpired lease.
+     */
+    @Modifying
+    @Query("UPDATE ExtractionBackfill b SET b.leaseOwner = :owner, b.leaseExpiresAt = :until"
+            + " WHERE b.id = :id AND b.status = dev.project.scholar_ai.enums.BackfillStatus.RUNNING"
+            + " AND (b.leaseOwner IS NULL OR b.leaseOwner = :owner OR b.leaseExpiresAt < :now)")
+    int acquireLease(
+            @Param("id") UUID id,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until);
+
+    /**
+     * Records a page of progress and renews the lease, if the backfill is
+     * still running and the lease still held.
+     */
+    @Modifying
+    @Query("UPDATE ExtractionBackfill b SET b.cursor = :cursor, b.sent = :sent, b.failed = :failed,"
+            + " b.lastError = :lastError, b.leaseExpiresAt = :until, b.updatedAt = :now"
+            + " WHERE b.id = :id AND b.status = dev.project.scholar_ai.enums.BackfillStatus.RUNNING"
+            + " AND b.leaseOwner = :owner")
+    int recordProgress(
+            @Param("id") UUID id,
+            @Param("owner") String owner,
+            @Param("cursor") UUID cursor,
+            @Param("sent") long sent,
+            @Param("failed") long failed,
+            @Param("lastError") String lastError,
+            @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE ExtractionBackfill b SET b.status = :status, b.leaseOwner = NULL, b.leaseExpiresAt = NULL,"
+            + " b.updatedAt = :now, b.completedAt = :now"
+            + " WHERE b.id = :id AND b.status = dev.project.scholar_ai.enums.BackfillStatus.RUNNING")
+    int finish(@Param("id") UUID id, @Param("status") BackfillStatus status, @Param("now") LocalDateTime now);
+}
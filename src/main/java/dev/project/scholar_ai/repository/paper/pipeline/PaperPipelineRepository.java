@@ -0,0 +1,36 @@
+package dev.project.scholar_ai.repository.paper.pipeline;
+
+import dev.project.scholar_ai.enums.PipelineStatus;
+import dev.project.scholar_ai.model.paper.pipeline.PaperPipeline;
+import dev.project.scholar_ai.repository.paper.projection.PipelineLaneCount;
+import dev.project.scholar_ai.repository.paper.projection.PipelineProgressRow;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaperPipelineRepository extends JpaRepository<PaperPipeline, UUID> {
+
+    /**
+     * Pipeline state of every paper in a project's library, oldest membership
+     * first, including papers that have not entered the pipeline.
+     */
+    @Query("SELECT new dev.project.scholar_ai.repository.paper.projection.PipelineProgressRow("
+            + "p.id, p.title, pl.stage, pl.status, pl.attempt, pl.stageStartedAt, pl.resultReceivedAt,"
+            + " pl.updatedAt, pl.lastError)"
+            + " FROM ProjectPaper pp JOIN pp.paper p LEFT JOIN PaperPipeline pl ON pl.paperId = p.id"
+            + " WHERE pp.projectId = :projectId ORDER BY pp.addedAt, p.id")
+    List<PipelineProgressRow> findProgressRowsByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Papers per stage and request lane with the given status, e.g. the
+     * papers waiting on each agent per lane.
+     */
+    @Query(
+            "SELECT new dev.project.scholar_ai.repository.paper.projection.PipelineLaneCount(pl.stage, pl.lane, COUNT(pl))"
+                    + " FROM PaperPipeline pl WHERE pl.status = :status GROUP BY pl.stage, pl.lane")
+    List<PipelineLaneCount> countByStageAndLane(@Param("status") PipelineStatus status);
+}
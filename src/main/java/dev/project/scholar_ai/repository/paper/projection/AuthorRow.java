@@ -0,0 +1,8 @@
+package dev.project.scholar_ai.repository.paper.projection;
+
+import java.util.UUID;
+
+/**
+ * Author columns keyed by the owning paper ID.
+ */
+public record AuthorRow(UUID paperId, String name, String authorId, String orcid, String affiliation) {}
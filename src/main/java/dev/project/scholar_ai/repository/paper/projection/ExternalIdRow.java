@@ -0,0 +1,8 @@
+package dev.project.scholar_ai.repository.paper.projection;
+
+import java.util.UUID;
+
+/**
+ * External ID columns keyed by the owning paper ID.
+ */
+public record ExternalIdRow(UUID paperId, String source, String value) {}
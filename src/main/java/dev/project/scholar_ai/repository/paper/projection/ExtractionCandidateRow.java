@@ -0,0 +1,8 @@
+package dev.project.scholar_ai.repository.paper.projection;
+
+import java.util.UUID;
+
+/**
+ * A paper waiting for text extraction and the PDF URL to extract from.
+ */
+public record ExtractionCandidateRow(UUID id, String pdfUrl) {}
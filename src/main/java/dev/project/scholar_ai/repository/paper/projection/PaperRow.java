@@ -0,0 +1,31 @@
+package dev.project.scholar_ai.repository.paper.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Flat read projection of a paper with its venue and metrics columns, filled by
+ * a JPQL constructor expression so no {@code Paper} entity is initialized.
+ */
+public record PaperRow(
+        UUID id,
+        String title,
+        String abstractText,
+        LocalDate publicationDate,
+        String doi,
+        String semanticScholarId,
+        String source,
+        String pdfContentUrl,
+        String pdfUrl,
+        Boolean isOpenAccess,
+        String paperUrl,
+        String publicationTypes,
+        String fieldsOfStudy,
+        String venueName,
+        String publisher,
+        String volume,
+        String issue,
+        String pages,
+        Integer citationCount,
+        Integer referenceCount,
+        Integer influentialCitationCount) {}
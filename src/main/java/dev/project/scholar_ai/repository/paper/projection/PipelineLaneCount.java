@@ -0,0 +1,10 @@
+package dev.project.scholar_ai.repository.paper.projection;
+
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.enums.RequestLane;
+
+/**
+ * Number of papers at a pipeline stage in one request lane; the lane is null
+ * for rows written before lanes existed.
+ */
+public record PipelineLaneCount(PipelineStage stage, RequestLane lane, long papers) {}
@@ -0,0 +1,21 @@
+package dev.project.scholar_ai.repository.paper.projection;
+
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.enums.PipelineStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pipeline columns of a library paper; stage and status are null for papers
+ * that never entered the pipeline.
+ */
+public record PipelineProgressRow(
+        UUID paperId,
+        String title,
+        PipelineStage stage,
+        PipelineStatus status,
+        Integer attempt,
+        LocalDateTime stageStartedAt,
+        LocalDateTime resultReceivedAt,
+        LocalDateTime updatedAt,
+        String lastError) {}
@@ -0,0 +1,10 @@
+package dev.project.scholar_ai.repository.paper.projection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Section offsets of an extracted document, read without its section bodies.
+ */
+public record SectionIndexRow(UUID documentId, List<Map<String, Object>> sectionIndex) {}
@@ -1,6 +1,7 @@
 package dev.project.scholar_ai.repository.paper.structure;
 
 import dev.project.scholar_ai.model.paper.structure.ExtractedDocument;
+import dev.project.scholar_ai.repository.paper.projection.SectionIndexRow;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +18,13 @@ public interface ExtractedDocumentRepository extends JpaRepository<ExtractedDocu
      */
     Optional<ExtractedDocument> findByPaperId(UUID paperId);
 
+    /**
+     * Find the section offsets of a paper's extracted document without loading the sections
+     */
+    @Query("SELECT new dev.project.scholar_ai.repository.paper.projection.SectionIndexRow(ed.id, ed.sectionIndex)"
+            + " FROM ExtractedDocument ed WHERE ed.paper.id = :paperId")
+    Optional<SectionIndexRow> findSectionIndexByPaperId(@Param("paperId") UUID paperId);
+
     /**
      * Find all papers that have extracted documents
      */
@@ -47,6 +47,8 @@ public class SecurityConfig {
     public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource)) // ✅ explicitly configure CORS source
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
+                        .requestMatchers("/api/v1/admin/**")
+                        .hasAuthority("ADMIN")
                         .requestMatchers(
                                 "/api/test/test",
                                 "/api/v1/auth/**",
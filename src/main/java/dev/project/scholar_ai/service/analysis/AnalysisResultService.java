@@ -0,0 +1,178 @@
+package dev.project.scholar_ai.service.analysis;
+
+import dev.project.scholar_ai.dto.agent.request.GapAnalysisRequest;
+import dev.project.scholar_ai.dto.analysis.GapAnalysisDto;
+import dev.project.scholar_ai.dto.analysis.GeneratedSummaryDto;
+import dev.project.scholar_ai.dto.event.GapAnalysisCompletedEvent;
+import dev.project.scholar_ai.dto.event.SummarizationCompletedEvent;
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.messaging.idempotency.ProcessedMessageLedger;
+import dev.project.scholar_ai.messaging.publisher.GapAnalysisRequestSender;
+import dev.project.scholar_ai.repository.paper.analysis.GapAnalysisRepository;
+import dev.project.scholar_ai.repository.paper.analysis.GeneratedSummaryRepository;
+import dev.project.scholar_ai.service.pipeline.PaperPipelineService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores the results of the summarization and gap analysis agents and serves
+ * them afterwards, so a paper is not sent to an agent again just to read its
+ * result.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisResultService {
+
+    private final AnalysisResultWriter analysisResultWriter;
+    private final GeneratedSummaryRepository generatedSummaryRepository;
+    private final GapAnalysisRepository gapAnalysisRepository;
+    private final ProcessedMessageLedger processedMessageLedger;
+    private final PaperPipelineService paperPipelineService;
+    private final GapAnalysisRequestSender gapAnalysisRequestSender;
+
+    /**
+     * Stores a batch of summarization results in one transaction. Results
+     * that were already applied are skipped; an empty summary fails the
+     * paper's summarization stage.
+     *
+     * @param delivered The results as delivered
+     * @return The newly stored results that carry a summary
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public List<SummarizationCompletedEvent> storeSummaries(List<SummarizationCompletedEvent> delivered) {
+        LocalDateTime receivedAt = LocalDateTime.now();
+        List<SummarizationCompletedEvent> results = processedMessageLedger.claim(
+                ProcessedMessageLedger.SUMMARIZATION_RESULTS,
+                delivered,
+                result -> ProcessedMessageLedger.key(result.correlationId(), result.paperId()));
+        if (results.isEmpty()) {
+            return List.of();
+        }
+
+        List<SummarizationCompletedEvent> summarized = new ArrayList<>(results.size());
+        List<PaperPipelineService.StageResult> stageResults = new ArrayList<>(results.size());
+        for (SummarizationCompletedEvent result : results) {
+            if (result.summaryText() != null && !result.summaryText().isBlank()) {
+                summarized.add(result);
+                stageResults.add(PaperPipelineService.StageResult.succeeded(result.paperId()));
+            } else {
+                stageResults.add(PaperPipelineService.StageResult.failed(result.paperId(), "Empty summary"));
+            }
+        }
+        analysisResultWriter.upsertSummaries(summarized);
+        paperPipelineService.stageResultsReceived(PipelineStage.SUMMARIZATION, stageResults, receivedAt);
+
+        log.info(
+                "Stored summaries of {} papers, {} results without a summary",
+                summarized.size(),
+                results.size() - summarized.size());
+        return List.copyOf(summarized);
+    }
+
+    /**
+     * Stores a batch of gap analysis results in one transaction. Results that
+     * were already applied are skipped; a result without a gap list fails the
+     * paper's gap analysis stage and leaves earlier gaps in place.
+     *
+     * @param delivered The results as delivered
+     * @return The number of papers whose gaps were stored
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public int storeGapAnalyses(List<GapAnalysisCompletedEvent> delivered) {
+        LocalDateTime receivedAt = LocalDateTime.now();
+        List<GapAnalysisCompletedEvent> results = processedMessageLedger.claim(
+                ProcessedMessageLedger.GAP_ANALYSIS_RESULTS,
+                delivered,
+                result -> ProcessedMessageLedger.key(result.correlationId(), result.paperId()));
+        if (results.isEmpty()) {
+            return 0;
+        }
+
+        List<GapAnalysisCompletedEvent> analyzed = new ArrayList<>(results.size());
+        List<PaperPipelineService.StageResult> stageResults = new ArrayList<>(results.size());
+        for (GapAnalysisCompletedEvent result : results) {
+            if (result.identifiedGaps() != null) {
+                analyzed.add(result);
+                stageResults.add(PaperPipelineService.StageResult.succeeded(result.paperId()));
+            } else {
+                stageResults.add(PaperPipelineService.StageResult.failed(result.paperId(), "No gaps reported"));
+            }
+        }
+        int stored = analysisResultWriter.upsertGapAnalyses(analyzed);
+        // Last stage: these papers' pipelines are done once this commits
+        paperPipelineService.stageResultsReceived(PipelineStage.GAP_ANALYSIS, stageResults, receivedAt);
+        return stored;
+    }
+
+    /**
+     * Requests gap analysis of freshly summarized papers, then records the
+     * requests that were sent in a short transaction of its own, so no paper
+     * database connection is held while talking to the broker.
+     *
+     * @param summaries Stored summarization results
+     * @return The IDs of the papers whose request could not be sent
+     */
+    public List<UUID> triggerGapAnalysis(List<SummarizationCompletedEvent> summaries) {
+        if (summaries.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> requested = new ArrayList<>(summaries.size());
+        List<UUID> failed = new ArrayList<>();
+        for (SummarizationCompletedEvent summary : summaries) {
+            try {
+                gapAnalysisRequestSender.send(new GapAnalysisRequest(
+                        summary.paperId(),
+                        summary.summaryText(),
+                        UUID.randomUUID().toString()));
+                requested.add(summary.paperId());
+            } catch (Exception e) {
+                log.error("Failed to trigger gap analysis for paper {}: {}", summary.paperId(), e.getMessage(), e);
+                failed.add(summary.paperId());
+            }
+        }
+        paperPipelineService.stageRequested(PipelineStage.GAP_ANALYSIS, requested);
+        return failed;
+    }
+
+    /**
+     * Stored summary of a paper.
+     *
+     * @param paperId The ID of the paper
+     * @return The summary, or empty when the paper has not been summarized
+     */
+    @Transactional(readOnly = true, transactionManager = "paperTransactionManager")
+    public Optional<GeneratedSummaryDto> getSummary(UUID paperId) {
+        return generatedSummaryRepository
+                .findById(paperId)
+                .map(summary -> new GeneratedSummaryDto(
+                        summary.getPaperId(),
+                        summary.getSummaryText(),
+                        summary.getCreatedAt(),
+                        summary.getUpdatedAt()));
+    }
+
+    /**
+     * Stored gap analysis of a paper.
+     *
+     * @param paperId The ID of the paper
+     * @return The gaps, or empty when the paper has not been analyzed
+     */
+    @Transactional(readOnly = true, transactionManager = "paperTransactionManager")
+    public Optional<GapAnalysisDto> getGapAnalysis(UUID paperId) {
+        return gapAnalysisRepository
+                .findWithGapsByPaperId(paperId)
+                .map(analysis -> new GapAnalysisDto(
+                        analysis.getPaperId(),
+                        List.copyOf(analysis.getGaps()),
+                        analysis.getCreatedAt(),
+                        analysis.getUpdatedAt()));
+    }
+}
@@ -0,0 +1,122 @@
+package dev.project.scholar_ai.service.analysis;
+
+import dev.project.scholar_ai.dto.event.GapAnalysisCompletedEvent;
+import dev.project.scholar_ai.dto.event.SummarizationCompletedEvent;
+import dev.project.scholar_ai.util.SqlUpsert;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk upsert path for summarization and gap analysis results.
+ *
+ * <p>A batch of results is written with one multi-row upsert per table,
+ * instead of a load and save per paper. Must run on the caller's paper
+ * transaction.
+ */
+@Slf4j
+@Component
+public class AnalysisResultWriter {
+
+    private static final String DELETE_GAPS = "DELETE FROM gap_analysis_gaps WHERE paper_id IN (%s)";
+    private static final String INSERT_GAP =
+            "INSERT INTO gap_analysis_gaps (paper_id, position, gap_text) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlUpsert summaryUpsert;
+    private final SqlUpsert gapAnalysisUpsert;
+
+    public AnalysisResultWriter(@Qualifier("paperJdbcTemplate") JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.summaryUpsert = new SqlUpsert(
+                jdbcTemplate,
+                "generated_summaries",
+                "paper_id",
+                List.of("summary_text", "correlation_id", "updated_at", "paper_id", "created_at"),
+                Set.of("created_at"));
+        this.gapAnalysisUpsert = new SqlUpsert(
+                jdbcTemplate,
+                "gap_analyses",
+                "paper_id",
+                List.of("gap_count", "correlation_id", "updated_at", "paper_id", "created_at"),
+                Set.of("created_at"));
+    }
+
+    /**
+     * Stores the summaries of a batch, replacing earlier summaries of the same
+     * papers. When a paper appears more than once the last result wins.
+     *
+     * @param results Summarization results with a summary
+     * @return The number of papers written
+     */
+    public int upsertSummaries(Collection<SummarizationCompletedEvent> results) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = latestPerPaper(results, SummarizationCompletedEvent::paperId).stream()
+                .map(result -> new Object[] {result.summaryText(), result.correlationId(), now, result.paperId(), now})
+                .toList();
+        summaryUpsert.upsert(rows);
+        log.debug("Upserted summaries of {} papers", rows.size());
+        return rows.size();
+    }
+
+    /**
+     * Stores the identified gaps of a batch, replacing earlier gaps of the
+     * same papers. When a paper appears more than once the last result wins.
+     *
+     * @param results Gap analysis results with a gap list, possibly empty
+     * @return The number of papers written
+     */
+    public int upsertGapAnalyses(Collection<GapAnalysisCompletedEvent> results) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<GapAnalysisCompletedEvent> latest = latestPerPaper(results, GapAnalysisCompletedEvent::paperId);
+        if (latest.isEmpty()) {
+            return 0;
+        }
+        gapAnalysisUpsert.upsert(latest.stream()
+                .map(result ->
+                        new Object[] {result.identifiedGaps().size(), result.correlationId(), now, result.paperId(), now
+                        })
+                .toList());
+
+        List<UUID> paperIds =
+                latest.stream().map(GapAnalysisCompletedEvent::paperId).toList();
+        jdbcTemplate.update(DELETE_GAPS.formatted(placeholders(paperIds.size())), paperIds.toArray());
+        List<Object[]> gaps = new ArrayList<>();
+        for (GapAnalysisCompletedEvent result : latest) {
+            for (int position = 0; position < result.identifiedGaps().size(); position++) {
+                gaps.add(new Object[] {
+                    result.paperId(), position, result.identifiedGaps().get(position)
+                });
+            }
+        }
+        if (!gaps.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_GAP, gaps);
+        }
+        log.debug("Upserted gap analyses of {} papers with {} gaps", latest.size(), gaps.size());
+        return latest.size();
+    }
+
+    private static <T> List<T> latestPerPaper(Collection<T> results, Function<T, UUID> paperIdOf) {
+        Map<UUID, T> latest = new LinkedHashMap<>();
+        for (T result : results) {
+            latest.put(paperIdOf.apply(result), result);
+        }
+        return List.copyOf(latest.values());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,207 @@
+package dev.project.scholar_ai.service.extraction;
+
+import dev.project.scholar_ai.model.paper.structure.ExtractedDocument;
+import dev.project.scholar_ai.repository.paper.projection.SectionIndexRow;
+import dev.project.scholar_ai.repository.paper.structure.ExtractedDocumentRepository;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Paged and section-aligned reads of extracted text.
+ *
+ * <p>Pages are read from {@link PaperTextStore} by character range, so a
+ * request never holds more than one page (at most
+ * {@code scholarai.paper.text.max-page-chars}) plus the compressed blocks
+ * around it, whatever the size of the paper. Section boundaries come from the
+ * section index of the paper's {@link ExtractedDocument}, built when the
+ * structured result is saved, or on first use for older documents.
+ */
+@Slf4j
+@Service
+public class ExtractedTextService {
+
+    private static final String[] TITLE_KEYS = {"title", "heading", "section_title", "name"};
+
+    private final PaperTextStore paperTextStore;
+    private final ExtractedDocumentRepository extractedDocumentRepository;
+    private final int maxPageChars;
+
+    /**
+     * A page of extracted text.
+     *
+     * @param offset Character offset of the page in the full text
+     * @param text The page content
+     * @param totalLength Length of the full text in characters
+     * @param nextOffset Offset of the next page, or null when the page reaches the requested end
+     */
+    public record TextPage(int offset, String text, int totalLength, Integer nextOffset) {}
+
+    /**
+     * A section of the extracted text. Sections whose title could not be found
+     * in the text are empty and not located.
+     */
+    public record Section(int index, String title, int offset, int length, boolean located) {}
+
+    public ExtractedTextService(
+            PaperTextStore paperTextStore,
+            ExtractedDocumentRepository extractedDocumentRepository,
+            @Value("${scholarai.paper.text.max-page-chars:65536}") int maxPageChars) {
+        if (maxPageChars < 1) {
+            throw new IllegalArgumentException("scholarai.paper.text.max-page-chars must be at least 1");
+        }
+        this.paperTextStore = paperTextStore;
+        this.extractedDocumentRepository = extractedDocumentRepository;
+        this.maxPageChars = maxPageChars;
+    }
+
+    /**
+     * Reads a page of a paper's text.
+     *
+     * @param paperId The ID of the paper
+     * @param offset First character of the page
+     * @param length Requested page length, capped at the maximum page size; null for the maximum
+     * @return The page, or empty when the paper has no stored text
+     */
+    public Optional<TextPage> page(UUID paperId, int offset, Integer length) {
+        return paperTextStore.layout(paperId).map(layout -> page(paperId, layout, offset, length, layout.charLength()));
+    }
+
+    /**
+     * Reads a page of one section of a paper's text. Pages never cross the end
+     * of the section; offsets and the total length are relative to the section.
+     *
+     * @param paperId The ID of the paper
+     * @param sectionIndex Index of the section
+     * @param offset First character of the page within the section
+     * @param length Requested page length, capped at the maximum page size; null for the maximum
+     * @return The page, or empty when the paper has no stored text
+     * @throws IllegalArgumentException when the paper has no section with that index
+     */
+    public Optional<TextPage> sectionPage(UUID paperId, int sectionIndex, int offset, Integer length) {
+        List<Section> sections = sections(paperId);
+        if (sectionIndex < 0 || sectionIndex >= sections.size()) {
+            throw new IllegalArgumentException(
+                    "Paper " + paperId + " has no section " + sectionIndex + " (" + sections.size() + " sections)");
+        }
+        Section section = sections.get(sectionIndex);
+        return paperTextStore
+                .layout(paperId)
+                .map(layout -> page(
+                        paperId,
+                        layout,
+                        section.offset() + Math.max(0, offset),
+                        length,
+                        section.offset() + section.length()))
+                .map(page -> new TextPage(
+                        page.offset() - section.offset(),
+                        page.text(),
+                        section.length(),
+                        page.nextOffset() != null ? page.nextOffset() - section.offset() : null));
+    }
+
+    /**
+     * Lists the sections of a paper's text with their character ranges.
+     *
+     * @param paperId The ID of the paper
+     * @return The sections in document order, empty when the paper is not structured
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public List<Section> sections(UUID paperId) {
+        Optional<SectionIndexRow> row = extractedDocumentRepository.findSectionIndexByPaperId(paperId);
+        if (row.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map<String, Object>> index = row.get().sectionIndex();
+        if (index == null) {
+            ExtractedDocument document = extractedDocumentRepository
+                    .findById(row.get().documentId())
+                    .orElseThrow(() -> new RuntimeException("Extracted document not found for paper: " + paperId));
+            index = indexSections(paperId, document.getSections());
+            if (index == null) {
+                return List.of();
+            }
+            document.setSectionIndex(index);
+            extractedDocumentRepository.save(document);
+            log.info("Built section index with {} sections for paper {}", index.size(), paperId);
+        }
+
+        List<Section> sections = new ArrayList<>(index.size());
+        for (int i = 0; i < index.size(); i++) {
+            Map<String, Object> entry = index.get(i);
+            int start = ((Number) entry.get("start")).intValue();
+            int end = ((Number) entry.get("end")).intValue();
+            sections.add(new Section(
+                    i, (String) entry.get("title"), start, end - start, Boolean.TRUE.equals(entry.get("located"))));
+        }
+        return sections;
+    }
+
+    /**
+     * Locates structured sections in a paper's stored text in one streaming
+     * pass. Each section ends where the next located section starts.
+     *
+     * @param paperId The ID of the paper
+     * @param sections Sections of the structuring result, in document order
+     * @return Index entries with title, start, end and located; null when the paper has no stored text yet
+     */
+    public List<Map<String, Object>> indexSections(UUID paperId, List<Map<String, Object>> sections) {
+        if (sections == null || sections.isEmpty()) {
+            return List.of();
+        }
+        Optional<PaperTextStore.TextLayout> layout = paperTextStore.layout(paperId);
+        if (layout.isEmpty()) {
+            return null;
+        }
+
+        List<String> titles = new ArrayList<>(sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            titles.add(sectionTitle(sections.get(i), i));
+        }
+        int[] starts = paperTextStore
+                .read(paperId, reader -> SectionLocator.locate(reader, titles))
+                .orElseThrow();
+
+        int textLength = layout.get().charLength();
+        List<Map<String, Object>> index = new ArrayList<>(starts.length);
+        int end = textLength;
+        for (int i = starts.length - 1; i >= 0; i--) {
+            boolean located = starts[i] != SectionLocator.NOT_FOUND;
+            int start = located ? starts[i] : end;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("title", titles.get(i));
+            entry.put("start", start);
+            entry.put("end", end);
+            entry.put("located", located);
+            index.add(0, entry);
+            end = start;
+        }
+        return index;
+    }
+
+    private TextPage page(UUID paperId, PaperTextStore.TextLayout layout, int offset, Integer length, int end) {
+        int from = Math.max(0, offset);
+        int pageLength = length == null ? maxPageChars : Math.max(0, Math.min(length, maxPageChars));
+        int to = (int) Math.min(Math.min(end, layout.charLength()), (long) from + pageLength);
+        String text = paperTextStore.read(paperId, layout, from, to - from);
+        Integer nextOffset = to < Math.min(end, layout.charLength()) ? to : null;
+        return new TextPage(from, text, layout.charLength(), nextOffset);
+    }
+
+    private static String sectionTitle(Map<String, Object> section, int index) {
+        for (String key : TITLE_KEYS) {
+            if (section.get(key) instanceof String title && !title.isBlank()) {
+                return title;
+            }
+        }
+        return "Section " + (index + 1);
+    }
+}
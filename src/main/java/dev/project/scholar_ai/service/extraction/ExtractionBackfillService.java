@@ -0,0 +1,457 @@
+package dev.project.scholar_ai.service.extraction;
+
+import dev.project.scholar_ai.config.RabbitMQConfig;
+import dev.project.scholar_ai.dto.agent.request.ExtractionRequest;
+import dev.project.scholar_ai.dto.extraction.ExtractionBackfillDto;
+import dev.project.scholar_ai.enums.BackfillStatus;
+import dev.project.scholar_ai.enums.RequestLane;
+import dev.project.scholar_ai.messaging.publisher.ExtractionRequestSender;
+import dev.project.scholar_ai.model.paper.backfill.ExtractionBackfill;
+import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.repository.paper.backfill.ExtractionBackfillRepository;
+import dev.project.scholar_ai.repository.paper.projection.ExtractionCandidateRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends extraction requests for every paper with a PDF but no extracted text,
+ * as a rate-controlled background run in the bulk lane.
+ *
+ * <p>Candidates are read a page at a time in paper ID order, continuing after
+ * the last ID handled (keyset pagination), and requests are paced by a token
+ * bucket at the run's {@code rate-per-second}. Before each page the depth of
+ * the extraction queue is checked; while it is at {@code max-queue-depth} or
+ * more the run pauses, so a backfill never buries the agent. Progress and the
+ * cursor are recorded after every page, and papers are marked
+ * {@code IN_PROGRESS} as they are sent, so a run interrupted by a restart is
+ * resumed where it stopped and never requests a paper twice.
+ *
+ * <p>At most one run is active at a time. The instance working it holds a
+ * lease renewed with every page; another instance takes the run over when
+ * the lease has expired.
+ */
+@Slf4j
+@Service
+public class ExtractionBackfillService {
+
+    private static final UUID FIRST_CURSOR = new UUID(0L, 0L);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ExtractionBackfillRepository backfillRepository;
+    private final PaperRepository paperRepository;
+    private final ExtractionService extractionService;
+    private final ExtractionRequestSender extractionRequestSender;
+    private final AmqpAdmin amqpAdmin;
+    private final RabbitMQConfig rabbitMQConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int pageSize;
+    private final double defaultRatePerSecond;
+    private final int burst;
+    private final long maxQueueDepth;
+    private final long pollIntervalMs;
+    private final Duration lease;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Semaphore work = new Semaphore(0);
+    private final Timer throttledTimer;
+    private final AtomicLong remaining = new AtomicLong();
+    private volatile boolean throttled;
+    private volatile boolean running;
+    private Thread runnerThread;
+
+    /** Where the run this instance is working has got to. */
+    private static final class Progress {
+        private UUID cursor;
+        private long sent;
+        private long failed;
+        private String lastError;
+    }
+
+    public ExtractionBackfillService(
+            ExtractionBackfillRepository backfillRepository,
+            PaperRepository paperRepository,
+            ExtractionService extractionService,
+            ExtractionRequestSender extractionRequestSender,
+            AmqpAdmin amqpAdmin,
+            RabbitMQConfig rabbitMQConfig,
+            @Qualifier("paperTransactionManager") PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${scholarai.paper.extraction-backfill.enabled:true}") boolean enabled,
+            @Value("${scholarai.paper.extraction-backfill.page-size:100}") int pageSize,
+            @Value("${scholarai.paper.extraction-backfill.rate-per-second:5}") double defaultRatePerSecond,
+            @Value("${scholarai.paper.extraction-backfill.burst:10}") int burst,
+            @Value("${scholarai.paper.extraction-backfill.max-queue-depth:500}") long maxQueueDepth,
+            @Value("${scholarai.paper.extraction-backfill.poll-interval-ms:5000}") long pollIntervalMs,
+            @Value("${scholarai.paper.extraction-backfill.lease-seconds:120}") long leaseSeconds) {
+        this.backfillRepository = backfillRepository;
+        this.paperRepository = paperRepository;
+        this.extractionService = extractionService;
+        this.extractionRequestSender = extractionRequestSender;
+        this.amqpAdmin = amqpAdmin;
+        this.rabbitMQConfig = rabbitMQConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.defaultRatePerSecond = defaultRatePerSecond;
+        this.burst = burst;
+        this.maxQueueDepth = maxQueueDepth;
+        this.pollIntervalMs = pollIntervalMs;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.throttledTimer = Timer.builder("scholarai.extraction.backfill.throttled")
+                .description("Time the backfill paused because the extraction queue was too deep")
+                .register(meterRegistry);
+        Gauge.builder("scholarai.extraction.backfill.remaining", remaining, AtomicLong::get)
+                .description("Papers the backfill worked by this instance has yet to request")
+                .register(meterRegistry);
+        Gauge.builder("scholarai.extraction.backfill.paused", () -> throttled ? 1 : 0)
+                .description("1 while the backfill waits for the extraction queue to drain")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a backfill over the current extraction candidates.
+     *
+     * @param requestedBy Who started the run, recorded on each request
+     * @param maxPapers Papers to request at most; null for every candidate
+     * @param ratePerSecond Requests per second; null for the configured rate
+     * @return The new run
+     * @throws IllegalArgumentException When a limit is not positive
+     * @throws IllegalStateException When another run is active
+     */
+    public ExtractionBackfillDto start(String requestedBy, Integer maxPapers, Double ratePerSecond) {
+        if (maxPapers != null && maxPapers <= 0) {
+            throw new IllegalArgumentException("maxPapers must be positive");
+        }
+        if (ratePerSecond != null && ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+        }
+        ExtractionBackfill backfill = transactionTemplate.execute(status -> {
+            if (backfillRepository.existsByStatus(BackfillStatus.RUNNING)) {
+                throw new IllegalStateException("An extraction backfill is already running");
+            }
+            long candidates = paperRepository.countExtractionCandidates();
+            LocalDateTime now = LocalDateTime.now();
+            return backfillRepository.save(ExtractionBackfill.builder()
+                    .status(BackfillStatus.RUNNING)
+                    .requestedBy(requestedBy)
+                    .maxPapers(maxPapers)
+                    .totalPapers(maxPapers == null ? candidates : Math.min(candidates, maxPapers))
+                    .ratePerSecond(ratePerSecond == null ? defaultRatePerSecond : ratePerSecond)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        });
+        log.info(
+                "📚 Extraction backfill {} started by {}: {} papers at {}/s",
+                backfill.getId(),
+                requestedBy,
+                backfill.getTotalPapers(),
+                backfill.getRatePerSecond());
+        work.release();
+        return toDto(backfill);
+    }
+
+    /**
+     * Cancels a running backfill. The instance working it stops after its
+     * current page; requests already sent are not withdrawn.
+     *
+     * @throws IllegalArgumentException When no such run exists
+     * @throws IllegalStateException When the run is no longer running
+     */
+    public ExtractionBackfillDto cancel(UUID id) {
+        Integer cancelled = transactionTemplate.execute(
+                status -> backfillRepository.finish(id, BackfillStatus.CANCELLED, LocalDateTime.now()));
+        ExtractionBackfill backfill = backfillRepository
+                .findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Extraction backfill not found: " + id));
+        if (cancelled == null || cancelled == 0) {
+            throw new IllegalStateException("Extraction backfill " + id + " is already " + backfill.getStatus());
+        }
+        log.info("⏹️ Extraction backfill {} cancelled after {} requests", id, backfill.getSent());
+        return toDto(backfill);
+    }
+
+    public Optional<ExtractionBackfillDto> get(UUID id) {
+        return backfillRepository.findById(id).map(this::toDto);
+    }
+
+    /** Most recent runs first. */
+    public List<ExtractionBackfillDto> list(int limit) {
+        return backfillRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(0, Math.max(1, limit))).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRunner() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        runnerThread = Thread.ofVirtual().name("extraction-backfill").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (runnerThread != null) {
+            runnerThread.interrupt();
+            // Let the current page record its progress and release the lease
+            runnerThread.join(Duration.ofSeconds(5));
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Optional<UUID> claimed = claimNext();
+                if (claimed.isPresent()) {
+                    runBackfill(claimed.get());
+                } else {
+                    work.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    work.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("❌ Extraction backfill cycle failed, retrying in {} ms: {}", pollIntervalMs, e.getMessage());
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Takes the lease of the oldest running backfill no other instance is working. */
+    Optional<UUID> claimNext() {
+        for (ExtractionBackfill backfill : backfillRepository.findByStatusOrderByCreatedAt(BackfillStatus.RUNNING)) {
+            LocalDateTime now = LocalDateTime.now();
+            Integer acquired = transactionTemplate.execute(
+                    status -> backfillRepository.acquireLease(backfill.getId(), instanceId, now, now.plus(lease)));
+            if (acquired != null && acquired > 0) {
+                return Optional.of(backfill.getId());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Works a backfill whose lease this instance holds until it completes, is
+     * cancelled or its lease is lost.
+     */
+    void runBackfill(UUID id) throws InterruptedException {
+        ExtractionBackfill backfill = backfillRepository
+                .findById(id)
+                .orElseThrow(() -> new IllegalStateException("Extraction backfill not found: " + id));
+        Progress progress = new Progress();
+        progress.cursor = backfill.getCursor() == null ? FIRST_CURSOR : backfill.getCursor();
+        progress.sent = backfill.getSent();
+        progress.failed = backfill.getFailed();
+        progress.lastError = backfill.getLastError();
+        TokenBucket bucket = new TokenBucket(backfill.getRatePerSecond(), burst, System::nanoTime);
+        int pageLimit = pageLimit(backfill.getRatePerSecond());
+        log.info("▶️ Working extraction backfill {} from {} ({} sent)", id, progress.cursor, progress.sent);
+
+        try {
+            while (true) {
+                remaining.set(Math.max(0, backfill.getTotalPapers() - progress.sent - progress.failed));
+                if (!awaitQueueCapacity(id, progress)) {
+                    return;
+                }
+                long room = backfill.getMaxPapers() == null
+                        ? pageLimit
+                        : Math.min(pageLimit, backfill.getMaxPapers() - progress.sent - progress.failed);
+                List<ExtractionCandidateRow> page = room <= 0
+                        ? List.of()
+                        : paperRepository.findExtractionCandidatesAfter(progress.cursor, PageRequest.of(0, (int) room));
+                if (page.isEmpty()) {
+                    recordProgress(id, progress, LocalDateTime.now());
+                    transactionTemplate.execute(
+                            status -> backfillRepository.finish(id, BackfillStatus.COMPLETED, LocalDateTime.now()));
+                    log.info(
+                            "✅ Extraction backfill {} completed: {} sent, {} failed",
+                            id,
+                            progress.sent,
+                            progress.failed);
+                    return;
+                }
+                for (ExtractionCandidateRow candidate : page) {
+                    bucket.acquire();
+                    requestExtraction(candidate, backfill.getRequestedBy(), progress);
+                    progress.cursor = candidate.id();
+                }
+                if (!recordProgress(id, progress, LocalDateTime.now().plus(lease))) {
+                    log.info("⏹️ Extraction backfill {} stopped: cancelled or taken over", id);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down: keep what was sent and hand the run to the next instance straight away
+            Thread.interrupted();
+            try {
+                recordProgress(id, progress, LocalDateTime.now());
+            } catch (RuntimeException recordFailure) {
+                log.warn("Could not record progress of extraction backfill {}: {}", id, recordFailure.getMessage());
+            }
+            throw e;
+        } finally {
+            remaining.set(0);
+        }
+    }
+
+    private void requestExtraction(ExtractionCandidateRow candidate, String requestedBy, Progress progress) {
+        boolean initiated = false;
+        try {
+            ExtractionRequest request = ExtractionRequest.builder()
+                    .correlationId(UUID.randomUUID().toString())
+                    .paperId(candidate.id())
+                    .pdfUrl(candidate.pdfUrl())
+                    .requestedBy(requestedBy)
+                    .build();
+            extractionService.initiateExtraction(candidate.id(), candidate.pdfUrl(), requestedBy, RequestLane.BULK);
+            initiated = true;
+            extractionRequestSender.send(request, RequestLane.BULK);
+            progress.sent++;
+            count("sent");
+        } catch (RuntimeException e) {
+            log.error("Failed to request extraction for paper {}: {}", candidate.id(), e.getMessage());
+            if (initiated) {
+                // IN_PROGRESS would take the paper out of the candidates of every later run
+                try {
+                    extractionService.extractionRequestFailed(candidate.id(), e.getMessage());
+                } catch (RuntimeException resetFailure) {
+                    log.error(
+                            "Could not reset extraction status of paper {}: {}",
+                            candidate.id(),
+                            resetFailure.getMessage());
+                }
+            }
+            progress.failed++;
+            progress.lastError = truncate(candidate.id() + ": " + e.getMessage());
+            count("failed");
+        }
+    }
+
+    /**
+     * Waits while the extraction queue is too deep, renewing the lease.
+     *
+     * @return false when the run was cancelled or taken over while waiting
+     */
+    private boolean awaitQueueCapacity(UUID id, Progress progress) throws InterruptedException {
+        long depth = extractionQueueDepth();
+        if (maxQueueDepth <= 0 || depth < maxQueueDepth) {
+            return true;
+        }
+        log.info("⏸️ Extraction queue holds {} messages, pausing backfill {}", depth, id);
+        throttled = true;
+        long pausedAt = System.nanoTime();
+        try {
+            while (depth >= maxQueueDepth) {
+                Thread.sleep(pollIntervalMs);
+                if (!recordProgress(id, progress, LocalDateTime.now().plus(lease))) {
+                    return false;
+                }
+                depth = extractionQueueDepth();
+            }
+        } finally {
+            throttled = false;
+            throttledTimer.record(System.nanoTime() - pausedAt, TimeUnit.NANOSECONDS);
+        }
+        log.info("▶️ Extraction queue down to {} messages, resuming backfill {}", depth, id);
+        return true;
+    }
+
+    private boolean recordProgress(UUID id, Progress progress, LocalDateTime leaseUntil) {
+        Integer updated = transactionTemplate.execute(status -> backfillRepository.recordProgress(
+                id,
+                instanceId,
+                progress.cursor,
+                progress.sent,
+                progress.failed,
+                progress.lastError,
+                LocalDateTime.now(),
+                leaseUntil));
+        return updated != null && updated > 0;
+    }
+
+    /** Messages waiting on the extraction queue, or null when it cannot be read. */
+    private Long extractionQueueDepthOrNull() {
+        try {
+            QueueInformation info = amqpAdmin.getQueueInfo(rabbitMQConfig.getExtractionQueue());
+            return info == null ? null : (long) info.getMessageCount();
+        } catch (RuntimeException e) {
+            log.warn("Could not read extraction queue depth: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private long extractionQueueDepth() {
+        QueueInformation info = amqpAdmin.getQueueInfo(rabbitMQConfig.getExtractionQueue());
+        return info == null ? 0 : info.getMessageCount();
+    }
+
+    // Keeps a page well inside the lease, which is only renewed between pages
+    private int pageLimit(double ratePerSecond) {
+        long pageSeconds = Math.max(1, lease.toSeconds() / 2);
+        return (int) Math.max(1, Math.min(pageSize, (long) (ratePerSecond * pageSeconds)));
+    }
+
+    private void count(String outcome) {
+        meterRegistry
+                .counter("scholarai.extraction.backfill.requests", "outcome", outcome)
+                .increment();
+    }
+
+    private ExtractionBackfillDto toDto(ExtractionBackfill backfill) {
+        boolean active = backfill.getStatus() == BackfillStatus.RUNNING;
+        Long depth = active ? extractionQueueDepthOrNull() : null;
+        long left = Math.max(0, backfill.getTotalPapers() - backfill.getSent() - backfill.getFailed());
+        return new ExtractionBackfillDto(
+                backfill.getId(),
+                backfill.getStatus(),
+                backfill.getRequestedBy(),
+                backfill.getMaxPapers(),
+                backfill.getTotalPapers(),
+                backfill.getSent(),
+                backfill.getFailed(),
+                backfill.getRatePerSecond(),
+                depth,
+                depth != null && maxQueueDepth > 0 && depth >= maxQueueDepth,
+                active ? (long) Math.ceil(left / backfill.getRatePerSecond()) : null,
+                backfill.getLastError(),
+                backfill.getCreatedAt(),
+                backfill.getUpdatedAt(),
+                backfill.getCompletedAt());
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
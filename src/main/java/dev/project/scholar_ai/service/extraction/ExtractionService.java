@@ -2,11 +2,22 @@ package dev.project.scholar_ai.service.extraction;
 
 import dev.project.scholar_ai.dto.agent.response.ExtractionResult;
 import dev.project.scholar_ai.enums.ExtractionStatus;
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.enums.RequestLane;
+import dev.project.scholar_ai.messaging.idempotency.ProcessedMessageLedger;
 import dev.project.scholar_ai.model.paper.metadata.Paper;
 import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.service.pipeline.PaperPipelineService;
 import dev.project.scholar_ai.service.structuring.StructuringService;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,34 +30,44 @@ public class ExtractionService {
 
     private final PaperRepository paperRepository;
     private final StructuringService structuringService;
+    private final PaperTextStore paperTextStore;
+    private final TextSanitizer textSanitizer;
+    private final ProcessedMessageLedger processedMessageLedger;
+    private final PaperPipelineService paperPipelineService;
 
     /**
      * Updates a paper with extracted text content from the extraction result.
      *
      * @param result The extraction result containing paper ID and extracted text
+     * @return {@code false} when the result was already applied and nothing was done
      */
     @Transactional(transactionManager = "paperTransactionManager")
-    public void updatePaperWithExtractedText(ExtractionResult result) {
+    public boolean updatePaperWithExtractedText(ExtractionResult result) {
         log.info("Updating paper {} with extraction results", result.getPaperId());
+        LocalDateTime receivedAt = LocalDateTime.now();
+
+        if (claim(List.of(result)).isEmpty()) {
+            log.info("Extraction result for paper {} was already applied, skipping", result.getPaperId());
+            return false;
+        }
 
         try {
             Paper paper = paperRepository
                     .findById(result.getPaperId())
                     .orElseThrow(() -> new RuntimeException("Paper not found with ID: " + result.getPaperId()));
 
-            // Sanitize and update paper with extracted text
-            String sanitizedText = sanitizeText(result.getExtractedText());
-            paper.setExtractedText(sanitizedText);
-            paper.setExtractionStatus(ExtractionStatus.valueOf(result.getStatus()));
-            paper.setExtractedAt(LocalDateTime.now());
+            applyExtractionResult(paper, result);
 
             // Save the updated paper
             paperRepository.save(paper);
+            paperPipelineService.stageResultsReceived(
+                    PipelineStage.EXTRACTION, List.of(stageResult(paper, result)), receivedAt);
 
             log.info(
                     "Successfully updated paper {} with extracted text (length: {} characters)",
                     result.getPaperId(),
                     result.getTextLength());
+            return true;
 
         } catch (Exception e) {
             log.error("Failed to update paper {} with extracted text: {}", result.getPaperId(), e.getMessage(), e);
@@ -55,17 +76,97 @@ public class ExtractionService {
     }
 
     /**
-     * Triggers text structuring for a paper with extracted text.
+     * Updates a batch of papers with their extraction results in one transaction:
+     * the papers are loaded with one query and written back with batched updates.
+     * Any failure rolls back the whole batch. Results that were already applied
+     * are skipped.
+     *
+     * @param delivered The extraction results as delivered
+     * @return The IDs of the papers that now have completed extracted text
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public List<UUID> updatePapersWithExtractedText(List<ExtractionResult> delivered) {
+        LocalDateTime receivedAt = LocalDateTime.now();
+        List<ExtractionResult> results = claim(delivered);
+        if (results.isEmpty()) {
+            return List.of();
+        }
+        log.info("Updating {} papers with extraction results", results.size());
+
+        Map<UUID, Paper> papers =
+                paperRepository
+                        .findAllWithDetailsByIdIn(results.stream()
+                                .map(ExtractionResult::getPaperId)
+                                .toList())
+                        .stream()
+                        .collect(Collectors.toMap(Paper::getId, Function.identity()));
+
+        Set<UUID> completed = new LinkedHashSet<>();
+        List<PaperPipelineService.StageResult> stageResults = new ArrayList<>(results.size());
+        for (ExtractionResult result : results) {
+            Paper paper = papers.get(result.getPaperId());
+            if (paper == null) {
+                throw new RuntimeException("Paper not found with ID: " + result.getPaperId());
+            }
+            applyExtractionResult(paper, result);
+            PaperPipelineService.StageResult stageResult = stageResult(paper, result);
+            if (stageResult.succeeded()) {
+                completed.add(paper.getId());
+            }
+            stageResults.add(stageResult);
+        }
+        paperRepository.saveAll(papers.values());
+        paperPipelineService.stageResultsReceived(PipelineStage.EXTRACTION, stageResults, receivedAt);
+
+        log.info("Updated {} papers with extracted text, {} completed", results.size(), completed.size());
+        return List.copyOf(completed);
+    }
+
+    private List<ExtractionResult> claim(List<ExtractionResult> results) {
+        return processedMessageLedger.claim(
+                ProcessedMessageLedger.EXTRACTION_RESULTS,
+                results,
+                result -> ProcessedMessageLedger.key(result.getCorrelationId(), result.getPaperId()));
+    }
+
+    private static PaperPipelineService.StageResult stageResult(Paper paper, ExtractionResult result) {
+        if (paper.getExtractionStatus() == ExtractionStatus.COMPLETED && paper.hasExtractedText()) {
+            return PaperPipelineService.StageResult.succeeded(paper.getId());
+        }
+        return PaperPipelineService.StageResult.failed(
+                paper.getId(),
+                result.getErrorMessage() != null
+                        ? result.getErrorMessage()
+                        : "Extraction finished with status " + result.getStatus());
+    }
+
+    private void applyExtractionResult(Paper paper, ExtractionResult result) {
+        // Sanitize and store the text once, compressed; the paper keeps its length and checksum
+        String sanitizedText = textSanitizer.sanitize(result.getExtractedText());
+        if (sanitizedText != null) {
+            PaperTextStore.StoredText stored = paperTextStore.write(paper.getId(), sanitizedText);
+            paper.setExtractedTextLength(stored.length());
+            paper.setExtractedTextChecksum(stored.checksum());
+        } else {
+            paperTextStore.delete(paper.getId());
+            paper.setExtractedTextLength(null);
+            paper.setExtractedTextChecksum(null);
+        }
+        paper.setExtractionStatus(ExtractionStatus.valueOf(result.getStatus()));
+        paper.setExtractedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Triggers text structuring for a paper whose extracted text has been stored.
      *
      * @param paperId The ID of the paper to structure
-     * @param extractedText The extracted text content
      */
-    public void triggerStructuring(UUID paperId, String extractedText) {
+    public void triggerStructuring(UUID paperId) {
         try {
             log.info("Triggering text structuring for paper: {}", paperId);
 
             // Trigger structuring which will later trigger summarization
-            structuringService.triggerStructuring(paperId, extractedText, "extraction-service");
+            structuringService.triggerStructuring(paperId, "extraction-service");
 
             log.info("Text structuring request sent for paper: {}", paperId);
 
@@ -75,6 +176,24 @@ public class ExtractionService {
         }
     }
 
+    /**
+     * Triggers text structuring for a batch of papers whose extracted text has been stored.
+     *
+     * @param paperIds The IDs of the papers to structure
+     * @return The IDs of the papers whose request could not be sent
+     */
+    public List<UUID> triggerStructuring(List<UUID> paperIds) {
+        if (paperIds.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return structuringService.triggerStructuring(paperIds, "extraction-service");
+        } catch (Exception e) {
+            log.error("Failed to trigger text structuring for {} papers: {}", paperIds.size(), e.getMessage(), e);
+            return paperIds;
+        }
+    }
+
     /**
      * Gets the extraction status for a paper.
      *
@@ -94,6 +213,20 @@ public class ExtractionService {
      */
     @Transactional(transactionManager = "paperTransactionManager")
     public void initiateExtraction(UUID paperId, String pdfUrl, String requestedBy) {
+        initiateExtraction(paperId, pdfUrl, requestedBy, RequestLane.INTERACTIVE);
+    }
+
+    /**
+     * Initiates text extraction for a paper in a request lane; the paper's
+     * later stages are requested in the same lane.
+     *
+     * @param paperId The ID of the paper to extract text from
+     * @param pdfUrl The URL of the PDF file
+     * @param requestedBy The user who requested the extraction
+     * @param lane The lane the extraction request is sent in
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public void initiateExtraction(UUID paperId, String pdfUrl, String requestedBy, RequestLane lane) {
         try {
             log.info("Initiating text extraction for paper: {}", paperId);
 
@@ -104,6 +237,7 @@ public class ExtractionService {
 
             paper.setExtractionStatus(ExtractionStatus.IN_PROGRESS);
             paperRepository.save(paper);
+            paperPipelineService.stageRequested(PipelineStage.EXTRACTION, lane, List.of(paperId));
 
             log.info("Text extraction initiated for paper: {}", paperId);
 
@@ -114,28 +248,24 @@ public class ExtractionService {
     }
 
     /**
-     * Sanitizes text to remove null bytes and other problematic characters for PostgreSQL.
+     * Undoes {@link #initiateExtraction} for a paper whose extraction request
+     * could not be sent, so it is requested again later. The paper is marked
+     * failed unless a result already moved it on.
      *
-     * @param text The text to sanitize
-     * @return Sanitized text safe for database storage
+     * @param paperId The ID of the paper
+     * @param error Why the request was not sent
      */
-    private String sanitizeText(String text) {
-        if (text == null) {
-            return null;
-        }
-
-        // Remove null bytes (0x00) and other control characters except newlines and tabs
-        String sanitized = text.replaceAll("[\u0000-\u0008\u000B\u000C\u000E-\u001F\u007F]", "");
-
-        // Trim excessive whitespace
-        sanitized = sanitized.replaceAll("\\s+", " ").trim();
-
-        // Limit text length if too long (optional safety measure)
-        if (sanitized.length() > 1_000_000) { // 1MB limit
-            log.warn("Truncating very long extracted text from {} to {} characters", sanitized.length(), 1_000_000);
-            sanitized = sanitized.substring(0, 1_000_000) + "... [TRUNCATED]";
-        }
-
-        return sanitized;
+    @Transactional(transactionManager = "paperTransactionManager")
+    public void extractionRequestFailed(UUID paperId, String error) {
+        paperRepository.findById(paperId).ifPresent(paper -> {
+            if (paper.getExtractionStatus() == ExtractionStatus.IN_PROGRESS) {
+                paper.setExtractionStatus(ExtractionStatus.FAILED);
+                paperRepository.save(paper);
+            }
+        });
+        paperPipelineService.stageResultsReceived(
+                PipelineStage.EXTRACTION,
+                List.of(PaperPipelineService.StageResult.failed(paperId, "Request not sent: " + error)),
+                LocalDateTime.now());
     }
 }
@@ -0,0 +1,100 @@
+package dev.project.scholar_ai.service.extraction;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves extracted text from the legacy {@code papers.extracted_text} column
+ * into {@link PaperTextStore}.
+ *
+ * <p>Compression happens in the application, so this cannot be a SQL
+ * migration. It runs after startup, one page of papers at a time, and clears
+ * each legacy value once the compressed copy is stored, so an interrupted run
+ * resumes where it stopped. The duplicate {@code extracted_documents.full_text}
+ * copies are cleared at the end. On databases created without the legacy
+ * columns it is a no-op.
+ */
+@Slf4j
+@Component
+public class PaperTextBackfill {
+
+    private static final int PAPERS_PER_PAGE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PaperTextStore paperTextStore;
+
+    private record LegacyText(UUID paperId, String text) {}
+
+    public PaperTextBackfill(@Qualifier("paperJdbcTemplate") JdbcTemplate jdbcTemplate, PaperTextStore paperTextStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.paperTextStore = paperTextStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        Thread.ofVirtual().name("paper-text-backfill").start(() -> {
+            try {
+                backfill();
+            } catch (Exception e) {
+                log.error("Extracted text backfill failed", e);
+            }
+        });
+    }
+
+    /**
+     * Compresses every legacy extracted text into the text store.
+     *
+     * @return Number of papers moved
+     */
+    public int backfill() {
+        int moved = 0;
+        if (columnExists("papers", "extracted_text")) {
+            List<LegacyText> page;
+            do {
+                page = jdbcTemplate.query(
+                        "SELECT id, extracted_text FROM papers WHERE extracted_text IS NOT NULL LIMIT ?",
+                        (rs, rowNum) -> new LegacyText(rs.getObject(1, UUID.class), rs.getString(2)),
+                        PAPERS_PER_PAGE);
+                for (LegacyText legacy : page) {
+                    PaperTextStore.StoredText stored = paperTextStore.write(legacy.paperId(), legacy.text());
+                    jdbcTemplate.update(
+                            "UPDATE papers SET extracted_text_length = ?, extracted_text_checksum = ?,"
+                                    + " extracted_text = NULL WHERE id = ?",
+                            stored.length(),
+                            stored.checksum(),
+                            legacy.paperId());
+                }
+                moved += page.size();
+            } while (page.size() == PAPERS_PER_PAGE);
+        }
+
+        if (columnExists("extracted_documents", "full_text")) {
+            int cleared =
+                    jdbcTemplate.update("UPDATE extracted_documents SET full_text = NULL WHERE full_text IS NOT NULL");
+            if (cleared > 0) {
+                log.info("Cleared {} duplicate full-text copies from extracted_documents", cleared);
+            }
+        }
+
+        if (moved > 0) {
+            log.info("Moved extracted text of {} papers into the compressed text store", moved);
+        }
+        return moved;
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns"
+                        + " WHERE LOWER(table_name) = ? AND LOWER(column_name) = ?",
+                Integer.class,
+                table,
+                column);
+        return count != null && count > 0;
+    }
+}
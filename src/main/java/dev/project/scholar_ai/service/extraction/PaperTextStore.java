@@ -0,0 +1,416 @@
+package dev.project.scholar_ai.service.extraction;
+
+import dev.project.scholar_ai.util.SqlUpsert;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores each paper's extracted text once, deflate-compressed, in
+ * {@code paper_texts} keyed by paper ID.
+ *
+ * <p>{@code Paper} only carries the text length and checksum, so loading a
+ * paper never touches the text. The text is compressed in independent blocks
+ * of {@value #BLOCK_CHARS} characters with a small block index, so a range of
+ * characters or UTF-8 bytes is served by fetching and inflating only the
+ * blocks it covers ({@code content} is stored uncompressed by TOAST, which
+ * lets Postgres read a substring without detoasting the whole value). Deflate
+ * only looks back 32KB, so blocking costs next to nothing in ratio.
+ *
+ * <p>Full reads inflate through a {@link Reader} and verify the CRC32C checksum.
+ */
+@Slf4j
+@Component
+public class PaperTextStore {
+
+    static final String CODEC_DEFLATE_BLOCKS = "deflate-blocks";
+    static final int BLOCK_CHARS = 64 * 1024;
+
+    private static final String SELECT_CONTENT =
+            "SELECT checksum, block_index, content FROM paper_texts WHERE paper_id = ?";
+    private static final String SELECT_LAYOUT =
+            "SELECT char_length, byte_length, OCTET_LENGTH(content), block_index FROM paper_texts WHERE paper_id = ?";
+    private static final String SELECT_CONTENT_RANGE =
+            "SELECT SUBSTRING(content FROM ? FOR ?) FROM paper_texts WHERE paper_id = ?";
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int INDEX_ENTRY_BYTES = 3 * Integer.BYTES;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlUpsert textUpsert;
+    private final int compressionLevel;
+
+    /**
+     * Result of storing a text.
+     *
+     * @param length Length of the text in characters
+     * @param checksum CRC32C of the UTF-8 encoding
+     * @param byteLength Size of the UTF-8 encoding
+     * @param storedBytes Size of the compressed content
+     */
+    public record StoredText(int length, long checksum, int byteLength, int storedBytes) {}
+
+    /**
+     * Where a paper's text sits in storage: its lengths plus, per compressed
+     * block, the first character, the first UTF-8 byte and the offset of the
+     * block in the compressed content.
+     */
+    public record TextLayout(
+            int charLength,
+            int byteLength,
+            int contentLength,
+            int[] charStarts,
+            int[] byteStarts,
+            int[] contentStarts) {
+
+        int blockCount() {
+            return contentStarts.length;
+        }
+
+        int blockAtChar(int charOffset) {
+            return blockAt(charStarts, charOffset);
+        }
+
+        int blockAtByte(int byteOffset) {
+            return blockAt(byteStarts, byteOffset);
+        }
+
+        int byteEnd(int block) {
+            return block + 1 < blockCount() ? byteStarts[block + 1] : byteLength;
+        }
+
+        int contentEnd(int block) {
+            return block + 1 < blockCount() ? contentStarts[block + 1] : contentLength;
+        }
+
+        private static int blockAt(int[] starts, int offset) {
+            int index = Arrays.binarySearch(starts, offset);
+            return index >= 0 ? index : -index - 2;
+        }
+    }
+
+    /** Consumes the inflated text of a paper. */
+    @FunctionalInterface
+    public interface TextReader<T> {
+        T read(Reader reader) throws IOException;
+    }
+
+    public PaperTextStore(
+            @Qualifier("paperJdbcTemplate") JdbcTemplate jdbcTemplate,
+            @Value("${scholarai.paper.text.compression-level:6}") int compressionLevel) {
+        if (compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("scholarai.paper.text.compression-level must be between 1 and 9");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.textUpsert = new SqlUpsert(
+                jdbcTemplate,
+                "paper_texts",
+                "paper_id",
+                List.of(
+                        "codec",
+                        "char_length",
+                        "byte_length",
+                        "checksum",
+                        "block_index",
+                        "content",
+                        "updated_at",
+                        "paper_id"),
+                Set.of());
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Stores or replaces the text of a paper.
+     *
+     * @param paperId The ID of the paper
+     * @param text The text to store
+     * @return Length, checksum and sizes of the stored text
+     */
+    public StoredText write(UUID paperId, String text) {
+        int maxBlocks = text.length() / (BLOCK_CHARS - 1) + 1;
+        ByteBuffer index = ByteBuffer.allocate(maxBlocks * INDEX_ENTRY_BYTES);
+        ByteArrayOutputStream content = new ByteArrayOutputStream(Math.max(64, text.length() / 3));
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int charStart = 0;
+        int byteStart = 0;
+
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            while (charStart < text.length()) {
+                int charEnd = Math.min(text.length(), charStart + BLOCK_CHARS);
+                if (charEnd < text.length() && Character.isHighSurrogate(text.charAt(charEnd - 1))) {
+                    charEnd--; // never split a surrogate pair across blocks
+                }
+                byte[] utf8 = text.substring(charStart, charEnd).getBytes(StandardCharsets.UTF_8);
+                crc.update(utf8);
+                index.putInt(charStart).putInt(byteStart).putInt(content.size());
+
+                deflater.reset();
+                deflater.setInput(utf8);
+                deflater.finish();
+                while (!deflater.finished()) {
+                    content.write(buffer, 0, deflater.deflate(buffer));
+                }
+                charStart = charEnd;
+                byteStart += utf8.length;
+            }
+        } finally {
+            deflater.end();
+        }
+
+        byte[] compressed = content.toByteArray();
+        Object[] values = {
+            CODEC_DEFLATE_BLOCKS,
+            text.length(),
+            byteStart,
+            crc.getValue(),
+            Arrays.copyOf(index.array(), index.position()),
+            compressed,
+            Timestamp.valueOf(LocalDateTime.now()),
+            paperId
+        };
+
+        textUpsert.upsert(List.<Object[]>of(values));
+
+        log.debug(
+                "Stored text of paper {}: {} characters, {} bytes compressed to {}",
+                paperId,
+                text.length(),
+                byteStart,
+                compressed.length);
+        return new StoredText(text.length(), crc.getValue(), byteStart, compressed.length);
+    }
+
+    /**
+     * Reads the full text of a paper and verifies its checksum.
+     *
+     * @param paperId The ID of the paper
+     * @return The text, or empty when none is stored
+     */
+    public Optional<String> read(UUID paperId) {
+        return read(paperId, reader -> {
+            StringBuilder text = new StringBuilder();
+            char[] buffer = new char[BUFFER_SIZE];
+            for (int n; (n = reader.read(buffer)) != -1; ) {
+                text.append(buffer, 0, n);
+            }
+            return text.toString();
+        });
+    }
+
+    /**
+     * Streams the text of a paper through {@code textReader}. The checksum is
+     * verified when the reader consumes the whole text.
+     *
+     * @param paperId The ID of the paper
+     * @param textReader Consumer of the inflated text
+     * @return The consumer's result, or empty when no text is stored
+     */
+    public <T> Optional<T> read(UUID paperId, TextReader<T> textReader) {
+        return jdbcTemplate.query(
+                SELECT_CONTENT,
+                (ResultSetExtractor<Optional<T>>) rs -> {
+                    if (!rs.next()) {
+                        return Optional.empty();
+                    }
+                    long expected = rs.getLong(1);
+                    byte[] content = rs.getBytes(3);
+                    int[] contentStarts = decodeIndex(rs.getBytes(2))[2];
+                    try (CheckedInputStream inflated = new CheckedInputStream(
+                                    inflate(content, 0, contentStarts, content.length), new CRC32C());
+                            Reader reader = new InputStreamReader(inflated, StandardCharsets.UTF_8)) {
+                        T result = textReader.read(reader);
+                        if (inflated.read() == -1 && inflated.getChecksum().getValue() != expected) {
+                            throw new IllegalStateException("Checksum mismatch in stored text of paper " + paperId);
+                        }
+                        return Optional.ofNullable(result);
+                    } catch (IOException e) {
+                        throw new RuntimeException("Failed to read stored text of paper " + paperId, e);
+                    }
+                },
+                paperId);
+    }
+
+    /**
+     * Reads the storage layout of a paper's text without touching its content.
+     *
+     * @param paperId The ID of the paper
+     * @return The layout, or empty when no text is stored
+     */
+    public Optional<TextLayout> layout(UUID paperId) {
+        return jdbcTemplate.query(
+                SELECT_LAYOUT,
+                (ResultSetExtractor<Optional<TextLayout>>) rs -> {
+                    if (!rs.next()) {
+                        return Optional.empty();
+                    }
+                    int contentLength = rs.getInt(3);
+                    int[][] index = decodeIndex(rs.getBytes(4));
+                    return Optional.of(
+                            new TextLayout(rs.getInt(1), rs.getInt(2), contentLength, index[0], index[1], index[2]));
+                },
+                paperId);
+    }
+
+    /**
+     * Reads {@code length} characters starting at {@code offset}, fetching and
+     * inflating only the blocks that cover them.
+     *
+     * @param paperId The ID of the paper
+     * @param layout The paper's text layout
+     * @param offset First character to read
+     * @param length Maximum number of characters to read
+     * @return The characters in range, empty when the range lies past the end
+     */
+    public String read(UUID paperId, TextLayout layout, int offset, int length) {
+        int from = Math.max(0, offset);
+        int to = (int) Math.min(layout.charLength(), (long) from + Math.max(0, length));
+        if (from >= to) {
+            return "";
+        }
+
+        int first = layout.blockAtChar(from);
+        int last = layout.blockAtChar(to - 1);
+        StringBuilder slice = new StringBuilder(to - from);
+        try (Reader reader =
+                new InputStreamReader(inflateBlocks(paperId, layout, first, last), StandardCharsets.UTF_8)) {
+            skipChars(reader, from - layout.charStarts()[first]);
+            char[] buffer = new char[Math.min(BUFFER_SIZE, to - from)];
+            while (slice.length() < to - from) {
+                int n = reader.read(buffer, 0, Math.min(buffer.length, to - from - slice.length()));
+                if (n == -1) {
+                    break;
+                }
+                slice.append(buffer, 0, n);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read stored text of paper " + paperId, e);
+        }
+        return slice.toString();
+    }
+
+    /**
+     * Writes UTF-8 bytes {@code [from, to)} of a paper's text to {@code out},
+     * one block at a time, so memory stays bounded by the block size.
+     *
+     * @param paperId The ID of the paper
+     * @param layout The paper's text layout
+     * @param from First byte to write
+     * @param to Byte after the last one to write
+     */
+    public void writeUtf8(UUID paperId, TextLayout layout, int from, int to, OutputStream out) throws IOException {
+        to = Math.min(to, layout.byteLength());
+        if (from >= to) {
+            return;
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (int block = layout.blockAtByte(from); block <= layout.blockAtByte(to - 1); block++) {
+            int blockStart = layout.byteStarts()[block];
+            int start = Math.max(from, blockStart) - blockStart;
+            int end = Math.min(to, layout.byteEnd(block)) - blockStart;
+            try (InputStream inflated = inflateBlocks(paperId, layout, block, block)) {
+                inflated.skipNBytes(start);
+                for (int remaining = end - start; remaining > 0; ) {
+                    int n = inflated.read(buffer, 0, Math.min(buffer.length, remaining));
+                    if (n == -1) {
+                        throw new IOException("Stored text of paper " + paperId + " ended early");
+                    }
+                    out.write(buffer, 0, n);
+                    remaining -= n;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the text of a paper, if any.
+     */
+    public void delete(UUID paperId) {
+        jdbcTemplate.update("DELETE FROM paper_texts WHERE paper_id = ?", paperId);
+    }
+
+    /**
+     * CRC32C of the UTF-8 encoding of {@code text}, as recorded on {@code Paper}.
+     */
+    public static long checksum(String text) {
+        CRC32C crc = new CRC32C();
+        crc.update(text.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private InputStream inflateBlocks(UUID paperId, TextLayout layout, int first, int last) {
+        int start = layout.contentStarts()[first];
+        int end = layout.contentEnd(last);
+        byte[] content =
+                jdbcTemplate.queryForObject(SELECT_CONTENT_RANGE, byte[].class, start + 1, end - start, paperId);
+        if (content == null || content.length != end - start) {
+            throw new IllegalStateException("Stored text of paper " + paperId + " changed while reading");
+        }
+        return inflate(content, start, Arrays.copyOfRange(layout.contentStarts(), first, last + 1), end);
+    }
+
+    /**
+     * Chains one inflater per block over {@code content}, which holds the
+     * compressed bytes from {@code base} up to {@code end}.
+     */
+    private static InputStream inflate(byte[] content, int base, int[] blockStarts, int end) {
+        List<InputStream> blocks = new ArrayList<>(blockStarts.length);
+        for (int block = 0; block < blockStarts.length; block++) {
+            int blockEnd = block + 1 < blockStarts.length ? blockStarts[block + 1] : end;
+            blocks.add(new InflaterInputStream(
+                    new ByteArrayInputStream(content, blockStarts[block] - base, blockEnd - blockStarts[block])));
+        }
+        return new SequenceInputStream(Collections.enumeration(blocks));
+    }
+
+    /**
+     * Decodes a block index into character, byte and content start arrays.
+     */
+    private static int[][] decodeIndex(byte[] index) {
+        ByteBuffer buffer = ByteBuffer.wrap(index);
+        int blocks = index.length / INDEX_ENTRY_BYTES;
+        int[][] starts = new int[3][blocks];
+        for (int block = 0; block < blocks; block++) {
+            starts[0][block] = buffer.getInt();
+            starts[1][block] = buffer.getInt();
+            starts[2][block] = buffer.getInt();
+        }
+        return starts;
+    }
+
+    private static void skipChars(Reader reader, long count) throws IOException {
+        while (count > 0) {
+            long skipped = reader.skip(count);
+            if (skipped <= 0) {
+                throw new IOException("Stored text ended early");
+            }
+            count -= skipped;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package dev.project.scholar_ai.service.extraction;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds where each section of a structured paper starts in its extracted text,
+ * in one streaming pass.
+ *
+ * <p>Section titles are matched case-sensitively with whitespace collapsed, as
+ * the sanitized text has it, with one KMP automaton per title. The first
+ * {@value #MAX_OCCURRENCES} occurrences of every title are recorded; then the
+ * in-order assignment that locates the most sections is chosen, preferring
+ * earlier occurrences. A title that also appears in the abstract or in a
+ * running sentence therefore does not push later sections out, and a title
+ * missing from the text only leaves that section unlocated. Memory is
+ * proportional to the titles, not the text.
+ */
+final class SectionLocator {
+
+    static final int NOT_FOUND = -1;
+
+    private static final int MAX_OCCURRENCES = 32;
+
+    private SectionLocator() {}
+
+    /**
+     * @param text The extracted text
+     * @param titles Section titles in document order
+     * @return Start offset of each section, or {@link #NOT_FOUND}
+     */
+    static int[] locate(Reader text, List<String> titles) throws IOException {
+        return assign(occurrences(text, titles));
+    }
+
+    /** Start offsets of the first occurrences of each title. */
+    private static int[][] occurrences(Reader text, List<String> titles) throws IOException {
+        int count = titles.size();
+        char[][] needles = new char[count][];
+        int[][] failure = new int[count][];
+        int[] matched = new int[count];
+        int[][] found = new int[count][MAX_OCCURRENCES];
+        int[] foundCount = new int[count];
+        for (int i = 0; i < count; i++) {
+            needles[i] = normalize(titles.get(i)).toCharArray();
+            failure[i] = failureTable(needles[i]);
+        }
+
+        char[] buffer = new char[8192];
+        int position = 0;
+        for (int n; (n = text.read(buffer)) != -1; ) {
+            for (int k = 0; k < n; k++, position++) {
+                char c = buffer[k];
+                for (int i = 0; i < count; i++) {
+                    char[] needle = needles[i];
+                    if (needle.length == 0 || foundCount[i] == MAX_OCCURRENCES) {
+                        continue;
+                    }
+                    int j = matched[i];
+                    while (j > 0 && needle[j] != c) {
+                        j = failure[i][j - 1];
+                    }
+                    if (needle[j] == c) {
+                        j++;
+                    }
+                    if (j == needle.length) {
+                        found[i][foundCount[i]++] = position - needle.length + 1;
+                        j = failure[i][j - 1];
+                    }
+                    matched[i] = j;
+                }
+            }
+        }
+
+        int[][] occurrences = new int[count][];
+        for (int i = 0; i < count; i++) {
+            occurrences[i] = Arrays.copyOf(found[i], foundCount[i]);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Picks at most one occurrence per section so that chosen starts increase
+     * with the section order and as many sections as possible are located.
+     */
+    private static int[] assign(int[][] occurrences) {
+        int count = occurrences.length;
+
+        // located[i][k]: most sections locatable from section i on, when section i starts at occurrence k
+        int[][] located = new int[count][];
+        for (int i = count - 1; i >= 0; i--) {
+            located[i] = new int[occurrences[i].length];
+            for (int k = 0; k < occurrences[i].length; k++) {
+                located[i][k] = 1 + best(occurrences, located, i + 1, occurrences[i][k]);
+            }
+        }
+
+        int[] starts = new int[count];
+        Arrays.fill(starts, NOT_FOUND);
+        int after = -1;
+        for (int i = 0; i < count; i++) {
+            int target = best(occurrences, located, i, after);
+            for (int k = 0; k < occurrences[i].length; k++) {
+                if (occurrences[i][k] > after && located[i][k] == target && target > 0) {
+                    starts[i] = occurrences[i][k];
+                    after = starts[i];
+                    break;
+                }
+            }
+        }
+        return starts;
+    }
+
+    /** Most sections locatable from section {@code from} on, all starting after {@code after}. */
+    private static int best(int[][] occurrences, int[][] located, int from, int after) {
+        int best = 0;
+        for (int i = from; i < occurrences.length; i++) {
+            for (int k = 0; k < occurrences[i].length; k++) {
+                if (occurrences[i][k] > after) {
+                    best = Math.max(best, located[i][k]);
+                }
+            }
+        }
+        return best;
+    }
+
+    private static String normalize(String title) {
+        return title == null ? "" : title.strip().replaceAll("\\s+", " ");
+    }
+
+    private static int[] failureTable(char[] needle) {
+        int[] table = new int[needle.length];
+        for (int i = 1, j = 0; i < needle.length; i++) {
+            while (j > 0 && needle[i] != needle[j]) {
+                j = table[j - 1];
+            }
+            if (needle[i] == needle[j]) {
+                j++;
+            }
+            table[i] = j;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,99 @@
+package dev.project.scholar_ai.service.extraction;
+
+import dev.project.scholar_ai.dto.agent.request.TextReference;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides how a paper's extracted text travels in agent requests: inline when
+ * its UTF-8 encoding fits under {@code scholarai.messaging.claim-check.inline-max-bytes},
+ * otherwise as a {@link TextReference} that the consumer resolves against
+ * {@code GET /api/papers/{id}/extracted-text/raw}.
+ *
+ * <p>Off by default: with a threshold of 0 every text is sent inline. Enable it
+ * only once the agents resolve {@code textRef}; until then a claim-checked
+ * request reaches them without any text.
+ *
+ * <p>Only the stored block index is read to decide, so a claim-checked paper's
+ * text is never loaded into this process.
+ */
+@Slf4j
+@Component
+public class TextClaimCheck {
+
+    static final String RAW_TEXT_PATH = "/api/papers/%s/extracted-text/raw";
+
+    private final PaperTextStore paperTextStore;
+    private final int inlineMaxBytes;
+    private final String baseUrl;
+
+    /**
+     * Text for a message: exactly one of the two is set, or neither when the
+     * paper has no stored text.
+     */
+    public record TextPayload(String text, TextReference reference) {
+
+        static final TextPayload NONE = new TextPayload(null, null);
+
+        public boolean isPresent() {
+            return text != null || reference != null;
+        }
+    }
+
+    public TextClaimCheck(
+            PaperTextStore paperTextStore,
+            @Value("${scholarai.messaging.claim-check.inline-max-bytes:0}") int inlineMaxBytes,
+            @Value("${scholarai.messaging.claim-check.base-url:http://localhost:8080}") String baseUrl) {
+        this.paperTextStore = paperTextStore;
+        this.inlineMaxBytes = inlineMaxBytes;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /**
+     * Builds the text payload for a paper.
+     *
+     * @param paper The paper whose stored text is sent
+     * @return The inline text or a claim check for it
+     */
+    public TextPayload payloadFor(Paper paper) {
+        if (!paper.hasExtractedText()) {
+            return TextPayload.NONE;
+        }
+        UUID paperId = paper.getId();
+        Optional<PaperTextStore.TextLayout> layout = paperTextStore.layout(paperId);
+        if (layout.isEmpty()) {
+            return TextPayload.NONE;
+        }
+
+        if (inlineMaxBytes <= 0 || layout.get().byteLength() <= inlineMaxBytes) {
+            return paperTextStore
+                    .read(paperId)
+                    .map(text -> new TextPayload(text, null))
+                    .orElse(TextPayload.NONE);
+        }
+
+        log.debug(
+                "Sending text of paper {} by claim check ({} bytes > {} inline)",
+                paperId,
+                layout.get().byteLength(),
+                inlineMaxBytes);
+        return new TextPayload(null, reference(paper, layout.get()));
+    }
+
+    private TextReference reference(Paper paper, PaperTextStore.TextLayout layout) {
+        return new TextReference(
+                paper.getId(),
+                contentHash(paper.getExtractedTextChecksum()),
+                layout.charLength(),
+                layout.byteLength(),
+                baseUrl + RAW_TEXT_PATH.formatted(paper.getId()));
+    }
+
+    static String contentHash(Long checksum) {
+        return checksum == null ? null : "crc32c:%08x".formatted(checksum);
+    }
+}
@@ -0,0 +1,196 @@
+package dev.project.scholar_ai.service.extraction;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Normalizes extracted text for storage in one pass: drops control characters
+ * other than tab, newline and carriage return, collapses whitespace runs to a
+ * single space, trims both ends and caps the length, appending
+ * {@value #TRUNCATION_MARKER} when it cuts.
+ *
+ * <p>Equivalent to removing {@code [\u0000-\u0008\u000B\u000C\u000E-\u001F\u007F]},
+ * replacing {@code \s+} with a space, trimming and truncating, without the
+ * intermediate strings. Text that is already clean is returned as is. Output
+ * is built in a per-thread buffer that is reused across calls, so a call
+ * allocates little more than the resulting string.
+ */
+@Slf4j
+@Component
+public class TextSanitizer {
+
+    static final String TRUNCATION_MARKER = "... [TRUNCATED]";
+
+    /** Per-thread output buffers larger than this are not kept between calls. */
+    private static final int MAX_RETAINED_BUFFER = 2 * 1024 * 1024;
+
+    private static final int CHUNK = 8192;
+
+    /** Strings are copied out in small slices so the copy stays cache resident. */
+    private static final int STRING_SLICE = 1024;
+
+    private final int maxLength;
+    private final ThreadLocal<char[]> buffers = new ThreadLocal<>();
+
+    public TextSanitizer(@Value("${scholarai.paper.text.max-chars:1000000}") int maxLength) {
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("scholarai.paper.text.max-chars must be at least 1");
+        }
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Sanitizes a text.
+     *
+     * @param text The text to sanitize
+     * @return The sanitized text, or null for null input
+     */
+    public String sanitize(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (isClean(text)) {
+            return text;
+        }
+
+        Normalizer normalizer = new Normalizer(buffer(Math.min(text.length(), maxLength)));
+        char[] chunk = new char[Math.min(STRING_SLICE, text.length())];
+        for (int from = 0; from < text.length(); from += chunk.length) {
+            int to = Math.min(text.length(), from + chunk.length);
+            text.getChars(from, to, chunk, 0);
+            if (!normalizer.accept(chunk, to - from)) {
+                break;
+            }
+        }
+        return normalizer.result(text.length());
+    }
+
+    /**
+     * Sanitizes a text read from {@code source}, for payloads that should not
+     * be materialized before normalization. Reading stops once the length cap
+     * is exceeded.
+     *
+     * @param source The text to sanitize
+     * @return The sanitized text
+     */
+    public String sanitize(Reader source) {
+        char[] out = buffer(Math.min(CHUNK * 8, maxLength));
+        Normalizer normalizer = new Normalizer(out);
+        char[] chunk = new char[CHUNK];
+        long read = 0;
+        try {
+            for (int n; !normalizer.truncated && (n = source.read(chunk)) != -1; ) {
+                normalizer.accept(chunk, n);
+                read += n;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read text to sanitize", e);
+        }
+        return normalizer.result(read);
+    }
+
+    /** True when {@link #sanitize(String)} would return the text unchanged. */
+    private boolean isClean(String text) {
+        int length = text.length();
+        if (length > maxLength) {
+            return false;
+        }
+        if (length > 0 && (text.charAt(0) == ' ' || text.charAt(length - 1) == ' ')) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x20 || c == 0x7F || (c == ' ' && i + 1 < length && text.charAt(i + 1) == ' ')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private char[] buffer(int capacity) {
+        char[] buffer = buffers.get();
+        if (buffer == null || buffer.length < capacity) {
+            buffer = new char[capacity];
+            if (capacity <= MAX_RETAINED_BUFFER) {
+                buffers.set(buffer);
+            }
+        }
+        return buffer;
+    }
+
+    /** Single-pass state machine writing into a growable output buffer. */
+    private final class Normalizer {
+
+        private char[] out;
+        private int length;
+        private boolean pendingSpace;
+        private boolean truncated;
+
+        Normalizer(char[] out) {
+            this.out = out;
+        }
+
+        /** Returns false once the length cap is exceeded. State is kept in locals for the hot loop. */
+        boolean accept(char[] chunk, int count) {
+            char[] out = this.out;
+            int length = this.length;
+            boolean pendingSpace = this.pendingSpace;
+            boolean accepted = true;
+            for (int i = 0; i < count; i++) {
+                char c = chunk[i];
+                if (c <= ' ' || c == 0x7F) {
+                    if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                        pendingSpace = length > 0;
+                    }
+                    continue; // other control characters are dropped without ending a whitespace run
+                }
+                int needed = pendingSpace ? 2 : 1;
+                if (length + needed > out.length) {
+                    if (length + needed > maxLength) {
+                        if (pendingSpace && length < maxLength) {
+                            out = grow(out, length, length + 1);
+                            out[length++] = ' ';
+                        }
+                        truncated = true;
+                        accepted = false;
+                        break;
+                    }
+                    out = grow(out, length, length + needed);
+                }
+                if (pendingSpace) {
+                    out[length++] = ' ';
+                    pendingSpace = false;
+                }
+                out[length++] = c;
+            }
+            this.out = out;
+            this.length = length;
+            this.pendingSpace = pendingSpace;
+            return accepted;
+        }
+
+        private char[] grow(char[] out, int length, int needed) {
+            char[] grown = new char[(int) Math.min(maxLength, Math.max(needed, (long) out.length * 2))];
+            System.arraycopy(out, 0, grown, 0, length);
+            if (grown.length <= MAX_RETAINED_BUFFER) {
+                buffers.set(grown);
+            }
+            return grown;
+        }
+
+        String result(long inputLength) {
+            if (!truncated) {
+                return new String(out, 0, length);
+            }
+            log.warn("Truncating very long extracted text from at least {} to {} characters", inputLength, maxLength);
+            return new StringBuilder(length + TRUNCATION_MARKER.length())
+                    .append(out, 0, length)
+                    .append(TRUNCATION_MARKER)
+                    .toString();
+        }
+    }
+}
@@ -47,7 +47,7 @@ public class LibraryService {
                 .map(WebSearchOperation::getCorrelationId)
                 .toList();
 
-        // Get papers for all correlation IDs
+        // Single membership join, independent of how many searches the project ran
         List<PaperMetadataDto> papers = paperPersistenceService.findPaperDtosByProjectId(projectId);
 
         // Count completed search operations
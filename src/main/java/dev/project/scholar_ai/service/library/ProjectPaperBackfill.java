@@ -0,0 +1,139 @@
+package dev.project.scholar_ai.service.library;
+
+import dev.project.scholar_ai.model.core.websearch.WebSearchOperation;
+import dev.project.scholar_ai.model.paper.backfill.DataBackfillCheckpoint;
+import dev.project.scholar_ai.repository.core.websearch.WebSearchOperationRepository;
+import dev.project.scholar_ai.repository.paper.backfill.DataBackfillCheckpointRepository;
+import dev.project.scholar_ai.service.websearch.PaperBulkWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time population of {@code project_papers} from the correlation IDs of
+ * existing web search operations.
+ *
+ * <p>Projects live in the core database and papers in the paper database, so
+ * the membership rows cannot be derived by a SQL migration. This runs after
+ * startup, paging the operations by correlation ID and recording the last one
+ * handled in {@code data_backfill_checkpoints} after every page, so a restart
+ * resumes where it stopped. Once the last page is done the checkpoint is
+ * marked complete and later startups skip the backfill.
+ *
+ * <p>Live search results may link papers while this runs; links are inserted
+ * with {@code ON CONFLICT DO NOTHING}, so both can write the same membership.
+ */
+@Slf4j
+@Component
+public class ProjectPaperBackfill {
+
+    static final String CHECKPOINT = "project-papers";
+    private static final int OPERATIONS_PER_PAGE = 500;
+    private static final String PAPERS_BY_CORRELATION_IDS =
+            "SELECT id, correlation_id FROM papers WHERE correlation_id IN (:correlationIds)";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final WebSearchOperationRepository webSearchOperationRepository;
+    private final DataBackfillCheckpointRepository checkpointRepository;
+    private final PaperBulkWriter paperBulkWriter;
+
+    public ProjectPaperBackfill(
+            @Qualifier("paperJdbcTemplate") JdbcTemplate jdbcTemplate,
+            WebSearchOperationRepository webSearchOperationRepository,
+            DataBackfillCheckpointRepository checkpointRepository,
+            PaperBulkWriter paperBulkWriter) {
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.webSearchOperationRepository = webSearchOperationRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.paperBulkWriter = paperBulkWriter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        Thread.ofVirtual().name("project-paper-backfill").start(() -> {
+            try {
+                backfill();
+            } catch (Exception e) {
+                log.error("Project library membership backfill failed; it resumes at the next startup", e);
+            }
+        });
+    }
+
+    /**
+     * Links every paper to the project of the search operation that inserted
+     * it, continuing after the last recorded page.
+     *
+     * @return Number of memberships written in this call, 0 when the backfill had already completed
+     */
+    public int backfill() {
+        DataBackfillCheckpoint checkpoint = checkpointRepository
+                .findById(CHECKPOINT)
+                .orElseGet(
+                        () -> DataBackfillCheckpoint.builder().name(CHECKPOINT).build());
+        if (checkpoint.getCompletedAt() != null) {
+            log.debug("Project library membership backfill completed at {}, skipping", checkpoint.getCompletedAt());
+            return 0;
+        }
+        if (checkpoint.getCursor() != null) {
+            log.info("Resuming project library membership backfill after correlation ID {}", checkpoint.getCursor());
+        }
+
+        int linked = 0;
+        List<WebSearchOperation> page;
+        do {
+            String after = checkpoint.getCursor() != null ? checkpoint.getCursor() : "";
+            page = webSearchOperationRepository.findByCorrelationIdGreaterThanOrderByCorrelationId(
+                    after, PageRequest.ofSize(OPERATIONS_PER_PAGE));
+            if (!page.isEmpty()) {
+                int pageLinked = linkPage(page);
+                linked += pageLinked;
+                checkpoint.setCursor(page.get(page.size() - 1).getCorrelationId());
+                checkpoint.setProcessed(checkpoint.getProcessed() + pageLinked);
+            }
+            if (page.size() < OPERATIONS_PER_PAGE) {
+                checkpoint.setCompletedAt(LocalDateTime.now());
+            }
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpoint = checkpointRepository.save(checkpoint);
+        } while (checkpoint.getCompletedAt() == null);
+
+        log.info("Backfilled {} project library memberships ({} in total)", linked, checkpoint.getProcessed());
+        return linked;
+    }
+
+    private int linkPage(List<WebSearchOperation> operations) {
+        Map<String, List<UUID>> paperIdsByCorrelationId = new HashMap<>();
+        namedJdbcTemplate.query(
+                PAPERS_BY_CORRELATION_IDS,
+                Map.of(
+                        "correlationIds",
+                        operations.stream()
+                                .map(WebSearchOperation::getCorrelationId)
+                                .toList()),
+                (RowCallbackHandler) rs -> paperIdsByCorrelationId
+                        .computeIfAbsent(rs.getString(2), key -> new ArrayList<>())
+                        .add(rs.getObject(1, UUID.class)));
+
+        int linked = 0;
+        for (WebSearchOperation operation : operations) {
+            List<UUID> paperIds = paperIdsByCorrelationId.get(operation.getCorrelationId());
+            if (paperIds != null) {
+                paperBulkWriter.linkPapersToProject(operation.getProjectId(), operation.getCorrelationId(), paperIds);
+                linked += paperIds.size();
+            }
+        }
+        return linked;
+    }
+}
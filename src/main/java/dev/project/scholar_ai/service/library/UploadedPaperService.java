@@ -6,11 +6,15 @@ import dev.project.scholar_ai.mapping.paper.PaperMapper;
 import dev.project.scholar_ai.model.core.project.Project;
 import dev.project.scholar_ai.model.core.project.ProjectCollaborator;
 import dev.project.scholar_ai.model.core.websearch.WebSearchOperation;
+import dev.project.scholar_ai.model.paper.library.ProjectPaper;
 import dev.project.scholar_ai.model.paper.metadata.Paper;
 import dev.project.scholar_ai.repository.core.project.ProjectCollaboratorRepository;
 import dev.project.scholar_ai.repository.core.project.ProjectRepository;
 import dev.project.scholar_ai.repository.core.websearch.WebSearchOperationRepository;
 import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.repository.paper.ProjectPaperRepository;
+import dev.project.scholar_ai.service.websearch.PaperIdentifierIndex;
+import dev.project.scholar_ai.service.websearch.PaperSimilarityIndex;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -27,10 +31,13 @@ import org.springframework.transaction.annotation.Transactional;
 public class UploadedPaperService {
 
     private final PaperRepository paperRepository;
+    private final ProjectPaperRepository projectPaperRepository;
     private final PaperMapper paperMapper;
     private final ProjectRepository projectRepository;
     private final ProjectCollaboratorRepository projectCollaboratorRepository;
     private final WebSearchOperationRepository webSearchOperationRepository;
+    private final PaperIdentifierIndex paperIdentifierIndex;
+    private final PaperSimilarityIndex paperSimilarityIndex;
 
     /**
      * Process and save an uploaded paper to a project's library
@@ -76,6 +83,15 @@ public class UploadedPaperService {
 
             // Save the paper
             Paper savedPaper = paperRepository.save(paper);
+            paperIdentifierIndex.addPapersAfterCommit(List.of(savedPaper));
+            paperSimilarityIndex.addPapersAfterCommit(List.of(savedPaper));
+
+            // Add the paper to the project's library
+            projectPaperRepository.save(ProjectPaper.builder()
+                    .projectId(projectId)
+                    .paper(savedPaper)
+                    .correlationId(correlationId)
+                    .build());
 
             log.info(
                     "Successfully saved uploaded paper: {} (ID: {}) with correlation ID: {}",
@@ -8,6 +8,7 @@ import dev.project.scholar_ai.model.core.papercall.PaperCall;
 import dev.project.scholar_ai.repository.core.papercall.PaperCallRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 public class PaperCallService {
 
     private final PaperCallRepository paperCallRepository;
+    @Qualifier("fastApiRestTemplate")
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
 
@@ -0,0 +1,324 @@
+package dev.project.scholar_ai.service.pipeline;
+
+import dev.project.scholar_ai.dto.pipeline.PaperPipelineDto;
+import dev.project.scholar_ai.dto.pipeline.PipelineProgressDto;
+import dev.project.scholar_ai.dto.pipeline.PipelineStageCountDto;
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.enums.PipelineStatus;
+import dev.project.scholar_ai.enums.RequestLane;
+import dev.project.scholar_ai.model.core.project.Project;
+import dev.project.scholar_ai.model.paper.pipeline.PaperPipeline;
+import dev.project.scholar_ai.repository.core.project.ProjectCollaboratorRepository;
+import dev.project.scholar_ai.repository.core.project.ProjectRepository;
+import dev.project.scholar_ai.repository.paper.pipeline.PaperPipelineRepository;
+import dev.project.scholar_ai.repository.paper.projection.PipelineProgressRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tracks each paper through the agent pipeline (extraction, structuring,
+ * summarization, gap analysis) in {@code paper_pipelines}.
+ *
+ * <p>A stage moves to {@code QUEUED} when its request is sent and to
+ * {@code COMPLETED} or {@code FAILED} when its result is applied. Per stage it
+ * records {@code scholarai.pipeline.stage.wait}, from request to result (queueing
+ * plus the agent's own work), and {@code scholarai.pipeline.stage.processing},
+ * from receiving a result to applying it.
+ *
+ * <p>Each paper keeps the {@link RequestLane} its extraction was requested in,
+ * and later stages are sent in the same lane; the wait timer is tagged by lane
+ * so interactive latency can be watched separately from bulk runs.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaperPipelineService {
+
+    private final PaperPipelineRepository paperPipelineRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectCollaboratorRepository projectCollaboratorRepository;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Outcome of a stage for one paper, as reported by the stage's agent.
+     */
+    public record StageResult(UUID paperId, boolean succeeded, String error) {
+
+        public static StageResult succeeded(UUID paperId) {
+            return new StageResult(paperId, true, null);
+        }
+
+        public static StageResult failed(UUID paperId, String error) {
+            return new StageResult(paperId, false, error != null ? error : "Failed without an error message");
+        }
+    }
+
+    /**
+     * Records that a stage was requested for the given papers, on the caller's
+     * transaction, keeping each paper's lane. A paper whose result arrives
+     * before this commits is moved forward by {@link #stageResultsReceived}
+     * anyway.
+     *
+     * @param stage The requested stage
+     * @param paperIds The papers whose request was sent
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public void stageRequested(PipelineStage stage, Collection<UUID> paperIds) {
+        stageRequested(stage, null, paperIds);
+    }
+
+    /**
+     * Records that a stage was requested for the given papers in a lane, on
+     * the caller's transaction.
+     *
+     * @param stage The requested stage
+     * @param lane The lane the requests were sent in, or {@code null} to keep each paper's lane
+     * @param paperIds The papers whose request was sent
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public void stageRequested(PipelineStage stage, RequestLane lane, Collection<UUID> paperIds) {
+        if (paperIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<UUID, PaperPipeline> existing = load(paperIds);
+
+        List<PaperPipeline> pipelines = new ArrayList<>(existing.size());
+        for (UUID paperId : new LinkedHashSet<>(paperIds)) {
+            PaperPipeline pipeline = existing.get(paperId);
+            if (pipeline == null) {
+                pipeline = newPipeline(paperId, stage, now);
+            }
+            pipeline.setAttempt(pipeline.getStage() == stage ? pipeline.getAttempt() + 1 : 1);
+            pipeline.setStage(stage);
+            pipeline.setStatus(PipelineStatus.QUEUED);
+            pipeline.setStageStartedAt(now);
+            pipeline.setResultReceivedAt(null);
+            pipeline.setUpdatedAt(now);
+            pipeline.setLane(lane != null ? lane : laneOf(pipeline));
+            pipelines.add(pipeline);
+        }
+        paperPipelineRepository.saveAll(pipelines);
+        log.debug("Pipeline stage {} requested for {} papers", stage, pipelines.size());
+    }
+
+    /**
+     * Lanes of the given papers, so the next stage is requested in the lane
+     * the paper entered the pipeline in.
+     *
+     * @param paperIds The papers
+     * @return Lane per paper; papers without a pipeline row are interactive
+     */
+    @Transactional(readOnly = true, transactionManager = "paperTransactionManager")
+    public Map<UUID, RequestLane> lanesOf(Collection<UUID> paperIds) {
+        Map<UUID, RequestLane> lanes = new HashMap<>();
+        for (UUID paperId : paperIds) {
+            lanes.put(paperId, RequestLane.INTERACTIVE);
+        }
+        for (PaperPipeline pipeline : paperPipelineRepository.findAllById(paperIds)) {
+            lanes.put(pipeline.getPaperId(), laneOf(pipeline));
+        }
+        return lanes;
+    }
+
+    /**
+     * Records stage results on the caller's transaction, so they commit with
+     * the results they describe. Results for an earlier stage than the one a
+     * paper is at are stale and ignored; a later stage moves the paper forward
+     * even if its request was not recorded.
+     *
+     * @param stage The stage the results belong to
+     * @param results Outcome per paper
+     * @param receivedAt When the results were received
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public void stageResultsReceived(PipelineStage stage, List<StageResult> results, LocalDateTime receivedAt) {
+        if (results.isEmpty()) {
+            return;
+        }
+        Map<UUID, PaperPipeline> existing =
+                load(results.stream().map(StageResult::paperId).toList());
+
+        List<PaperPipeline> changed = new ArrayList<>(results.size());
+        for (StageResult result : results) {
+            PaperPipeline pipeline = existing.get(result.paperId());
+            if (pipeline == null) {
+                pipeline = newPipeline(result.paperId(), stage, receivedAt);
+                pipeline.setAttempt(1);
+                existing.put(result.paperId(), pipeline);
+            } else if (pipeline.getStage().compareTo(stage) > 0
+                    || (pipeline.getStage() == stage && pipeline.getStatus() == PipelineStatus.COMPLETED)) {
+                log.debug(
+                        "Ignoring stale {} result for paper {} at {} {}",
+                        stage,
+                        result.paperId(),
+                        pipeline.getStage(),
+                        pipeline.getStatus());
+                continue;
+            } else if (pipeline.getStage() == stage
+                    && pipeline.getStatus() == PipelineStatus.QUEUED
+                    && pipeline.getStageStartedAt() != null) {
+                waitTimer(stage, laneOf(pipeline)).record(Duration.between(pipeline.getStageStartedAt(), receivedAt));
+            } else if (pipeline.getStage() != stage) {
+                pipeline.setStage(stage);
+                pipeline.setAttempt(1);
+                pipeline.setStageStartedAt(null);
+            }
+
+            pipeline.setStatus(result.succeeded() ? PipelineStatus.COMPLETED : PipelineStatus.FAILED);
+            pipeline.setLastError(result.succeeded() ? null : truncate(result.error()));
+            pipeline.setResultReceivedAt(receivedAt);
+            pipeline.setUpdatedAt(LocalDateTime.now());
+            changed.add(pipeline);
+            counter(stage, result.succeeded()).increment();
+        }
+        paperPipelineRepository.saveAll(changed);
+
+        Timer processing = Timer.builder("scholarai.pipeline.stage.processing")
+                .description("Time from receiving a stage result to applying it")
+                .tag("stage", tag(stage))
+                .register(meterRegistry);
+        Duration elapsed = Duration.between(receivedAt, LocalDateTime.now());
+        for (int i = 0; i < changed.size(); i++) {
+            processing.record(elapsed);
+        }
+    }
+
+    /**
+     * Pipeline progress of every paper in a project's library.
+     *
+     * @param projectId The project
+     * @param userId The requesting user, who must own or collaborate on the project
+     * @return Per-stage counts and per-paper state
+     */
+    @Transactional(readOnly = true, transactionManager = "paperTransactionManager")
+    public PipelineProgressDto getProjectProgress(UUID projectId, UUID userId) {
+        validateProjectAccess(projectId, userId);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<PipelineProgressRow> rows = paperPipelineRepository.findProgressRowsByProjectId(projectId);
+        List<PaperPipelineDto> papers = new ArrayList<>(rows.size());
+        Map<PipelineStage, long[]> counts = new EnumMap<>(PipelineStage.class);
+        Map<PipelineStage, LocalDateTime> oldestQueued = new EnumMap<>(PipelineStage.class);
+        int notStarted = 0;
+        int finished = 0;
+        for (PipelineProgressRow row : rows) {
+            Long waitingSeconds = null;
+            if (row.stage() == null) {
+                notStarted++;
+            } else {
+                counts.computeIfAbsent(row.stage(), stage -> new long[PipelineStatus.values().length])[
+                        row.status().ordinal()]++;
+                if (row.status() == PipelineStatus.QUEUED && row.stageStartedAt() != null) {
+                    waitingSeconds = Duration.between(row.stageStartedAt(), now).toSeconds();
+                    oldestQueued.merge(row.stage(), row.stageStartedAt(), (a, b) -> a.isBefore(b) ? a : b);
+                }
+                if (row.stage().next() == null && row.status() == PipelineStatus.COMPLETED) {
+                    finished++;
+                }
+            }
+            papers.add(new PaperPipelineDto(
+                    row.paperId(),
+                    row.title(),
+                    row.stage(),
+                    row.status(),
+                    row.attempt(),
+                    row.stageStartedAt(),
+                    row.resultReceivedAt(),
+                    waitingSeconds,
+                    row.lastError()));
+        }
+
+        List<PipelineStageCountDto> stages = new ArrayList<>();
+        for (PipelineStage stage : PipelineStage.values()) {
+            long[] byStatus = counts.getOrDefault(stage, new long[PipelineStatus.values().length]);
+            LocalDateTime oldest = oldestQueued.get(stage);
+            stages.add(new PipelineStageCountDto(
+                    stage,
+                    byStatus[PipelineStatus.QUEUED.ordinal()],
+                    byStatus[PipelineStatus.COMPLETED.ordinal()],
+                    byStatus[PipelineStatus.FAILED.ordinal()],
+                    oldest != null ? Duration.between(oldest, now).toSeconds() : null));
+        }
+
+        return new PipelineProgressDto(projectId, rows.size(), notStarted, finished, stages, papers, now);
+    }
+
+    private Map<UUID, PaperPipeline> load(Collection<UUID> paperIds) {
+        return paperPipelineRepository.findAllById(paperIds).stream()
+                .collect(Collectors.toMap(PaperPipeline::getPaperId, Function.identity()));
+    }
+
+    private static PaperPipeline newPipeline(UUID paperId, PipelineStage stage, LocalDateTime now) {
+        return PaperPipeline.builder()
+                .paperId(paperId)
+                .stage(stage)
+                .status(PipelineStatus.QUEUED)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private Timer waitTimer(PipelineStage stage, RequestLane lane) {
+        // Histogram buckets so per-lane p95 time-to-result can be queried
+        return Timer.builder("scholarai.pipeline.stage.wait")
+                .description("Time from a stage request to its result")
+                .tag("stage", tag(stage))
+                .tag("lane", lane.name().toLowerCase())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    static RequestLane laneOf(PaperPipeline pipeline) {
+        return pipeline.getLane() != null ? pipeline.getLane() : RequestLane.INTERACTIVE;
+    }
+
+    static String tag(PipelineStage stage) {
+        return stage.name().toLowerCase();
+    }
+
+    private Counter counter(PipelineStage stage, boolean succeeded) {
+        return Counter.builder("scholarai.pipeline.stage.results")
+                .description("Stage results applied, by outcome")
+                .tag("stage", tag(stage))
+                .tag("outcome", succeeded ? "completed" : "failed")
+                .register(meterRegistry);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    private void validateProjectAccess(UUID projectId, UUID userId) {
+        // First try to find as owner
+        Project project = projectRepository.findByIdAndUserId(projectId, userId).orElse(null);
+
+        // If not found as owner, check if user is a collaborator
+        if (project == null) {
+            boolean isCollaborator = projectCollaboratorRepository
+                    .findByProjectIdAndCollaboratorId(projectId, userId)
+                    .isPresent();
+
+            if (!isCollaborator) {
+                throw new RuntimeException("Project not found or access denied");
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package dev.project.scholar_ai.service.pipeline;
+
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.enums.PipelineStatus;
+import dev.project.scholar_ai.enums.RequestLane;
+import dev.project.scholar_ai.repository.paper.pipeline.PaperPipelineRepository;
+import dev.project.scholar_ai.repository.paper.projection.PipelineLaneCount;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-lane depth of each agent stage: gauges {@code scholarai.pipeline.queued}
+ * tagged by stage and lane, counting the papers whose request was sent and
+ * whose result has not arrived yet.
+ *
+ * <p>The interactive and bulk lanes share one prioritized broker queue per
+ * agent, so the broker cannot tell their depths apart; the counts are taken
+ * from {@code paper_pipelines} every {@code depth-refresh-seconds} instead.
+ */
+@Slf4j
+@Component
+public class PipelineDepthGauges {
+
+    private final PaperPipelineRepository paperPipelineRepository;
+    private final long refreshSeconds;
+    private final Map<PipelineStage, Map<RequestLane, AtomicLong>> queued = new EnumMap<>(PipelineStage.class);
+    private ScheduledExecutorService scheduler;
+
+    public PipelineDepthGauges(
+            PaperPipelineRepository paperPipelineRepository,
+            MeterRegistry meterRegistry,
+            @Value("${scholarai.paper.pipeline.depth-refresh-seconds:15}") long refreshSeconds) {
+        this.paperPipelineRepository = paperPipelineRepository;
+        this.refreshSeconds = refreshSeconds;
+        for (PipelineStage stage : PipelineStage.values()) {
+            Map<RequestLane, AtomicLong> byLane = new EnumMap<>(RequestLane.class);
+            for (RequestLane lane : RequestLane.values()) {
+                AtomicLong papers = new AtomicLong();
+                Gauge.builder("scholarai.pipeline.queued", papers, AtomicLong::get)
+                        .description("Papers waiting on a stage's agent, per request lane")
+                        .tag("stage", PaperPipelineService.tag(stage))
+                        .tag("lane", lane.name().toLowerCase())
+                        .register(meterRegistry);
+                byLane.put(lane, papers);
+            }
+            queued.put(stage, byLane);
+        }
+    }
+
+    /**
+     * Recounts the queued papers per stage and lane.
+     */
+    public void refresh() {
+        Map<PipelineStage, Map<RequestLane, Long>> counts = new EnumMap<>(PipelineStage.class);
+        for (PipelineLaneCount count : paperPipelineRepository.countByStageAndLane(PipelineStatus.QUEUED)) {
+            RequestLane lane = count.lane() != null ? count.lane() : RequestLane.INTERACTIVE;
+            counts.computeIfAbsent(count.stage(), stage -> new EnumMap<>(RequestLane.class))
+                    .merge(lane, count.papers(), Long::sum);
+        }
+        queued.forEach((stage, byLane) -> byLane.forEach((lane, papers) ->
+                papers.set(counts.getOrDefault(stage, Map.of()).getOrDefault(lane, 0L))));
+    }
+
+    long queued(PipelineStage stage, RequestLane lane) {
+        return queued.get(stage).get(lane).get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("pipeline-depth-gauges").factory());
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh pipeline depth gauges: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package dev.project.scholar_ai.service.qa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * In-memory BM25 index over the chunks of one paper.
+ *
+ * <p>Built once and then read-only, so searches need no locking. Each term
+ * maps to its postings (chunk ordinals and term frequencies) in primitive
+ * arrays. Terms are lower-cased alphanumeric tokens with common English stop
+ * words dropped and a plural {@code s} stripped; a chunk is indexed together
+ * with its section title, so questions naming a section find it.
+ */
+final class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "been", "but", "by", "can", "did", "do", "does", "for", "from",
+            "has", "have", "how", "i", "if", "in", "into", "is", "it", "its", "me", "of", "on", "or", "our", "paper",
+            "so", "such", "than", "that", "the", "their", "them", "then", "there", "these", "they", "this", "to", "was",
+            "we", "were", "what", "when", "where", "which", "who", "why", "will", "with", "would", "you");
+
+    /** A chunk and its score for a query. */
+    record Hit(int chunk, double score) {}
+
+    private final Map<String, int[][]> postings;
+    private final int[] lengths;
+    private final double averageLength;
+
+    private Bm25Index(Map<String, int[][]> postings, int[] lengths) {
+        this.postings = postings;
+        this.lengths = lengths;
+        this.averageLength =
+                lengths.length == 0 ? 0 : Math.max(1, Arrays.stream(lengths).sum() / (double) lengths.length);
+    }
+
+    /** Postings of one term while the index is built. */
+    private static final class PostingsBuilder {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size++] = freq;
+        }
+
+        int[][] build() {
+            return new int[][] {Arrays.copyOf(docs, size), Arrays.copyOf(freqs, size)};
+        }
+    }
+
+    /**
+     * @param documents Text of each chunk, indexed by position
+     */
+    static Bm25Index build(List<String> documents) {
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        int[] lengths = new int[documents.size()];
+        for (int doc = 0; doc < documents.size(); doc++) {
+            List<String> terms = tokenize(documents.get(doc));
+            lengths[doc] = terms.size();
+            Map<String, Integer> counts = new HashMap<>();
+            for (String term : terms) {
+                counts.merge(term, 1, Integer::sum);
+            }
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                builders.computeIfAbsent(count.getKey(), term -> new PostingsBuilder())
+                        .add(doc, count.getValue());
+            }
+        }
+        Map<String, int[][]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((term, builder) -> postings.put(term, builder.build()));
+        return new Bm25Index(postings, lengths);
+    }
+
+    int size() {
+        return lengths.length;
+    }
+
+    /**
+     * Best-scoring chunks for a query, highest score first. Chunks sharing no
+     * term with the query are not returned.
+     */
+    List<Hit> search(String query, int limit) {
+        if (limit < 1 || lengths.length == 0) {
+            return List.of();
+        }
+        double[] scores = new double[lengths.length];
+        boolean matched = false;
+        for (String term : new LinkedHashSet<>(tokenize(query))) {
+            int[][] posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            matched = true;
+            int[] termDocs = posting[0];
+            int[] termFreqs = posting[1];
+            double idf = Math.log(1 + (lengths.length - termDocs.length + 0.5) / (termDocs.length + 0.5));
+            for (int i = 0; i < termDocs.length; i++) {
+                int doc = termDocs[i];
+                double tf = termFreqs[i];
+                scores[doc] += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengths[doc] / averageLength));
+            }
+        }
+        if (!matched) {
+            return List.of();
+        }
+
+        Comparator<Hit> byScore = Comparator.comparingDouble(Hit::score).thenComparing(hit -> -hit.chunk());
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, byScore);
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] > 0) {
+                best.add(new Hit(doc, scores[doc]));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(byScore.reversed());
+        return hits;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String term = normalize(text.substring(start, i));
+                if (term != null) {
+                    terms.add(term);
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static String normalize(String token) {
+        String term = token.toLowerCase(Locale.ROOT);
+        if (term.length() < 2 || STOP_WORDS.contains(term)) {
+            return null;
+        }
+        if (term.length() > 3 && term.endsWith("s") && !term.endsWith("ss")) {
+            term = term.substring(0, term.length() - 1);
+        }
+        return term;
+    }
+}
@@ -0,0 +1,103 @@
+package dev.project.scholar_ai.service.qa;
+
+import dev.project.scholar_ai.service.extraction.ExtractedTextService;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a paper's extracted text into overlapping chunks for retrieval.
+ *
+ * <p>Chunks never cross a section boundary: each located section of the
+ * structured paper, and the front matter before the first one, is split on
+ * its own, so a chunk carries the title of the section it came from. Within a
+ * span, chunks are about {@code chunkChars} long and overlap by about
+ * {@code overlapChars}; both ends are moved back to a sentence or word break
+ * when there is one in the second half of the window.
+ */
+final class PaperChunker {
+
+    /**
+     * A chunk of a paper's text.
+     *
+     * @param section Title of the section it belongs to, null for front matter or unstructured papers
+     * @param offset Character offset in the full text
+     * @param text The chunk content
+     */
+    record Chunk(String section, int offset, String text) {}
+
+    private PaperChunker() {}
+
+    /**
+     * @param text The full extracted text
+     * @param sections Sections of the paper, empty when it is not structured
+     * @param chunkChars Target chunk length
+     * @param overlapChars Characters shared by consecutive chunks of a section
+     * @return The chunks in document order
+     */
+    static List<Chunk> chunk(
+            String text, List<ExtractedTextService.Section> sections, int chunkChars, int overlapChars) {
+        if (chunkChars < 1 || overlapChars < 0 || overlapChars >= chunkChars) {
+            throw new IllegalArgumentException(
+                    "Chunks need 0 <= overlap < size, got " + overlapChars + "/" + chunkChars);
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        int end = text.length();
+        int firstStart = end;
+        for (ExtractedTextService.Section section : sections) {
+            if (section.located()) {
+                firstStart = Math.min(firstStart, section.offset());
+            }
+        }
+        if (firstStart > 0) {
+            split(text, null, 0, Math.min(firstStart, end), chunkChars, overlapChars, chunks);
+        }
+        for (ExtractedTextService.Section section : sections) {
+            if (section.located() && section.length() > 0 && section.offset() < end) {
+                int sectionEnd = Math.min(end, section.offset() + section.length());
+                split(text, section.title(), section.offset(), sectionEnd, chunkChars, overlapChars, chunks);
+            }
+        }
+        return chunks;
+    }
+
+    private static void split(
+            String text, String section, int from, int to, int chunkChars, int overlapChars, List<Chunk> chunks) {
+        int start = from;
+        while (start < to) {
+            int end = to - start <= chunkChars ? to : breakBefore(text, start + chunkChars, start + chunkChars / 2);
+            String content = text.substring(start, end).strip();
+            if (!content.isEmpty()) {
+                chunks.add(new Chunk(section, start, content));
+            }
+            if (end >= to) {
+                return;
+            }
+            int next = breakBefore(text, end - overlapChars, start + 1);
+            start = next > start ? next : end;
+        }
+    }
+
+    /**
+     * Latest sentence end, or else whitespace, at or before {@code at} and after
+     * {@code floor}; {@code at} itself when there is none.
+     */
+    private static int breakBefore(String text, int at, int floor) {
+        int wordBreak = -1;
+        for (int i = at; i > floor; i--) {
+            char previous = text.charAt(i - 1);
+            if (Character.isWhitespace(previous)) {
+                if (i >= 2 && isSentenceEnd(text.charAt(i - 2))) {
+                    return i;
+                }
+                if (wordBreak < 0) {
+                    wordBreak = i;
+                }
+            }
+        }
+        return wordBreak > 0 ? wordBreak : at;
+    }
+
+    private static boolean isSentenceEnd(char c) {
+        return c == '.' || c == '?' || c == '!' || c == '\n';
+    }
+}
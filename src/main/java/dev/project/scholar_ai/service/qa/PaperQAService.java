@@ -1,7 +1,11 @@
 package dev.project.scholar_ai.service.qa;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.project.scholar_ai.dto.qa.ChatRequest;
 import dev.project.scholar_ai.dto.qa.ChatResponse;
+import dev.project.scholar_ai.dto.qa.ChatStreamEvent;
 import dev.project.scholar_ai.enums.MessageRole;
 import dev.project.scholar_ai.model.core.auth.AuthUser;
 import dev.project.scholar_ai.model.paper.metadata.Paper;
@@ -11,38 +15,105 @@ import dev.project.scholar_ai.repository.core.auth.AuthUserRepository;
 import dev.project.scholar_ai.repository.paper.PaperRepository;
 import dev.project.scholar_ai.repository.qa.QAMessageRepository;
 import dev.project.scholar_ai.repository.qa.QASessionRepository;
+import dev.project.scholar_ai.service.extraction.PaperTextStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
-
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Chat with a paper through the FastAPI QA agent.
+ *
+ * <p>The agent call takes seconds, so a chat turn never holds a database
+ * connection across it: the paper is read, the session and question are
+ * stored and the history loaded in one short core-DB transaction, the agent is
+ * called with no transaction open, and the answer is stored in a second one.
+ * Answers can also be streamed to the client as the agent generates them
+ * (see {@link #streamChatWithPaper}).
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
-@Transactional
 public class PaperQAService {
+    private static final String AGENT_ERROR =
+            "Sorry, there was an error processing your question. Please check if the FastAPI service is running.";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> AGENT_EVENTS =
+            new ParameterizedTypeReference<>() {};
+
     private final QASessionRepository qaSessionRepository;
     private final QAMessageRepository qaMessageRepository;
     private final PaperRepository paperRepository;
     private final AuthUserRepository authUserRepository;
+    private final PaperTextStore paperTextStore;
     private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final PaperRetriever paperRetriever;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final QAAnswerCache answerCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${scholarai.fastapi.base-url:http://localhost:8000}")
     private String fastApiBaseUrl;
 
+    @Value("${scholarai.qa.retrieval.enabled:true}")
+    private boolean retrievalEnabled;
+
+    @Value("${scholarai.qa.stream.idle-timeout-seconds:60}")
+    private long streamIdleTimeoutSeconds;
+
+    public PaperQAService(
+            QASessionRepository qaSessionRepository,
+            QAMessageRepository qaMessageRepository,
+            PaperRepository paperRepository,
+            AuthUserRepository authUserRepository,
+            PaperTextStore paperTextStore,
+            @Qualifier("fastApiRestTemplate") RestTemplate restTemplate,
+            @Qualifier("qaStreamWebClient") WebClient webClient,
+            PaperRetriever paperRetriever,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            QAAnswerCache answerCache,
+            @Qualifier("transactionManager") PlatformTransactionManager transactionManager) {
+        this.qaSessionRepository = qaSessionRepository;
+        this.qaMessageRepository = qaMessageRepository;
+        this.paperRepository = paperRepository;
+        this.authUserRepository = authUserRepository;
+        this.paperTextStore = paperTextStore;
+        this.restTemplate = restTemplate;
+        this.webClient = webClient;
+        this.paperRetriever = paperRetriever;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.answerCache = answerCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     @PostConstruct
     public void init() {
         log.info("PaperQAService initialized with FastAPI base URL: {}", fastApiBaseUrl);
@@ -62,69 +133,20 @@ public class PaperQAService {
         try {
             log.info("Processing chat request for paper: {} by user: {}", paperId, userEmail);
 
-            // Get user (handle anonymous users for testing)
-            AuthUser user;
-            if ("anonymous".equals(userEmail)) {
-                // Create a temporary anonymous user for testing
-                user = new AuthUser();
-                user.setId(UUID.fromString("00000000-0000-0000-0000-000000000000"));
-                user.setEmail("anonymous");
-                user.setRole("ANONYMOUS");
-            } else {
-                user = authUserRepository
-                        .findByEmail(userEmail)
-                        .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
-            }
-
-            // Get paper
-            Paper paper = paperRepository
-                    .findById(paperId)
-                    .orElseThrow(() -> new RuntimeException("Paper not found: " + paperId));
+            Paper paper = loadPaper(paperId);
 
             // Check if paper has extracted text
-            if (paper.getExtractedText() == null
-                    || paper.getExtractedText().trim().isEmpty()) {
+            if (!paper.hasExtractedText()) {
                 return new ChatResponse("Paper has no extracted text. Please extract text first.");
             }
 
-            // Handle session and messages (skip for anonymous users)
-            QASession session = null;
-            List<QAMessage> recentMessages = new ArrayList<>();
-
-            if (!"anonymous".equals(userEmail)) {
-                // Get or create session for authenticated users
-                session = getOrCreateSession(request, user, paper);
-
-                // Save user message
-                QAMessage userMessage = QAMessage.builder()
-                        .session(session)
-                        .role(MessageRole.USER)
-                        .content(request.getMessage())
-                        .metadata(new HashMap<>())
-                        .build();
-                qaMessageRepository.save(userMessage);
-
-                // Get conversation history
-                recentMessages =
-                        qaMessageRepository.findRecentMessagesBySessionId(session.getId(), PageRequest.of(0, 10));
-            }
+            ChatTurn turn = startTurn(request, userEmail, paper);
 
-            // Call FastAPI QA service
-            String response = callFastAPIQAService(paper, recentMessages, request.getMessage());
-
-            // Save assistant response (only for authenticated users)
-            if (!"anonymous".equals(userEmail) && session != null) {
-                QAMessage assistantMessage = QAMessage.builder()
-                        .session(session)
-                        .role(MessageRole.ASSISTANT)
-                        .content(response)
-                        .metadata(new HashMap<>())
-                        .build();
-                qaMessageRepository.save(assistantMessage);
-            }
+            // Answer from the cache or call FastAPI QA service, with no transaction open
+            String response = answer(paper, turn.history(), request.getMessage());
 
-            UUID sessionId = (session != null) ? session.getId() : null;
-            return new ChatResponse(sessionId, response);
+            saveAnswer(turn, response);
+            return new ChatResponse(turn.sessionId(), response);
 
         } catch (Exception e) {
             log.error("Failed to process chat request for paper {}: {}", paperId, e.getMessage(), e);
@@ -132,6 +154,245 @@ public class PaperQAService {
         }
     }
 
+    /**
+     * Chat with a paper, relaying the answer as Server-Sent Events while the QA
+     * agent generates it.
+     *
+     * <p>The question is stored and the history loaded on the calling thread,
+     * as for {@link #chatWithPaper}; the agent's stream is then read with the
+     * non-blocking WebClient, so no thread waits on generation. Events are
+     * {@code session} first, a {@code token} per piece of the answer, then
+     * {@code done} once the answer is stored, or {@code error} after storing
+     * the same fallback reply as {@link #chatWithPaper}. If the client
+     * disconnects first, the part of the answer received so far is stored, or
+     * the fallback reply when nothing was received.
+     *
+     * <p>The agent answers {@code POST /api/v1/papers/{id}/chat/stream}, with the
+     * same payload as the blocking endpoint, by Server-Sent Events whose data
+     * is {@code {"token": "..."}} or the raw text, optionally ended by a
+     * {@code done} event or {@code [DONE]}; an {@code error} event fails the
+     * turn, as does no event for {@code idle-timeout-seconds}.
+     */
+    public Flux<ServerSentEvent<ChatStreamEvent>> streamChatWithPaper(
+            UUID paperId, ChatRequest request, String userEmail) {
+        String question = request.getMessage();
+        Paper paper;
+        ChatTurn turn;
+        Optional<String> cached = Optional.empty();
+        AgentRequest agentRequest = null;
+        try {
+            log.info("Processing streaming chat request for paper: {} by user: {}", paperId, userEmail);
+            paper = loadPaper(paperId);
+            if (!paper.hasExtractedText()) {
+                return Flux.just(event(
+                        "error", ChatStreamEvent.error("Paper has no extracted text. Please extract text first.")));
+            }
+            turn = startTurn(request, userEmail, paper);
+
+            // Same cache rules as answer(): only a question without earlier turns stands alone
+            if (turn.history().size() > 1) {
+                answerCache.bypass();
+            } else {
+                cached = answerCache.get(paper.getId(), paper.getExtractedTextChecksum(), question);
+            }
+            if (cached.isEmpty()) {
+                agentRequest = buildAgentRequest(paper, turn.history(), question);
+            }
+        } catch (Exception e) {
+            log.error("Failed to start streaming chat for paper {}: {}", paperId, e.getMessage(), e);
+            return Flux.just(
+                    event("error", ChatStreamEvent.error("Error processing your question: " + e.getMessage())));
+        }
+
+        AgentRequest finalRequest = agentRequest;
+        boolean cacheable = cached.isEmpty() && turn.history().size() <= 1;
+        long start = System.nanoTime();
+        // Appended on the HTTP client's event loop, read wherever the stream ends or is cancelled
+        StringBuffer answer = new StringBuffer();
+        // Exactly one of completion, failure and cancellation stores the assistant reply
+        AtomicBoolean replied = new AtomicBoolean();
+        Flux<String> tokens = cached.map(Flux::just).orElseGet(() -> streamFromAgent(paper.getId(), finalRequest));
+
+        // Storing the answer is blocking JPA, kept off the HTTP client's event loop
+        Mono<ServerSentEvent<ChatStreamEvent>> done = Mono.fromCallable(() -> {
+                    String response = answer.toString();
+                    if (replied.compareAndSet(false, true)) {
+                        saveAnswer(turn, response);
+                    }
+                    if (cacheable && !response.isEmpty()) {
+                        answerCache.put(
+                                paper.getId(),
+                                paper.getExtractedTextChecksum(),
+                                question,
+                                response,
+                                System.nanoTime() - start);
+                    }
+                    return event("done", ChatStreamEvent.done(turn.sessionId(), response));
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+
+        return Flux.concat(
+                        Mono.just(event("session", ChatStreamEvent.session(turn.sessionId()))),
+                        tokens.doOnNext(answer::append).map(token -> event("token", ChatStreamEvent.token(token))),
+                        done)
+                .onErrorResume(e -> Mono.fromCallable(() -> {
+                            log.error("Streaming chat failed for paper {}: {}", paperId, e.getMessage(), e);
+                            if (replied.compareAndSet(false, true)) {
+                                saveReplySafely(turn, AGENT_ERROR, paperId);
+                            }
+                            return event("error", ChatStreamEvent.error(AGENT_ERROR));
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .doOnCancel(() -> {
+                    // The client went away: keep what was generated so far, or the fallback reply
+                    if (replied.compareAndSet(false, true)) {
+                        String partial = answer.toString();
+                        log.info(
+                                "Client left streaming chat for paper {} after {} characters",
+                                paperId,
+                                partial.length());
+                        Schedulers.boundedElastic()
+                                .schedule(() ->
+                                        saveReplySafely(turn, partial.isEmpty() ? AGENT_ERROR : partial, paperId));
+                    }
+                });
+    }
+
+    /**
+     * Store the assistant reply of a stream that did not complete; a failure
+     * is logged, as there is no caller left to report it to
+     */
+    private void saveReplySafely(ChatTurn turn, String reply, UUID paperId) {
+        try {
+            saveAnswer(turn, reply);
+        } catch (Exception e) {
+            log.error("Failed to store the reply of an interrupted chat for paper {}", paperId, e);
+        }
+    }
+
+    /**
+     * Pieces of the answer as the FastAPI QA service streams them; time to the
+     * first one and to the end are recorded per context mode
+     */
+    private Flux<String> streamFromAgent(UUID paperId, AgentRequest agentRequest) {
+        String url = fastApiBaseUrl + "/api/v1/papers/" + paperId + "/chat/stream";
+        log.info("Streaming from FastAPI QA service at URL: {}", url);
+
+        AtomicBoolean first = new AtomicBoolean(true);
+        long start = System.nanoTime();
+        return webClient
+                .post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(agentRequest.body())
+                .retrieve()
+                .bodyToFlux(AGENT_EVENTS)
+                .timeout(Duration.ofSeconds(streamIdleTimeoutSeconds))
+                .takeWhile(event -> !"done".equals(event.event()) && !"[DONE]".equals(event.data()))
+                .<String>handle((event, sink) -> {
+                    if ("error".equals(event.event())) {
+                        sink.error(new RuntimeException("QA agent reported an error: " + event.data()));
+                        return;
+                    }
+                    String token = tokenOf(event.data());
+                    if (token != null && !token.isEmpty()) {
+                        sink.next(token);
+                    }
+                })
+                .doOnNext(token -> {
+                    if (first.compareAndSet(true, false)) {
+                        meterRegistry
+                                .timer("scholarai.qa.stream.first-token", "context", agentRequest.contextMode())
+                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                })
+                .doOnComplete(() -> meterRegistry
+                        .timer("scholarai.qa.stream.duration", "context", agentRequest.contextMode())
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Text of an agent event: the {@code token} field of a JSON object, or the
+     * data itself
+     */
+    private String tokenOf(String data) {
+        if (data == null || !data.startsWith("{")) {
+            return data;
+        }
+        try {
+            JsonNode token = objectMapper.readTree(data).get("token");
+            return token == null || token.isNull() ? null : token.asText();
+        } catch (JsonProcessingException e) {
+            return data;
+        }
+    }
+
+    private static ServerSentEvent<ChatStreamEvent> event(String name, ChatStreamEvent data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+
+    /**
+     * Session of a chat turn and its history formatted for the QA agent, most
+     * recent message (the question) first
+     */
+    private record ChatTurn(UUID sessionId, List<Map<String, Object>> history) {}
+
+    /**
+     * Get paper (its own short read on the paper DB)
+     */
+    private Paper loadPaper(UUID paperId) {
+        return paperRepository.findById(paperId).orElseThrow(() -> new RuntimeException("Paper not found: " + paperId));
+    }
+
+    /**
+     * Store the question and load the history in one short transaction;
+     * anonymous users (for testing) keep no session
+     */
+    private ChatTurn startTurn(ChatRequest request, String userEmail, Paper paper) {
+        if ("anonymous".equals(userEmail)) {
+            return new ChatTurn(null, List.of());
+        }
+        return transactionTemplate.execute(status -> startSessionTurn(request, userEmail, paper));
+    }
+
+    /**
+     * Resolve the user and session, save the question and load the recent
+     * history, inside the caller's transaction
+     */
+    private ChatTurn startSessionTurn(ChatRequest request, String userEmail, Paper paper) {
+        AuthUser user = authUserRepository
+                .findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
+
+        QASession session = getOrCreateSession(request, user, paper);
+        saveMessage(session, MessageRole.USER, request.getMessage());
+
+        List<QAMessage> recentMessages =
+                qaMessageRepository.findRecentMessagesBySessionId(session.getId(), PageRequest.of(0, 10));
+        return new ChatTurn(session.getId(), formatConversationHistory(recentMessages));
+    }
+
+    /**
+     * Save assistant response (only for authenticated users)
+     */
+    private void saveAnswer(ChatTurn turn, String response) {
+        if (turn.sessionId() != null) {
+            transactionTemplate.executeWithoutResult(status -> saveMessage(
+                    qaSessionRepository.getReferenceById(turn.sessionId()), MessageRole.ASSISTANT, response));
+        }
+    }
+
+    private void saveMessage(QASession session, MessageRole role, String content) {
+        QAMessage message = QAMessage.builder()
+                .session(session)
+                .role(role)
+                .content(content)
+                .metadata(new HashMap<>())
+                .build();
+        qaMessageRepository.save(message);
+    }
+
     /**
      * Get or create a QA session
      */
@@ -152,41 +413,68 @@ public class PaperQAService {
         return qaSessionRepository.save(session);
     }
 
+    /**
+     * Answer of the QA agent, with whether it came from the agent rather than a
+     * fallback message, and how long the call took
+     */
+    private record AgentReply(String text, boolean answered, long elapsedNanos) {}
+
+    /**
+     * Answer a question from the shared answer cache when it stands alone, or
+     * from the FastAPI QA service
+     */
+    private String answer(Paper paper, List<Map<String, Object>> history, String question) {
+        // The history ends with the question just saved; earlier turns can change what it means
+        if (history.size() > 1) {
+            answerCache.bypass();
+            return callFastAPIQAService(paper, history, question).text();
+        }
+
+        Optional<String> cached = answerCache.get(paper.getId(), paper.getExtractedTextChecksum(), question);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        AgentReply reply = callFastAPIQAService(paper, history, question);
+        if (reply.answered()) {
+            answerCache.put(
+                    paper.getId(), paper.getExtractedTextChecksum(), question, reply.text(), reply.elapsedNanos());
+        }
+        return reply.text();
+    }
+
     /**
      * Call FastAPI QA service
      */
-    private String callFastAPIQAService(Paper paper, List<QAMessage> conversationHistory, String query) {
+    private AgentReply callFastAPIQAService(Paper paper, List<Map<String, Object>> conversationHistory, String query) {
         try {
             String url = fastApiBaseUrl + "/api/v1/papers/" + paper.getId() + "/chat";
 
             log.info("Calling FastAPI QA service at URL: {}", url);
             log.info("FastAPI base URL from config: {}", fastApiBaseUrl);
 
-            // Build request payload
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("query", query);
-            payload.put("paper_content", paper.getExtractedText());
-            payload.put("paper_metadata", buildPaperMetadata(paper));
-            payload.put("conversation_history", formatConversationHistory(conversationHistory));
-
+            AgentRequest agentRequest = buildAgentRequest(paper, conversationHistory, query);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
-
-            log.info(
-                    "Sending request to FastAPI with payload size: {} characters",
-                    paper.getExtractedText() != null ? paper.getExtractedText().length() : 0);
+            HttpEntity<byte[]> entity = new HttpEntity<>(agentRequest.body(), headers);
 
             // Make API call
-            Map<String, Object> response = restTemplate.postForObject(url, entity, Map.class);
+            long start = System.nanoTime();
+            Map<String, Object> response;
+            try {
+                response = restTemplate.postForObject(url, entity, Map.class);
+            } finally {
+                meterRegistry
+                        .timer("scholarai.qa.chat.latency", "context", agentRequest.contextMode())
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            long elapsedNanos = System.nanoTime() - start;
 
             if (response != null && response.containsKey("response")) {
                 log.info("FastAPI response received successfully");
-                return (String) response.get("response");
+                return new AgentReply((String) response.get("response"), true, elapsedNanos);
             } else {
                 log.warn("FastAPI response is null or missing 'response' field");
-                return "Sorry, I couldn't process your question at the moment.";
+                return new AgentReply("Sorry, I couldn't process your question at the moment.", false, elapsedNanos);
             }
 
         } catch (Exception e) {
@@ -195,7 +483,70 @@ public class PaperQAService {
                     fastApiBaseUrl + "/api/v1/papers/" + paper.getId() + "/chat",
                     e.getMessage(),
                     e);
-            return "Sorry, there was an error processing your question. Please check if the FastAPI service is running.";
+            return new AgentReply(AGENT_ERROR, false, 0);
+        }
+    }
+
+    /**
+     * Serialized chat payload for the QA agent and whether it carries retrieved
+     * chunks or the full text
+     */
+    private record AgentRequest(byte[] body, String contextMode) {}
+
+    /**
+     * Build the request payload, with only the chunks relevant to the question
+     * unless retrieval is unavailable
+     */
+    private AgentRequest buildAgentRequest(Paper paper, List<Map<String, Object>> conversationHistory, String query)
+            throws JsonProcessingException {
+        Optional<PaperRetriever.Retrieval> retrieval = retrieve(paper, query);
+        String contextMode = retrieval.isPresent() ? "retrieved" : "full";
+        String paperContent = retrieval
+                .map(PaperRetriever.Retrieval::context)
+                .orElseGet(() -> paperTextStore.read(paper.getId()).orElse(""));
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("query", query);
+        payload.put("paper_content", paperContent);
+        payload.put("paper_metadata", buildPaperMetadata(paper));
+        payload.put("conversation_history", conversationHistory);
+
+        // Serialized here once so the size sent is what gets measured
+        byte[] body = objectMapper.writeValueAsBytes(payload);
+        DistributionSummary.builder("scholarai.qa.request.payload")
+                .description("Size of the chat request sent to the QA agent")
+                .baseUnit("bytes")
+                .tag("context", contextMode)
+                .register(meterRegistry)
+                .record(body.length);
+
+        if (retrieval.isPresent()) {
+            log.info(
+                    "Sending request to FastAPI with {} of {} chunks ({} of {} characters), payload {} bytes",
+                    retrieval.get().chunks().size(),
+                    retrieval.get().totalChunks(),
+                    paperContent.length(),
+                    retrieval.get().paperChars(),
+                    body.length);
+        } else {
+            log.info("Sending request to FastAPI with full text, payload {} bytes", body.length);
+        }
+        return new AgentRequest(body, contextMode);
+    }
+
+    /**
+     * Top chunks of the paper for the question, or empty to send the full text
+     * (retrieval disabled or failed, or no stored text)
+     */
+    private Optional<PaperRetriever.Retrieval> retrieve(Paper paper, String query) {
+        if (!retrievalEnabled) {
+            return Optional.empty();
+        }
+        try {
+            return paperRetriever.retrieve(paper.getId(), paper.getExtractedTextChecksum(), query);
+        } catch (Exception e) {
+            log.warn("Retrieval failed for paper {}, sending full text: {}", paper.getId(), e.getMessage());
+            return Optional.empty();
         }
     }
 
@@ -244,6 +595,7 @@ public class PaperQAService {
     /**
      * Get conversation history for a session
      */
+    @Transactional(readOnly = true)
     public List<QAMessage> getConversationHistory(UUID sessionId, String userEmail) {
         // Verify user has access to this session
         AuthUser user = authUserRepository
@@ -262,6 +614,7 @@ public class PaperQAService {
     /**
      * Get user's QA sessions
      */
+    @Transactional(readOnly = true)
     public List<QASession> getUserSessions(String userEmail) {
         AuthUser user = authUserRepository
                 .findByEmail(userEmail)
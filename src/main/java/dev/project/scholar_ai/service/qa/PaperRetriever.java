@@ -0,0 +1,179 @@
+package dev.project.scholar_ai.service.qa;
+
+import dev.project.scholar_ai.service.extraction.ExtractedTextService;
+import dev.project.scholar_ai.service.extraction.PaperTextStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the parts of a paper relevant to a question, so a chat turn sends a
+ * few chunks to the QA agent instead of the whole extracted text.
+ *
+ * <p>Each paper is split by {@link PaperChunker} into section-aligned,
+ * overlapping chunks and indexed with {@link Bm25Index} on first use. Indexes
+ * of the {@code cache-papers} most recently asked-about papers are kept in
+ * memory and rebuilt when the paper's text checksum changes, i.e. after a
+ * re-extraction. Index builds are timed as {@code scholarai.qa.index.build}.
+ */
+@Slf4j
+@Component
+public class PaperRetriever {
+
+    private final PaperTextStore paperTextStore;
+    private final ExtractedTextService extractedTextService;
+    private final int chunkChars;
+    private final int overlapChars;
+    private final int topK;
+    private final Timer buildTimer;
+    private final Map<UUID, PaperIndex> indexes;
+
+    /**
+     * Chunks chosen for a question.
+     *
+     * @param chunks The chosen chunks in document order
+     * @param totalChunks Chunks the paper is split into
+     * @param paperChars Length of the paper's full text
+     */
+    public record Retrieval(List<RetrievedChunk> chunks, int totalChunks, int paperChars) {
+
+        /** The chunks joined into one context, each headed by its section title. */
+        public String context() {
+            StringBuilder context = new StringBuilder();
+            for (RetrievedChunk chunk : chunks) {
+                if (!context.isEmpty()) {
+                    context.append("\n\n");
+                }
+                if (chunk.section() != null) {
+                    context.append("[Section: ").append(chunk.section()).append("]\n");
+                }
+                context.append(chunk.text());
+            }
+            return context.toString();
+        }
+    }
+
+    /**
+     * A chunk of a paper's text and how well it matched the question.
+     *
+     * @param section Title of its section, or null
+     * @param offset Character offset in the full text
+     * @param text The chunk content
+     * @param score BM25 score; 0 when no chunk matched and the paper's opening was used
+     */
+    public record RetrievedChunk(String section, int offset, String text, double score) {}
+
+    private record PaperIndex(Long checksum, int paperChars, List<PaperChunker.Chunk> chunks, Bm25Index index) {}
+
+    public PaperRetriever(
+            PaperTextStore paperTextStore,
+            ExtractedTextService extractedTextService,
+            MeterRegistry meterRegistry,
+            @Value("${scholarai.qa.retrieval.chunk-chars:1500}") int chunkChars,
+            @Value("${scholarai.qa.retrieval.overlap-chars:200}") int overlapChars,
+            @Value("${scholarai.qa.retrieval.top-k:6}") int topK,
+            @Value("${scholarai.qa.retrieval.cache-papers:64}") int cachePapers) {
+        this.paperTextStore = paperTextStore;
+        this.extractedTextService = extractedTextService;
+        this.chunkChars = chunkChars;
+        this.overlapChars = overlapChars;
+        this.topK = topK;
+        this.buildTimer = Timer.builder("scholarai.qa.index.build")
+                .description("Time to chunk and BM25-index one paper for Q&A retrieval")
+                .register(meterRegistry);
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, PaperIndex> eldest) {
+                return size() > cachePapers;
+            }
+        };
+        Gauge.builder("scholarai.qa.index.cached", this, PaperRetriever::cachedPapers)
+                .description("Papers with a Q&A retrieval index in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Chooses the top chunks of a paper for a question. When no chunk shares a
+     * term with the question (e.g. "summarize this"), the paper's opening
+     * chunks are used.
+     *
+     * @param paperId The ID of the paper
+     * @param checksum Checksum of the paper's current text, to detect a stale index
+     * @param question The user's question
+     * @return The chosen chunks, or empty when the paper has no stored text
+     */
+    public Optional<Retrieval> retrieve(UUID paperId, Long checksum, String question) {
+        PaperIndex paperIndex = index(paperId, checksum);
+        if (paperIndex == null) {
+            return Optional.empty();
+        }
+
+        List<RetrievedChunk> chosen = new ArrayList<>(topK);
+        for (Bm25Index.Hit hit : paperIndex.index().search(question, topK)) {
+            PaperChunker.Chunk chunk = paperIndex.chunks().get(hit.chunk());
+            chosen.add(new RetrievedChunk(chunk.section(), chunk.offset(), chunk.text(), hit.score()));
+        }
+        if (chosen.isEmpty()) {
+            int opening = Math.min(topK, paperIndex.chunks().size());
+            for (PaperChunker.Chunk chunk : paperIndex.chunks().subList(0, opening)) {
+                chosen.add(new RetrievedChunk(chunk.section(), chunk.offset(), chunk.text(), 0));
+            }
+        }
+        chosen.sort(Comparator.comparingInt(RetrievedChunk::offset));
+        return Optional.of(new Retrieval(chosen, paperIndex.chunks().size(), paperIndex.paperChars()));
+    }
+
+    int cachedPapers() {
+        synchronized (indexes) {
+            return indexes.size();
+        }
+    }
+
+    private PaperIndex index(UUID paperId, Long checksum) {
+        synchronized (indexes) {
+            PaperIndex cached = indexes.get(paperId);
+            if (cached != null && Objects.equals(cached.checksum(), checksum)) {
+                return cached;
+            }
+        }
+
+        // Built outside the lock: two first questions on the same paper may both build it, which is harmless
+        long start = System.nanoTime();
+        Optional<String> text = paperTextStore.read(paperId);
+        if (text.isEmpty()) {
+            return null;
+        }
+        List<PaperChunker.Chunk> chunks =
+                PaperChunker.chunk(text.get(), extractedTextService.sections(paperId), chunkChars, overlapChars);
+        List<String> documents = new ArrayList<>(chunks.size());
+        for (PaperChunker.Chunk chunk : chunks) {
+            documents.add(chunk.section() == null ? chunk.text() : chunk.section() + "\n" + chunk.text());
+        }
+        PaperIndex built = new PaperIndex(checksum, text.get().length(), chunks, Bm25Index.build(documents));
+        long elapsedNanos = System.nanoTime() - start;
+        buildTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info(
+                "Indexed paper {} for Q&A in {} ms: {} chars, {} chunks",
+                paperId,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                built.paperChars(),
+                chunks.size());
+
+        synchronized (indexes) {
+            indexes.put(paperId, built);
+        }
+        return built;
+    }
+}
@@ -0,0 +1,221 @@
+package dev.project.scholar_ai.service.qa;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers of the QA agent to stand-alone questions, shared across users and
+ * sessions.
+ *
+ * <p>Entries are keyed by paper ID, the checksum of the paper's text (so a
+ * re-extraction invalidates them) and the normalized question: Unicode
+ * compatibility form, lower case, punctuation and repeated whitespace dropped.
+ * They expire {@code ttl-minutes} after being stored, and the least recently
+ * used are evicted beyond {@code max-entries} or {@code max-memory-mb}
+ * (estimated from the string lengths).
+ *
+ * <p>Metrics: {@code scholarai.qa.cache.requests} by {@code result} (hit, miss,
+ * bypass) for the hit rate, {@code scholarai.qa.cache.entries} and
+ * {@code scholarai.qa.cache.memory}, and {@code scholarai.qa.cache.saved}, the
+ * agent latency each hit avoided.
+ */
+@Slf4j
+@Component
+public class QAAnswerCache {
+
+    // Map entry, key and value objects plus the boxed checksum, roughly
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final MeterRegistry meterRegistry;
+    private final Timer saved;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private record Key(UUID paperId, Long checksum, String question) {}
+
+    private record Entry(String answer, long upstreamNanos, long storedAt, long bytes) {}
+
+    @Autowired
+    public QAAnswerCache(
+            MeterRegistry meterRegistry,
+            @Value("${scholarai.qa.answer-cache.enabled:true}") boolean enabled,
+            @Value("${scholarai.qa.answer-cache.max-entries:10000}") int maxEntries,
+            @Value("${scholarai.qa.answer-cache.max-memory-mb:64}") long maxMemoryMb,
+            @Value("${scholarai.qa.answer-cache.ttl-minutes:1440}") long ttlMinutes) {
+        this(
+                meterRegistry,
+                enabled,
+                maxEntries,
+                maxMemoryMb * 1024 * 1024,
+                Duration.ofMinutes(ttlMinutes),
+                System::nanoTime);
+    }
+
+    QAAnswerCache(
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            int maxEntries,
+            long maxBytes,
+            Duration ttl,
+            LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.saved = Timer.builder("scholarai.qa.cache.saved")
+                .description("QA agent latency avoided by answering from the cache")
+                .register(meterRegistry);
+        Gauge.builder("scholarai.qa.cache.entries", this, QAAnswerCache::size)
+                .description("Answers in the QA answer cache")
+                .register(meterRegistry);
+        Gauge.builder("scholarai.qa.cache.memory", this, QAAnswerCache::memoryBytes)
+                .description("Estimated memory held by cached QA answers")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached answer to a question about a paper.
+     *
+     * @param paperId The ID of the paper
+     * @param checksum Checksum of the paper's current text
+     * @param question The question as asked
+     * @return The answer, or empty on a miss or when the cache is disabled
+     */
+    public Optional<String> get(UUID paperId, Long checksum, String question) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Key key = new Key(paperId, checksum, normalize(question));
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && expired(entry, nanoClock.getAsLong())) {
+                remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            count("miss");
+            return Optional.empty();
+        }
+        count("hit");
+        saved.record(entry.upstreamNanos(), TimeUnit.NANOSECONDS);
+        log.debug("Answered question on paper {} from the cache", paperId);
+        return Optional.of(entry.answer());
+    }
+
+    /**
+     * Stores the agent's answer to a stand-alone question.
+     *
+     * @param upstreamNanos How long the agent took, reported as saved on each later hit
+     */
+    public void put(UUID paperId, Long checksum, String question, String answer, long upstreamNanos) {
+        if (!enabled || answer == null) {
+            return;
+        }
+        String normalized = normalize(question);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        long entryBytes = ENTRY_OVERHEAD_BYTES + 2L * (normalized.length() + answer.length());
+        if (entryBytes > maxBytes) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        synchronized (entries) {
+            Key key = new Key(paperId, checksum, normalized);
+            remove(key);
+            entries.put(key, new Entry(answer, upstreamNanos, now, entryBytes));
+            bytes += entryBytes;
+            evict(now);
+        }
+    }
+
+    /** Counts a question answered without the cache because it depends on earlier turns. */
+    public void bypass() {
+        count("bypass");
+    }
+
+    static String normalize(String question) {
+        String folded = Normalizer.normalize(question == null ? "" : question, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean space = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    long memoryBytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    // Drops least recently used entries while over a limit, along with expired ones met on the way
+    private void evict(long now) {
+        Iterator<Map.Entry<Key, Entry>> oldest = entries.entrySet().iterator();
+        while (oldest.hasNext()) {
+            Entry entry = oldest.next().getValue();
+            if (!expired(entry, now) && entries.size() <= maxEntries && bytes <= maxBytes) {
+                return;
+            }
+            bytes -= entry.bytes();
+            oldest.remove();
+        }
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.bytes();
+        }
+    }
+
+    private boolean expired(Entry entry, long now) {
+        return now - entry.storedAt() >= ttlNanos;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("scholarai.qa.cache.requests", "result", result).increment();
+    }
+}
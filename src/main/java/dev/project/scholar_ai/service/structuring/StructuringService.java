@@ -4,6 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.project.scholar_ai.dto.agent.request.StructuringRequest;
 import dev.project.scholar_ai.dto.agent.request.SummarizationRequest;
 import dev.project.scholar_ai.dto.agent.response.StructuringResult;
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.enums.RequestLane;
+import dev.project.scholar_ai.messaging.idempotency.ProcessedMessageLedger;
 import dev.project.scholar_ai.messaging.publisher.StructuringRequestSender;
 import dev.project.scholar_ai.messaging.publisher.SummarizationRequestSender;
 import dev.project.scholar_ai.model.paper.metadata.Paper;
@@ -14,10 +17,18 @@ import dev.project.scholar_ai.repository.paper.PaperRepository;
 import dev.project.scholar_ai.repository.paper.structure.ExtractedDocumentRepository;
 import dev.project.scholar_ai.repository.paper.structure.HumanSummaryRepository;
 import dev.project.scholar_ai.repository.paper.structure.StructuredFactsRepository;
+import dev.project.scholar_ai.service.extraction.ExtractedTextService;
+import dev.project.scholar_ai.service.extraction.TextClaimCheck;
+import dev.project.scholar_ai.service.pipeline.PaperPipelineService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -35,15 +46,20 @@ public class StructuringService {
     private final StructuringRequestSender structuringRequestSender;
     private final SummarizationRequestSender summarizationRequestSender;
     private final ObjectMapper objectMapper;
+    private final TextClaimCheck textClaimCheck;
+    private final ExtractedTextService extractedTextService;
+    private final ProcessedMessageLedger processedMessageLedger;
+    private final PaperPipelineService paperPipelineService;
 
     /**
-     * Triggers text structuring for a paper with extracted text.
+     * Triggers text structuring for a paper with stored extracted text. Large
+     * texts are sent as a claim check rather than inline.
      *
      * @param paperId The ID of the paper to structure
-     * @param extractedText The extracted text content
      * @param requestedBy The user who requested the structuring
      */
-    public void triggerStructuring(UUID paperId, String extractedText, String requestedBy) {
+    @Transactional(transactionManager = "paperTransactionManager")
+    public void triggerStructuring(UUID paperId, String requestedBy) {
         try {
             log.info("Triggering text structuring for paper: {}", paperId);
 
@@ -52,22 +68,10 @@ public class StructuringService {
                     .findById(paperId)
                     .orElseThrow(() -> new RuntimeException("Paper not found: " + paperId));
 
-            // Build paper metadata for AI processing
-            Map<String, Object> paperMetadata = buildPaperMetadata(paper);
-
-            // Create structuring request
-            StructuringRequest structuringRequest = StructuringRequest.builder()
-                    .correlationId(UUID.randomUUID().toString())
-                    .paperId(paperId)
-                    .extractedText(extractedText)
-                    .paperMetadata(paperMetadata)
-                    .requestedBy(requestedBy)
-                    .build();
-
-            // Send structuring request
-            structuringRequestSender.send(structuringRequest);
-
-            log.info("Text structuring request sent for paper: {}", paperId);
+            RequestLane lane = paperPipelineService.lanesOf(List.of(paperId)).get(paperId);
+            if (sendStructuringRequest(paper, requestedBy, lane)) {
+                paperPipelineService.stageRequested(PipelineStage.STRUCTURING, List.of(paperId));
+            }
 
         } catch (Exception e) {
             log.error("Failed to trigger text structuring for paper {}: {}", paperId, e.getMessage(), e);
@@ -75,14 +79,77 @@ public class StructuringService {
         }
     }
 
+    /**
+     * Triggers text structuring for a batch of papers, loaded with one query.
+     *
+     * @param paperIds The IDs of the papers to structure
+     * @param requestedBy The user who requested the structuring
+     * @return The IDs of the papers whose request could not be sent
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public List<UUID> triggerStructuring(List<UUID> paperIds, String requestedBy) {
+        log.info("Triggering text structuring for {} papers", paperIds.size());
+        List<UUID> requested = new ArrayList<>(paperIds.size());
+        List<UUID> failed = new ArrayList<>();
+        Map<UUID, RequestLane> lanes = paperPipelineService.lanesOf(paperIds);
+        for (Paper paper : paperRepository.findAllWithDetailsByIdIn(paperIds)) {
+            try {
+                if (sendStructuringRequest(paper, requestedBy, lanes.get(paper.getId()))) {
+                    requested.add(paper.getId());
+                }
+            } catch (Exception e) {
+                log.error("Failed to trigger text structuring for paper {}: {}", paper.getId(), e.getMessage(), e);
+                failed.add(paper.getId());
+            }
+        }
+        paperPipelineService.stageRequested(PipelineStage.STRUCTURING, requested);
+        return failed;
+    }
+
+    private boolean sendStructuringRequest(Paper paper, String requestedBy, RequestLane lane) {
+        TextClaimCheck.TextPayload text = textClaimCheck.payloadFor(paper);
+        if (!text.isPresent()) {
+            log.warn("Paper {} has no stored extracted text, not structuring", paper.getId());
+            return false;
+        }
+
+        // Build paper metadata for AI processing
+        Map<String, Object> paperMetadata = buildPaperMetadata(paper);
+
+        // Create structuring request
+        StructuringRequest structuringRequest = StructuringRequest.builder()
+                .correlationId(UUID.randomUUID().toString())
+                .paperId(paper.getId())
+                .extractedText(text.text())
+                .textRef(text.reference())
+                .paperMetadata(paperMetadata)
+                .requestedBy(requestedBy)
+                .build();
+
+        // Send structuring request
+        structuringRequestSender.send(structuringRequest, lane);
+
+        log.info("Text structuring request sent for paper: {}", paper.getId());
+        return true;
+    }
+
     /**
      * Updates a paper with structured content from the structuring result.
+     * Summarization is requested by the caller once this has committed, see
+     * {@link #triggerSummarization(List)}.
      *
      * @param result The structuring result containing structured data
+     * @return {@code false} when the result was already applied and nothing was done
      */
     @Transactional(transactionManager = "paperTransactionManager")
-    public void updatePaperWithStructuredContent(StructuringResult result) {
+    public boolean updatePaperWithStructuredContent(StructuringResult result) {
         log.info("Updating paper {} with structured content", result.getPaperId());
+        LocalDateTime receivedAt = LocalDateTime.now();
+
+        if (claim(List.of(result)).isEmpty()) {
+            log.info("Structuring result for paper {} was already applied, skipping", result.getPaperId());
+            return false;
+        }
 
         try {
             Paper paper = paperRepository
@@ -107,12 +174,15 @@ public class StructuringService {
                                 ? result.getStructuredFacts().size()
                                 : 0);
 
-                // Trigger summarization with structured content
-                triggerSummarizationWithStructuredContent(result.getPaperId(), paper.getExtractedText());
+                paperPipelineService.stageResultsReceived(
+                        PipelineStage.STRUCTURING, List.of(stageResult(result)), receivedAt);
 
             } else {
                 log.warn("Text structuring failed for paper {}: {}", result.getPaperId(), result.getErrorMessage());
+                paperPipelineService.stageResultsReceived(
+                        PipelineStage.STRUCTURING, List.of(stageResult(result)), receivedAt);
             }
+            return true;
 
         } catch (Exception e) {
             log.error("Failed to update paper {} with structured content: {}", result.getPaperId(), e.getMessage(), e);
@@ -120,18 +190,116 @@ public class StructuringService {
         }
     }
 
+    /**
+     * Updates a batch of papers with structured content in one transaction: the
+     * papers and their existing structured rows are loaded with one query and the
+     * documents, facts and summaries are written back with batched statements.
+     * Any failure rolls back the whole batch. Results that were already applied
+     * are skipped.
+     *
+     * @param delivered The structuring results as delivered
+     * @return The IDs of the papers whose structuring completed
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public List<UUID> updatePapersWithStructuredContent(List<StructuringResult> delivered) {
+        LocalDateTime receivedAt = LocalDateTime.now();
+        List<StructuringResult> results = claim(delivered);
+        if (results.isEmpty()) {
+            return List.of();
+        }
+        log.info("Updating {} papers with structured content", results.size());
+
+        Map<UUID, Paper> papers =
+                paperRepository
+                        .findAllWithDetailsByIdIn(results.stream()
+                                .map(StructuringResult::getPaperId)
+                                .toList())
+                        .stream()
+                        .collect(Collectors.toMap(Paper::getId, Function.identity()));
+
+        Map<UUID, ExtractedDocument> documents = new LinkedHashMap<>();
+        Map<UUID, StructuredFacts> facts = new LinkedHashMap<>();
+        Map<UUID, HumanSummary> summaries = new LinkedHashMap<>();
+        for (StructuringResult result : results) {
+            Paper paper = papers.get(result.getPaperId());
+            if (paper == null) {
+                throw new RuntimeException("Paper not found with ID: " + result.getPaperId());
+            }
+            if (!"COMPLETED".equals(result.getStatus())) {
+                log.warn("Text structuring failed for paper {}: {}", result.getPaperId(), result.getErrorMessage());
+                continue;
+            }
+            documents.put(paper.getId(), extractedDocument(paper, result));
+            facts.put(paper.getId(), structuredFacts(paper, result));
+            summaries.put(paper.getId(), humanSummary(paper, result));
+        }
+
+        extractedDocumentRepository.saveAll(documents.values());
+        structuredFactsRepository.saveAll(facts.values());
+        humanSummaryRepository.saveAll(summaries.values());
+        paperPipelineService.stageResultsReceived(
+                PipelineStage.STRUCTURING,
+                results.stream().map(StructuringService::stageResult).toList(),
+                receivedAt);
+
+        log.info("Saved structured content for {} of {} papers", documents.size(), results.size());
+        return List.copyOf(documents.keySet());
+    }
+
+    private static PaperPipelineService.StageResult stageResult(StructuringResult result) {
+        return "COMPLETED".equals(result.getStatus())
+                ? PaperPipelineService.StageResult.succeeded(result.getPaperId())
+                : PaperPipelineService.StageResult.failed(result.getPaperId(), result.getErrorMessage());
+    }
+
+    private List<StructuringResult> claim(List<StructuringResult> results) {
+        return processedMessageLedger.claim(
+                ProcessedMessageLedger.STRUCTURING_RESULTS,
+                results,
+                result -> ProcessedMessageLedger.key(result.getCorrelationId(), result.getPaperId()));
+    }
+
+    /**
+     * Triggers summarization for a batch of papers that have structured content.
+     *
+     * @param paperIds The IDs of the papers to summarize
+     * @return The IDs of the papers whose request could not be sent
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public List<UUID> triggerSummarization(List<UUID> paperIds) {
+        if (paperIds.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> requested = new ArrayList<>(paperIds.size());
+        List<UUID> failed = new ArrayList<>();
+        for (Paper paper : paperRepository.findAllWithDetailsByIdIn(paperIds)) {
+            if (triggerSummarizationWithStructuredContent(paper)) {
+                requested.add(paper.getId());
+            } else {
+                failed.add(paper.getId());
+            }
+        }
+        paperPipelineService.stageRequested(PipelineStage.SUMMARIZATION, requested);
+        return failed;
+    }
+
     /**
      * Triggers summarization for a paper that has structured content.
+     *
+     * @return Whether the request was sent
      */
-    private void triggerSummarizationWithStructuredContent(UUID paperId, String extractedText) {
+    private boolean triggerSummarizationWithStructuredContent(Paper paper) {
+        UUID paperId = paper.getId();
         try {
             log.info("Triggering summarization with structured content for paper: {}", paperId);
 
-            // Create summarization request
+            // Create summarization request, with the text inline or claim-checked
+            TextClaimCheck.TextPayload text = textClaimCheck.payloadFor(paper);
             SummarizationRequest summarizationRequest = SummarizationRequest.builder()
                     .correlationId(UUID.randomUUID().toString())
                     .paperId(paperId)
-                    .content(extractedText)
+                    .content(text.text())
+                    .textRef(text.reference())
                     .requestedBy("structuring-service")
                     .build();
 
@@ -139,23 +307,17 @@ public class StructuringService {
             summarizationRequestSender.send(summarizationRequest);
 
             log.info("Summarization request sent for structured paper: {}", paperId);
+            return true;
 
         } catch (Exception e) {
             log.error("Failed to trigger summarization for structured paper {}: {}", paperId, e.getMessage(), e);
+            return false;
         }
     }
 
     private void saveExtractedDocument(Paper paper, StructuringResult result) {
         try {
-            // Check if extracted document already exists
-            ExtractedDocument extractedDocument = extractedDocumentRepository
-                    .findByPaperId(paper.getId())
-                    .orElse(ExtractedDocument.builder().paper(paper).build());
-
-            extractedDocument.setFullText(paper.getExtractedText());
-            extractedDocument.setSections(result.getSections());
-
-            extractedDocumentRepository.save(extractedDocument);
+            extractedDocumentRepository.save(extractedDocument(paper, result));
             log.debug(
                     "Saved extracted document with {} sections for paper {}", result.getSectionsCount(), paper.getId());
 
@@ -166,14 +328,7 @@ public class StructuringService {
 
     private void saveStructuredFacts(Paper paper, StructuringResult result) {
         try {
-            // Check if structured facts already exist
-            StructuredFacts structuredFacts = structuredFactsRepository
-                    .findByPaperId(paper.getId())
-                    .orElse(StructuredFacts.builder().paper(paper).build());
-
-            structuredFacts.setFacts(result.getStructuredFacts());
-
-            structuredFactsRepository.save(structuredFacts);
+            structuredFactsRepository.save(structuredFacts(paper, result));
             log.debug("Saved structured facts for paper {}", paper.getId());
 
         } catch (Exception e) {
@@ -181,27 +336,9 @@ public class StructuringService {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void saveHumanSummary(Paper paper, StructuringResult result) {
         try {
-            // Check if human summary already exists
-            HumanSummary humanSummary = humanSummaryRepository
-                    .findByPaperId(paper.getId())
-                    .orElse(HumanSummary.builder().paper(paper).build());
-
-            Map<String, Object> summaryData = result.getHumanSummary();
-            if (summaryData != null) {
-                humanSummary.setProblemMotivation((String) summaryData.get("problem_motivation"));
-                humanSummary.setKeyContributions((List<String>) summaryData.get("key_contributions"));
-                humanSummary.setMethodOverview((String) summaryData.get("method_overview"));
-                humanSummary.setDataExperimentalSetup((String) summaryData.get("data_experimental_setup"));
-                humanSummary.setHeadlineResults((List<Map<String, Object>>) summaryData.get("headline_results"));
-                humanSummary.setLimitationsFailureModes((List<String>) summaryData.get("limitations_failure_modes"));
-                humanSummary.setPracticalImplicationsNextSteps(
-                        (String) summaryData.get("practical_implications_next_steps"));
-            }
-
-            humanSummaryRepository.save(humanSummary);
+            humanSummaryRepository.save(humanSummary(paper, result));
             log.debug("Saved human summary for paper {}", paper.getId());
 
         } catch (Exception e) {
@@ -209,6 +346,47 @@ public class StructuringService {
         }
     }
 
+    // The paper's one-to-ones are loaded with it, so existing rows come from the paper rather than a lookup
+
+    private ExtractedDocument extractedDocument(Paper paper, StructuringResult result) {
+        ExtractedDocument extractedDocument = paper.getExtractedDocument() != null
+                ? paper.getExtractedDocument()
+                : ExtractedDocument.builder().paper(paper).build();
+
+        extractedDocument.setSections(result.getSections());
+        extractedDocument.setSectionIndex(extractedTextService.indexSections(paper.getId(), result.getSections()));
+        return extractedDocument;
+    }
+
+    private StructuredFacts structuredFacts(Paper paper, StructuringResult result) {
+        StructuredFacts structuredFacts = paper.getStructuredFacts() != null
+                ? paper.getStructuredFacts()
+                : StructuredFacts.builder().paper(paper).build();
+
+        structuredFacts.setFacts(result.getStructuredFacts());
+        return structuredFacts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private HumanSummary humanSummary(Paper paper, StructuringResult result) {
+        HumanSummary humanSummary = paper.getHumanSummary() != null
+                ? paper.getHumanSummary()
+                : HumanSummary.builder().paper(paper).build();
+
+        Map<String, Object> summaryData = result.getHumanSummary();
+        if (summaryData != null) {
+            humanSummary.setProblemMotivation((String) summaryData.get("problem_motivation"));
+            humanSummary.setKeyContributions((List<String>) summaryData.get("key_contributions"));
+            humanSummary.setMethodOverview((String) summaryData.get("method_overview"));
+            humanSummary.setDataExperimentalSetup((String) summaryData.get("data_experimental_setup"));
+            humanSummary.setHeadlineResults((List<Map<String, Object>>) summaryData.get("headline_results"));
+            humanSummary.setLimitationsFailureModes((List<String>) summaryData.get("limitations_failure_modes"));
+            humanSummary.setPracticalImplicationsNextSteps(
+                    (String) summaryData.get("practical_implications_next_steps"));
+        }
+        return humanSummary;
+    }
+
     private Map<String, Object> buildPaperMetadata(Paper paper) {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("title", paper.getTitle());
@@ -0,0 +1,224 @@
+package dev.project.scholar_ai.service.websearch;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Banded LSH index over MinHash signatures.
+ *
+ * <p>A signature of {@code bands * rows} values is split into bands; two papers
+ * become candidates when any band hashes to the same bucket. Candidates are
+ * verified against the stored signatures, which are kept as the low 16 bits of
+ * each MinHash value (the estimate bias of 2^-16 is negligible) to keep the
+ * footprint around 120 bytes plus the band tables per paper at 60 hashes.
+ *
+ * <p>Everything is held in primitive arrays: each band is an open-addressing
+ * table from bucket key to the newest paper ordinal, chained through a
+ * per-band {@code next} array. Lookups take a read lock, inserts a write lock.
+ */
+class MinHashLshIndex {
+
+    private static final int EMPTY = -1;
+
+    /** Bounds the chain walked per band so a crowded bucket cannot blow up lookup latency. */
+    private static final int MAX_CHAIN_PER_BAND = 256;
+
+    private final int bands;
+    private final int rows;
+    private final int numHashes;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private UUID[] paperIds;
+    private short[] signatures;
+    private final BandTable[] tables;
+    private int size;
+
+    record Match(UUID paperId, double similarity) {}
+
+    MinHashLshIndex(int numHashes, int bands, int initialCapacity) {
+        if (bands < 1 || numHashes % bands != 0) {
+            throw new IllegalArgumentException("numHashes must be a positive multiple of bands");
+        }
+        this.bands = bands;
+        this.rows = numHashes / bands;
+        this.numHashes = numHashes;
+        int capacity = Math.max(16, initialCapacity);
+        this.paperIds = new UUID[capacity];
+        this.signatures = new short[capacity * numHashes];
+        this.tables = new BandTable[bands];
+        for (int band = 0; band < bands; band++) {
+            tables[band] = new BandTable(capacity);
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void add(UUID paperId, int[] signature) {
+        checkLength(signature);
+        lock.writeLock().lock();
+        try {
+            if (size == paperIds.length) {
+                grow();
+            }
+            int ordinal = size++;
+            paperIds[ordinal] = paperId;
+            int offset = ordinal * numHashes;
+            for (int i = 0; i < numHashes; i++) {
+                signatures[offset + i] = (short) signature[i];
+            }
+            for (int band = 0; band < bands; band++) {
+                tables[band].add(bandKey(signature, band), ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the most similar indexed paper whose estimated Jaccard similarity
+     * is at least {@code threshold}, or {@code null} when there is none.
+     */
+    Match findBest(int[] signature, double threshold) {
+        checkLength(signature);
+        short[] probe = new short[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            probe[i] = (short) signature[i];
+        }
+
+        lock.readLock().lock();
+        try {
+            int bestOrdinal = EMPTY;
+            int bestAgreement = (int) Math.ceil(threshold * numHashes) - 1;
+            for (int band = 0; band < bands; band++) {
+                BandTable table = tables[band];
+                int ordinal = table.head(bandKey(signature, band));
+                for (int walked = 0; ordinal != EMPTY && walked < MAX_CHAIN_PER_BAND; walked++) {
+                    int agreement = agreement(probe, ordinal);
+                    if (agreement > bestAgreement) {
+                        bestAgreement = agreement;
+                        bestOrdinal = ordinal;
+                    }
+                    ordinal = table.next[ordinal];
+                }
+            }
+            return bestOrdinal == EMPTY ? null : new Match(paperIds[bestOrdinal], (double) bestAgreement / numHashes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int agreement(short[] probe, int ordinal) {
+        int offset = ordinal * numHashes;
+        int equal = 0;
+        for (int i = 0; i < numHashes; i++) {
+            if (signatures[offset + i] == probe[i]) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+
+    private int bandKey(int[] signature, int band) {
+        long h = 0xcbf29ce484222325L;
+        int from = band * rows;
+        for (int i = from; i < from + rows; i++) {
+            h = (h ^ signature[i]) * 0x100000001b3L;
+        }
+        return (int) MinHashSigner.mix(h);
+    }
+
+    private void checkLength(int[] signature) {
+        if (signature.length != numHashes) {
+            throw new IllegalArgumentException(
+                    "Expected a signature of " + numHashes + " values but got " + signature.length);
+        }
+    }
+
+    private void grow() {
+        int capacity = paperIds.length + (paperIds.length >> 1);
+        paperIds = Arrays.copyOf(paperIds, capacity);
+        signatures = Arrays.copyOf(signatures, capacity * numHashes);
+        for (BandTable table : tables) {
+            table.next = Arrays.copyOf(table.next, capacity);
+        }
+    }
+
+    /** Open-addressing map from bucket key to the newest ordinal in that bucket. */
+    private static final class BandTable {
+
+        private int[] keys;
+        private int[] heads;
+        private int[] next;
+        private int buckets;
+
+        BandTable(int capacity) {
+            int slots = Integer.highestOneBit(Math.max(16, capacity) * 2 - 1) << 1;
+            this.keys = new int[slots];
+            this.heads = new int[slots];
+            Arrays.fill(heads, EMPTY);
+            this.next = new int[capacity];
+        }
+
+        int head(int key) {
+            int mask = keys.length - 1;
+            for (int slot = spread(key) & mask; ; slot = (slot + 1) & mask) {
+                if (heads[slot] == EMPTY) {
+                    return EMPTY;
+                }
+                if (keys[slot] == key) {
+                    return heads[slot];
+                }
+            }
+        }
+
+        void add(int key, int ordinal) {
+            int mask = keys.length - 1;
+            int slot = spread(key) & mask;
+            while (heads[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (heads[slot] == EMPTY) {
+                keys[slot] = key;
+                next[ordinal] = EMPTY;
+                buckets++;
+            } else {
+                next[ordinal] = heads[slot];
+            }
+            heads[slot] = ordinal;
+            if (buckets * 4 > keys.length * 3) {
+                rehash();
+            }
+        }
+
+        private void rehash() {
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new int[oldKeys.length * 2];
+            heads = new int[oldHeads.length * 2];
+            Arrays.fill(heads, EMPTY);
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] != EMPTY) {
+                    int slot = spread(oldKeys[i]) & mask;
+                    while (heads[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    heads[slot] = oldHeads[i];
+                }
+            }
+        }
+
+        private static int spread(int key) {
+            return key ^ (key >>> 16);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package dev.project.scholar_ai.service.websearch;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Computes MinHash signatures over word shingles of a paper's title and
+ * abstract.
+ *
+ * <p>Text is normalized first (diacritics stripped, lower-cased, everything
+ * that is not a letter or digit treated as a separator), so the same paper
+ * with different punctuation, casing or accents signs identically.
+ * Each shingle is hashed once to 64 bits and then permuted with a
+ * multiply-add per signature slot.
+ */
+class MinHashSigner {
+
+    private final int numHashes;
+    private final int shingleSize;
+    private final int minShingles;
+    private final long[] multipliers;
+    private final long[] addends;
+
+    MinHashSigner(int numHashes, int shingleSize, int minShingles, long seed) {
+        if (numHashes < 1 || shingleSize < 1 || minShingles < 1) {
+            throw new IllegalArgumentException("numHashes, shingleSize and minShingles must be at least 1");
+        }
+        this.numHashes = numHashes;
+        this.shingleSize = shingleSize;
+        this.minShingles = minShingles;
+        this.multipliers = new long[numHashes];
+        this.addends = new long[numHashes];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < numHashes; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            addends[i] = random.nextLong();
+        }
+    }
+
+    int numHashes() {
+        return numHashes;
+    }
+
+    /**
+     * Signs the combined title and abstract.
+     *
+     * @return The signature, or {@code null} when the text yields fewer shingles
+     *     than the configured minimum (too little text to compare reliably)
+     */
+    int[] sign(String title, String abstractText) {
+        List<String> tokens = tokens(title);
+        tokens.addAll(tokens(abstractText));
+        int shingleCount = tokens.size() - shingleSize + 1;
+        if (shingleCount < minShingles) {
+            return null;
+        }
+
+        long[] tokenHashes = new long[tokens.size()];
+        for (int i = 0; i < tokenHashes.length; i++) {
+            tokenHashes[i] = hash(tokens.get(i));
+        }
+
+        int[] signature = new int[numHashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int start = 0; start < shingleCount; start++) {
+            long shingle = 0;
+            for (int j = 0; j < shingleSize; j++) {
+                shingle = shingle * 0x9e3779b97f4a7c15L + tokenHashes[start + j];
+            }
+            shingle = mix(shingle);
+            for (int i = 0; i < numHashes; i++) {
+                int value = (int) ((multipliers[i] * shingle + addends[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static long hash(String token) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            h ^= token.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /** MurmurHash3 64-bit finalizer. */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
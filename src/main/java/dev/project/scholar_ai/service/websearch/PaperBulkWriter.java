@@ -0,0 +1,228 @@
+package dev.project.scholar_ai.service.websearch;
+
+import dev.project.scholar_ai.enums.ExtractionStatus;
+import dev.project.scholar_ai.model.paper.metadata.Author;
+import dev.project.scholar_ai.model.paper.metadata.ExternalId;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.model.paper.metadata.PaperMetrics;
+import dev.project.scholar_ai.model.paper.metadata.PublicationVenue;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk ingest path for paper metadata graphs.
+ *
+ * <p>Writes papers and their authors, external IDs, venues and metrics with JDBC
+ * batches instead of one cascaded {@code save} per paper. IDs are generated on
+ * the application side so child rows can be batched in the same pass, and the
+ * PostgreSQL driver's {@code reWriteBatchedInserts} turns every batch into
+ * multi-row inserts.
+ */
+@Slf4j
+@Component
+public class PaperBulkWriter {
+
+    private static final String INSERT_PAPER = "INSERT INTO papers (id, correlation_id, title, abstractText,"
+            + " publication_date, doi, semantic_scholar_id, source, pdf_content_url, pdf_url, is_open_access,"
+            + " paper_url, publication_types, fields_of_study, extraction_status)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] PAPER_TYPES = {
+        Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.VARCHAR, Types.VARCHAR,
+        Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+        Types.VARCHAR
+    };
+
+    private static final String INSERT_AUTHOR =
+            "INSERT INTO authors (id, paper_id, name, author_id, orcid, affiliation) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int[] AUTHOR_TYPES = {
+        Types.OTHER, Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR
+    };
+
+    private static final String INSERT_EXTERNAL_ID =
+            "INSERT INTO external_ids (id, paper_id, source, value) VALUES (?, ?, ?, ?)";
+    private static final int[] EXTERNAL_ID_TYPES = {Types.OTHER, Types.OTHER, Types.VARCHAR, Types.VARCHAR};
+
+    private static final String INSERT_VENUE = "INSERT INTO publication_venues"
+            + " (id, paper_id, venue_name, publisher, volume, issue, pages) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] VENUE_TYPES = {
+        Types.OTHER, Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR
+    };
+
+    private static final String INSERT_METRICS = "INSERT INTO paper_metrics"
+            + " (id, paper_id, citation_count, reference_count, influential_citation_count) VALUES (?, ?, ?, ?, ?)";
+    private static final int[] METRICS_TYPES = {Types.OTHER, Types.OTHER, Types.INTEGER, Types.INTEGER, Types.INTEGER};
+
+    // (project_id, paper_id) is the only unique key besides the generated id, so a
+    // conflict always means "already a member"
+    private static final String LINK_PROJECT_PAPER =
+            "INSERT INTO project_papers (id, project_id, paper_id, correlation_id, added_at) VALUES (?, ?, ?, ?, ?)"
+                    + " ON CONFLICT DO NOTHING";
+    private static final int[] LINK_TYPES = {Types.OTHER, Types.OTHER, Types.OTHER, Types.VARCHAR, Types.TIMESTAMP};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public PaperBulkWriter(
+            @Qualifier("paperJdbcTemplate") JdbcTemplate jdbcTemplate,
+            @Value("${scholarai.paper.ingest.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("scholarai.paper.ingest.chunk-size must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Inserts the given papers with their child rows in chunks of the configured
+     * size. Missing IDs are generated here and written back to the entities, so
+     * the returned papers carry the persisted IDs.
+     *
+     * <p>Runs on the caller's transaction when one is active on the paper data
+     * source.
+     *
+     * @param papers Mapped paper entities (with authors, external IDs, venue and metrics)
+     * @return The same papers with IDs assigned
+     */
+    public List<Paper> insertPapers(List<Paper> papers) {
+        for (int from = 0; from < papers.size(); from += chunkSize) {
+            List<Paper> chunk = papers.subList(from, Math.min(from + chunkSize, papers.size()));
+            insertChunk(chunk);
+            log.debug("Bulk inserted papers {}-{} of {}", from + 1, from + chunk.size(), papers.size());
+        }
+        return papers;
+    }
+
+    /**
+     * Adds papers to a project's library. Papers that are already members of the
+     * project keep their original membership (and contributing search).
+     *
+     * @param projectId The project whose library receives the papers
+     * @param correlationId The search operation contributing the papers
+     * @param paperIds IDs of persisted papers
+     */
+    public void linkPapersToProject(UUID projectId, String correlationId, Collection<UUID> paperIds) {
+        Timestamp addedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(paperIds.size());
+        for (UUID paperId : paperIds) {
+            rows.add(new Object[] {UUID.randomUUID(), projectId, paperId, correlationId, addedAt});
+        }
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            batchInsert(LINK_PROJECT_PAPER, rows.subList(from, Math.min(from + chunkSize, rows.size())), LINK_TYPES);
+        }
+        log.debug("Linked {} papers to project {} for correlation ID {}", rows.size(), projectId, correlationId);
+    }
+
+    private void insertChunk(List<Paper> chunk) {
+        List<Object[]> paperRows = new ArrayList<>(chunk.size());
+        List<Object[]> authorRows = new ArrayList<>();
+        List<Object[]> externalIdRows = new ArrayList<>();
+        List<Object[]> venueRows = new ArrayList<>();
+        List<Object[]> metricsRows = new ArrayList<>();
+
+        for (Paper paper : chunk) {
+            if (paper.getId() == null) {
+                paper.setId(UUID.randomUUID());
+            }
+            UUID paperId = paper.getId();
+            ExtractionStatus status =
+                    paper.getExtractionStatus() != null ? paper.getExtractionStatus() : ExtractionStatus.PENDING;
+
+            paperRows.add(new Object[] {
+                paperId,
+                paper.getCorrelationId(),
+                paper.getTitle(),
+                paper.getAbstractText(),
+                paper.getPublicationDate(),
+                paper.getDoi(),
+                paper.getSemanticScholarId(),
+                paper.getSource(),
+                paper.getPdfContentUrl(),
+                paper.getPdfUrl(),
+                paper.getIsOpenAccess(),
+                paper.getPaperUrl(),
+                paper.getPublicationTypes(),
+                paper.getFieldsOfStudy(),
+                status.name()
+            });
+
+            if (paper.getAuthors() != null) {
+                for (Author author : paper.getAuthors()) {
+                    author.setId(newIdIfMissing(author.getId()));
+                    author.setPaper(paper);
+                    authorRows.add(new Object[] {
+                        author.getId(),
+                        paperId,
+                        author.getName(),
+                        author.getAuthorId(),
+                        author.getOrcid(),
+                        author.getAffiliation()
+                    });
+                }
+            }
+
+            if (paper.getExternalIds() != null) {
+                for (ExternalId externalId : paper.getExternalIds()) {
+                    externalId.setId(newIdIfMissing(externalId.getId()));
+                    externalId.setPaper(paper);
+                    externalIdRows.add(
+                            new Object[] {externalId.getId(), paperId, externalId.getSource(), externalId.getValue()});
+                }
+            }
+
+            PublicationVenue venue = paper.getVenue();
+            if (venue != null) {
+                venue.setId(newIdIfMissing(venue.getId()));
+                venue.setPaper(paper);
+                venueRows.add(new Object[] {
+                    venue.getId(),
+                    paperId,
+                    venue.getVenueName(),
+                    venue.getPublisher(),
+                    venue.getVolume(),
+                    venue.getIssue(),
+                    venue.getPages()
+                });
+            }
+
+            PaperMetrics metrics = paper.getMetrics();
+            if (metrics != null) {
+                metrics.setId(newIdIfMissing(metrics.getId()));
+                metrics.setPaper(paper);
+                metricsRows.add(new Object[] {
+                    metrics.getId(),
+                    paperId,
+                    metrics.getCitationCount(),
+                    metrics.getReferenceCount(),
+                    metrics.getInfluentialCitationCount()
+                });
+            }
+        }
+
+        // Parents first so the child foreign keys resolve
+        batchInsert(INSERT_PAPER, paperRows, PAPER_TYPES);
+        batchInsert(INSERT_AUTHOR, authorRows, AUTHOR_TYPES);
+        batchInsert(INSERT_EXTERNAL_ID, externalIdRows, EXTERNAL_ID_TYPES);
+        batchInsert(INSERT_VENUE, venueRows, VENUE_TYPES);
+        batchInsert(INSERT_METRICS, metricsRows, METRICS_TYPES);
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows, int[] argTypes) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows, argTypes);
+        }
+    }
+
+    private static UUID newIdIfMissing(UUID id) {
+        return id != null ? id : UUID.randomUUID();
+    }
+}
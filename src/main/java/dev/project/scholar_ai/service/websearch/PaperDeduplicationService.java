@@ -1,11 +1,18 @@
 package dev.project.scholar_ai.service.websearch;
 
 import dev.project.scholar_ai.dto.paper.metadata.PaperMetadataDto;
+import dev.project.scholar_ai.model.paper.metadata.ExternalId;
 import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.paper.ExternalIdRepository;
 import dev.project.scholar_ai.repository.paper.PaperRepository;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,6 +25,9 @@ import org.springframework.util.StringUtils;
 public class PaperDeduplicationService {
 
     private final PaperRepository paperRepository;
+    private final ExternalIdRepository externalIdRepository;
+    private final PaperIdentifierIndex paperIdentifierIndex;
+    private final PaperSimilarityIndex paperSimilarityIndex;
 
     /**
      * Checks if a paper already exists in the database based on DOI or external
@@ -85,7 +95,7 @@ public class PaperDeduplicationService {
      * @param source The external ID source
      * @return true if the source is reliable for deduplication
      */
-    private boolean isReliableExternalIdSource(String source) {
+    static boolean isReliableExternalIdSource(String source) {
         if (!StringUtils.hasText(source)) {
             return false;
         }
@@ -106,6 +116,196 @@ public class PaperDeduplicationService {
                 sourceLower.equals("crossref");
     }
 
+    /**
+     * Resolves existing papers for a whole batch of DTOs using a constant number of
+     * set queries (one for DOIs, one for Semantic Scholar IDs and one for external
+     * IDs), independent of the batch size.
+     *
+     * <p>Match precedence per DTO is the same as {@link #findExistingPaper}: DOI
+     * first, then Semantic Scholar ID, then reliable external IDs in map order.
+     *
+     * <p>Identifiers that the {@link PaperIdentifierIndex} reports as definitely
+     * absent are left out of the set queries; a batch of brand-new papers usually
+     * needs no query at all.
+     *
+     * <p>When near-duplicate detection is enabled, DTOs without an identifier
+     * match go through a fourth tier: a MinHash/LSH lookup over title and
+     * abstract against {@link PaperSimilarityIndex}.
+     *
+     * @param paperDtos The paper DTOs to check for duplicates
+     * @return Map from each DTO that has a match to the existing paper
+     */
+    @Transactional(readOnly = true, transactionManager = "paperTransactionManager")
+    public Map<PaperMetadataDto, Paper> findExistingPapers(List<PaperMetadataDto> paperDtos) {
+        Set<String> dois = new HashSet<>();
+        Set<String> semanticScholarIds = new HashSet<>();
+        Set<String> externalIdSources = new HashSet<>();
+        Set<String> externalIdValues = new HashSet<>();
+        Set<String> externalIdKeys = new HashSet<>();
+        boolean indexed = paperIdentifierIndex.isReady();
+
+        // 1. Collect every identifier in the batch that the index cannot rule out
+        for (PaperMetadataDto dto : paperDtos) {
+            if (StringUtils.hasText(dto.doi()) && (!indexed || paperIdentifierIndex.mightContainDoi(dto.doi()))) {
+                dois.add(dto.doi());
+            }
+            if (StringUtils.hasText(dto.semanticScholarId())
+                    && (!indexed || paperIdentifierIndex.mightContainSemanticScholarId(dto.semanticScholarId()))) {
+                semanticScholarIds.add(dto.semanticScholarId());
+            }
+            reliableExternalIds(dto).forEach((source, value) -> {
+                if (!indexed || paperIdentifierIndex.mightContainExternalId(source, value)) {
+                    externalIdSources.add(source);
+                    externalIdValues.add(value);
+                    externalIdKeys.add(externalIdKey(source, value));
+                }
+            });
+        }
+
+        // 2. Resolve each identifier kind with a single set query
+        Map<String, Paper> papersByDoi = new HashMap<>();
+        if (!dois.isEmpty()) {
+            paperRepository.findByDoiIn(dois).forEach(paper -> papersByDoi.putIfAbsent(paper.getDoi(), paper));
+        }
+
+        Map<String, Paper> papersBySemanticScholarId = new HashMap<>();
+        if (!semanticScholarIds.isEmpty()) {
+            paperRepository
+                    .findBySemanticScholarIdIn(semanticScholarIds)
+                    .forEach(paper -> papersBySemanticScholarId.putIfAbsent(paper.getSemanticScholarId(), paper));
+        }
+
+        Map<String, Paper> papersByExternalId = new HashMap<>();
+        if (!externalIdSources.isEmpty()) {
+            for (ExternalId externalId :
+                    externalIdRepository.findWithPaperBySourceInAndValueIn(externalIdSources, externalIdValues)) {
+                papersByExternalId.putIfAbsent(
+                        externalIdKey(externalId.getSource(), externalId.getValue()), externalId.getPaper());
+            }
+        }
+
+        if (indexed) {
+            recordFalsePositives(
+                    dois,
+                    papersByDoi,
+                    semanticScholarIds,
+                    papersBySemanticScholarId,
+                    externalIdKeys,
+                    papersByExternalId);
+        }
+
+        // 3. Apply the DOI > Semantic Scholar ID > external ID precedence per DTO
+        Map<PaperMetadataDto, Paper> matches = new LinkedHashMap<>();
+        for (PaperMetadataDto dto : paperDtos) {
+            Paper match = StringUtils.hasText(dto.doi()) ? papersByDoi.get(dto.doi()) : null;
+
+            if (match == null && StringUtils.hasText(dto.semanticScholarId())) {
+                match = papersBySemanticScholarId.get(dto.semanticScholarId());
+            }
+
+            if (match == null) {
+                for (Map.Entry<String, String> entry : reliableExternalIds(dto).entrySet()) {
+                    match = papersByExternalId.get(externalIdKey(entry.getKey(), entry.getValue()));
+                    if (match != null) {
+                        break;
+                    }
+                }
+            }
+
+            if (match != null) {
+                matches.put(dto, match);
+            }
+        }
+
+        // 4. Optional near-duplicate tier for whatever the identifiers did not resolve
+        if (paperSimilarityIndex.isEnabled()) {
+            matches.putAll(findNearDuplicates(paperDtos, matches));
+        }
+
+        log.debug(
+                "Batch deduplication resolved {} of {} papers ({} DOIs, {} Semantic Scholar IDs, {} external ID values)",
+                matches.size(),
+                paperDtos.size(),
+                dois.size(),
+                semanticScholarIds.size(),
+                externalIdValues.size());
+
+        return matches;
+    }
+
+    private Map<PaperMetadataDto, Paper> findNearDuplicates(
+            List<PaperMetadataDto> paperDtos, Map<PaperMetadataDto, Paper> identifierMatches) {
+        Map<PaperMetadataDto, UUID> nearDuplicateIds = new LinkedHashMap<>();
+        for (PaperMetadataDto dto : paperDtos) {
+            if (!identifierMatches.containsKey(dto)) {
+                paperSimilarityIndex
+                        .findNearDuplicate(dto.title(), dto.abstractText())
+                        .ifPresent(nearDuplicate -> {
+                            log.debug(
+                                    "Near-duplicate candidate for '{}': paper {} (similarity {})",
+                                    dto.title(),
+                                    nearDuplicate.paperId(),
+                                    nearDuplicate.similarity());
+                            nearDuplicateIds.put(dto, nearDuplicate.paperId());
+                        });
+            }
+        }
+
+        Map<PaperMetadataDto, Paper> matches = new LinkedHashMap<>();
+        if (nearDuplicateIds.isEmpty()) {
+            return matches;
+        }
+        Map<UUID, Paper> papersById = new HashMap<>();
+        paperRepository
+                .findAllById(new HashSet<>(nearDuplicateIds.values()))
+                .forEach(paper -> papersById.put(paper.getId(), paper));
+        nearDuplicateIds.forEach((dto, paperId) -> {
+            Paper paper = papersById.get(paperId);
+            if (paper != null) {
+                matches.put(dto, paper);
+            }
+        });
+        return matches;
+    }
+
+    private void recordFalsePositives(
+            Set<String> dois,
+            Map<String, Paper> papersByDoi,
+            Set<String> semanticScholarIds,
+            Map<String, Paper> papersBySemanticScholarId,
+            Set<String> externalIdKeys,
+            Map<String, Paper> papersByExternalId) {
+        paperIdentifierIndex.recordFalsePositives(PaperIdentifierIndex.KIND_DOI, dois.size() - papersByDoi.size());
+        paperIdentifierIndex.recordFalsePositives(
+                PaperIdentifierIndex.KIND_SEMANTIC_SCHOLAR_ID,
+                semanticScholarIds.size() - papersBySemanticScholarId.size());
+        paperIdentifierIndex.recordFalsePositives(PaperIdentifierIndex.KIND_EXTERNAL_ID, (int) externalIdKeys.stream()
+                .filter(key -> !papersByExternalId.containsKey(key))
+                .count());
+    }
+
+    /**
+     * Returns the reliable external IDs of a DTO as (source, value) pairs,
+     * preserving the DTO's map order.
+     */
+    private Map<String, String> reliableExternalIds(PaperMetadataDto paperDto) {
+        Map<String, String> reliable = new LinkedHashMap<>();
+        if (paperDto.externalIds() == null) {
+            return reliable;
+        }
+        paperDto.externalIds().forEach((source, rawValue) -> {
+            String value = rawValue != null ? rawValue.toString() : null;
+            if (StringUtils.hasText(value) && isReliableExternalIdSource(source)) {
+                reliable.put(source, value);
+            }
+        });
+        return reliable;
+    }
+
+    private static String externalIdKey(String source, String value) {
+        return source + ':' + value;
+    }
+
     /**
      * Filters out papers that already exist in the database.
      *
@@ -114,15 +314,17 @@ public class PaperDeduplicationService {
      */
     @Transactional(readOnly = true, transactionManager = "paperTransactionManager")
     public List<PaperMetadataDto> filterNewPapers(List<PaperMetadataDto> paperDtos) {
+        Map<PaperMetadataDto, Paper> existingPapers = findExistingPapers(paperDtos);
+
         return paperDtos.stream()
                 .filter(dto -> {
-                    Optional<Paper> existing = findExistingPaper(dto);
-                    if (existing.isPresent()) {
+                    Paper existing = existingPapers.get(dto);
+                    if (existing != null) {
                         log.info(
                                 "Skipping duplicate paper: '{}' (DOI: {}) - Already exists with ID: {}",
                                 dto.title(),
                                 dto.doi(),
-                                existing.get().getId());
+                                existing.getId());
                         return false;
                     }
                     return true;
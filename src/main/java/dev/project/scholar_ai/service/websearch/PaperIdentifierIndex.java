@@ -0,0 +1,323 @@
+package dev.project.scholar_ai.service.websearch;
+
+import dev.project.scholar_ai.model.paper.metadata.ExternalId;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-process bloom index over the identifiers used for paper deduplication:
+ * DOIs, Semantic Scholar IDs and reliable external IDs.
+ *
+ * <p>A negative answer is definite, so {@link PaperDeduplicationService} can
+ * drop those identifiers from its database probes. A positive answer only
+ * means "maybe" and still goes through the exact check. Until the first build
+ * has finished every lookup answers "maybe", so deduplication stays correct
+ * while the index warms up.
+ *
+ * <p>The index is warm-started from the {@code papers} and {@code external_ids}
+ * tables once the application is ready, kept current by
+ * {@link #addPapersAfterCommit} and can be rebuilt on demand.
+ */
+@Slf4j
+@Component
+public class PaperIdentifierIndex {
+
+    static final String KIND_DOI = "doi";
+    static final String KIND_SEMANTIC_SCHOLAR_ID = "semantic_scholar_id";
+    static final String KIND_EXTERNAL_ID = "external_id";
+
+    private static final String COUNT_IDENTIFIERS =
+            "SELECT (SELECT COUNT(doi) + COUNT(semantic_scholar_id) FROM papers)"
+                    + " + (SELECT COUNT(*) FROM external_ids)";
+    private static final String SCAN_PAPERS =
+            "SELECT doi, semantic_scholar_id FROM papers WHERE doi IS NOT NULL OR semantic_scholar_id IS NOT NULL";
+    private static final String SCAN_EXTERNAL_IDS = "SELECT source, value FROM external_ids";
+
+    private final JdbcTemplate scanTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    private volatile IdentifierBloomFilter filter;
+    private volatile IdentifierBloomFilter pendingFilter;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong negatives = new AtomicLong();
+    private final AtomicLong maybes = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final Map<String, Counter> lookupCounters = new LinkedHashMap<>();
+    private final Map<String, Counter> falsePositiveCounters = new LinkedHashMap<>();
+
+    public PaperIdentifierIndex(
+            @Qualifier("paperJdbcTemplate") JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${scholarai.dedup.index.expected-insertions:2000000}") long expectedInsertions,
+            @Value("${scholarai.dedup.index.false-positive-probability:0.01}") double falsePositiveProbability) {
+        // Dedicated template so the warm-up scan can stream with a large fetch size
+        this.scanTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.scanTemplate.setFetchSize(10_000);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+
+        for (String kind : new String[] {KIND_DOI, KIND_SEMANTIC_SCHOLAR_ID, KIND_EXTERNAL_ID}) {
+            for (String result : new String[] {"absent", "maybe"}) {
+                lookupCounters.put(
+                        kind + result,
+                        Counter.builder("scholarai.dedup.index.lookups")
+                                .description("Identifier index lookups by answer")
+                                .tag("kind", kind)
+                                .tag("result", result)
+                                .register(meterRegistry));
+            }
+            falsePositiveCounters.put(
+                    kind,
+                    Counter.builder("scholarai.dedup.index.false.positives")
+                            .description("Maybe answers that the database did not confirm")
+                            .tag("kind", kind)
+                            .register(meterRegistry));
+        }
+        Gauge.builder("scholarai.dedup.index.hit.rate", this, PaperIdentifierIndex::hitRate)
+                .description("Share of lookups answered as definitely absent (database probe skipped)")
+                .register(meterRegistry);
+        Gauge.builder("scholarai.dedup.index.false.positive.rate", this, PaperIdentifierIndex::falsePositiveRate)
+                .description("Share of maybe answers that turned out to be absent")
+                .register(meterRegistry);
+        Gauge.builder("scholarai.dedup.index.entries", this, index -> {
+                    IdentifierBloomFilter current = index.filter;
+                    return current != null ? current.insertions() : 0;
+                })
+                .description("Identifiers inserted into the index since the last build")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Warm-starts the index off the startup thread so a large paper table does
+     * not delay readiness. Lookups answer "maybe" until the build completes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuildAsync();
+    }
+
+    /**
+     * Starts a rebuild on a background thread unless one is already scheduled
+     * or running.
+     *
+     * @return Whether a new rebuild was started
+     */
+    public boolean rebuildAsync() {
+        if (!rebuildScheduled.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofVirtual().name("paper-identifier-index-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Failed to rebuild paper identifier index; deduplication will query the database", e);
+            } finally {
+                rebuildScheduled.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Rebuilds the index from the paper database and swaps it in atomically.
+     * Identifiers added while the scan is running are written to both the old and
+     * the new filter, so nothing saved during a rebuild is lost.
+     *
+     * @return Number of identifiers loaded from the database
+     */
+    public synchronized long rebuild() {
+        long start = System.currentTimeMillis();
+        Long identifierCount = scanTemplate.queryForObject(COUNT_IDENTIFIERS, Long.class);
+        long capacity = Math.max(expectedInsertions, 2 * (identifierCount != null ? identifierCount : 0));
+
+        IdentifierBloomFilter next = new IdentifierBloomFilter(capacity, falsePositiveProbability);
+        pendingFilter = next;
+        try {
+            scanTemplate.query(SCAN_PAPERS, (RowCallbackHandler) rs -> {
+                putIfText(next, KIND_DOI, rs.getString(1));
+                putIfText(next, KIND_SEMANTIC_SCHOLAR_ID, rs.getString(2));
+            });
+            scanTemplate.query(SCAN_EXTERNAL_IDS, (RowCallbackHandler) rs -> {
+                String source = rs.getString(1);
+                if (PaperDeduplicationService.isReliableExternalIdSource(source)) {
+                    putIfText(next, KIND_EXTERNAL_ID, externalIdKey(source, rs.getString(2)));
+                }
+            });
+            filter = next;
+        } finally {
+            pendingFilter = null;
+        }
+
+        log.info(
+                "Built paper identifier index with {} identifiers (capacity {}, {} bits, {} hashes) in {} ms",
+                next.insertions(),
+                capacity,
+                next.bitCount(),
+                next.hashCount(),
+                System.currentTimeMillis() - start);
+        return next.insertions();
+    }
+
+    /**
+     * Adds the identifiers of papers saved in the current transaction once it
+     * commits, or right away when no transaction is active. Adding them before
+     * the commit would let a concurrent {@link #rebuild()} scan the table
+     * without those rows and swap in a filter that lacks them; after the commit
+     * either the scan sees the rows or the identifiers reach its pending filter.
+     */
+    public void addPapersAfterCommit(Collection<Paper> papers) {
+        if (papers.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addPapers(papers);
+            return;
+        }
+        List<Paper> committed = List.copyOf(papers);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addPapers(committed);
+            }
+        });
+    }
+
+    /**
+     * Adds the identifiers of persisted papers to the index, and to the filter
+     * being built when a rebuild is running.
+     */
+    public void addPapers(Collection<Paper> papers) {
+        for (Paper paper : papers) {
+            put(KIND_DOI, paper.getDoi());
+            put(KIND_SEMANTIC_SCHOLAR_ID, paper.getSemanticScholarId());
+            if (paper.getExternalIds() != null) {
+                for (ExternalId externalId : paper.getExternalIds()) {
+                    if (PaperDeduplicationService.isReliableExternalIdSource(externalId.getSource())
+                            && StringUtils.hasText(externalId.getValue())) {
+                        put(KIND_EXTERNAL_ID, externalIdKey(externalId.getSource(), externalId.getValue()));
+                    }
+                }
+            }
+        }
+    }
+
+    public boolean mightContainDoi(String doi) {
+        return mightContain(KIND_DOI, doi);
+    }
+
+    public boolean mightContainSemanticScholarId(String semanticScholarId) {
+        return mightContain(KIND_SEMANTIC_SCHOLAR_ID, semanticScholarId);
+    }
+
+    public boolean mightContainExternalId(String source, String value) {
+        return mightContain(KIND_EXTERNAL_ID, externalIdKey(source, value));
+    }
+
+    /**
+     * Records "maybe" answers that the exact database check did not confirm.
+     *
+     * @param kind One of the identifier kinds of this index
+     * @param count Number of unconfirmed maybe answers
+     */
+    public void recordFalsePositives(String kind, int count) {
+        if (count > 0) {
+            falsePositives.addAndGet(count);
+            falsePositiveCounters.get(kind).increment(count);
+        }
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    /**
+     * Snapshot of the index state and its lookup statistics.
+     */
+    public Map<String, Object> stats() {
+        IdentifierBloomFilter current = filter;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", current != null);
+        stats.put("rebuilding", rebuildScheduled.get() || pendingFilter != null);
+        stats.put("entries", current != null ? current.insertions() : 0);
+        stats.put("capacity", current != null ? current.expectedInsertions() : 0);
+        stats.put("lookups", lookups.get());
+        stats.put("definiteNegatives", negatives.get());
+        stats.put("maybes", maybes.get());
+        stats.put("falsePositives", falsePositives.get());
+        stats.put("hitRate", hitRate());
+        stats.put("falsePositiveRate", falsePositiveRate());
+        return stats;
+    }
+
+    double hitRate() {
+        long total = lookups.get();
+        return total == 0 ? 0.0 : (double) negatives.get() / total;
+    }
+
+    double falsePositiveRate() {
+        long total = maybes.get();
+        return total == 0 ? 0.0 : (double) falsePositives.get() / total;
+    }
+
+    private boolean mightContain(String kind, String identifier) {
+        IdentifierBloomFilter current = filter;
+        if (current == null) {
+            // Not built yet: fall through to the exact check, and keep it out of the stats
+            return true;
+        }
+        boolean maybe = current.mightContain(kind + ':' + identifier);
+        lookups.incrementAndGet();
+        (maybe ? maybes : negatives).incrementAndGet();
+        lookupCounters.get(kind + (maybe ? "maybe" : "absent")).increment();
+        return maybe;
+    }
+
+    private void put(String kind, String identifier) {
+        if (!StringUtils.hasText(identifier)) {
+            return;
+        }
+        String key = kind + ':' + identifier;
+        // Read the pending filter first: rebuild() publishes the new filter before
+        // clearing the pending one, so one of the two reads always sees it
+        IdentifierBloomFilter pending = pendingFilter;
+        if (pending != null) {
+            pending.put(key);
+        }
+        IdentifierBloomFilter current = filter;
+        if (current != null && current != pending) {
+            current.put(key);
+        }
+    }
+
+    private static void putIfText(IdentifierBloomFilter target, String kind, String identifier) {
+        if (StringUtils.hasText(identifier)) {
+            target.put(kind + ':' + identifier);
+        }
+    }
+
+    private static String externalIdKey(String source, String value) {
+        return source + ':' + value;
+    }
+}
@@ -1,12 +1,19 @@
 package dev.project.scholar_ai.service.websearch;
 
+import dev.project.scholar_ai.dto.event.WebSearchCompletedEvent;
 import dev.project.scholar_ai.dto.paper.metadata.PaperMetadataDto;
 import dev.project.scholar_ai.mapping.paper.PaperMapper;
 import dev.project.scholar_ai.model.paper.metadata.Paper;
-import dev.project.scholar_ai.repository.core.websearch.WebSearchOperationRepository;
-import dev.project.scholar_ai.repository.paper.PaperRepository;
-import java.util.Collections;
+import dev.project.scholar_ai.repository.paper.ProjectPaperRepository;
+import dev.project.scholar_ai.repository.paper.projection.AuthorRow;
+import dev.project.scholar_ai.repository.paper.projection.ExternalIdRow;
+import dev.project.scholar_ai.repository.paper.projection.PaperRow;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,110 +25,154 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class PaperPersistenceService {
 
-    private final PaperRepository paperRepository;
+    private final ProjectPaperRepository projectPaperRepository;
     private final PaperMapper paperMapper;
-    private final WebSearchOperationRepository webSearchOperationRepository;
     private final PaperDeduplicationService paperDeduplicationService;
-
+    private final PaperBulkWriter paperBulkWriter;
+    private final PaperIdentifierIndex paperIdentifierIndex;
+    private final PaperSimilarityIndex paperSimilarityIndex;
+
+    /**
+     * Persists the papers of a completed search and adds every one of them to the
+     * project's library. Papers that already exist (found by deduplication) are
+     * linked to the project instead of being dropped.
+     *
+     * @param paperDtos Papers returned by the search
+     * @param correlationId The search operation
+     * @param projectId The project that ran the search
+     * @return The newly inserted papers
+     */
     @Transactional(transactionManager = "paperTransactionManager")
-    public List<Paper> savePapers(List<PaperMetadataDto> paperDtos, String correlationId) {
+    public List<Paper> savePapers(List<PaperMetadataDto> paperDtos, String correlationId, UUID projectId) {
         log.info("Persisting {} papers for correlation ID {}", paperDtos.size(), correlationId);
 
-        // Filter out duplicate papers before processing
-        List<PaperMetadataDto> newPapers = paperDeduplicationService.filterNewPapers(paperDtos);
+        // Resolve duplicates up front: they are linked, not re-inserted
+        Map<PaperMetadataDto, Paper> existingPapers = paperDeduplicationService.findExistingPapers(paperDtos);
+        List<PaperMetadataDto> newPapers = paperDtos.stream()
+                .filter(dto -> !existingPapers.containsKey(dto))
+                .toList();
 
-        int duplicateCount = paperDtos.size() - newPapers.size();
-        if (duplicateCount > 0) {
+        if (!existingPapers.isEmpty()) {
             log.info(
-                    "Filtered out {} duplicate papers. Processing {} new papers for correlation ID {}",
-                    duplicateCount,
+                    "Found {} existing papers to link. Processing {} new papers for correlation ID {}",
+                    existingPapers.size(),
                     newPapers.size(),
                     correlationId);
         }
 
-        if (newPapers.isEmpty()) {
-            log.info("No new papers to save for correlation ID {}", correlationId);
-            return Collections.emptyList();
-        }
-
-        return newPapers.stream()
-                .map(dto -> {
-                    try {
+        List<Paper> savedPapers = List.of();
+        if (!newPapers.isEmpty()) {
+            List<Paper> papers = newPapers.stream()
+                    .map(dto -> {
                         Paper paper = paperMapper.toEntity(dto);
                         paper.setCorrelationId(correlationId);
+                        return paper;
+                    })
+                    .toList();
+
+            try {
+                // Batched multi-row inserts for papers and their child tables
+                savedPapers = paperBulkWriter.insertPapers(papers);
+                log.info("Bulk inserted {} new papers for correlation ID {}", savedPapers.size(), correlationId);
+            } catch (Exception e) {
+                log.error(
+                        "Failed to bulk insert {} papers for correlation ID {}. Error: {}",
+                        papers.size(),
+                        correlationId,
+                        e.getMessage(),
+                        e);
+                throw new RuntimeException("Failed to save papers for correlation ID: " + correlationId, e);
+            }
+
+            paperIdentifierIndex.addPapersAfterCommit(savedPapers);
+            paperSimilarityIndex.addPapersAfterCommit(savedPapers);
+        }
 
-                        // Set bidirectional relationships
-                        if (paper.getAuthors() != null) {
-                            paper.getAuthors().forEach(author -> author.setPaper(paper));
-                        }
-
-                        if (paper.getExternalIds() != null) {
-                            paper.getExternalIds().forEach(externalId -> externalId.setPaper(paper));
-                        }
-
-                        if (paper.getVenue() != null) {
-                            paper.getVenue().setPaper(paper);
-                        }
-
-                        if (paper.getMetrics() != null) {
-                            paper.getMetrics().setPaper(paper);
-                        }
-
-                        Paper savedPaper = paperRepository.save(paper);
-                        log.debug(
-                                "Successfully saved new paper: {} (DOI: {})",
-                                savedPaper.getTitle(),
-                                savedPaper.getDoi());
-                        return savedPaper;
-
-                    } catch (Exception e) {
-                        log.error(
-                                "Failed to save paper: {} (DOI: {}). Error: {}",
-                                dto.title(),
-                                dto.doi(),
-                                e.getMessage(),
-                                e);
-                        throw new RuntimeException("Failed to save paper: " + dto.title(), e);
-                    }
-                })
-                .toList();
+        Set<UUID> memberIds = new LinkedHashSet<>();
+        existingPapers.values().forEach(paper -> memberIds.add(paper.getId()));
+        savedPapers.forEach(paper -> memberIds.add(paper.getId()));
+        if (memberIds.isEmpty()) {
+            log.info("No papers to add to project {} for correlation ID {}", projectId, correlationId);
+        } else {
+            paperBulkWriter.linkPapersToProject(projectId, correlationId, memberIds);
+        }
+
+        return savedPapers;
     }
 
+    /**
+     * Persists the papers of a batch of completed searches in one transaction.
+     * Later searches in the batch deduplicate against papers inserted by
+     * earlier ones.
+     *
+     * @param events The completed searches
+     * @return The number of newly inserted papers
+     */
+    @Transactional(transactionManager = "paperTransactionManager")
+    public int saveSearchResults(List<WebSearchCompletedEvent> events) {
+        int inserted = 0;
+        for (WebSearchCompletedEvent event : events) {
+            inserted += savePapers(event.papers(), event.correlationId(), event.projectId())
+                    .size();
+        }
+        return inserted;
+    }
+
+    /**
+     * Papers contributed by one search operation, including existing papers it
+     * linked.
+     */
     @Transactional(readOnly = true, transactionManager = "paperTransactionManager")
     public List<Paper> findPapersByCorrelationId(String correlationId) {
         log.debug("Finding papers for correlation ID {}", correlationId);
-        return paperRepository.findByCorrelationId(correlationId);
+        return projectPaperRepository.findPapersByCorrelationId(correlationId);
     }
 
     @Transactional(readOnly = true, transactionManager = "paperTransactionManager")
     public List<PaperMetadataDto> findPaperDtosByCorrelationId(String correlationId) {
         log.debug("Finding paper DTOs for correlation ID {}", correlationId);
-        List<Paper> papers = paperRepository.findByCorrelationId(correlationId);
-        return papers.stream().map(paperMapper::toDto).toList();
+        return assembleDtos(
+                projectPaperRepository.findPaperRowsByCorrelationId(correlationId),
+                projectPaperRepository.findAuthorRowsByCorrelationId(correlationId),
+                projectPaperRepository.findExternalIdRowsByCorrelationId(correlationId));
     }
 
     @Transactional(readOnly = true, transactionManager = "paperTransactionManager")
     public List<Paper> findPapersByProjectId(UUID projectId) {
         log.debug("Finding papers for project {}", projectId);
-
-        // Get all correlation IDs for this project from WebSearchOperations
-        List<String> correlationIds =
-                webSearchOperationRepository.findByProjectIdOrderBySubmittedAtDesc(projectId).stream()
-                        .map(operation -> operation.getCorrelationId())
-                        .toList();
-
-        if (correlationIds.isEmpty()) {
-            log.debug("No web search operations found for project {}", projectId);
-            return Collections.emptyList();
-        }
-
-        return paperRepository.findByCorrelationIdIn(correlationIds);
+        return projectPaperRepository.findPapersByProjectId(projectId);
     }
 
     @Transactional(readOnly = true, transactionManager = "paperTransactionManager")
     public List<PaperMetadataDto> findPaperDtosByProjectId(UUID projectId) {
         log.debug("Finding paper DTOs for project {}", projectId);
-        List<Paper> papers = findPapersByProjectId(projectId);
-        return papers.stream().map(paperMapper::toDto).toList();
+        return assembleDtos(
+                projectPaperRepository.findPaperRowsByProjectId(projectId),
+                projectPaperRepository.findAuthorRowsByProjectId(projectId),
+                projectPaperRepository.findExternalIdRowsByProjectId(projectId));
+    }
+
+    /**
+     * Builds DTOs from the three projection queries of the read path: one for
+     * papers (with venue and metrics), one for authors and one for external IDs,
+     * however many papers there are.
+     */
+    private List<PaperMetadataDto> assembleDtos(
+            List<PaperRow> papers, List<AuthorRow> authors, List<ExternalIdRow> externalIds) {
+        Map<UUID, List<AuthorRow>> authorsByPaper = new HashMap<>();
+        authors.forEach(author -> authorsByPaper
+                .computeIfAbsent(author.paperId(), id -> new ArrayList<>())
+                .add(author));
+        Map<UUID, List<ExternalIdRow>> externalIdsByPaper = new HashMap<>();
+        externalIds.forEach(externalId -> externalIdsByPaper
+                .computeIfAbsent(externalId.paperId(), id -> new ArrayList<>())
+                .add(externalId));
+
+        return papers.stream()
+                .map(row -> paperMapper.toDto(
+                        row,
+                        authorsByPaper.getOrDefault(row.id(), List.of()),
+                        externalIdsByPaper.getOrDefault(row.id(), List.of())))
+                .toList();
     }
 }
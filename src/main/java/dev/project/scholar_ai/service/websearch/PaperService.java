@@ -15,10 +15,17 @@ import org.springframework.transaction.annotation.Transactional;
 public class PaperService {
 
     private final PaperRepository paperRepository;
+    private final PaperIdentifierIndex paperIdentifierIndex;
+    private final PaperSimilarityIndex paperSimilarityIndex;
 
     @Autowired
-    public PaperService(PaperRepository paperRepository) {
+    public PaperService(
+            PaperRepository paperRepository,
+            PaperIdentifierIndex paperIdentifierIndex,
+            PaperSimilarityIndex paperSimilarityIndex) {
         this.paperRepository = paperRepository;
+        this.paperIdentifierIndex = paperIdentifierIndex;
+        this.paperSimilarityIndex = paperSimilarityIndex;
     }
 
     public List<Paper> getAllPapers() {
@@ -43,7 +50,11 @@ public class PaperService {
         paper.setPublicationDate(paperDetails.getPublicationDate());
         paper.setDoi(paperDetails.getDoi());
 
-        return paperRepository.save(paper);
+        Paper savedPaper = paperRepository.save(paper);
+        // A changed DOI, title or abstract must reach the indexes, or deduplication would miss it
+        paperIdentifierIndex.addPapersAfterCommit(List.of(savedPaper));
+        paperSimilarityIndex.addPapersAfterCommit(List.of(savedPaper));
+        return savedPaper;
     }
 
     public void deletePaper(UUID id) {
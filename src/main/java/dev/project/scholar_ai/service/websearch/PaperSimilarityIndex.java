@@ -0,0 +1,192 @@
+package dev.project.scholar_ai.service.websearch;
+
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Near-duplicate detector over paper titles and abstracts, used as the optional
+ * fourth deduplication tier after DOI, Semantic Scholar ID and external IDs.
+ *
+ * <p>Each paper is reduced to a MinHash signature over normalized word
+ * shingles and indexed in an in-memory LSH band index, so candidate lookup is
+ * a handful of hash probes rather than a {@code LIKE} scan. Candidates are
+ * accepted when their estimated Jaccard similarity reaches the configured
+ * threshold.
+ *
+ * <p>Disabled by default. When enabled, the index is warm-started from the
+ * {@code papers} table once the application is ready; lookups find nothing
+ * until the build completes. Saved papers are added by
+ * {@link #addPapersAfterCommit}.
+ */
+@Slf4j
+@Component
+public class PaperSimilarityIndex {
+
+    private static final String SCAN_PAPERS = "SELECT id, title, abstractText FROM papers";
+
+    /** Fixed so signatures stay comparable across restarts and rebuilds. */
+    private static final long SIGNATURE_SEED = 0x5c4017a1L;
+
+    private final JdbcTemplate scanTemplate;
+    private final boolean enabled;
+    private final double threshold;
+    private final int bands;
+    private final int expectedPapers;
+    private final MinHashSigner signer;
+
+    private volatile MinHashLshIndex index;
+    private volatile MinHashLshIndex pendingIndex;
+
+    public record NearDuplicate(UUID paperId, double similarity) {}
+
+    public PaperSimilarityIndex(
+            @Qualifier("paperJdbcTemplate") JdbcTemplate jdbcTemplate,
+            @Value("${scholarai.dedup.near-duplicate.enabled:false}") boolean enabled,
+            @Value("${scholarai.dedup.near-duplicate.threshold:0.85}") double threshold,
+            @Value("${scholarai.dedup.near-duplicate.num-hashes:60}") int numHashes,
+            @Value("${scholarai.dedup.near-duplicate.bands:12}") int bands,
+            @Value("${scholarai.dedup.near-duplicate.shingle-size:3}") int shingleSize,
+            @Value("${scholarai.dedup.near-duplicate.min-shingles:8}") int minShingles,
+            @Value("${scholarai.dedup.near-duplicate.expected-papers:100000}") int expectedPapers) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("scholarai.dedup.near-duplicate.threshold must be in (0, 1]");
+        }
+        if (bands < 1 || numHashes % bands != 0) {
+            throw new IllegalArgumentException(
+                    "scholarai.dedup.near-duplicate.num-hashes must be a positive multiple of bands");
+        }
+        this.scanTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.scanTemplate.setFetchSize(1_000);
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.bands = bands;
+        this.expectedPapers = expectedPapers;
+        this.signer = new MinHashSigner(numHashes, shingleSize, minShingles, SIGNATURE_SEED);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofVirtual().name("paper-similarity-index-warmup").start(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Failed to warm up paper similarity index; near-duplicate tier stays empty", e);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Rebuilds the index from the paper database and swaps it in. Papers added
+     * while the scan runs are written to both the old and the new index.
+     *
+     * @return Number of papers indexed (papers with too little text are skipped)
+     */
+    public synchronized int rebuild() {
+        long start = System.currentTimeMillis();
+        MinHashLshIndex next = new MinHashLshIndex(signer.numHashes(), bands, expectedPapers);
+        pendingIndex = next;
+        try {
+            scanTemplate.query(SCAN_PAPERS, (RowCallbackHandler) rs -> {
+                int[] signature = signer.sign(rs.getString(2), rs.getString(3));
+                if (signature != null) {
+                    next.add(rs.getObject(1, UUID.class), signature);
+                }
+            });
+            index = next;
+        } finally {
+            pendingIndex = null;
+        }
+        log.info(
+                "Built paper similarity index with {} papers in {} ms",
+                next.size(),
+                System.currentTimeMillis() - start);
+        return next.size();
+    }
+
+    /**
+     * Finds the most similar indexed paper at or above the configured threshold.
+     */
+    public Optional<NearDuplicate> findNearDuplicate(String title, String abstractText) {
+        MinHashLshIndex current = index;
+        if (!enabled || current == null) {
+            return Optional.empty();
+        }
+        int[] signature = signer.sign(title, abstractText);
+        if (signature == null) {
+            return Optional.empty();
+        }
+        MinHashLshIndex.Match match = current.findBest(signature, threshold);
+        return match == null ? Optional.empty() : Optional.of(new NearDuplicate(match.paperId(), match.similarity()));
+    }
+
+    /**
+     * Indexes papers saved in the current transaction once it commits, or
+     * right away when no transaction is active, so a rollback leaves no
+     * entries behind for papers that do not exist.
+     */
+    public void addPapersAfterCommit(Collection<Paper> papers) {
+        if (!enabled || papers.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addPapers(papers);
+            return;
+        }
+        List<Paper> committed = List.copyOf(papers);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addPapers(committed);
+            }
+        });
+    }
+
+    /**
+     * Indexes persisted papers.
+     */
+    public void addPapers(Collection<Paper> papers) {
+        if (!enabled) {
+            return;
+        }
+        for (Paper paper : papers) {
+            int[] signature = signer.sign(paper.getTitle(), paper.getAbstractText());
+            if (signature == null) {
+                continue;
+            }
+            // Pending first: rebuild() publishes the new index before clearing the pending one
+            MinHashLshIndex pending = pendingIndex;
+            if (pending != null) {
+                pending.add(paper.getId(), signature);
+            }
+            MinHashLshIndex current = index;
+            if (current != null && current != pending) {
+                current.add(paper.getId(), signature);
+            }
+        }
+    }
+
+    public int size() {
+        MinHashLshIndex current = index;
+        return current != null ? current.size() : 0;
+    }
+}
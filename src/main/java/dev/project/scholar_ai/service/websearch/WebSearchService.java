@@ -16,7 +16,10 @@ import dev.project.scholar_ai.repository.core.project.ProjectRepository;
 import dev.project.scholar_ai.repository.core.websearch.WebSearchOperationRepository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -67,7 +70,7 @@ public class WebSearchService {
 
             webSearchOperationRepository.save(operation);
 
-            // Create and send the web search request
+            // Queue the request in the same transaction; the outbox relay publishes it after commit
             WebSearchRequest webSearchRequest = new WebSearchRequest(
                     requestDto.projectId(),
                     requestDto.queryTerms(),
@@ -75,7 +78,7 @@ public class WebSearchService {
                     requestDto.batchSize(),
                     correlationId);
 
-            webSearchRequestSender.send(webSearchRequest);
+            webSearchRequestSender.enqueue(webSearchRequest);
 
             // Return response DTO
             return new WebSearchResponseDto(
@@ -119,6 +122,35 @@ public class WebSearchService {
         }
     }
 
+    /**
+     * Marks a batch of search operations completed, loading and saving them in
+     * one statement each.
+     *
+     * @param events The completed searches
+     */
+    @Transactional(transactionManager = "transactionManager")
+    public void updateSearchResults(List<WebSearchCompletedEvent> events) {
+        Map<String, WebSearchOperation> operations =
+                webSearchOperationRepository
+                        .findAllById(events.stream()
+                                .map(WebSearchCompletedEvent::correlationId)
+                                .toList())
+                        .stream()
+                        .collect(Collectors.toMap(WebSearchOperation::getCorrelationId, Function.identity()));
+
+        for (WebSearchCompletedEvent event : events) {
+            WebSearchOperation operation = operations.get(event.correlationId());
+            if (operation != null) {
+                operation.markAsCompleted(event.papers().size());
+            } else {
+                log.warn("No existing search operation found for correlation ID: {}", event.correlationId());
+            }
+        }
+        webSearchOperationRepository.saveAll(operations.values());
+
+        log.info("Updated search results for {} of {} searches", operations.size(), events.size());
+    }
+
     @Transactional(transactionManager = "transactionManager")
     public void markSearchAsFailed(String correlationId, String errorMessage) {
         webSearchOperationRepository
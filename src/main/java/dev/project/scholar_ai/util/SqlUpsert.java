@@ -0,0 +1,127 @@
+package dev.project.scholar_ai.util;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Atomic multi-row upsert of a table keyed by one column.
+ *
+ * <p>On PostgreSQL this is {@code INSERT ... ON CONFLICT (key) DO UPDATE},
+ * which leaves the insert-only columns of an existing row untouched. H2, which
+ * the tests run on, has no {@code DO UPDATE}; there it is the equivalent
+ * {@code MERGE ... USING (VALUES ...)}. This is the one place where the SQL
+ * depends on the database.
+ */
+public class SqlUpsert {
+
+    // Rows per statement; keeps the bind parameters far below the drivers' limits
+    private static final int MAX_ROWS = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final String key;
+    private final List<String> columns;
+    private final Set<String> insertOnlyColumns;
+    // Declared type of each column on H2, null elsewhere; looked up on first use
+    private volatile List<String> h2Types;
+    private volatile boolean databaseKnown;
+
+    /**
+     * @param table Table to write
+     * @param key Column with a unique constraint that identifies a row
+     * @param columns Columns in the order of each row's values, including the key
+     * @param insertOnlyColumns Columns only written when the row is created, such as a creation time
+     */
+    public SqlUpsert(
+            JdbcTemplate jdbcTemplate, String table, String key, List<String> columns, Set<String> insertOnlyColumns) {
+        if (!columns.contains(key)) {
+            throw new IllegalArgumentException("Key column " + key + " is not among the columns of " + table);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.key = key;
+        this.columns = List.copyOf(columns);
+        this.insertOnlyColumns = Set.copyOf(insertOnlyColumns);
+    }
+
+    /**
+     * Inserts the rows, or updates the row with the same key. A key must not
+     * appear twice in one call.
+     *
+     * @param rows Values of each row in column order
+     */
+    public void upsert(List<Object[]> rows) {
+        for (int start = 0; start < rows.size(); start += MAX_ROWS) {
+            List<Object[]> chunk = rows.subList(start, Math.min(rows.size(), start + MAX_ROWS));
+            List<Object> args = new ArrayList<>(chunk.size() * columns.size());
+            for (Object[] row : chunk) {
+                if (row.length != columns.size()) {
+                    throw new IllegalArgumentException(
+                            "Expected " + columns.size() + " values per row of " + table + ", got " + row.length);
+                }
+                Collections.addAll(args, row);
+            }
+            jdbcTemplate.update(sql(chunk.size()), args.toArray());
+        }
+    }
+
+    private String sql(int rowCount) {
+        List<String> types = h2Types();
+        String columnList = String.join(", ", columns);
+        List<String> updated = columns.stream()
+                .filter(column -> !column.equals(key) && !insertOnlyColumns.contains(column))
+                .toList();
+        if (types != null) {
+            // Parameters in VALUES have no type of their own, so cast them to the column types
+            String row =
+                    types.stream().map(type -> "CAST(? AS " + type + ")").collect(Collectors.joining(", ", "(", ")"));
+            return "MERGE INTO " + table + " t USING (VALUES " + String.join(", ", Collections.nCopies(rowCount, row))
+                    + ") AS s (" + columnList + ") ON t." + key + " = s." + key
+                    + (updated.isEmpty() ? "" : " WHEN MATCHED THEN UPDATE SET " + assignments(updated, "s."))
+                    + " WHEN NOT MATCHED THEN INSERT (" + columnList + ") VALUES ("
+                    + columns.stream().map(column -> "s." + column).collect(Collectors.joining(", ")) + ")";
+        }
+        String row = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        return "INSERT INTO " + table + " (" + columnList + ") VALUES "
+                + String.join(", ", Collections.nCopies(rowCount, row)) + " ON CONFLICT (" + key + ")"
+                + (updated.isEmpty() ? " DO NOTHING" : " DO UPDATE SET " + assignments(updated, "EXCLUDED."));
+    }
+
+    private static String assignments(List<String> columns, String source) {
+        return columns.stream().map(column -> column + " = " + source + column).collect(Collectors.joining(", "));
+    }
+
+    private List<String> h2Types() {
+        if (!databaseKnown) {
+            h2Types = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+                if (!"H2".equals(connection.getMetaData().getDatabaseProductName())) {
+                    return null;
+                }
+                Map<String, String> types = new HashMap<>();
+                try (ResultSet rs = connection.getMetaData().getColumns(null, null, null, null)) {
+                    while (rs.next()) {
+                        if (rs.getString("TABLE_NAME").equalsIgnoreCase(table)) {
+                            types.put(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT), rs.getString("TYPE_NAME"));
+                        }
+                    }
+                }
+                return columns.stream()
+                        .map(column ->
+                                Objects.requireNonNull(types.get(column), () -> "No column " + column + " in " + table))
+                        .toList();
+            });
+            databaseKnown = true;
+        }
+        return h2Types;
+    }
+}
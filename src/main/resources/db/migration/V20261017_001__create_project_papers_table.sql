@@ -0,0 +1,20 @@
+-- Migration to create the project_papers membership table (paper database)
+-- A paper is stored once in papers and linked to every project whose searches returned it.
+-- Existing memberships are backfilled by the application (ProjectPaperBackfill) because
+-- projects and search operations live in the core database.
+
+CREATE TABLE IF NOT EXISTS project_papers (
+    id UUID PRIMARY KEY,
+    project_id UUID NOT NULL,
+    paper_id UUID NOT NULL REFERENCES papers(id) ON DELETE CASCADE,
+    correlation_id VARCHAR(100) NOT NULL,
+    added_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    -- A paper appears at most once per project; also serves project_id lookups
+    UNIQUE (project_id, paper_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_project_papers_correlation_id ON project_papers(correlation_id);
+CREATE INDEX IF NOT EXISTS idx_project_papers_paper_id ON project_papers(paper_id);
+
+COMMENT ON TABLE project_papers IS 'Membership of papers in project libraries, with the search operation that contributed each paper';
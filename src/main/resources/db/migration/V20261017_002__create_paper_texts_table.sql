@@ -0,0 +1,35 @@
+-- Migration to move extracted text out of the papers row into a compressed text store (paper database)
+-- Each paper's text is stored once, deflate-compressed, keyed by paper ID. papers keeps only the
+-- text length and checksum. content is a sequence of independently deflated blocks; block_index holds,
+-- per block, the first character, first UTF-8 byte and offset in content (big-endian int triples). Existing text is compressed and moved by the application
+-- (PaperTextBackfill), which then clears papers.extracted_text and extracted_documents.full_text.
+
+CREATE TABLE IF NOT EXISTS paper_texts (
+    paper_id UUID PRIMARY KEY REFERENCES papers(id) ON DELETE CASCADE,
+    codec VARCHAR(16) NOT NULL,
+    char_length INTEGER NOT NULL,
+    byte_length INTEGER NOT NULL,
+    checksum BIGINT NOT NULL,
+    block_index BYTEA NOT NULL,
+    content BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Content is already compressed; skip TOAST compression and store it out of line directly
+ALTER TABLE paper_texts ALTER COLUMN content SET STORAGE EXTERNAL;
+
+ALTER TABLE papers ADD COLUMN IF NOT EXISTS extracted_text_length INTEGER;
+ALTER TABLE papers ADD COLUMN IF NOT EXISTS extracted_text_checksum BIGINT;
+
+-- The duplicate copy is no longer written
+ALTER TABLE extracted_documents ALTER COLUMN full_text DROP NOT NULL;
+
+COMMENT ON TABLE paper_texts IS 'Deflate-compressed extracted text of papers, one row per paper';
+COMMENT ON COLUMN paper_texts.checksum IS 'CRC32C of the uncompressed UTF-8 text';
+COMMENT ON COLUMN paper_texts.block_index IS 'Per compressed block: first char, first UTF-8 byte, offset in content';
+
+-- The two ALTER COLUMN statements above are also applied at startup by PaperSchemaUpgrade, since
+-- hibernate.hbm2ddl.auto=update never relaxes constraints or changes storage.
+-- After PaperTextBackfill has run:
+-- ALTER TABLE papers DROP COLUMN extracted_text;
+-- (extracted_documents.full_text stays, nullable: ExtractedDocument still maps it.)
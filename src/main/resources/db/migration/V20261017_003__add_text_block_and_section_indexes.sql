@@ -0,0 +1,7 @@
+-- Migration for range reads of extracted text (paper database)
+-- paper_texts.block_index (V20261017_002) locates the compressed blocks of a text.
+-- extracted_documents.section_index holds the character range of each structured section.
+
+ALTER TABLE extracted_documents ADD COLUMN IF NOT EXISTS section_index JSONB;
+
+COMMENT ON COLUMN extracted_documents.section_index IS 'Title, start and end character offset of each section';
@@ -0,0 +1,28 @@
+-- Transactional outbox for agent requests (core database)
+-- Requests are inserted in the same transaction as the operation row that caused them and
+-- published to RabbitMQ in confirmed batches by OutboxRelay, which then sets published_at.
+
+CREATE TABLE IF NOT EXISTS outbox_messages (
+    id UUID PRIMARY KEY,
+    exchange VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    correlation_id VARCHAR(100),
+    payload_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    published_at TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT
+);
+
+-- The relay only ever scans unpublished rows, oldest first
+CREATE INDEX IF NOT EXISTS idx_outbox_messages_pending
+    ON outbox_messages(created_at) WHERE published_at IS NULL;
+
+-- Retention pruning of published rows
+CREATE INDEX IF NOT EXISTS idx_outbox_messages_published_at
+    ON outbox_messages(published_at) WHERE published_at IS NOT NULL;
+
+COMMENT ON TABLE outbox_messages IS 'Agent requests awaiting or recently completed publication to RabbitMQ';
+COMMENT ON COLUMN outbox_messages.payload_type IS 'Java type header sent with the JSON payload';
+COMMENT ON COLUMN outbox_messages.attempts IS 'Publish attempts, including the successful one';
@@ -0,0 +1,16 @@
+-- Migration to add the processed-message ledger (paper database)
+-- Result listeners claim "<correlationId>:<paperId>" here in the same transaction as the paper update,
+-- so a redelivered or double-sent result is acknowledged without redoing the update or re-triggering
+-- downstream agents. Rows older than scholarai.messaging.idempotency.retention-hours are pruned by
+-- ProcessedMessageLedger.
+
+CREATE TABLE IF NOT EXISTS processed_messages (
+    consumer VARCHAR(64) NOT NULL,
+    message_key VARCHAR(128) NOT NULL,
+    processed_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (consumer, message_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_messages_processed_at ON processed_messages (processed_at);
+
+COMMENT ON TABLE processed_messages IS 'Result messages already applied, per consumer, for duplicate suppression';
@@ -0,0 +1,22 @@
+-- Migration to track papers through the agent pipeline (paper database)
+-- One row per paper: the current stage (EXTRACTION, STRUCTURING, SUMMARIZATION, GAP_ANALYSIS), the status
+-- within it (QUEUED, COMPLETED, FAILED), how often the stage was requested and when. Maintained by
+-- PaperPipelineService and served per project by GET /api/v1/library/project/{projectId}/pipeline.
+
+CREATE TABLE IF NOT EXISTS paper_pipelines (
+    paper_id UUID PRIMARY KEY REFERENCES papers(id) ON DELETE CASCADE,
+    stage VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempt INTEGER NOT NULL,
+    stage_started_at TIMESTAMP,
+    result_received_at TIMESTAMP,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    version BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_paper_pipelines_stage_status ON paper_pipelines (stage, status);
+
+COMMENT ON TABLE paper_pipelines IS 'Current agent pipeline stage and status of each paper';
+COMMENT ON COLUMN paper_pipelines.stage_started_at IS 'When the current stage was requested; the stage wait timer starts here';
@@ -0,0 +1,30 @@
+-- Migration to store summarization and gap analysis results (paper database)
+-- One row per paper holding the latest result of each agent, plus the identified gaps in reported order.
+-- Written in bulk by AnalysisResultWriter from the completed-result listeners and served by
+-- GET /api/papers/{paperId}/summary and GET /api/papers/{paperId}/gaps.
+
+CREATE TABLE IF NOT EXISTS generated_summaries (
+    paper_id UUID PRIMARY KEY REFERENCES papers(id) ON DELETE CASCADE,
+    summary_text TEXT NOT NULL,
+    correlation_id VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS gap_analyses (
+    paper_id UUID PRIMARY KEY REFERENCES papers(id) ON DELETE CASCADE,
+    gap_count INTEGER NOT NULL,
+    correlation_id VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS gap_analysis_gaps (
+    paper_id UUID NOT NULL REFERENCES gap_analyses(paper_id) ON DELETE CASCADE,
+    position INTEGER NOT NULL,
+    gap_text TEXT NOT NULL,
+    PRIMARY KEY (paper_id, position)
+);
+
+COMMENT ON TABLE generated_summaries IS 'Latest summary produced by the summarization agent for each paper';
+COMMENT ON TABLE gap_analyses IS 'Latest gap analysis produced for each paper; gaps are in gap_analysis_gaps';
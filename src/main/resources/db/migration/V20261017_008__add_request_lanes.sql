@@ -0,0 +1,11 @@
+-- Migration for interactive and bulk request lanes
+-- paper_pipelines.lane: the lane a paper's agent requests are sent in (INTERACTIVE, BULK); later stages
+-- reuse it. Rows written before lanes are read as INTERACTIVE.
+-- outbox_messages.priority (core database): message priority the relay publishes a request with.
+-- The extraction, structuring and web search request queues are now declared with x-max-priority
+-- (scholarai.rabbitmq.lanes.max-priority). RabbitMQ cannot change the arguments of an existing queue:
+-- delete those three queues once, after draining them, before deploying.
+
+ALTER TABLE paper_pipelines ADD COLUMN IF NOT EXISTS lane VARCHAR(20);
+
+ALTER TABLE outbox_messages ADD COLUMN IF NOT EXISTS priority INTEGER;
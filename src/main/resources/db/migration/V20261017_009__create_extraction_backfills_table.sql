@@ -0,0 +1,32 @@
+-- Migration for rate-controlled bulk extraction backfills
+-- extraction_backfills: one row per backfill run. last_paper_id is the keyset cursor (the last paper ID
+-- handled); sent/failed are recorded after every page. lease_owner/lease_expires_at name the instance
+-- working the run, so a restarted or second instance resumes it only once the lease has expired.
+
+CREATE TABLE IF NOT EXISTS extraction_backfills (
+    id UUID PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    requested_by VARCHAR(255) NOT NULL,
+    max_papers INTEGER,
+    total_papers BIGINT NOT NULL,
+    rate_per_second DOUBLE PRECISION NOT NULL,
+    last_paper_id UUID,
+    sent BIGINT NOT NULL,
+    failed BIGINT NOT NULL,
+    last_error VARCHAR(1000),
+    lease_owner VARCHAR(64),
+    lease_expires_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_extraction_backfills_status ON extraction_backfills (status);
+
+-- At most one running backfill, even when two are started at once
+CREATE UNIQUE INDEX IF NOT EXISTS uq_extraction_backfills_running ON extraction_backfills ((status))
+    WHERE status = 'RUNNING';
+
+-- Keyset pagination over extraction candidates in paper ID order
+CREATE INDEX IF NOT EXISTS idx_papers_extraction_candidates ON papers (id)
+    WHERE pdf_url IS NOT NULL AND extracted_text_length IS NULL;
@@ -0,0 +1,12 @@
+-- Migration for resumable one-time data backfills
+-- data_backfill_checkpoints: one row per backfill, e.g. 'project-papers'. cursor_value is the last key
+-- handled (a web search correlation ID for the project_papers backfill) and is recorded after every page;
+-- completed_at is set once the backfill has finished, after which it no longer runs at startup.
+
+CREATE TABLE IF NOT EXISTS data_backfill_checkpoints (
+    name VARCHAR(100) PRIMARY KEY,
+    cursor_value VARCHAR(255),
+    processed BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP
+);
@@ -0,0 +1,230 @@
+package dev.project.scholar_ai.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+class PooledHttpClientTest {
+
+    private static final String ANSWER = "{\"answer\": \"Self-attention replaces recurrence.\"}";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final List<String> receivedBodies = new CopyOnWriteArrayList<>();
+    private final List<String> receivedEncodings = new CopyOnWriteArrayList<>();
+    private final AtomicInteger gzippedResponses = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HttpClientSettings settings = new HttpClientSettings();
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private String baseUrl;
+    private PooledHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/answer", this::answer);
+        server.createContext("/slow", exchange -> {
+            awaitRelease();
+            answer(exchange);
+        });
+        server.createContext("/fail", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        settings.setConnectTimeout(Duration.ofSeconds(2));
+        settings.setReadTimeout(Duration.ofMillis(300));
+        settings.setConnectionRequestTimeout(Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void restTemplate_TargetStopsResponding_FailsAfterReadTimeout() {
+        // Arrange
+        RestTemplate restTemplate = restTemplate();
+        long start = System.nanoTime();
+
+        // Act
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(baseUrl + "/slow", String.class));
+
+        // Assert
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 2_000, "waited " + elapsedMillis + " ms for a 300 ms read timeout");
+    }
+
+    @Test
+    void restTemplate_AllConnectionsBusy_FailsAfterConnectionRequestTimeout() throws Exception {
+        // Arrange
+        settings.setReadTimeout(Duration.ofSeconds(10));
+        settings.setMaxConnections(1);
+        settings.setMaxConnectionsPerRoute(1);
+        RestTemplate restTemplate = restTemplate();
+        Future<String> holder = serverExecutor.submit(() -> restTemplate.getForObject(baseUrl + "/slow", String.class));
+        while (httpClient.poolStats().getLeased() == 0) {
+            Thread.sleep(10);
+        }
+        long start = System.nanoTime();
+
+        // Act
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(baseUrl + "/answer", String.class));
+
+        // Assert
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 2_000, "waited " + elapsedMillis + " ms for a 200 ms pool timeout");
+        release.countDown();
+        assertEquals(ANSWER, holder.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void restTemplate_SequentialRequests_ReuseOneKeptAliveConnection() {
+        // Arrange
+        RestTemplate restTemplate = restTemplate();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertEquals(ANSWER, restTemplate.getForObject(baseUrl + "/answer", String.class));
+        }
+
+        // Assert
+        assertEquals(1, clientPorts.size());
+        assertEquals(1, httpClient.poolStats().getAvailable());
+    }
+
+    @Test
+    void restTemplate_LargeBody_SentGzippedAndGzippedResponseDecoded() {
+        // Arrange
+        settings.setCompressRequestsOverBytes(1024);
+        RestTemplate restTemplate = restTemplate();
+        String large = "The Transformer relies on attention. ".repeat(200);
+
+        // Act
+        String largeAnswer = restTemplate.postForObject(baseUrl + "/answer", large, String.class);
+        String smallAnswer = restTemplate.postForObject(baseUrl + "/answer", "short", String.class);
+
+        // Assert
+        assertEquals(ANSWER, largeAnswer);
+        assertEquals(ANSWER, smallAnswer);
+        assertEquals(List.of(large, "short"), receivedBodies);
+        assertEquals(List.of("gzip", "none"), receivedEncodings);
+        assertEquals(2, gzippedResponses.get());
+    }
+
+    @Test
+    void restTemplate_Requests_RecordedPerTargetWithPoolGauges() {
+        // Arrange
+        settings.setMaxConnections(7);
+        RestTemplate restTemplate = restTemplate();
+
+        // Act
+        restTemplate.getForObject(baseUrl + "/answer", String.class);
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(baseUrl + "/fail", String.class));
+
+        // Assert
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("scholarai.http.client.requests")
+                        .tags("target", "test", "outcome", "success")
+                        .timer()
+                        .count());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("scholarai.http.client.requests")
+                        .tags("target", "test", "outcome", "server_error")
+                        .timer()
+                        .count());
+        assertEquals(
+                7.0,
+                meterRegistry
+                        .get("httpcomponents.httpclient.pool.total.max")
+                        .tag("httpclient", "test")
+                        .gauge()
+                        .value());
+    }
+
+    private RestTemplate restTemplate() {
+        httpClient = new PooledHttpClient("test", settings, meterRegistry);
+        return httpClient.restTemplate(new RestTemplateBuilder());
+    }
+
+    /** Records the request body and its encoding, and answers gzipped when the client accepts it */
+    private void answer(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        try (InputStream body = exchange.getRequestBody()) {
+            InputStream decoded = "gzip".equals(encoding) ? new GZIPInputStream(body) : body;
+            String text = new String(decoded.readAllBytes(), StandardCharsets.UTF_8);
+            if (!text.isEmpty()) {
+                receivedBodies.add(text);
+                receivedEncodings.add(encoding == null ? "none" : encoding);
+            }
+        }
+        byte[] response = ANSWER.getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(response);
+            }
+            response = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            gzippedResponses.incrementAndGet();
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
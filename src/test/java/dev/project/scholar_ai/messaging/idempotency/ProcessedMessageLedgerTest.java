@@ -0,0 +1,207 @@
+package dev.project.scholar_ai.messaging.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ProcessedMessageLedgerTest {
+
+    private record Result(String correlationId, UUID paperId) {}
+
+    private static final String CONSUMER = ProcessedMessageLedger.EXTRACTION_RESULTS;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicReference<String> claimedConcurrently = new AtomicReference<>();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ProcessedMessageLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:ledger-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        // Simulates another consumer committing a claim between the read and the insert
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public int update(String sql, Object... args) {
+                String key = claimedConcurrently.getAndSet(null);
+                if (key != null) {
+                    // On its own connection, outside the ledger's transaction
+                    try (Connection connection = dataSource.getConnection();
+                            PreparedStatement insert = connection.prepareStatement(
+                                    "INSERT INTO processed_messages VALUES (?, ?, NOW())")) {
+                        insert.setString(1, CONSUMER);
+                        insert.setString(2, key);
+                        insert.executeUpdate();
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return super.update(sql, args);
+            }
+        };
+        jdbcTemplate.execute("CREATE TABLE processed_messages (consumer VARCHAR(64) NOT NULL,"
+                + " message_key VARCHAR(128) NOT NULL, processed_at TIMESTAMP NOT NULL,"
+                + " PRIMARY KEY (consumer, message_key))");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        ledger = new ProcessedMessageLedger(jdbcTemplate, meterRegistry, true, 168, 60);
+    }
+
+    @Test
+    void claim_NewMessages_ReturnsAllAndRecordsThem() {
+        // Arrange
+        List<Result> results = List.of(result("c-1"), result("c-2"));
+
+        // Act
+        List<Result> fresh = inTransaction(() -> claim(results));
+
+        // Assert
+        assertEquals(results, fresh);
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_messages", Integer.class));
+        assertEquals(0, suppressed());
+    }
+
+    @Test
+    void claim_Redelivery_ReturnsOnlyUnseenMessagesInOrder() {
+        // Arrange
+        Result first = result("c-1");
+        Result second = result("c-2");
+        inTransaction(() -> claim(List.of(first)));
+
+        // Act
+        List<Result> fresh = inTransaction(() -> claim(List.of(first, second, first)));
+
+        // Assert
+        assertEquals(List.of(second), fresh);
+        assertEquals(2, suppressed());
+    }
+
+    @Test
+    void claim_WithoutCorrelationId_AlwaysApplied() {
+        // Arrange
+        Result anonymous = new Result(null, UUID.randomUUID());
+        inTransaction(() -> claim(List.of(anonymous)));
+
+        // Act
+        List<Result> fresh = inTransaction(() -> claim(List.of(anonymous)));
+
+        // Assert
+        assertEquals(List.of(anonymous), fresh);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_messages", Integer.class));
+    }
+
+    @Test
+    void claim_RolledBack_IsReleasedForTheRetry() {
+        // Arrange
+        Result result = result("c-1");
+        transactionTemplate.executeWithoutResult(status -> {
+            claim(List.of(result));
+            status.setRollbackOnly(); // the paper update failed
+        });
+
+        // Act
+        List<Result> fresh = inTransaction(() -> claim(List.of(result)));
+
+        // Assert
+        assertEquals(List.of(result), fresh);
+        assertEquals(0, suppressed());
+    }
+
+    @Test
+    void claim_BatchPartlyClaimedConcurrently_FailsSoTheBatchIsReplayedOneByOne() {
+        // Arrange
+        Result first = result("c-1");
+        Result second = result("c-2");
+        claimedConcurrently.set(ProcessedMessageLedger.key(first.correlationId(), first.paperId()));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> inTransaction(() -> claim(List.of(first, second))));
+        assertEquals(List.of(), inTransaction(() -> claim(List.of(first))));
+        assertEquals(List.of(second), inTransaction(() -> claim(List.of(second))));
+    }
+
+    @Test
+    void claim_SingleMessageClaimedConcurrently_IsADuplicate() {
+        // Arrange
+        Result result = result("c-1");
+        claimedConcurrently.set(ProcessedMessageLedger.key(result.correlationId(), result.paperId()));
+
+        // Act
+        List<Result> fresh = inTransaction(() -> claim(List.of(result)));
+
+        // Assert
+        assertTrue(fresh.isEmpty());
+        assertEquals(1, suppressed());
+    }
+
+    @Test
+    void pruneExpired_RemovesClaimsPastRetention() {
+        // Arrange
+        jdbcTemplate.update(
+                "INSERT INTO processed_messages VALUES (?, ?, ?)",
+                CONSUMER,
+                "old",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(8)));
+        inTransaction(() -> claim(List.of(result("c-1"))));
+
+        // Act
+        int removed = ledger.pruneExpired();
+
+        // Assert
+        assertEquals(1, removed);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_messages", Integer.class));
+    }
+
+    @Test
+    void release_FollowUpFailedAfterCommit_RedeliveryAppliedAgain() {
+        // Arrange
+        Result failed = result("c-1");
+        Result requested = result("c-2");
+        inTransaction(() -> claim(List.of(failed, requested)));
+
+        // Act
+        int released =
+                ledger.release(CONSUMER, List.of(ProcessedMessageLedger.key(failed.correlationId(), failed.paperId())));
+        List<Result> fresh = inTransaction(() -> claim(List.of(failed, requested)));
+
+        // Assert
+        assertEquals(1, released);
+        assertEquals(List.of(failed), fresh);
+        assertEquals(1, suppressed());
+    }
+
+    private List<Result> claim(List<Result> results) {
+        return ledger.claim(
+                CONSUMER, results, result -> ProcessedMessageLedger.key(result.correlationId(), result.paperId()));
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private double suppressed() {
+        return meterRegistry
+                .counter("scholarai.messaging.duplicates.suppressed", "queue", CONSUMER)
+                .count();
+    }
+
+    private static Result result(String correlationId) {
+        return new Result(correlationId, UUID.nameUUIDFromBytes(correlationId.getBytes()));
+    }
+}
@@ -0,0 +1,154 @@
+package dev.project.scholar_ai.messaging.listener;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.rabbitmq.client.Channel;
+import dev.project.scholar_ai.dto.agent.response.ExtractionResult;
+import dev.project.scholar_ai.messaging.retry.FailedMessageRouter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+class BatchResultProcessorTest {
+
+    private final Channel channel = mock(Channel.class);
+    private final FailedMessageRouter router = mock(FailedMessageRouter.class);
+    private final List<List<ExtractionResult>> batches = new ArrayList<>();
+    private final List<ExtractionResult> singles = new ArrayList<>();
+    private BatchResultProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new BatchResultProcessor(new Jackson2JsonMessageConverter(), router);
+    }
+
+    @Test
+    void process_BatchSucceeds_AcksEveryMessageAfterOneBatchCall() throws Exception {
+        // Arrange
+        List<Message> messages = List.of(message(1, "COMPLETED"), message(2, "COMPLETED"), message(3, "FAILED"));
+
+        // Act
+        int failed = processor.process(messages, channel, ExtractionResult.class, batches::add, singles::add);
+
+        // Assert
+        assertEquals(0, failed);
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals("FAILED", batches.get(0).get(2).getStatus());
+        assertTrue(singles.isEmpty());
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, false);
+        verifyNoInteractions(router);
+    }
+
+    @Test
+    void process_UnreadableMessage_DeadLetteredWithoutFailingTheBatch() throws Exception {
+        // Arrange
+        Message garbage = new Message("{not json".getBytes(StandardCharsets.UTF_8), properties(2));
+        List<Message> messages = List.of(message(1, "COMPLETED"), garbage, message(3, "COMPLETED"));
+
+        // Act
+        int failed = processor.process(messages, channel, ExtractionResult.class, batches::add, singles::add);
+
+        // Assert
+        assertEquals(1, failed);
+        assertEquals(2, batches.get(0).size());
+        verify(router).deadLetter(same(garbage), any(RuntimeException.class));
+        verify(router, never()).route(any(), any());
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(3, false);
+    }
+
+    @Test
+    void process_PoisonedMessage_OnlyThatMessageIsRetried() throws Exception {
+        // Arrange - the batch handler fails as a whole, the single handler only for the poisoned result
+        List<Message> messages = List.of(message(1, "COMPLETED"), message(2, "POISON"), message(3, "COMPLETED"));
+
+        // Act
+        int failed = processor.process(
+                messages,
+                channel,
+                ExtractionResult.class,
+                results -> {
+                    throw new IllegalStateException("batch rolled back");
+                },
+                result -> {
+                    if ("POISON".equals(result.getStatus())) {
+                        throw new IllegalArgumentException("No enum constant POISON");
+                    }
+                    singles.add(result);
+                });
+
+        // Assert
+        assertEquals(1, failed);
+        assertEquals(2, singles.size());
+        verify(router).route(same(messages.get(1)), any(IllegalArgumentException.class));
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void process_RetryCannotBePublished_RequeuesInsteadOfDropping() throws Exception {
+        // Arrange
+        List<Message> messages = List.of(message(4, "POISON"));
+        when(router.route(any(), any())).thenThrow(new IllegalStateException("broker unavailable"));
+
+        // Act
+        int failed = processor.process(
+                messages,
+                channel,
+                ExtractionResult.class,
+                results -> {
+                    throw new IllegalStateException("batch rolled back");
+                },
+                result -> {
+                    throw new IllegalStateException("still failing");
+                });
+
+        // Assert
+        assertEquals(1, failed);
+        verify(channel).basicNack(4, false, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void process_AllMessagesUnreadable_SkipsBatchHandler() throws Exception {
+        // Arrange
+        Message garbage = new Message("[]".getBytes(StandardCharsets.UTF_8), properties(7));
+
+        // Act
+        int failed = processor.process(List.of(garbage), channel, ExtractionResult.class, batches::add, singles::add);
+
+        // Assert
+        assertEquals(1, failed);
+        assertTrue(batches.isEmpty());
+        verify(router).deadLetter(same(garbage), any());
+        verify(channel).basicAck(7, false);
+    }
+
+    private static Message message(long deliveryTag, String status) {
+        // Agents send plain JSON without type headers
+        String json =
+                "{\"paperId\":\"" + UUID.randomUUID() + "\",\"status\":\"" + status + "\",\"extractedText\":\"text\"}";
+        return new Message(json.getBytes(StandardCharsets.UTF_8), properties(deliveryTag));
+    }
+
+    private static MessageProperties properties(long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setDeliveryTag(deliveryTag);
+        return properties;
+    }
+}
@@ -0,0 +1,126 @@
+package dev.project.scholar_ai.messaging.listener;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.messaging.listener.ListenerConcurrencyController.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import java.util.List;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+class ListenerConcurrencyControllerTest {
+
+    private static final String QUEUE = "scholarai.extraction.completed.queue";
+    private static final ListenerTuning TUNING = new ListenerTuning(QUEUE, 2, 4, 50);
+
+    private final AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+    private final RabbitListenerEndpointRegistry endpointRegistry = mock(RabbitListenerEndpointRegistry.class);
+    private final SimpleMessageListenerContainer container = mock(SimpleMessageListenerContainer.class);
+    private SimpleMeterRegistry meterRegistry;
+    private ListenerConcurrencyController controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        controller =
+                new ListenerConcurrencyController(endpointRegistry, amqpAdmin, meterRegistry, true, 10_000, 30, 5_000);
+        when(endpointRegistry.getListenerContainers()).thenReturn(List.of(container));
+        when(container.getQueueNames()).thenReturn(new String[] {QUEUE});
+    }
+
+    @Test
+    void decide_BacklogLongerThanTarget_Grows() {
+        // 1000 messages x 100ms over 2 consumers = 50s > 30s
+        assertEquals(Decision.GROW, ListenerConcurrencyController.decide(2, 1_000, 100, TUNING, 30, 5_000));
+    }
+
+    @Test
+    void decide_AtMaxConsumers_Holds() {
+        assertEquals(Decision.HOLD, ListenerConcurrencyController.decide(4, 100_000, 100, TUNING, 30, 5_000));
+    }
+
+    @Test
+    void decide_EmptyQueue_ShrinksDownToMinimum() {
+        assertEquals(Decision.SHRINK, ListenerConcurrencyController.decide(3, 0, 100, TUNING, 30, 5_000));
+        assertEquals(Decision.HOLD, ListenerConcurrencyController.decide(2, 0, 100, TUNING, 30, 5_000));
+    }
+
+    @Test
+    void decide_HandlerSlowerThanLimit_ShrinksDespiteBacklog() {
+        assertEquals(Decision.SHRINK, ListenerConcurrencyController.decide(3, 100_000, 8_000, TUNING, 30, 5_000));
+    }
+
+    @Test
+    void decide_NoLatencySampleYet_Holds() {
+        assertEquals(Decision.HOLD, ListenerConcurrencyController.decide(2, 1_000, Double.NaN, TUNING, 30, 5_000));
+    }
+
+    @Test
+    void decide_BacklogDrainsQuickly_Shrinks() {
+        // 10 messages x 100ms over 3 consumers = 0.3s < 7.5s
+        assertEquals(Decision.SHRINK, ListenerConcurrencyController.decide(3, 10, 100, TUNING, 30, 5_000));
+    }
+
+    @Test
+    void adjustAll_Backlog_GrowsContainerAndPublishesGauges() throws Throwable {
+        // Arrange - one batch of 25 messages handled in ~50ms, then a deep queue
+        MethodInterceptor advice = controller.register(TUNING);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(new Object[] {null, Collections.nCopies(25, "message")});
+        when(invocation.proceed()).thenAnswer(call -> {
+            Thread.sleep(50);
+            return null;
+        });
+        advice.invoke(invocation);
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 100_000, 2));
+
+        // Act
+        controller.adjustAll();
+
+        // Assert
+        verify(container).setConcurrentConsumers(3);
+        assertEquals(3, gauge("scholarai.rabbitmq.listener.consumers"));
+        assertEquals(1, gauge("scholarai.rabbitmq.listener.decision"));
+        assertEquals(100_000, gauge("scholarai.rabbitmq.listener.queue.depth"));
+        assertEquals(4, gauge("scholarai.rabbitmq.listener.consumers.max"));
+        assertEquals(50, gauge("scholarai.rabbitmq.listener.prefetch"));
+        double latency = gauge("scholarai.rabbitmq.listener.latency");
+        assertTrue(latency >= 2 && latency < 50, "latency per message " + latency);
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("scholarai.rabbitmq.listener.scaling", "queue", QUEUE, "direction", "grow")
+                        .count());
+    }
+
+    @Test
+    void adjustAll_EmptyQueueAtMinimum_LeavesContainerAlone() {
+        // Arrange
+        controller.register(TUNING);
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 0, 2));
+
+        // Act
+        controller.adjustAll();
+
+        // Assert
+        verify(container, never()).setConcurrentConsumers(anyInt());
+        assertEquals(0, gauge("scholarai.rabbitmq.listener.decision"));
+    }
+
+    @Test
+    void listenerTuning_RejectsInvertedBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new ListenerTuning(QUEUE, 4, 2, 10));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("queue", QUEUE).gauge().value();
+    }
+}
@@ -0,0 +1,283 @@
+package dev.project.scholar_ai.messaging.listener;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.project.scholar_ai.dto.agent.response.ExtractionResult;
+import dev.project.scholar_ai.dto.agent.response.StructuringResult;
+import dev.project.scholar_ai.enums.ExtractionStatus;
+import dev.project.scholar_ai.messaging.idempotency.ProcessedMessageLedger;
+import dev.project.scholar_ai.messaging.publisher.StructuringRequestSender;
+import dev.project.scholar_ai.messaging.publisher.SummarizationRequestSender;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.repository.paper.structure.ExtractedDocumentRepository;
+import dev.project.scholar_ai.repository.paper.structure.HumanSummaryRepository;
+import dev.project.scholar_ai.repository.paper.structure.StructuredFactsRepository;
+import dev.project.scholar_ai.service.extraction.ExtractedTextService;
+import dev.project.scholar_ai.service.extraction.ExtractionService;
+import dev.project.scholar_ai.service.extraction.PaperTextStore;
+import dev.project.scholar_ai.service.extraction.TextClaimCheck;
+import dev.project.scholar_ai.service.extraction.TextSanitizer;
+import dev.project.scholar_ai.service.pipeline.PaperPipelineService;
+import dev.project.scholar_ai.service.structuring.StructuringService;
+import dev.project.scholar_ai.service.websearch.PaperBulkWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Counts the SQL statements behind batch and per-message processing of
+ * extraction and structuring results with Hibernate statistics, on an H2
+ * schema generated from the paper entities.
+ */
+class ResultBatchStatisticsTest {
+
+    private static final int BATCH_SIZE = 25;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private ExtractionResultListener extractionListener;
+    private StructuringResultListener structuringListener;
+    private List<UUID> paperIds;
+    private StructuringService downstreamStructuring;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:result-batch-" + UUID.randomUUID()
+                        + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+                "sa",
+                "");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("dev.project.scholar_ai.model.paper");
+        factory.setPersistenceUnitName("result-batch-test");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto",
+                "create-drop",
+                "hibernate.dialect",
+                "org.hibernate.dialect.H2Dialect",
+                "hibernate.jdbc.batch_size",
+                50,
+                "hibernate.order_inserts",
+                true,
+                "hibernate.order_updates",
+                true,
+                "hibernate.generate_statistics",
+                true));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<Paper> papers = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            papers.add(Paper.builder()
+                    .correlationId("search-1")
+                    .title("Paper " + i)
+                    .doi("10.1000/" + i)
+                    .source("Semantic Scholar")
+                    .build());
+        }
+        paperIds = new PaperBulkWriter(new JdbcTemplate(dataSource), 250)
+                .insertPapers(papers).stream().map(Paper::getId).toList();
+
+        entityManager = entityManagerFactory.createEntityManager();
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        PaperRepository paperRepository = repositories.getRepository(PaperRepository.class);
+        PaperTextStore paperTextStore = new PaperTextStore(new JdbcTemplate(dataSource), 6);
+        ExtractedTextService extractedTextService = mock(ExtractedTextService.class);
+        when(extractedTextService.indexSections(any(), any())).thenReturn(List.of());
+        TextClaimCheck textClaimCheck = mock(TextClaimCheck.class);
+        when(textClaimCheck.payloadFor(any())).thenReturn(new TextClaimCheck.TextPayload("Structured text", null));
+        ProcessedMessageLedger ledger =
+                new ProcessedMessageLedger(new JdbcTemplate(dataSource), meterRegistry, true, 168, 60);
+
+        StructuringService structuringService = new StructuringService(
+                paperRepository,
+                repositories.getRepository(ExtractedDocumentRepository.class),
+                repositories.getRepository(HumanSummaryRepository.class),
+                repositories.getRepository(StructuredFactsRepository.class),
+                mock(StructuringRequestSender.class),
+                mock(SummarizationRequestSender.class),
+                new ObjectMapper(),
+                textClaimCheck,
+                extractedTextService,
+                ledger,
+                mock(PaperPipelineService.class));
+        downstreamStructuring = mock(StructuringService.class);
+        ExtractionService extractionService = new ExtractionService(
+                paperRepository,
+                downstreamStructuring,
+                paperTextStore,
+                new TextSanitizer(1_000_000),
+                ledger,
+                mock(PaperPipelineService.class));
+        BatchResultProcessor processor = mock(BatchResultProcessor.class);
+        extractionListener = new ExtractionResultListener(extractionService, processor, ledger);
+        structuringListener = new StructuringResultListener(structuringService, processor, ledger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void extractionBatch_LoadsPapersWithOneQuery() {
+        // Arrange
+        List<ExtractionResult> results =
+                paperIds.stream().map(this::extractionResult).toList();
+
+        // Act
+        long batchStatements = inTransaction(() -> extractionListener.onExtractionBatch(results));
+        long singleStatements =
+                inTransaction(() -> results.forEach(result -> extractionListener.onExtractionCompleted(result)));
+
+        // Assert
+        Paper paper = entityManager.find(Paper.class, paperIds.get(0));
+        assertEquals(ExtractionStatus.COMPLETED, paper.getExtractionStatus());
+        assertTrue(paper.hasExtractedText());
+        assertTrue(batchStatements <= 3, "batch issued " + batchStatements + " statements");
+        assertTrue(singleStatements > BATCH_SIZE, "per-message path issued " + singleStatements + " statements");
+    }
+
+    @Test
+    void structuringBatch_LoadsPapersWithOneQueryAndBatchesWrites() {
+        // Arrange
+        List<StructuringResult> results =
+                paperIds.stream().map(this::structuringResult).toList();
+
+        // Act
+        long batchStatements = inTransaction(() -> structuringListener.onStructuringBatch(results));
+        long singleStatements =
+                inTransaction(() -> results.forEach(result -> structuringListener.onStructuringCompleted(result)));
+
+        // Assert
+        Paper paper = entityManager.find(Paper.class, paperIds.get(0));
+        assertNotNull(paper.getExtractedDocument());
+        assertEquals("Attention", paper.getHumanSummary().getProblemMotivation());
+        assertEquals(Map.of("dataset", "MNIST"), paper.getStructuredFacts().getFacts());
+        assertTrue(batchStatements <= 7, "batch issued " + batchStatements + " statements");
+        assertTrue(singleStatements > BATCH_SIZE, "per-message path issued " + singleStatements + " statements");
+    }
+
+    @Test
+    void extractionBatch_Redelivered_SkipsUpdateAndDownstreamTrigger() {
+        // Arrange
+        List<ExtractionResult> results = paperIds.stream()
+                .map(this::extractionResult)
+                .peek(result -> result.setCorrelationId("extract-" + result.getPaperId()))
+                .toList();
+        inTransaction(() -> extractionListener.onExtractionBatch(results));
+
+        // Act
+        long redeliveryStatements = inTransaction(() -> extractionListener.onExtractionBatch(results));
+        inTransaction(() -> extractionListener.onExtractionCompleted(results.get(0)));
+
+        // Assert
+        assertEquals(0, redeliveryStatements, "a redelivered batch must not load or write papers");
+        verify(downstreamStructuring, times(1)).triggerStructuring(anyList(), anyString());
+        verify(downstreamStructuring, never()).triggerStructuring(any(UUID.class), anyString());
+        assertEquals(
+                BATCH_SIZE + 1,
+                meterRegistry
+                        .counter(
+                                "scholarai.messaging.duplicates.suppressed",
+                                "queue",
+                                ProcessedMessageLedger.EXTRACTION_RESULTS)
+                        .count());
+    }
+
+    @Test
+    void extractionBatch_StructuringRequestFails_ReleasesClaimAndReappliesRedelivery() {
+        // Arrange
+        List<ExtractionResult> results = paperIds.stream()
+                .map(this::extractionResult)
+                .peek(result -> result.setCorrelationId("extract-" + result.getPaperId()))
+                .toList();
+        UUID failedPaper = paperIds.get(0);
+        when(downstreamStructuring.triggerStructuring(anyList(), anyString()))
+                .thenReturn(List.of(failedPaper))
+                .thenReturn(List.of());
+
+        // Act
+        assertThrows(
+                IllegalStateException.class, () -> inTransaction(() -> extractionListener.onExtractionBatch(results)));
+        inTransaction(() -> results.forEach(result -> extractionListener.onExtractionCompleted(result)));
+
+        // Assert
+        verify(downstreamStructuring).triggerStructuring(List.of(failedPaper), "extraction-service");
+        assertEquals(
+                BATCH_SIZE - 1,
+                meterRegistry
+                        .counter(
+                                "scholarai.messaging.duplicates.suppressed",
+                                "queue",
+                                ProcessedMessageLedger.EXTRACTION_RESULTS)
+                        .count());
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter(
+                                "scholarai.messaging.claims.released",
+                                "queue",
+                                ProcessedMessageLedger.EXTRACTION_RESULTS)
+                        .count());
+    }
+
+    private long inTransaction(Runnable work) {
+        entityManager.clear();
+        statistics.clear();
+        entityManager.getTransaction().begin();
+        try {
+            work.run();
+        } finally {
+            // The services commit their update before the listener requests the next stage
+            entityManager.getTransaction().commit();
+        }
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    private ExtractionResult extractionResult(UUID paperId) {
+        return ExtractionResult.builder()
+                .paperId(paperId)
+                .status("COMPLETED")
+                .extractedText("Extracted   text of " + paperId)
+                .build();
+    }
+
+    private StructuringResult structuringResult(UUID paperId) {
+        StructuringResult result = new StructuringResult();
+        result.setPaperId(paperId);
+        result.setStatus("COMPLETED");
+        result.setSections(List.of(Map.of("title", "Introduction")));
+        result.setStructuredFacts(Map.of("dataset", "MNIST"));
+        result.setHumanSummary(Map.of("problem_motivation", "Attention"));
+        return result;
+    }
+}
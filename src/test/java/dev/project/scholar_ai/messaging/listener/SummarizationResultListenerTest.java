@@ -0,0 +1,79 @@
+package dev.project.scholar_ai.messaging.listener;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.dto.event.SummarizationCompletedEvent;
+import dev.project.scholar_ai.messaging.idempotency.ProcessedMessageLedger;
+import dev.project.scholar_ai.service.analysis.AnalysisResultService;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SummarizationResultListenerTest {
+
+    @Mock
+    private AnalysisResultService analysisResultService;
+
+    @Mock
+    private BatchResultProcessor batchResultProcessor;
+
+    @Mock
+    private ProcessedMessageLedger processedMessageLedger;
+
+    @InjectMocks
+    private SummarizationResultListener listener;
+
+    @Test
+    void onSummarizationBatch_StoresThenRequestsGapAnalysisForSummarizedPapers() {
+        // Arrange
+        SummarizationCompletedEvent summarized = new SummarizationCompletedEvent(UUID.randomUUID(), "A summary", "s-1");
+        SummarizationCompletedEvent empty = new SummarizationCompletedEvent(UUID.randomUUID(), " ", "s-2");
+        when(analysisResultService.storeSummaries(List.of(summarized, empty))).thenReturn(List.of(summarized));
+
+        // Act
+        listener.onSummarizationBatch(List.of(summarized, empty));
+
+        // Assert
+        InOrder inOrder = inOrder(analysisResultService);
+        inOrder.verify(analysisResultService).storeSummaries(List.of(summarized, empty));
+        inOrder.verify(analysisResultService).triggerGapAnalysis(List.of(summarized));
+    }
+
+    @Test
+    void onSummarizationCompleted_Duplicate_RequestsNothing() {
+        // Arrange
+        SummarizationCompletedEvent result = new SummarizationCompletedEvent(UUID.randomUUID(), "A summary", "s-1");
+        when(analysisResultService.storeSummaries(List.of(result))).thenReturn(List.of());
+
+        // Act
+        listener.onSummarizationCompleted(result);
+
+        // Assert
+        verify(analysisResultService).triggerGapAnalysis(List.of());
+    }
+
+    @Test
+    void onSummarizationBatch_GapAnalysisRequestFails_ReleasesItsClaimAndFails() {
+        // Arrange
+        SummarizationCompletedEvent sent = new SummarizationCompletedEvent(UUID.randomUUID(), "One", "s-1");
+        SummarizationCompletedEvent unsent = new SummarizationCompletedEvent(UUID.randomUUID(), "Two", "s-2");
+        when(analysisResultService.storeSummaries(List.of(sent, unsent))).thenReturn(List.of(sent, unsent));
+        when(analysisResultService.triggerGapAnalysis(List.of(sent, unsent))).thenReturn(List.of(unsent.paperId()));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> listener.onSummarizationBatch(List.of(sent, unsent)));
+
+        // Assert - the redelivery is applied again instead of being skipped as a duplicate
+        verify(processedMessageLedger)
+                .release(
+                        ProcessedMessageLedger.SUMMARIZATION_RESULTS,
+                        List.of(ProcessedMessageLedger.key("s-2", unsent.paperId())));
+    }
+}
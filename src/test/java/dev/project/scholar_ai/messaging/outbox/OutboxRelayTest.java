@@ -0,0 +1,224 @@
+package dev.project.scholar_ai.messaging.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.dto.agent.request.WebSearchRequest;
+import dev.project.scholar_ai.model.core.outbox.OutboxMessage;
+import dev.project.scholar_ai.repository.core.outbox.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class OutboxRelayTest {
+
+    private static final String EXCHANGE = "scholarai.exchange";
+    private static final String ROUTING_KEY = "scholarai.websearch";
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations channel = mock(RabbitOperations.class);
+    private final List<Message> sent = new ArrayList<>();
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+    private OutboxMessageRepository repository;
+    private OutboxRelay relay;
+    private AgentRequestOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("dev.project.scholar_ai.model.core.outbox");
+        factory.setPersistenceUnitName("outbox-test");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop", "hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        repository = new JpaRepositoryFactory(
+                        SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                .getRepository(OutboxMessageRepository.class);
+        relay = spy(new OutboxRelay(
+                repository, rabbitTemplate, transactionManager, new SimpleMeterRegistry(), true, 2, 1000, 5000, 24));
+        outbox = new AgentRequestOutbox(repository, converter, relay);
+
+        when(rabbitTemplate.invoke(any())).thenAnswer(call -> {
+            RabbitOperations.OperationsCallback<?> callback = call.getArgument(0);
+            return callback.doInRabbit(channel);
+        });
+        doAnswer(call -> sent.add(call.getArgument(2)))
+                .when(channel)
+                .send(anyString(), anyString(), any(Message.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void enqueue_StoresConvertedPayloadAndWakesRelayAfterCommit() {
+        // Arrange
+        WebSearchRequest request = request("corr-1");
+
+        // Act
+        transactionTemplate.executeWithoutResult(
+                status -> outbox.enqueue(EXCHANGE, ROUTING_KEY, request.correlationId(), request));
+
+        // Assert
+        List<OutboxMessage> stored = repository.findAll();
+        assertEquals(1, stored.size());
+        Message direct = converter.toMessage(request, new MessageProperties());
+        assertEquals(
+                new String(direct.getBody(), StandardCharsets.UTF_8),
+                stored.get(0).getPayload());
+        assertEquals(
+                direct.getMessageProperties().getHeader("__TypeId__"),
+                stored.get(0).getPayloadType());
+        assertNull(stored.get(0).getPublishedAt());
+        verify(relay).wakeUp();
+    }
+
+    @Test
+    void enqueue_RolledBack_LeavesNothingToPublish() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.enqueue(EXCHANGE, ROUTING_KEY, "corr-1", request("corr-1"));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals(0, repository.count());
+        verify(relay, never()).wakeUp();
+    }
+
+    @Test
+    void relayBatch_PublishesOldestFirstInBatchesAndMarksPublished() {
+        // Arrange
+        for (int i = 1; i <= 3; i++) {
+            WebSearchRequest request = request("corr-" + i);
+            transactionTemplate.executeWithoutResult(
+                    status -> outbox.enqueue(EXCHANGE, ROUTING_KEY, request.correlationId(), request));
+        }
+
+        // Act
+        int first = relay.relayBatch();
+        int second = relay.relayBatch();
+        int third = relay.relayBatch();
+
+        // Assert
+        assertEquals(List.of(2, 1, 0), List.of(first, second, third));
+        assertEquals(
+                List.of("corr-1", "corr-2", "corr-3"),
+                sent.stream()
+                        .map(m -> m.getMessageProperties().getCorrelationId())
+                        .toList());
+        WebSearchRequest received = (WebSearchRequest) converter.fromMessage(sent.get(0));
+        assertEquals(request("corr-1"), received);
+        assertEquals(0, repository.countByPublishedAtIsNull());
+        assertTrue(repository.findAll().stream().allMatch(m -> m.getAttempts() == 1));
+        verify(rabbitTemplate, times(2)).invoke(any());
+    }
+
+    @Test
+    void relayBatch_ConfirmTimesOut_KeepsBatchPendingWithError() {
+        // Arrange
+        CachingConnectionFactory connectionFactory = mock(CachingConnectionFactory.class);
+        when(connectionFactory.isSimplePublisherConfirms()).thenReturn(true);
+        when(channel.getConnectionFactory()).thenReturn(connectionFactory);
+        doThrow(new AmqpTimeoutException("no confirms within 5000ms"))
+                .when(channel)
+                .waitForConfirmsOrDie(5000);
+        transactionTemplate.executeWithoutResult(
+                status -> outbox.enqueue(EXCHANGE, ROUTING_KEY, "corr-1", request("corr-1")));
+
+        // Act & Assert
+        assertThrows(AmqpTimeoutException.class, relay::relayBatch);
+        OutboxMessage pending = repository.findAll().get(0);
+        assertNull(pending.getPublishedAt());
+        assertEquals(1, pending.getAttempts());
+        assertEquals("no confirms within 5000ms", pending.getLastError());
+
+        // The next cycle publishes it once the broker confirms again
+        doNothing().when(channel).waitForConfirmsOrDie(5000);
+        assertEquals(1, relay.relayBatch());
+        assertEquals(0, repository.countByPublishedAtIsNull());
+    }
+
+    @Test
+    void toAmqpMessage_CarriesOutboxIdForDeduplication() {
+        // Arrange
+        OutboxMessage message = OutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .correlationId("corr-1")
+                .payloadType(WebSearchRequest.class.getName())
+                .payload("{}")
+                .build();
+
+        // Act
+        Message amqpMessage = OutboxRelay.toAmqpMessage(message);
+
+        // Assert
+        assertEquals(
+                message.getId().toString(), amqpMessage.getMessageProperties().getMessageId());
+        assertEquals(
+                MessageProperties.CONTENT_TYPE_JSON,
+                amqpMessage.getMessageProperties().getContentType());
+        assertEquals(
+                WebSearchRequest.class.getName(),
+                amqpMessage.getMessageProperties().getHeader("__TypeId__"));
+    }
+
+    @Test
+    void toAmqpMessage_KeepsLanePriority() {
+        // Arrange
+        OutboxMessage message = OutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .correlationId("corr-1")
+                .payloadType(WebSearchRequest.class.getName())
+                .payload("{}")
+                .priority(1)
+                .build();
+
+        // Act
+        Message amqpMessage = OutboxRelay.toAmqpMessage(message);
+
+        // Assert
+        assertEquals(1, amqpMessage.getMessageProperties().getPriority());
+    }
+
+    private static WebSearchRequest request(String correlationId) {
+        return new WebSearchRequest(
+                PROJECT_ID, List.of("graph neural networks"), "Computer Science", 10, correlationId);
+    }
+}
@@ -0,0 +1,60 @@
+package dev.project.scholar_ai.messaging.publisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.config.RabbitMQConfig;
+import dev.project.scholar_ai.enums.RequestLane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+class RequestLanesTest {
+
+    private static final String QUEUE = "scholarai.extraction.queue";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RabbitMQConfig rabbitMQConfig = mock(RabbitMQConfig.class);
+    private final RequestLanes requestLanes = new RequestLanes(rabbitMQConfig, meterRegistry);
+
+    @Test
+    void forLane_SetsLanePriorityAndHeaderAndCountsRequest() {
+        // Arrange
+        when(rabbitMQConfig.getPriority(RequestLane.INTERACTIVE)).thenReturn(10);
+        when(rabbitMQConfig.getPriority(RequestLane.BULK)).thenReturn(1);
+
+        // Act
+        Message interactive =
+                requestLanes.forLane(QUEUE, RequestLane.INTERACTIVE).postProcessMessage(message());
+        Message bulk = requestLanes.forLane(QUEUE, RequestLane.BULK).postProcessMessage(message());
+
+        // Assert
+        assertEquals(10, interactive.getMessageProperties().getPriority());
+        assertEquals(1, bulk.getMessageProperties().getPriority());
+        assertEquals("BULK", bulk.getMessageProperties().getHeader(RequestLanes.LANE_HEADER));
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("scholarai.agent.requests", "queue", QUEUE, "lane", "bulk")
+                        .count());
+    }
+
+    @Test
+    void forLane_QueuesNotPrioritized_LeavesDefaultPriority() {
+        // Arrange
+        when(rabbitMQConfig.getPriority(RequestLane.BULK)).thenReturn(null);
+
+        // Act
+        Message bulk = requestLanes.forLane(QUEUE, RequestLane.BULK).postProcessMessage(message());
+
+        // Assert
+        assertEquals(
+                MessageProperties.DEFAULT_PRIORITY, bulk.getMessageProperties().getPriority());
+        assertEquals("BULK", bulk.getMessageProperties().getHeader(RequestLanes.LANE_HEADER));
+    }
+
+    private static Message message() {
+        return new Message("{}".getBytes(), new MessageProperties());
+    }
+}
@@ -0,0 +1,129 @@
+package dev.project.scholar_ai.messaging.retry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import dev.project.scholar_ai.config.RabbitMQConfig;
+import dev.project.scholar_ai.dto.admin.DeadLetterDto;
+import dev.project.scholar_ai.dto.admin.DeadLetterQueueDto;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+class DeadLetterServiceTest {
+
+    private static final String QUEUE = "scholarai.extraction.completed.queue";
+    private static final String DLQ = QUEUE + ".dlq";
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+    private final Channel channel = mock(Channel.class);
+    private DeadLetterService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RabbitMQConfig config = mock(RabbitMQConfig.class);
+        when(config.getCompletedQueues()).thenReturn(List.of(QUEUE, "scholarai.structuring.completed.queue"));
+        service = new DeadLetterService(rabbitTemplate, amqpAdmin, config);
+        when(rabbitTemplate.execute(any())).thenAnswer(call -> {
+            ChannelCallback<?> callback = call.getArgument(0);
+            return callback.doInRabbit(channel);
+        });
+        when(channel.isOpen()).thenReturn(true);
+    }
+
+    @Test
+    void listQueues_ReportsDepthOfEachDeadLetterQueue() {
+        // Arrange
+        when(amqpAdmin.getQueueInfo(DLQ)).thenReturn(new QueueInformation(DLQ, 3, 0));
+
+        // Act
+        List<DeadLetterQueueDto> queues = service.listQueues();
+
+        // Assert
+        assertEquals(new DeadLetterQueueDto(QUEUE, DLQ, 3), queues.get(0));
+        assertEquals(0, queues.get(1).messageCount(), "undeclared queue counts as empty");
+    }
+
+    @Test
+    void inspect_ReadsHeadersAndRequeuesEverythingRead() throws Exception {
+        // Arrange
+        when(channel.basicGet(DLQ, false)).thenReturn(deadLetter(11, 4), deadLetter(12, 4), (GetResponse) null);
+
+        // Act
+        List<DeadLetterDto> deadLetters = service.inspect(QUEUE, 20);
+
+        // Assert
+        assertEquals(2, deadLetters.size());
+        DeadLetterDto first = deadLetters.get(0);
+        assertEquals("msg-11", first.messageId());
+        assertEquals(4, first.attempts());
+        assertEquals("IllegalStateException: deadlock detected", first.lastError());
+        assertEquals("{\"paperId\":\"11\"}", first.bodyPreview());
+        verify(channel).basicNack(12, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void replay_RepublishesWithFreshAttemptCountThenAcks() throws Exception {
+        // Arrange
+        when(channel.basicGet(DLQ, false)).thenReturn(deadLetter(21, 4), deadLetter(22, 4), (GetResponse) null);
+
+        // Act
+        int replayed = service.replay(QUEUE, 100);
+
+        // Assert
+        assertEquals(2, replayed);
+        ArgumentCaptor<AMQP.BasicProperties> properties = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        verify(channel, times(2)).basicPublish(eq(""), eq(QUEUE), properties.capture(), any(byte[].class));
+        Map<String, Object> headers = properties.getValue().getHeaders();
+        assertFalse(headers.containsKey(RetryPolicy.ATTEMPT_HEADER));
+        assertTrue(headers.containsKey(DeadLetterService.REPLAYED_AT_HEADER));
+        assertEquals("IllegalStateException: deadlock detected", headers.get(RetryPolicy.LAST_ERROR_HEADER));
+        verify(channel).basicAck(22, true);
+    }
+
+    @Test
+    void replay_PublishFails_KeepsDeadLetters() throws Exception {
+        // Arrange
+        when(channel.basicGet(DLQ, false)).thenReturn(deadLetter(31, 4), (GetResponse) null);
+        doThrow(new java.io.IOException("connection reset"))
+                .when(channel)
+                .basicPublish(anyString(), anyString(), any(), any(byte[].class));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> service.replay(QUEUE, 100));
+        verify(channel).basicNack(31, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void inspect_UnknownQueue_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.inspect("scholarai.other.queue", 10));
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    private static GetResponse deadLetter(long deliveryTag, int attempts) {
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .messageId("msg-" + deliveryTag)
+                .headers(Map.of(
+                        RetryPolicy.ATTEMPT_HEADER, attempts,
+                        RetryPolicy.LAST_ERROR_HEADER, "IllegalStateException: deadlock detected",
+                        RetryPolicy.DEAD_LETTERED_AT_HEADER, "2026-10-17T10:00:00Z"))
+                .build();
+        byte[] body = ("{\"paperId\":\"" + deliveryTag + "\"}").getBytes(StandardCharsets.UTF_8);
+        return new GetResponse(new Envelope(deliveryTag, false, "scholarai.dlx", QUEUE), properties, body, 0);
+    }
+}
@@ -0,0 +1,181 @@
+package dev.project.scholar_ai.messaging.retry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.config.RabbitMQConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.dao.QueryTimeoutException;
+
+class FailedMessageRouterTest {
+
+    private static final String QUEUE = "scholarai.extraction.completed.queue";
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+    private final List<Sent> sent = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FailedMessageRouter router;
+
+    private record Sent(String exchange, String routingKey, Message message) {}
+
+    @BeforeEach
+    void setUp() {
+        RabbitMQConfig config = mock(RabbitMQConfig.class);
+        when(config.getRetryExchangeName()).thenReturn("scholarai.retry");
+        when(config.getDeadLetterExchangeName()).thenReturn("scholarai.dlx");
+        router = new FailedMessageRouter(rabbitTemplate, config, new RetryPolicy(4, 5000, 3.0, 300_000), meterRegistry);
+
+        when(rabbitTemplate.invoke(any())).thenAnswer(call -> {
+            RabbitOperations.OperationsCallback<?> callback = call.getArgument(0);
+            return callback.doInRabbit(operations);
+        });
+        doAnswer(call -> sent.add(new Sent(call.getArgument(0), call.getArgument(1), call.getArgument(2))))
+                .when(operations)
+                .send(anyString(), anyString(), any(Message.class));
+    }
+
+    @Test
+    void route_FirstFailure_ParksOnFirstRetryTier() {
+        // Act
+        FailedMessageRouter.Outcome outcome =
+                router.route(message(null), new QueryTimeoutException("canceling statement due to lock timeout"));
+
+        // Assert
+        assertEquals(FailedMessageRouter.Outcome.RETRY_SCHEDULED, outcome);
+        Sent retry = sent.get(0);
+        assertEquals("scholarai.retry", retry.exchange());
+        assertEquals(QUEUE + ".retry.1", retry.routingKey());
+        MessageProperties properties = retry.message().getMessageProperties();
+        assertEquals(1, (int) properties.getHeader(RetryPolicy.ATTEMPT_HEADER));
+        assertEquals(4, (int) properties.getHeader(RetryPolicy.MAX_ATTEMPTS_HEADER));
+        assertEquals(QUEUE, properties.getHeader(RetryPolicy.ORIGINAL_QUEUE_HEADER));
+        assertNotNull(properties.getHeader(RetryPolicy.FIRST_FAILED_AT_HEADER));
+        assertTrue(properties.<String>getHeader(RetryPolicy.LAST_ERROR_HEADER).contains("lock timeout"));
+        assertEquals("{\"paperId\":\"p\"}", new String(retry.message().getBody(), StandardCharsets.UTF_8));
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("scholarai.rabbitmq.retry.scheduled", "queue", QUEUE)
+                        .count());
+    }
+
+    @Test
+    void route_SecondFailure_MovesToNextTierAndKeepsFirstFailureTime() {
+        // Arrange
+        Message redelivered = message(1);
+        redelivered.getMessageProperties().setHeader(RetryPolicy.FIRST_FAILED_AT_HEADER, "2026-10-17T10:00:00Z");
+
+        // Act
+        router.route(redelivered, new IllegalStateException("still locked"));
+
+        // Assert
+        assertEquals(QUEUE + ".retry.2", sent.get(0).routingKey());
+        assertEquals(
+                "2026-10-17T10:00:00Z",
+                sent.get(0).message().getMessageProperties().getHeader(RetryPolicy.FIRST_FAILED_AT_HEADER));
+    }
+
+    @Test
+    void route_LastAttemptFails_DeadLetters() {
+        // Act
+        FailedMessageRouter.Outcome outcome = router.route(message(3), new IllegalStateException("still locked"));
+
+        // Assert
+        assertEquals(FailedMessageRouter.Outcome.DEAD_LETTERED, outcome);
+        assertEquals("scholarai.dlx", sent.get(0).exchange());
+        assertEquals(QUEUE, sent.get(0).routingKey());
+        MessageProperties properties = sent.get(0).message().getMessageProperties();
+        assertEquals(4, (int) properties.getHeader(RetryPolicy.ATTEMPT_HEADER));
+        assertNotNull(properties.getHeader(RetryPolicy.DEAD_LETTERED_AT_HEADER));
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("scholarai.rabbitmq.dead.letters", "queue", QUEUE, "reason", "exhausted")
+                        .count());
+    }
+
+    @Test
+    void route_UnreadablePayload_DeadLettersWithoutRetrying() {
+        // Arrange
+        Exception cause = new ListenerExecutionFailedException(
+                "Failed to convert message", new MessageConversionException("Unexpected character"), message(null));
+
+        // Act
+        FailedMessageRouter.Outcome outcome = router.route(message(null), cause);
+
+        // Assert
+        assertEquals(FailedMessageRouter.Outcome.DEAD_LETTERED, outcome);
+        assertEquals("scholarai.dlx", sent.get(0).exchange());
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("scholarai.rabbitmq.dead.letters", "queue", QUEUE, "reason", "unrecoverable")
+                        .count());
+    }
+
+    @Test
+    void advice_ListenerFails_RoutesAndCompletesSoTheContainerAcks() throws Throwable {
+        // Arrange
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(new Object[] {null, message(null)});
+        when(invocation.proceed()).thenThrow(new IllegalStateException("deadlock detected"));
+
+        // Act
+        Object result = router.advice().invoke(invocation);
+
+        // Assert
+        assertNull(result);
+        assertEquals(QUEUE + ".retry.1", sent.get(0).routingKey());
+    }
+
+    @Test
+    void advice_RetryCannotBePublished_RequeuesOriginal() throws Throwable {
+        // Arrange
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(new Object[] {null, message(null)});
+        when(invocation.proceed()).thenThrow(new IllegalStateException("deadlock detected"));
+        doThrow(new AmqpIOException(new java.io.IOException("connection reset")))
+                .when(operations)
+                .send(anyString(), anyString(), any(Message.class));
+
+        // Act & Assert
+        assertThrows(ImmediateRequeueAmqpException.class, () -> router.advice().invoke(invocation));
+    }
+
+    @Test
+    void retryPolicy_DelaysGrowExponentiallyUpToTheCap() {
+        RetryPolicy policy = new RetryPolicy(6, 5000, 3.0, 60_000);
+
+        assertEquals(5000, policy.delayMs(1));
+        assertEquals(15_000, policy.delayMs(2));
+        assertEquals(45_000, policy.delayMs(3));
+        assertEquals(60_000, policy.delayMs(4));
+        assertEquals(5, policy.retryTiers());
+    }
+
+    private static Message message(Integer attempts) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(QUEUE);
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        if (attempts != null) {
+            properties.setHeader(RetryPolicy.ATTEMPT_HEADER, attempts);
+        }
+        return new Message("{\"paperId\":\"p\"}".getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
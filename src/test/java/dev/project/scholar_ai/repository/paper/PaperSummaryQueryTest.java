@@ -0,0 +1,178 @@
+package dev.project.scholar_ai.repository.paper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.project.scholar_ai.dto.paper.metadata.PaperSummaryDto;
+import dev.project.scholar_ai.enums.ExtractionStatus;
+import dev.project.scholar_ai.model.paper.metadata.Author;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.paper.projection.AuthorRow;
+import dev.project.scholar_ai.service.websearch.PaperBulkWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Checks the summary projections behind the paper listing endpoints on an H2
+ * schema generated from the paper entities.
+ */
+class PaperSummaryQueryTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int EXTRACTED_TEXT_CHARS = 200_000;
+
+    private DataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private PaperRepository paperRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:listing-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+                "sa",
+                "");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("dev.project.scholar_ai.model.paper");
+        factory.setPersistenceUnitName("paper-listing-test");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.generate_statistics", true));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        new PaperBulkWriter(jdbcTemplate, 100).insertPapers(papers(PAGE_SIZE));
+        jdbcTemplate.update(
+                "UPDATE papers SET extracted_text_length = ?, extraction_status = 'COMPLETED', extracted_at = CURRENT_TIMESTAMP",
+                EXTRACTED_TEXT_CHARS);
+
+        entityManager = entityManagerFactory.createEntityManager();
+        paperRepository = new JpaRepositoryFactory(entityManager).getRepository(PaperRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void findSummariesByExtractionStatus_NeverLoadsExtractedText() {
+        // Arrange
+        Pageable pageable =
+                PageRequest.of(0, PAGE_SIZE, Sort.by("publicationDate").descending());
+        statistics.clear();
+
+        // Act
+        Page<PaperSummaryDto> page =
+                paperRepository.findSummariesByExtractionStatus(ExtractionStatus.COMPLETED, pageable);
+
+        // Assert
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertEquals(0, statistics.getEntityLoadCount(), "no entity may be initialized");
+        PaperSummaryDto first = page.getContent().get(0);
+        assertTrue(first.hasExtractedText());
+        assertEquals(ExtractionStatus.COMPLETED, first.extractionStatus());
+        assertNotNull(first.extractedAt());
+        assertTrue(first.abstractText().startsWith("Abstract of paper "));
+    }
+
+    @Test
+    void searchSummaries_WildcardCharactersInQuery_MatchLiterally() {
+        // Arrange
+        new JdbcTemplate(dataSource)
+                .update("UPDATE papers SET title = 'A 100% speedup in snake_case C:\\dir' WHERE title = 'Paper 3'");
+
+        // Act & Assert
+        assertEquals(
+                1,
+                paperRepository.searchSummaries("100%", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(
+                1, paperRepository.searchSummaries("e_c", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(
+                1,
+                paperRepository
+                        .searchSummaries("C:\\dir", PageRequest.of(0, 10))
+                        .getTotalElements());
+        assertEquals(
+                0, paperRepository.searchSummaries("r_3", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(
+                0,
+                paperRepository.searchSummaries("%paper", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void findAuthorRowsByPaperIds_ReturnsAuthorsOfRequestedPapersOnly() {
+        // Arrange
+        List<UUID> paperIds = paperRepository.findAllSummaries(PageRequest.of(0, 2)).stream()
+                .map(PaperSummaryDto::id)
+                .toList();
+        statistics.clear();
+
+        // Act
+        List<AuthorRow> authors = paperRepository.findAuthorRowsByPaperIds(paperIds);
+
+        // Assert
+        assertEquals(4, authors.size());
+        assertTrue(authors.stream().allMatch(author -> paperIds.contains(author.paperId())));
+        assertEquals(0, statistics.getEntityLoadCount(), "no entity may be initialized");
+    }
+
+    @Test
+    void searchSummaries_MatchesTitleOrAbstractIgnoringCase() {
+        // Act
+        Page<PaperSummaryDto> byTitle = paperRepository.searchSummaries("PAPER 7", PageRequest.of(0, PAGE_SIZE));
+        Page<PaperSummaryDto> byAbstract = paperRepository.searchSummaries("abstract of", PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(11, byTitle.getTotalElements()); // Paper 7, Paper 70..79
+        assertEquals(PAGE_SIZE, byAbstract.getTotalElements());
+        assertEquals(10, byAbstract.getContent().size());
+    }
+
+    private static List<Paper> papers(int count) {
+        List<Paper> papers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Paper paper = Paper.builder()
+                    .correlationId("search-1")
+                    .title("Paper " + i)
+                    .abstractText("Abstract of paper " + i)
+                    .publicationDate(LocalDate.of(2024, 1, 1).plusDays(i))
+                    .doi("10.1000/" + i)
+                    .source("Semantic Scholar")
+                    .isOpenAccess(true)
+                    .fieldsOfStudy("Computer Science")
+                    .build();
+            paper.addAuthor(Author.builder().name("First author " + i).build());
+            paper.addAuthor(Author.builder().name("Second author " + i).build());
+            papers.add(paper);
+        }
+        return papers;
+    }
+}
@@ -0,0 +1,225 @@
+package dev.project.scholar_ai.service.analysis;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.dto.agent.request.GapAnalysisRequest;
+import dev.project.scholar_ai.dto.analysis.GapAnalysisDto;
+import dev.project.scholar_ai.dto.analysis.GeneratedSummaryDto;
+import dev.project.scholar_ai.dto.event.GapAnalysisCompletedEvent;
+import dev.project.scholar_ai.dto.event.SummarizationCompletedEvent;
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.messaging.idempotency.ProcessedMessageLedger;
+import dev.project.scholar_ai.messaging.publisher.GapAnalysisRequestSender;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.paper.analysis.GapAnalysisRepository;
+import dev.project.scholar_ai.repository.paper.analysis.GeneratedSummaryRepository;
+import dev.project.scholar_ai.service.pipeline.PaperPipelineService;
+import dev.project.scholar_ai.service.websearch.PaperBulkWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stores agent results through the bulk upsert path on an H2 schema generated
+ * from the paper entities.
+ */
+class AnalysisResultServiceTest {
+
+    private final PaperPipelineService paperPipelineService = mock(PaperPipelineService.class);
+    private final GapAnalysisRequestSender gapAnalysisRequestSender = mock(GapAnalysisRequestSender.class);
+    private EntityManagerFactory entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private AnalysisResultService service;
+    private List<UUID> paperIds;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:analysis-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+                "sa",
+                "");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("dev.project.scholar_ai.model.paper");
+        factory.setPersistenceUnitName("analysis-test");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop", "hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<Paper> papers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            papers.add(Paper.builder()
+                    .correlationId("search-1")
+                    .title("Paper " + i)
+                    .source("Semantic Scholar")
+                    .build());
+        }
+        paperIds = new PaperBulkWriter(jdbcTemplate, 250)
+                .insertPapers(papers).stream().map(Paper::getId).toList();
+
+        JpaRepositoryFactory repositories =
+                new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        service = new AnalysisResultService(
+                new AnalysisResultWriter(jdbcTemplate),
+                repositories.getRepository(GeneratedSummaryRepository.class),
+                repositories.getRepository(GapAnalysisRepository.class),
+                new ProcessedMessageLedger(jdbcTemplate, new SimpleMeterRegistry(), true, 168, 60),
+                paperPipelineService,
+                gapAnalysisRequestSender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void storeSummaries_NewAndExistingPapers_InsertsAndReplaces() {
+        // Arrange
+        UUID first = paperIds.get(0);
+        UUID second = paperIds.get(1);
+        inTransaction(() -> service.storeSummaries(List.of(summary(first, "Old summary", "s-1"))));
+        GeneratedSummaryDto original = service.getSummary(first).orElseThrow();
+
+        // Act
+        List<SummarizationCompletedEvent> stored = inTransaction(() -> service.storeSummaries(
+                List.of(summary(first, "New summary", "s-2"), summary(second, "Second summary", "s-3"))));
+
+        // Assert
+        assertEquals(2, stored.size());
+        GeneratedSummaryDto replaced = service.getSummary(first).orElseThrow();
+        assertEquals("New summary", replaced.summaryText());
+        assertEquals(original.createdAt(), replaced.createdAt());
+        assertEquals("Second summary", service.getSummary(second).orElseThrow().summaryText());
+        assertEquals(2, count("generated_summaries"));
+    }
+
+    @Test
+    void storeSummaries_Redelivered_IsSkipped() {
+        // Arrange
+        SummarizationCompletedEvent result = summary(paperIds.get(0), "A summary", "s-1");
+        inTransaction(() -> service.storeSummaries(List.of(result)));
+
+        // Act
+        List<SummarizationCompletedEvent> stored = inTransaction(() -> service.storeSummaries(List.of(result)));
+
+        // Assert
+        assertTrue(stored.isEmpty());
+        verify(paperPipelineService, times(1)).stageResultsReceived(eq(PipelineStage.SUMMARIZATION), any(), any());
+    }
+
+    @Test
+    void storeSummaries_EmptySummary_FailsStageWithoutStoring() {
+        // Arrange
+        UUID paperId = paperIds.get(0);
+
+        // Act
+        List<SummarizationCompletedEvent> stored =
+                inTransaction(() -> service.storeSummaries(List.of(summary(paperId, " ", "s-1"))));
+
+        // Assert
+        assertTrue(stored.isEmpty());
+        assertTrue(service.getSummary(paperId).isEmpty());
+        verify(paperPipelineService)
+                .stageResultsReceived(
+                        eq(PipelineStage.SUMMARIZATION),
+                        eq(List.of(PaperPipelineService.StageResult.failed(paperId, "Empty summary"))),
+                        any());
+    }
+
+    @Test
+    void storeGapAnalyses_ReanalyzedPaper_ReplacesGapsInReportedOrder() {
+        // Arrange
+        UUID paperId = paperIds.get(0);
+        inTransaction(() -> service.storeGapAnalyses(List.of(gaps(paperId, List.of("a", "b", "c"), "g-1"))));
+
+        // Act
+        int stored = inTransaction(() -> service.storeGapAnalyses(List.of(gaps(paperId, List.of("d", "e"), "g-2"))));
+
+        // Assert
+        assertEquals(1, stored);
+        GapAnalysisDto analysis = service.getGapAnalysis(paperId).orElseThrow();
+        assertEquals(List.of("d", "e"), analysis.gaps());
+        assertEquals(2, count("gap_analysis_gaps"));
+    }
+
+    @Test
+    void storeGapAnalyses_SamePaperTwiceInBatch_LastResultWins() {
+        // Arrange
+        UUID paperId = paperIds.get(0);
+        UUID noGaps = paperIds.get(1);
+
+        // Act
+        int stored = inTransaction(() -> service.storeGapAnalyses(List.of(
+                gaps(paperId, List.of("first"), "g-1"),
+                gaps(noGaps, List.of(), "g-2"),
+                gaps(paperId, List.of("second", "third"), "g-3"))));
+
+        // Assert
+        assertEquals(2, stored);
+        assertEquals(
+                List.of("second", "third"),
+                service.getGapAnalysis(paperId).orElseThrow().gaps());
+        assertEquals(List.of(), service.getGapAnalysis(noGaps).orElseThrow().gaps());
+    }
+
+    @Test
+    void triggerGapAnalysis_SendFails_RecordsOnlySentRequestsAndReturnsUnsent() {
+        // Arrange
+        UUID sent = paperIds.get(0);
+        UUID unsent = paperIds.get(1);
+        doNothing()
+                .doThrow(new RuntimeException("broker down"))
+                .when(gapAnalysisRequestSender)
+                .send(any(GapAnalysisRequest.class));
+
+        // Act
+        List<UUID> failed =
+                service.triggerGapAnalysis(List.of(summary(sent, "One", "s-1"), summary(unsent, "Two", "s-2")));
+
+        // Assert
+        assertEquals(List.of(unsent), failed);
+        verify(gapAnalysisRequestSender, times(2)).send(any(GapAnalysisRequest.class));
+        verify(paperPipelineService).stageRequested(PipelineStage.GAP_ANALYSIS, List.of(sent));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private static SummarizationCompletedEvent summary(UUID paperId, String text, String correlationId) {
+        return new SummarizationCompletedEvent(paperId, text, correlationId);
+    }
+
+    private static GapAnalysisCompletedEvent gaps(UUID paperId, List<String> gaps, String correlationId) {
+        return new GapAnalysisCompletedEvent(paperId, gaps, correlationId);
+    }
+}
@@ -0,0 +1,152 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.project.scholar_ai.dto.agent.request.StructuringRequest;
+import dev.project.scholar_ai.dto.agent.request.SummarizationRequest;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Broker bytes and heap per paper for the structuring and summarization
+ * requests a paper triggers, with the text inline (as before) and claim-checked.
+ *
+ * <p>Bytes are the message bodies {@link Jackson2JsonMessageConverter} produces,
+ * which is what RabbitMQ stores and delivers. Producer heap covers loading the
+ * text and converting both requests; consumer heap covers converting both
+ * bodies back. Allocation is read from the per-thread allocation counter. For
+ * more iterations run:
+ * {@code mvn test -Pbenchmark -Dtest=ClaimCheckMessagingBenchmarkTest -Dscholarai.benchmark.iterations=100}
+ */
+@Slf4j
+@Tag("benchmark")
+class ClaimCheckMessagingBenchmarkTest {
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+
+    @Test
+    void perPaperMessages_ReportsBrokerBytesAndHeap() {
+        int iterations = Integer.getInteger("scholarai.benchmark.iterations", 10);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:claim-check-bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE paper_texts (paper_id UUID PRIMARY KEY, codec VARCHAR(16) NOT NULL,"
+                + " char_length INTEGER NOT NULL, byte_length INTEGER NOT NULL, checksum BIGINT NOT NULL,"
+                + " block_index BYTEA NOT NULL, content BYTEA NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        PaperTextStore store = new PaperTextStore(jdbcTemplate, 6);
+        TextClaimCheck claimCheck = new TextClaimCheck(store, 32_768, "http://localhost:8080");
+
+        for (int size : new int[] {20_000, 200_000, 1_000_000}) {
+            // Arrange
+            Paper paper = Paper.builder().id(UUID.randomUUID()).build();
+            PaperTextStore.StoredText stored = store.write(paper.getId(), text(size));
+            paper.setExtractedTextLength(stored.length());
+            paper.setExtractedTextChecksum(stored.checksum());
+
+            // Act
+            Messages inline = send(
+                    paper,
+                    () -> new TextClaimCheck.TextPayload(
+                            store.read(paper.getId()).orElseThrow(), null));
+            Messages claimChecked = send(paper, () -> claimCheck.payloadFor(paper));
+            long inlineProducer = allocation(
+                    iterations,
+                    () -> send(
+                            paper,
+                            () -> new TextClaimCheck.TextPayload(
+                                    store.read(paper.getId()).orElseThrow(), null)));
+            long claimProducer = allocation(iterations, () -> send(paper, () -> claimCheck.payloadFor(paper)));
+            long inlineConsumer = allocation(iterations, () -> receive(inline));
+            long claimConsumer = allocation(iterations, () -> receive(claimChecked));
+
+            // Assert
+            if (stored.byteLength() > 32_768) {
+                assertTrue(claimChecked.bytes() < 2_048, "claim-checked messages are " + claimChecked.bytes());
+            } else {
+                assertEquals(inline.bytes(), claimChecked.bytes(), "small texts stay inline");
+            }
+            log.info(String.format(
+                    "text=%dKB broker inline=%dKB claim-check=%dB | producer heap inline=%dKB claim-check=%dKB"
+                            + " | consumer heap inline=%dKB claim-check=%dKB",
+                    stored.byteLength() / 1024,
+                    inline.bytes() / 1024,
+                    claimChecked.bytes(),
+                    inlineProducer / 1024,
+                    claimProducer / 1024,
+                    inlineConsumer / 1024,
+                    claimConsumer / 1024));
+        }
+    }
+
+    private record Messages(Message structuring, Message summarization) {
+        long bytes() {
+            return structuring.getBody().length + summarization.getBody().length;
+        }
+    }
+
+    private Messages send(Paper paper, Supplier<TextClaimCheck.TextPayload> payload) {
+        TextClaimCheck.TextPayload structuringText = payload.get();
+        StructuringRequest structuring = StructuringRequest.builder()
+                .correlationId(UUID.randomUUID().toString())
+                .paperId(paper.getId())
+                .extractedText(structuringText.text())
+                .textRef(structuringText.reference())
+                .paperMetadata(Map.of("title", "A paper"))
+                .requestedBy("extraction-service")
+                .build();
+        TextClaimCheck.TextPayload summarizationText = payload.get();
+        SummarizationRequest summarization = SummarizationRequest.builder()
+                .correlationId(UUID.randomUUID().toString())
+                .paperId(paper.getId())
+                .content(summarizationText.text())
+                .textRef(summarizationText.reference())
+                .requestedBy("structuring-service")
+                .build();
+        return new Messages(
+                converter.toMessage(structuring, new MessageProperties()),
+                converter.toMessage(summarization, new MessageProperties()));
+    }
+
+    private Object receive(Messages messages) {
+        converter.fromMessage(messages.structuring());
+        return converter.fromMessage(messages.summarization());
+    }
+
+    private static long allocation(int iterations, Runnable action) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        for (int i = 0; i < iterations; i++) {
+            action.run(); // warm up
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - before) / iterations;
+    }
+
+    private static String text(int size) {
+        SplittableRandom random = new SplittableRandom(size);
+        StringBuilder text = new StringBuilder(size);
+        while (text.length() < size) {
+            int word = 2 + random.nextInt(9);
+            for (int i = 0; i < word; i++) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+            text.append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        text.setLength(size);
+        return text.toString();
+    }
+}
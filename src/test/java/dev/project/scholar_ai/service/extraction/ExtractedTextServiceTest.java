@@ -0,0 +1,122 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.model.paper.structure.ExtractedDocument;
+import dev.project.scholar_ai.repository.paper.projection.SectionIndexRow;
+import dev.project.scholar_ai.repository.paper.structure.ExtractedDocumentRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class ExtractedTextServiceTest {
+
+    private static final String TEXT = "Title Abstract We study nets. 1 Introduction Nets are deep."
+            + " 2 Method We train them. 3 Results Accuracy improves a lot.";
+
+    private final UUID paperId = UUID.randomUUID();
+    private ExtractedDocumentRepository extractedDocumentRepository;
+    private ExtractedTextService service;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:text-pages-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE paper_texts (paper_id UUID PRIMARY KEY, codec VARCHAR(16) NOT NULL,"
+                + " char_length INTEGER NOT NULL, byte_length INTEGER NOT NULL, checksum BIGINT NOT NULL,"
+                + " block_index BYTEA NOT NULL, content BYTEA NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        PaperTextStore store = new PaperTextStore(jdbcTemplate, 6);
+        store.write(paperId, TEXT);
+        extractedDocumentRepository = mock(ExtractedDocumentRepository.class);
+        service = new ExtractedTextService(store, extractedDocumentRepository, 20);
+    }
+
+    @Test
+    void page_CapsLengthAtMaximumAndPointsToNextPage() {
+        // Act
+        ExtractedTextService.TextPage first = service.page(paperId, 0, 1000).orElseThrow();
+        ExtractedTextService.TextPage last =
+                service.page(paperId, TEXT.length() - 5, null).orElseThrow();
+
+        // Assert
+        assertEquals(TEXT.substring(0, 20), first.text());
+        assertEquals(20, first.nextOffset());
+        assertEquals(TEXT.length(), first.totalLength());
+        assertEquals(TEXT.substring(TEXT.length() - 5), last.text());
+        assertNull(last.nextOffset());
+    }
+
+    @Test
+    void page_NoStoredText_ReturnsEmpty() {
+        assertTrue(service.page(UUID.randomUUID(), 0, null).isEmpty());
+    }
+
+    @Test
+    void sections_WithoutIndex_BuildsAndSavesItOnce() {
+        // Arrange
+        ExtractedDocument document = ExtractedDocument.builder()
+                .id(UUID.randomUUID())
+                .sections(List.of(
+                        Map.of("title", "Introduction", "content", "Nets are deep."),
+                        Map.of("heading", "Method"),
+                        Map.of("title", "Results")))
+                .build();
+        when(extractedDocumentRepository.findSectionIndexByPaperId(paperId))
+                .thenReturn(Optional.of(new SectionIndexRow(document.getId(), null)));
+        when(extractedDocumentRepository.findById(document.getId())).thenReturn(Optional.of(document));
+
+        // Act
+        List<ExtractedTextService.Section> sections = service.sections(paperId);
+
+        // Assert
+        int method = TEXT.indexOf("Method");
+        assertEquals(3, sections.size());
+        assertEquals(
+                new ExtractedTextService.Section(
+                        0, "Introduction", TEXT.indexOf("Introduction"), method - TEXT.indexOf("Introduction"), true),
+                sections.get(0));
+        assertEquals("Method", sections.get(1).title());
+        assertEquals(TEXT.length(), sections.get(2).offset() + sections.get(2).length());
+        assertNotNull(document.getSectionIndex());
+        verify(extractedDocumentRepository).save(document);
+    }
+
+    @Test
+    void sectionPage_PagesWithinSectionWithRelativeOffsets() {
+        // Arrange
+        int start = TEXT.indexOf("Method");
+        int end = TEXT.indexOf("3 Results");
+        when(extractedDocumentRepository.findSectionIndexByPaperId(paperId))
+                .thenReturn(Optional.of(new SectionIndexRow(
+                        UUID.randomUUID(),
+                        List.of(Map.of("title", "Method", "start", start, "end", end, "located", true)))));
+
+        // Act
+        ExtractedTextService.TextPage first =
+                service.sectionPage(paperId, 0, 0, null).orElseThrow();
+        ExtractedTextService.TextPage rest =
+                service.sectionPage(paperId, 0, first.nextOffset(), null).orElseThrow();
+
+        // Assert
+        assertEquals(TEXT.substring(start, start + 20), first.text());
+        assertEquals(end - start, first.totalLength());
+        assertEquals(TEXT.substring(start + 20, end), rest.text());
+        assertNull(rest.nextOffset());
+        verify(extractedDocumentRepository, never()).save(any());
+    }
+
+    @Test
+    void sectionPage_UnknownSection_Throws() {
+        // Arrange
+        when(extractedDocumentRepository.findSectionIndexByPaperId(paperId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.sectionPage(paperId, 0, 0, null));
+    }
+}
@@ -0,0 +1,287 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.config.RabbitMQConfig;
+import dev.project.scholar_ai.dto.agent.request.ExtractionRequest;
+import dev.project.scholar_ai.dto.extraction.ExtractionBackfillDto;
+import dev.project.scholar_ai.enums.BackfillStatus;
+import dev.project.scholar_ai.enums.RequestLane;
+import dev.project.scholar_ai.messaging.publisher.ExtractionRequestSender;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.repository.paper.backfill.ExtractionBackfillRepository;
+import dev.project.scholar_ai.service.websearch.PaperBulkWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Runs extraction backfills against an H2 schema generated from the paper
+ * entities, with the agent side mocked.
+ */
+class ExtractionBackfillServiceTest {
+
+    private static final String QUEUE = "scholarai.extraction.queue";
+
+    private final ExtractionService extractionService = mock(ExtractionService.class);
+    private final ExtractionRequestSender extractionRequestSender = mock(ExtractionRequestSender.class);
+    private final AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+    private final RabbitMQConfig rabbitMQConfig = mock(RabbitMQConfig.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EntityManagerFactory entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+    private JpaTransactionManager transactionManager;
+    private PaperRepository paperRepository;
+    private ExtractionBackfillRepository backfillRepository;
+    private ExtractionBackfillService service;
+    private List<UUID> candidateIds;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:backfill-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+                "sa",
+                "");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("dev.project.scholar_ai.model.paper");
+        factory.setPersistenceUnitName("backfill-test");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop", "hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        transactionManager = new JpaTransactionManager(entityManagerFactory);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<Paper> papers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            papers.add(Paper.builder()
+                    .correlationId("search-1")
+                    .title("Paper " + i)
+                    .source("Semantic Scholar")
+                    .build());
+        }
+        List<UUID> paperIds = new PaperBulkWriter(jdbcTemplate, 250)
+                .insertPapers(papers).stream().map(Paper::getId).toList();
+        for (UUID paperId : paperIds.subList(0, 5)) {
+            jdbcTemplate.update("UPDATE papers SET pdf_url = ? WHERE id = ?", "https://pdfs/" + paperId, paperId);
+        }
+        // Not candidates: already extracted, and no PDF
+        jdbcTemplate.update("UPDATE papers SET extracted_text_length = 100 WHERE id = ?", paperIds.get(4));
+        candidateIds = paperIds.subList(0, 4).stream()
+                .sorted(Comparator.comparing(UUID::toString)) // database UUID order is unsigned
+                .toList();
+
+        // Marks the paper as the real service does, which takes it out of the candidates
+        doAnswer(invocation -> jdbcTemplate.update(
+                        "UPDATE papers SET extraction_status = 'IN_PROGRESS' WHERE id = ?",
+                        invocation.getArgument(0, UUID.class)))
+                .when(extractionService)
+                .initiateExtraction(any(), any(), any(), any());
+        when(rabbitMQConfig.getExtractionQueue()).thenReturn(QUEUE);
+
+        JpaRepositoryFactory repositories =
+                new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        paperRepository = repositories.getRepository(PaperRepository.class);
+        backfillRepository = repositories.getRepository(ExtractionBackfillRepository.class);
+        service = newService(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void runBackfill_SendsEveryCandidateInBulkLaneAndCompletes() throws InterruptedException {
+        // Arrange
+        ExtractionBackfillDto started = service.start("admin", null, 1000.0);
+        assertEquals(4, started.totalPapers());
+
+        // Act
+        service.runBackfill(service.claimNext().orElseThrow());
+
+        // Assert
+        ArgumentCaptor<ExtractionRequest> requests = ArgumentCaptor.forClass(ExtractionRequest.class);
+        verify(extractionRequestSender, times(4)).send(requests.capture(), eq(RequestLane.BULK));
+        assertEquals(
+                candidateIds,
+                requests.getAllValues().stream()
+                        .map(ExtractionRequest::getPaperId)
+                        .toList());
+        ExtractionBackfillDto finished = service.get(started.id()).orElseThrow();
+        assertEquals(BackfillStatus.COMPLETED, finished.status());
+        assertEquals(4, finished.sent());
+        assertNotNull(finished.completedAt());
+        assertEquals(
+                4,
+                meterRegistry
+                        .counter("scholarai.extraction.backfill.requests", "outcome", "sent")
+                        .count());
+    }
+
+    @Test
+    void runBackfill_MaxPapers_StopsAtTheLimit() throws InterruptedException {
+        // Arrange
+        ExtractionBackfillDto started = service.start("admin", 3, 1000.0);
+
+        // Act
+        service.runBackfill(service.claimNext().orElseThrow());
+
+        // Assert
+        verify(extractionRequestSender, times(3)).send(any(), eq(RequestLane.BULK));
+        ExtractionBackfillDto finished = service.get(started.id()).orElseThrow();
+        assertEquals(BackfillStatus.COMPLETED, finished.status());
+        assertEquals(3, finished.totalPapers());
+        assertEquals(3, finished.sent());
+    }
+
+    @Test
+    void runBackfill_Resumed_ContinuesAfterRecordedCursor() throws InterruptedException {
+        // Arrange: a previous instance recorded the first two papers before it stopped
+        UUID id = service.start("admin", null, 1000.0).id();
+        jdbcTemplate.update(
+                "UPDATE extraction_backfills SET last_paper_id = ?, sent = 2, lease_owner = 'gone',"
+                        + " lease_expires_at = DATEADD('MINUTE', -1, CURRENT_TIMESTAMP) WHERE id = ?",
+                candidateIds.get(1),
+                id);
+
+        // Act
+        service.runBackfill(service.claimNext().orElseThrow());
+
+        // Assert
+        ArgumentCaptor<ExtractionRequest> requests = ArgumentCaptor.forClass(ExtractionRequest.class);
+        verify(extractionRequestSender, times(2)).send(requests.capture(), eq(RequestLane.BULK));
+        assertEquals(
+                candidateIds.subList(2, 4),
+                requests.getAllValues().stream()
+                        .map(ExtractionRequest::getPaperId)
+                        .toList());
+        assertEquals(4, service.get(id).orElseThrow().sent());
+    }
+
+    @Test
+    void runBackfill_SendFails_ResetsPaperSoALaterRunRequestsItAgain() throws InterruptedException {
+        // Arrange
+        UUID failedPaper = candidateIds.get(0);
+        doAnswer(invocation -> jdbcTemplate.update(
+                        "UPDATE papers SET extraction_status = 'FAILED' WHERE id = ?",
+                        invocation.getArgument(0, UUID.class)))
+                .when(extractionService)
+                .extractionRequestFailed(any(), any());
+        doThrow(new IllegalStateException("broker down"))
+                .doNothing()
+                .when(extractionRequestSender)
+                .send(any(), any());
+        UUID first = service.start("admin", null, 1000.0).id();
+        service.runBackfill(service.claimNext().orElseThrow());
+
+        // Act
+        ExtractionBackfillDto retry = service.start("admin", null, 1000.0);
+        service.runBackfill(service.claimNext().orElseThrow());
+
+        // Assert
+        verify(extractionService).extractionRequestFailed(failedPaper, "broker down");
+        assertEquals(1, service.get(first).orElseThrow().failed());
+        assertEquals(1, retry.totalPapers());
+        ArgumentCaptor<ExtractionRequest> requests = ArgumentCaptor.forClass(ExtractionRequest.class);
+        verify(extractionRequestSender, times(5)).send(requests.capture(), eq(RequestLane.BULK));
+        assertEquals(failedPaper, requests.getValue().getPaperId());
+    }
+
+    @Test
+    void claimNext_LeaseHeldByAnotherInstance_IsNotTaken() {
+        // Arrange
+        service.start("admin", null, 1000.0);
+        assertTrue(service.claimNext().isPresent());
+
+        // Act & Assert
+        assertTrue(newService(2).claimNext().isEmpty());
+    }
+
+    @Test
+    void runBackfill_QueueTooDeep_PausesUntilDrained() throws InterruptedException {
+        // Arrange
+        service.start("admin", null, 1000.0);
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 600, 1), (QueueInformation) null);
+
+        // Act
+        service.runBackfill(service.claimNext().orElseThrow());
+
+        // Assert
+        verify(amqpAdmin, atLeast(2)).getQueueInfo(QUEUE);
+        verify(extractionRequestSender, times(4)).send(any(), any());
+        assertEquals(
+                1,
+                meterRegistry.timer("scholarai.extraction.backfill.throttled").count());
+    }
+
+    @Test
+    void runBackfill_CancelledDuringPage_StopsAfterThePage() throws InterruptedException {
+        // Arrange
+        UUID id = service.start("admin", null, 1000.0).id();
+        doAnswer(invocation -> service.cancel(id))
+                .doNothing()
+                .when(extractionRequestSender)
+                .send(any(), any());
+
+        // Act
+        service.runBackfill(service.claimNext().orElseThrow());
+
+        // Assert
+        verify(extractionRequestSender, times(2)).send(any(), any());
+        assertEquals(BackfillStatus.CANCELLED, service.get(id).orElseThrow().status());
+    }
+
+    @Test
+    void start_WhileAnotherIsRunning_IsRejected() {
+        // Arrange
+        service.start("admin", null, null);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> service.start("admin", null, null));
+        assertEquals(1, service.list(10).size());
+    }
+
+    private ExtractionBackfillService newService(int pageSize) {
+        return new ExtractionBackfillService(
+                backfillRepository,
+                paperRepository,
+                extractionService,
+                extractionRequestSender,
+                amqpAdmin,
+                rabbitMQConfig,
+                transactionManager,
+                meterRegistry,
+                true,
+                pageSize,
+                5,
+                10,
+                500,
+                10,
+                120);
+    }
+}
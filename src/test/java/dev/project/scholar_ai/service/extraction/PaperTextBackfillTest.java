@@ -0,0 +1,74 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class PaperTextBackfillTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PaperTextStore store;
+    private PaperTextBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:text-backfill-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE paper_texts (paper_id UUID PRIMARY KEY, codec VARCHAR(16) NOT NULL,"
+                + " char_length INTEGER NOT NULL, byte_length INTEGER NOT NULL, checksum BIGINT NOT NULL,"
+                + " block_index BYTEA NOT NULL, content BYTEA NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        store = new PaperTextStore(jdbcTemplate, 6);
+        backfill = new PaperTextBackfill(jdbcTemplate, store);
+    }
+
+    @Test
+    void backfill_LegacyColumns_MovesTextAndClearsBothCopies() {
+        // Arrange - the schema as it was before the text store
+        jdbcTemplate.execute("CREATE TABLE papers (id UUID PRIMARY KEY, extracted_text TEXT,"
+                + " extracted_text_length INTEGER, extracted_text_checksum BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE extracted_documents (id UUID PRIMARY KEY, full_text TEXT)");
+        UUID[] paperIds = new UUID[250];
+        for (int i = 0; i < paperIds.length; i++) {
+            paperIds[i] = UUID.randomUUID();
+            jdbcTemplate.update(
+                    "INSERT INTO papers (id, extracted_text) VALUES (?, ?)", paperIds[i], "Paper text " + i);
+            jdbcTemplate.update(
+                    "INSERT INTO extracted_documents (id, full_text) VALUES (?, ?)",
+                    UUID.randomUUID(),
+                    "Paper text " + i);
+        }
+
+        // Act
+        int moved = backfill.backfill();
+
+        // Assert
+        assertEquals(250, moved);
+        assertEquals(Optional.of("Paper text 7"), store.read(paperIds[7]));
+        assertEquals(0, count("SELECT COUNT(*) FROM papers WHERE extracted_text IS NOT NULL"));
+        assertEquals(0, count("SELECT COUNT(*) FROM extracted_documents WHERE full_text IS NOT NULL"));
+        assertEquals(
+                PaperTextStore.checksum("Paper text 7"),
+                jdbcTemplate.queryForObject(
+                        "SELECT extracted_text_checksum FROM papers WHERE id = ?", Long.class, paperIds[7]));
+        assertEquals(0, backfill.backfill(), "a second run has nothing left to move");
+    }
+
+    @Test
+    void backfill_SchemaWithoutLegacyColumns_IsNoOp() {
+        // Arrange
+        jdbcTemplate.execute("CREATE TABLE papers (id UUID PRIMARY KEY,"
+                + " extracted_text_length INTEGER, extracted_text_checksum BIGINT)");
+
+        // Act & Assert
+        assertEquals(0, backfill.backfill());
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,230 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.service.websearch.PaperBulkWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Storage and {@code findById} cost of the compressed text store against the
+ * previous layout, where the text sat uncompressed on the paper row and again
+ * in {@code extracted_documents}.
+ *
+ * <p>Papers are ~50k characters of generated prose with a Zipfian vocabulary,
+ * section headings, citations and figures, roughly a 10-page paper. Runs on
+ * 200 papers by default; for a larger corpus run:
+ * {@code mvn test -Pbenchmark -Dtest=PaperTextStorageBenchmarkTest -Dscholarai.benchmark.papers=2000}
+ */
+@Slf4j
+@Tag("benchmark")
+class PaperTextStorageBenchmarkTest {
+
+    private static final int TEXT_CHARS = 50_000;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private PaperRepository paperRepository;
+    private PaperTextStore store;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:text-bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+                "sa",
+                "");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("dev.project.scholar_ai.model.paper");
+        factory.setPersistenceUnitName("paper-text-bench");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop", "hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE legacy_texts (paper_id UUID PRIMARY KEY, extracted_text TEXT)");
+        entityManager = entityManagerFactory.createEntityManager();
+        paperRepository = new JpaRepositoryFactory(entityManager).getRepository(PaperRepository.class);
+        store = new PaperTextStore(jdbcTemplate, 6);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void compressedStore_ReportsStorageSavingsAndFindByIdLatency() {
+        // Arrange
+        int paperCount = Integer.getInteger("scholarai.benchmark.papers", 200);
+        List<Paper> papers = new ArrayList<>(paperCount);
+        for (int i = 0; i < paperCount; i++) {
+            papers.add(Paper.builder()
+                    .correlationId("bench")
+                    .title("Paper " + i)
+                    .source("Semantic Scholar")
+                    .build());
+        }
+        List<UUID> paperIds = new PaperBulkWriter(jdbcTemplate, 500)
+                .insertPapers(papers).stream().map(Paper::getId).toList();
+
+        // Act - storage
+        TextGenerator generator = new TextGenerator(11);
+        long utf8Bytes = 0;
+        long storedBytes = 0;
+        for (UUID paperId : paperIds) {
+            String text = generator.paper(TEXT_CHARS);
+            jdbcTemplate.update("INSERT INTO legacy_texts VALUES (?, ?)", paperId, text);
+            PaperTextStore.StoredText stored = store.write(paperId, text);
+            jdbcTemplate.update(
+                    "UPDATE papers SET extracted_text_length = ?, extracted_text_checksum = ? WHERE id = ?",
+                    stored.length(),
+                    stored.checksum(),
+                    paperId);
+            utf8Bytes += stored.byteLength();
+            storedBytes += stored.storedBytes();
+        }
+
+        // Act - latency, two passes so the second one is warm
+        double leanMicros = 0;
+        double legacyMicros = 0;
+        double textMicros = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            leanMicros =
+                    time(paperIds, paperId -> paperRepository.findById(paperId).orElseThrow());
+            legacyMicros = time(paperIds, paperId -> {
+                paperRepository.findById(paperId).orElseThrow();
+                jdbcTemplate.queryForObject(
+                        "SELECT extracted_text FROM legacy_texts WHERE paper_id = ?", String.class, paperId);
+            });
+            textMicros = time(paperIds, paperId -> store.read(paperId).orElseThrow());
+        }
+
+        // Assert
+        long legacyBytes = 2 * utf8Bytes; // papers.extracted_text + extracted_documents.full_text
+        assertTrue(storedBytes * 2 < utf8Bytes, "stored " + storedBytes + " of " + utf8Bytes + " bytes");
+        log.info(
+                "papers={} text={}KB/paper stored={}KB/paper legacy={}KB/paper savings={}%"
+                        + " findById lean={}us legacy-equivalent={}us full-text-read={}us",
+                paperCount,
+                utf8Bytes / paperCount / 1000,
+                String.format("%.1f", storedBytes / 1000.0 / paperCount),
+                String.format("%.1f", legacyBytes / 1000.0 / paperCount),
+                String.format("%.1f", 100.0 * (legacyBytes - storedBytes) / legacyBytes),
+                String.format("%.1f", leanMicros),
+                String.format("%.1f", legacyMicros),
+                String.format("%.1f", textMicros));
+    }
+
+    private double time(List<UUID> paperIds, Consumer<UUID> load) {
+        long nanos = 0;
+        for (UUID paperId : paperIds) {
+            entityManager.clear();
+            long start = System.nanoTime();
+            load.accept(paperId);
+            nanos += System.nanoTime() - start;
+        }
+        return nanos / 1_000.0 / paperIds.size();
+    }
+
+    /** Generates prose-like paper text: Zipfian word choice, sentences, sections, citations and numbers. */
+    private static final class TextGenerator {
+
+        private static final String[] SECTIONS = {
+            "Abstract", "Introduction", "Related Work", "Method", "Experiments", "Results", "Discussion", "Conclusion"
+        };
+        private static final String[] COMMON = ("the of and to in a is that for we on with as by this are be our"
+                        + " from an which can model data results method using each it these two not at show"
+                        + " between have more than also used when where approach performance set proposed based"
+                        + " training learning network task however first table figure number different such"
+                        + " than time paper work each both large small high low new existing previous same")
+                .split(" ");
+
+        private final SplittableRandom random;
+        private final String[] vocabulary;
+        private final double[] cumulative;
+
+        TextGenerator(long seed) {
+            random = new SplittableRandom(seed);
+            vocabulary = new String[8_000];
+            for (int i = 0; i < vocabulary.length; i++) {
+                if (i < COMMON.length) {
+                    vocabulary[i] = COMMON[i];
+                } else {
+                    StringBuilder word = new StringBuilder();
+                    int length = 4 + random.nextInt(8);
+                    for (int j = 0; j < length; j++) {
+                        word.append((char) ('a' + random.nextInt(26)));
+                    }
+                    vocabulary[i] = word.toString();
+                }
+            }
+            cumulative = new double[vocabulary.length];
+            double total = 0;
+            for (int i = 0; i < vocabulary.length; i++) {
+                total += 1.0 / Math.pow(i + 1, 1.07);
+                cumulative[i] = total;
+            }
+            for (int i = 0; i < cumulative.length; i++) {
+                cumulative[i] /= total;
+            }
+        }
+
+        String paper(int chars) {
+            StringBuilder text = new StringBuilder(chars + 200);
+            int section = 0;
+            while (text.length() < chars) {
+                if (text.length() >= section * chars / SECTIONS.length && section < SECTIONS.length) {
+                    text.append(section + 1)
+                            .append(' ')
+                            .append(SECTIONS[section++])
+                            .append(' ');
+                }
+                int words = 12 + random.nextInt(20);
+                for (int w = 0; w < words; w++) {
+                    String word = word();
+                    text.append(w == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+                    int decoration = random.nextInt(60);
+                    if (decoration == 0) {
+                        text.append(" [").append(1 + random.nextInt(60)).append(']');
+                    } else if (decoration == 1) {
+                        text.append(' ').append(random.nextInt(100)).append('.').append(random.nextInt(10));
+                    }
+                    text.append(w == words - 1 ? ". " : random.nextInt(12) == 0 ? ", " : " ");
+                }
+            }
+            text.setLength(chars);
+            return text.toString();
+        }
+
+        private String word() {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return vocabulary[index < 0 ? Math.min(-index - 1, vocabulary.length - 1) : index];
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class PaperTextStoreTest {
+
+    private final AtomicLong fetchedBytes = new AtomicLong();
+    private JdbcTemplate jdbcTemplate;
+    private PaperTextStore store;
+
+    @BeforeEach
+    void setUp() {
+        // Counts the compressed bytes range reads fetch
+        jdbcTemplate =
+                new JdbcTemplate(new DriverManagerDataSource(
+                        "jdbc:h2:mem:text-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "")) {
+                    @Override
+                    public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+                        T result = super.queryForObject(sql, requiredType, args);
+                        if (result instanceof byte[] bytes) {
+                            fetchedBytes.addAndGet(bytes.length);
+                        }
+                        return result;
+                    }
+                };
+        jdbcTemplate.execute("CREATE TABLE paper_texts (paper_id UUID PRIMARY KEY, codec VARCHAR(16) NOT NULL,"
+                + " char_length INTEGER NOT NULL, byte_length INTEGER NOT NULL, checksum BIGINT NOT NULL,"
+                + " block_index BYTEA NOT NULL, content BYTEA NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        store = new PaperTextStore(jdbcTemplate, 6);
+    }
+
+    @Test
+    void write_ThenRead_RoundTripsTextAndRecordsChecksum() {
+        // Arrange
+        UUID paperId = UUID.randomUUID();
+        String text = "Attention is all you need. Ünïcödé — 注意力 ∑ x². ".repeat(500);
+
+        // Act
+        PaperTextStore.StoredText stored = store.write(paperId, text);
+
+        // Assert
+        assertEquals(Optional.of(text), store.read(paperId));
+        assertEquals(text.length(), stored.length());
+        assertEquals(PaperTextStore.checksum(text), stored.checksum());
+        assertTrue(stored.storedBytes() < stored.byteLength() / 10, "repetitive text compresses well");
+    }
+
+    @Test
+    void write_ExistingPaper_ReplacesText() {
+        // Arrange
+        UUID paperId = UUID.randomUUID();
+        store.write(paperId, "first version");
+
+        // Act
+        store.write(paperId, "second version");
+
+        // Assert
+        assertEquals(Optional.of("second version"), store.read(paperId));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM paper_texts", Integer.class));
+    }
+
+    @Test
+    void read_UnknownPaper_ReturnsEmpty() {
+        assertTrue(store.read(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void read_WithReader_StopsEarlyWithoutDecodingTheRest() {
+        // Arrange
+        UUID paperId = UUID.randomUUID();
+        store.write(paperId, "Abstract. " + "body ".repeat(200_000));
+
+        // Act
+        Optional<String> prefix = store.read(paperId, reader -> {
+            char[] buffer = new char[9];
+            return new String(buffer, 0, reader.read(buffer));
+        });
+
+        // Assert
+        assertEquals(Optional.of("Abstract."), prefix);
+    }
+
+    @Test
+    void read_ChecksumMismatch_Throws() {
+        // Arrange
+        UUID paperId = UUID.randomUUID();
+        store.write(paperId, "some extracted text");
+        jdbcTemplate.update("UPDATE paper_texts SET checksum = checksum + 1");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> store.read(paperId));
+    }
+
+    @Test
+    void delete_RemovesText() {
+        // Arrange
+        UUID paperId = UUID.randomUUID();
+        store.write(paperId, "text");
+
+        // Act
+        store.delete(paperId);
+
+        // Assert
+        assertTrue(store.read(paperId).isEmpty());
+    }
+
+    @Test
+    void readRange_AcrossBlocks_MatchesSubstringAndFetchesOnlyCoveringBlocks() {
+        // Arrange
+        UUID paperId = UUID.randomUUID();
+        String text = text(PaperTextStore.BLOCK_CHARS * 40 + 123);
+        store.write(paperId, text);
+        PaperTextStore.TextLayout layout = store.layout(paperId).orElseThrow();
+        int offset = PaperTextStore.BLOCK_CHARS * 20 - 500;
+        fetchedBytes.set(0);
+
+        // Act
+        String slice = store.read(paperId, layout, offset, 1000);
+
+        // Assert
+        assertEquals(text.substring(offset, offset + 1000), slice);
+        assertEquals(41, layout.blockCount());
+        assertTrue(
+                fetchedBytes.get() < layout.contentLength() / 10,
+                "fetched " + fetchedBytes.get() + " of " + layout.contentLength() + " compressed bytes");
+    }
+
+    @Test
+    void readRange_PastEnd_ReturnsRemainderOrEmpty() {
+        // Arrange
+        UUID paperId = UUID.randomUUID();
+        store.write(paperId, "0123456789");
+        PaperTextStore.TextLayout layout = store.layout(paperId).orElseThrow();
+
+        // Act & Assert
+        assertEquals("789", store.read(paperId, layout, 7, 100));
+        assertEquals("", store.read(paperId, layout, 10, 100));
+    }
+
+    @Test
+    void writeUtf8_ByteRangeAcrossBlocks_MatchesEncodedBytes() throws Exception {
+        // Arrange - multi-byte characters and a surrogate pair straddling the first block boundary
+        UUID paperId = UUID.randomUUID();
+        String text = "é".repeat(PaperTextStore.BLOCK_CHARS - 1) + "😀" + "ü 注意力 ".repeat(30_000);
+        store.write(paperId, text);
+        PaperTextStore.TextLayout layout = store.layout(paperId).orElseThrow();
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        store.writeUtf8(paperId, layout, 100_000, 250_001, out);
+
+        // Assert
+        assertEquals(utf8.length, layout.byteLength());
+        assertArrayEquals(Arrays.copyOfRange(utf8, 100_000, 250_001), out.toByteArray());
+        assertEquals(Optional.of(text), store.read(paperId));
+    }
+
+    @Test
+    void write_EmptyText_ReadsBackEmpty() {
+        // Arrange
+        UUID paperId = UUID.randomUUID();
+
+        // Act
+        store.write(paperId, "");
+
+        // Assert
+        assertEquals(Optional.of(""), store.read(paperId));
+        assertEquals(0, store.layout(paperId).orElseThrow().blockCount());
+    }
+
+    @Test
+    void constructor_InvalidCompressionLevel_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new PaperTextStore(jdbcTemplate, 0));
+    }
+
+    private static String text(int length) {
+        SplittableRandom random = new SplittableRandom(3);
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append("word").append(random.nextInt(5000)).append(' ');
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SectionLocatorTest {
+
+    private static final String TEXT = "Deep Nets Abstract We study nets. 1 Introduction Nets are deep."
+            + " 2 Related Work Prior work. 3 Method We train. 4 Results Accuracy improves.";
+
+    @Test
+    void locate_TitlesInOrder_ReturnsStartOffsets() throws Exception {
+        // Act
+        int[] starts = SectionLocator.locate(
+                new StringReader(TEXT), List.of("Abstract", "Introduction", "Related  Work", "Method", "Results"));
+
+        // Assert
+        assertEquals(TEXT.indexOf("Abstract"), starts[0]);
+        assertEquals(TEXT.indexOf("Introduction"), starts[1]);
+        assertEquals(TEXT.indexOf("Related Work"), starts[2], "whitespace in titles is collapsed");
+        assertEquals(TEXT.indexOf("Method"), starts[3]);
+        assertEquals(TEXT.indexOf("Results"), starts[4]);
+    }
+
+    @Test
+    void locate_MissingTitle_LeavesOnlyThatSectionUnlocated() throws Exception {
+        // Act
+        int[] starts = SectionLocator.locate(
+                new StringReader(TEXT), List.of("Introduction", "Background", "Method", "Results"));
+
+        // Assert
+        assertEquals(TEXT.indexOf("Introduction"), starts[0]);
+        assertEquals(SectionLocator.NOT_FOUND, starts[1]);
+        assertEquals(TEXT.indexOf("Method"), starts[2]);
+        assertEquals(TEXT.indexOf("Results"), starts[3]);
+    }
+
+    @Test
+    void locate_TitleRepeatedLater_UsesFirstOccurrenceAfterPreviousSection() throws Exception {
+        // Arrange
+        String text = "Method overview. Introduction text. Method details.";
+
+        // Act
+        int[] starts = SectionLocator.locate(new StringReader(text), List.of("Introduction", "Method"));
+
+        // Assert
+        assertEquals(text.indexOf("Introduction"), starts[0]);
+        assertEquals(text.lastIndexOf("Method"), starts[1]);
+    }
+
+    @Test
+    void locate_OverlappingPrefix_FindsMatchAfterPartialMatch() throws Exception {
+        // Act
+        int[] starts = SectionLocator.locate(new StringReader("aab ab abab aababc"), List.of("ababc"));
+
+        // Assert
+        assertEquals("aab ab abab aababc".indexOf("ababc"), starts[0]);
+    }
+}
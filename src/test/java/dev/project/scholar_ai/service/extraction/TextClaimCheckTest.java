@@ -0,0 +1,111 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.project.scholar_ai.dto.agent.request.TextReference;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class TextClaimCheckTest {
+
+    private PaperTextStore store;
+    private TextClaimCheck claimCheck;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:claim-check-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE paper_texts (paper_id UUID PRIMARY KEY, codec VARCHAR(16) NOT NULL,"
+                + " char_length INTEGER NOT NULL, byte_length INTEGER NOT NULL, checksum BIGINT NOT NULL,"
+                + " block_index BYTEA NOT NULL, content BYTEA NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        store = new PaperTextStore(jdbcTemplate, 6);
+        claimCheck = new TextClaimCheck(store, 1024, "http://backend:8080/");
+    }
+
+    @Test
+    void payloadFor_SmallText_SendsInline() {
+        // Arrange
+        Paper paper = storedPaper("A short paper.");
+
+        // Act
+        TextClaimCheck.TextPayload payload = claimCheck.payloadFor(paper);
+
+        // Assert
+        assertEquals("A short paper.", payload.text());
+        assertNull(payload.reference());
+    }
+
+    @Test
+    void payloadFor_LargeText_SendsClaimCheck() {
+        // Arrange
+        String text = "Ünïcödé section text. ".repeat(100);
+        Paper paper = storedPaper(text);
+
+        // Act
+        TextClaimCheck.TextPayload payload = claimCheck.payloadFor(paper);
+
+        // Assert
+        assertNull(payload.text());
+        TextReference reference = payload.reference();
+        assertEquals(paper.getId(), reference.paperId());
+        assertEquals(text.length(), reference.charLength());
+        assertEquals(text.getBytes(StandardCharsets.UTF_8).length, reference.byteLength());
+        assertEquals(String.format("crc32c:%08x", PaperTextStore.checksum(text)), reference.contentHash());
+        assertEquals("http://backend:8080/api/papers/" + paper.getId() + "/extracted-text/raw", reference.fetchUrl());
+    }
+
+    @Test
+    void payloadFor_TextAtThreshold_StaysInline() {
+        // Arrange
+        Paper paper = storedPaper("x".repeat(1024));
+
+        // Act & Assert
+        assertNotNull(claimCheck.payloadFor(paper).text());
+    }
+
+    @Test
+    void payloadFor_ThresholdZero_AlwaysSendsInline() {
+        // Arrange
+        TextClaimCheck disabled = new TextClaimCheck(store, 0, "http://backend:8080");
+        String text = "Large section text. ".repeat(10_000);
+        Paper paper = storedPaper(text);
+
+        // Act
+        TextClaimCheck.TextPayload payload = disabled.payloadFor(paper);
+
+        // Assert
+        assertEquals(text, payload.text());
+        assertNull(payload.reference());
+    }
+
+    @Test
+    void payloadFor_NoStoredText_ReturnsNothing() {
+        // Arrange
+        Paper paper = Paper.builder().id(UUID.randomUUID()).build();
+
+        // Act
+        TextClaimCheck.TextPayload payload = claimCheck.payloadFor(paper);
+
+        // Assert
+        assertFalse(payload.isPresent());
+    }
+
+    @Test
+    void contentHash_PadsToEightHexDigits() {
+        assertEquals("crc32c:0000002a", TextClaimCheck.contentHash(42L));
+        assertNull(TextClaimCheck.contentHash(null));
+    }
+
+    private Paper storedPaper(String text) {
+        Paper paper = Paper.builder().id(UUID.randomUUID()).build();
+        PaperTextStore.StoredText stored = store.write(paper.getId(), text);
+        paper.setExtractedTextLength(stored.length());
+        paper.setExtractedTextChecksum(stored.checksum());
+        return paper;
+    }
+}
@@ -0,0 +1,102 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Time and allocation per call of {@link TextSanitizer} against the regex
+ * implementation it replaces, on 10KB, 100KB and 1MB of extraction-like text
+ * (line breaks, tabs, runs of spaces and stray control characters).
+ *
+ * <p>Allocation is read from the per-thread allocation counter of the JVM.
+ * For more iterations run:
+ * {@code mvn test -Pbenchmark -Dtest=TextSanitizerBenchmarkTest -Dscholarai.benchmark.iterations=200}
+ */
+@Slf4j
+@Tag("benchmark")
+class TextSanitizerBenchmarkTest {
+
+    private static final int MAX_LENGTH = 1_000_000;
+
+    @Test
+    void sanitize_ReportsTimeAndAllocationAgainstRegex() {
+        int iterations = Integer.getInteger("scholarai.benchmark.iterations", 20);
+        TextSanitizer sanitizer = new TextSanitizer(MAX_LENGTH);
+
+        for (int size : new int[] {10_000, 100_000, 1_000_000}) {
+            // Arrange
+            String input = input(size);
+            assertEquals(TextSanitizerTest.regexSanitize(input, MAX_LENGTH), sanitizer.sanitize(input));
+
+            // Act
+            Measurement regex = measure(text -> TextSanitizerTest.regexSanitize(text, MAX_LENGTH), input, iterations);
+            Measurement single = measure(sanitizer::sanitize, input, iterations);
+
+            // Assert
+            assertTrue(
+                    single.bytesPerCall() < regex.bytesPerCall(),
+                    "single-pass allocated " + single.bytesPerCall() + " vs regex " + regex.bytesPerCall());
+            log.info(String.format(
+                    "size=%dKB regex=%.1fus %.0fKB/call single-pass=%.1fus %.0fKB/call speedup=%.1fx allocation=%.1f%%",
+                    size / 1000,
+                    regex.microsPerCall(),
+                    regex.bytesPerCall() / 1024.0,
+                    single.microsPerCall(),
+                    single.bytesPerCall() / 1024.0,
+                    regex.microsPerCall() / single.microsPerCall(),
+                    100.0 * single.bytesPerCall() / regex.bytesPerCall()));
+        }
+    }
+
+    private record Measurement(double microsPerCall, long bytesPerCall) {}
+
+    private static Measurement measure(UnaryOperator<String> sanitize, String input, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        for (int i = 0; i < iterations; i++) {
+            sanitize.apply(input); // warm up
+        }
+
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += sanitize.apply(input).length();
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+        assertTrue(sink > 0);
+        return new Measurement(nanos / 1_000.0 / iterations, bytes / iterations);
+    }
+
+    private static String input(int size) {
+        SplittableRandom random = new SplittableRandom(size);
+        StringBuilder text = new StringBuilder(size);
+        while (text.length() < size) {
+            int word = 2 + random.nextInt(9);
+            for (int i = 0; i < word; i++) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+            int separator = random.nextInt(100);
+            if (separator < 80) {
+                text.append(' ');
+            } else if (separator < 90) {
+                text.append('\n');
+            } else if (separator < 95) {
+                text.append("  \t ");
+            } else if (separator < 98) {
+                text.append("\r\n\r\n");
+            } else {
+                text.append('\u0000').append(' ').append('\f');
+            }
+        }
+        text.setLength(size);
+        return text.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class TextSanitizerTest {
+
+    /** The two-regex implementation this replaces, kept as the reference behaviour. */
+    static String regexSanitize(String text, int maxLength) {
+        String sanitized = text.replaceAll("[\u0000-\u0008\u000B\u000C\u000E-\u001F\u007F]", "");
+        sanitized = sanitized.replaceAll("\\s+", " ").trim();
+        if (sanitized.length() > maxLength) {
+            sanitized = sanitized.substring(0, maxLength) + "... [TRUNCATED]";
+        }
+        return sanitized;
+    }
+
+    @Test
+    void sanitize_RandomInputs_MatchesRegexImplementation() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(5);
+        char[] alphabet = {'a', 'b', ' ', ' ', '\t', '\n', '\r', '\u0000', '\u000B', '\f', '\u001F', '\u007F', 'é', ' '
+        };
+
+        for (int round = 0; round < 5_000; round++) {
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(60);
+            for (int i = 0; i < length; i++) {
+                input.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            int maxLength = 1 + random.nextInt(40);
+            TextSanitizer sanitizer = new TextSanitizer(maxLength);
+
+            // Act & Assert
+            String expected = regexSanitize(input.toString(), maxLength);
+            assertEquals(expected, sanitizer.sanitize(input.toString()), () -> "input " + escape(input));
+            assertEquals(
+                    expected, sanitizer.sanitize(new StringReader(input.toString())), () -> "reader " + escape(input));
+        }
+    }
+
+    @Test
+    void sanitize_CleanText_ReturnsSameInstance() {
+        // Arrange
+        String clean = "Already clean text with single spaces.";
+
+        // Act & Assert
+        assertSame(clean, new TextSanitizer(1_000).sanitize(clean));
+    }
+
+    @Test
+    void sanitize_LongText_TruncatesAtCapWithMarker() {
+        // Arrange
+        String text = "x ".repeat(1_000);
+
+        // Act
+        String sanitized = new TextSanitizer(100).sanitize(text);
+
+        // Assert
+        assertEquals(100 + TextSanitizer.TRUNCATION_MARKER.length(), sanitized.length());
+        assertTrue(sanitized.endsWith(TextSanitizer.TRUNCATION_MARKER));
+    }
+
+    @Test
+    void sanitize_ReaderLongerThanCap_StopsReading() {
+        // Arrange
+        CountingReader reader = new CountingReader("word ".repeat(1_000_000));
+
+        // Act
+        String sanitized = new TextSanitizer(10_000).sanitize(reader);
+
+        // Assert
+        assertTrue(sanitized.endsWith(TextSanitizer.TRUNCATION_MARKER));
+        assertTrue(reader.read < 100_000, "read " + reader.read + " characters");
+    }
+
+    @Test
+    void sanitize_Null_ReturnsNull() {
+        assertNull(new TextSanitizer(10).sanitize((String) null));
+    }
+
+    private static String escape(CharSequence text) {
+        StringBuilder escaped = new StringBuilder();
+        text.chars().forEach(c -> escaped.append(c < 0x20 || c == 0x7F ? String.format("\\u%04x", c) : (char) c));
+        return escaped.toString();
+    }
+
+    private static final class CountingReader extends StringReader {
+        private long read;
+
+        CountingReader(String text) {
+            super(text);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws java.io.IOException {
+            int n = super.read(buffer, offset, length);
+            read += Math.max(0, n);
+            return n;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dev.project.scholar_ai.service.extraction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void reserve_WithinBurst_DoesNotWait() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(5, 3, nanos::get);
+
+        // Act & Assert
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+    }
+
+    @Test
+    void reserve_BurstSpent_WaitsOneIntervalPerToken() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(5, 1, nanos::get);
+        bucket.reserve();
+
+        // Act
+        long first = bucket.reserve();
+        long second = bucket.reserve();
+
+        // Assert
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), first);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(400), second);
+    }
+
+    @Test
+    void reserve_AfterIdleSpell_RefillsOnlyUpToBurst() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 2, nanos::get);
+        bucket.reserve();
+        bucket.reserve();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        // Act & Assert
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+    }
+
+    @Test
+    void constructor_NonPositiveRate_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, nanos::get));
+    }
+}
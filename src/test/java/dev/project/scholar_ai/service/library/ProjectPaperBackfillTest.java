@@ -0,0 +1,119 @@
+package dev.project.scholar_ai.service.library;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.model.core.websearch.WebSearchOperation;
+import dev.project.scholar_ai.model.paper.backfill.DataBackfillCheckpoint;
+import dev.project.scholar_ai.repository.core.websearch.WebSearchOperationRepository;
+import dev.project.scholar_ai.repository.paper.backfill.DataBackfillCheckpointRepository;
+import dev.project.scholar_ai.service.websearch.PaperBulkWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class ProjectPaperBackfillTest {
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID paperA = UUID.randomUUID();
+    private final UUID paperB = UUID.randomUUID();
+    private final WebSearchOperationRepository operationRepository = mock(WebSearchOperationRepository.class);
+    private final DataBackfillCheckpointRepository checkpointRepository = mock(DataBackfillCheckpointRepository.class);
+    private final PaperBulkWriter paperBulkWriter = mock(PaperBulkWriter.class);
+    private ProjectPaperBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:project-papers-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE papers (id UUID PRIMARY KEY, correlation_id VARCHAR(100))");
+        jdbcTemplate.update("INSERT INTO papers VALUES (?, 'search-a')", paperA);
+        jdbcTemplate.update("INSERT INTO papers VALUES (?, 'search-b')", paperB);
+        when(checkpointRepository.save(any(DataBackfillCheckpoint.class))).thenAnswer(call -> call.getArgument(0));
+
+        backfill = new ProjectPaperBackfill(jdbcTemplate, operationRepository, checkpointRepository, paperBulkWriter);
+    }
+
+    @Test
+    void backfill_NoCheckpoint_LinksEverySearchAndMarksCompleted() {
+        // Arrange
+        when(checkpointRepository.findById(ProjectPaperBackfill.CHECKPOINT)).thenReturn(Optional.empty());
+        when(operationRepository.findByCorrelationIdGreaterThanOrderByCorrelationId(eq(""), any()))
+                .thenReturn(List.of(operation("search-a"), operation("search-b")));
+
+        // Act
+        int linked = backfill.backfill();
+
+        // Assert
+        assertEquals(2, linked);
+        verify(paperBulkWriter).linkPapersToProject(projectId, "search-a", List.of(paperA));
+        verify(paperBulkWriter).linkPapersToProject(projectId, "search-b", List.of(paperB));
+        DataBackfillCheckpoint saved = lastSavedCheckpoint();
+        assertEquals("search-b", saved.getCursor());
+        assertEquals(2, saved.getProcessed());
+        assertNotNull(saved.getCompletedAt());
+    }
+
+    @Test
+    void backfill_InterruptedEarlier_ResumesAfterRecordedCursor() {
+        // Arrange
+        when(checkpointRepository.findById(ProjectPaperBackfill.CHECKPOINT))
+                .thenReturn(Optional.of(DataBackfillCheckpoint.builder()
+                        .name(ProjectPaperBackfill.CHECKPOINT)
+                        .cursor("search-a")
+                        .processed(1)
+                        .updatedAt(LocalDateTime.now())
+                        .build()));
+        when(operationRepository.findByCorrelationIdGreaterThanOrderByCorrelationId(eq("search-a"), any()))
+                .thenReturn(List.of(operation("search-b")));
+
+        // Act
+        int linked = backfill.backfill();
+
+        // Assert
+        assertEquals(1, linked);
+        verify(paperBulkWriter, never()).linkPapersToProject(any(), eq("search-a"), any());
+        verify(paperBulkWriter).linkPapersToProject(projectId, "search-b", List.of(paperB));
+        assertEquals(2, lastSavedCheckpoint().getProcessed());
+        assertNotNull(lastSavedCheckpoint().getCompletedAt());
+    }
+
+    @Test
+    void backfill_AlreadyCompleted_DoesNothing() {
+        // Arrange
+        when(checkpointRepository.findById(ProjectPaperBackfill.CHECKPOINT))
+                .thenReturn(Optional.of(DataBackfillCheckpoint.builder()
+                        .name(ProjectPaperBackfill.CHECKPOINT)
+                        .cursor("search-b")
+                        .completedAt(LocalDateTime.now())
+                        .build()));
+
+        // Act
+        int linked = backfill.backfill();
+
+        // Assert
+        assertEquals(0, linked);
+        verifyNoInteractions(operationRepository, paperBulkWriter);
+        verify(checkpointRepository, never()).save(any());
+    }
+
+    private WebSearchOperation operation(String correlationId) {
+        WebSearchOperation operation = new WebSearchOperation();
+        operation.setCorrelationId(correlationId);
+        operation.setProjectId(projectId);
+        return operation;
+    }
+
+    private DataBackfillCheckpoint lastSavedCheckpoint() {
+        ArgumentCaptor<DataBackfillCheckpoint> saved = ArgumentCaptor.forClass(DataBackfillCheckpoint.class);
+        verify(checkpointRepository, atLeastOnce()).save(saved.capture());
+        return saved.getValue();
+    }
+}
@@ -0,0 +1,356 @@
+package dev.project.scholar_ai.service.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.dto.pipeline.PaperPipelineDto;
+import dev.project.scholar_ai.dto.pipeline.PipelineProgressDto;
+import dev.project.scholar_ai.dto.pipeline.PipelineStageCountDto;
+import dev.project.scholar_ai.enums.PipelineStage;
+import dev.project.scholar_ai.enums.PipelineStatus;
+import dev.project.scholar_ai.enums.RequestLane;
+import dev.project.scholar_ai.model.core.project.Project;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.model.paper.pipeline.PaperPipeline;
+import dev.project.scholar_ai.repository.core.project.ProjectCollaboratorRepository;
+import dev.project.scholar_ai.repository.core.project.ProjectRepository;
+import dev.project.scholar_ai.repository.paper.pipeline.PaperPipelineRepository;
+import dev.project.scholar_ai.service.websearch.PaperBulkWriter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drives papers through the pipeline on an H2 schema generated from the paper
+ * entities.
+ */
+class PaperPipelineServiceTest {
+
+    private static final int PAPERS = 25;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+    private PaperPipelineRepository paperPipelineRepository;
+    private PaperPipelineService service;
+    private List<UUID> paperIds;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:pipeline-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+                "sa",
+                "");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("dev.project.scholar_ai.model.paper");
+        factory.setPersistenceUnitName("pipeline-test");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto",
+                "create-drop",
+                "hibernate.dialect",
+                "org.hibernate.dialect.H2Dialect",
+                "hibernate.jdbc.batch_size",
+                50,
+                "hibernate.generate_statistics",
+                true));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+
+        List<Paper> papers = new ArrayList<>();
+        for (int i = 0; i < PAPERS; i++) {
+            papers.add(Paper.builder()
+                    .correlationId("search-1")
+                    .title("Paper " + i)
+                    .source("Semantic Scholar")
+                    .build());
+        }
+        PaperBulkWriter writer = new PaperBulkWriter(new JdbcTemplate(dataSource), 250);
+        paperIds = writer.insertPapers(papers).stream().map(Paper::getId).toList();
+        writer.linkPapersToProject(projectId, "search-1", paperIds);
+
+        paperPipelineRepository = new JpaRepositoryFactory(
+                        SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                .getRepository(PaperPipelineRepository.class);
+        when(projectRepository.findByIdAndUserId(projectId, userId)).thenReturn(Optional.of(new Project()));
+        service = new PaperPipelineService(
+                paperPipelineRepository, projectRepository, mock(ProjectCollaboratorRepository.class), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void stageRequested_NewPapers_QueuesWithOneReadAndOneBatchedInsert() {
+        // Act
+        long statements = counted(() -> service.stageRequested(PipelineStage.EXTRACTION, paperIds));
+
+        // Assert
+        PaperPipeline pipeline = find(paperIds.get(0));
+        assertEquals(PipelineStage.EXTRACTION, pipeline.getStage());
+        assertEquals(PipelineStatus.QUEUED, pipeline.getStatus());
+        assertEquals(1, pipeline.getAttempt());
+        assertNotNull(pipeline.getStageStartedAt());
+        assertTrue(statements <= 2, "requesting issued " + statements + " statements");
+    }
+
+    @Test
+    void stageResultsReceived_QueuedStage_CompletesAndTimesWaitAndProcessing() {
+        // Arrange
+        inTransaction(() -> service.stageRequested(PipelineStage.EXTRACTION, paperIds));
+        List<PaperPipelineService.StageResult> results = paperIds.stream()
+                .map(PaperPipelineService.StageResult::succeeded)
+                .toList();
+
+        // Act
+        long statements = counted(() -> service.stageResultsReceived(
+                PipelineStage.EXTRACTION, results, LocalDateTime.now().minusNanos(1_000_000)));
+
+        // Assert
+        PaperPipeline pipeline = find(paperIds.get(0));
+        assertEquals(PipelineStatus.COMPLETED, pipeline.getStatus());
+        assertNotNull(pipeline.getResultReceivedAt());
+        assertTrue(statements <= 2, "recording results issued " + statements + " statements");
+        assertEquals(PAPERS, timerCount("scholarai.pipeline.stage.wait", "extraction"));
+        assertEquals(PAPERS, timerCount("scholarai.pipeline.stage.processing", "extraction"));
+        assertEquals(
+                PAPERS,
+                meterRegistry
+                        .counter("scholarai.pipeline.stage.results", "stage", "extraction", "outcome", "completed")
+                        .count());
+    }
+
+    @Test
+    void stageRequested_SameStageAgain_CountsAttempt() {
+        // Arrange
+        UUID paperId = paperIds.get(0);
+        inTransaction(() -> service.stageRequested(PipelineStage.STRUCTURING, List.of(paperId)));
+        inTransaction(() -> service.stageResultsReceived(
+                PipelineStage.STRUCTURING,
+                List.of(PaperPipelineService.StageResult.failed(paperId, "LLM timeout")),
+                LocalDateTime.now()));
+        assertEquals("LLM timeout", find(paperId).getLastError());
+
+        // Act
+        inTransaction(() -> service.stageRequested(PipelineStage.STRUCTURING, List.of(paperId)));
+        inTransaction(() -> service.stageRequested(PipelineStage.SUMMARIZATION, List.of(paperId)));
+
+        // Assert
+        PaperPipeline pipeline = find(paperId);
+        assertEquals(PipelineStage.SUMMARIZATION, pipeline.getStage());
+        assertEquals(1, pipeline.getAttempt());
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("scholarai.pipeline.stage.results", "stage", "structuring", "outcome", "failed")
+                        .count());
+    }
+
+    @Test
+    void stageResultsReceived_EarlierStage_IsIgnoredAsStale() {
+        // Arrange
+        UUID paperId = paperIds.get(0);
+        inTransaction(() -> service.stageRequested(PipelineStage.SUMMARIZATION, List.of(paperId)));
+
+        // Act
+        inTransaction(() -> service.stageResultsReceived(
+                PipelineStage.EXTRACTION,
+                List.of(PaperPipelineService.StageResult.succeeded(paperId)),
+                LocalDateTime.now()));
+
+        // Assert
+        PaperPipeline pipeline = find(paperId);
+        assertEquals(PipelineStage.SUMMARIZATION, pipeline.getStage());
+        assertEquals(PipelineStatus.QUEUED, pipeline.getStatus());
+    }
+
+    @Test
+    void stageResultsReceived_LaterStageThanRecorded_MovesForwardWithoutWaitTime() {
+        // Arrange - the structuring request was sent but its record was lost
+        UUID paperId = paperIds.get(0);
+        inTransaction(() -> service.stageRequested(PipelineStage.EXTRACTION, List.of(paperId)));
+
+        // Act
+        inTransaction(() -> service.stageResultsReceived(
+                PipelineStage.STRUCTURING,
+                List.of(PaperPipelineService.StageResult.succeeded(paperId)),
+                LocalDateTime.now()));
+
+        // Assert
+        PaperPipeline pipeline = find(paperId);
+        assertEquals(PipelineStage.STRUCTURING, pipeline.getStage());
+        assertEquals(PipelineStatus.COMPLETED, pipeline.getStatus());
+        assertEquals(0, timerCount("scholarai.pipeline.stage.wait", "structuring"));
+    }
+
+    @Test
+    void stageRequested_LaterStage_KeepsLaneOfExtraction() {
+        // Arrange
+        List<UUID> bulk = paperIds.subList(0, 5);
+        UUID interactive = paperIds.get(5);
+        inTransaction(() -> service.stageRequested(PipelineStage.EXTRACTION, RequestLane.BULK, bulk));
+        inTransaction(() -> service.stageRequested(PipelineStage.EXTRACTION, List.of(interactive)));
+
+        // Act
+        inTransaction(() -> service.stageRequested(PipelineStage.STRUCTURING, bulk));
+        Map<UUID, RequestLane> lanes = inTransaction(() -> service.lanesOf(paperIds.subList(0, 7)));
+
+        // Assert
+        assertEquals(RequestLane.BULK, find(bulk.get(0)).getLane());
+        assertEquals(RequestLane.BULK, lanes.get(bulk.get(4)));
+        assertEquals(RequestLane.INTERACTIVE, lanes.get(interactive));
+        assertEquals(RequestLane.INTERACTIVE, lanes.get(paperIds.get(6))); // never requested
+    }
+
+    @Test
+    void stageResultsReceived_TimesWaitPerLane() {
+        // Arrange
+        UUID bulk = paperIds.get(0);
+        UUID interactive = paperIds.get(1);
+        inTransaction(() -> service.stageRequested(PipelineStage.EXTRACTION, RequestLane.BULK, List.of(bulk)));
+        inTransaction(
+                () -> service.stageRequested(PipelineStage.EXTRACTION, RequestLane.INTERACTIVE, List.of(interactive)));
+
+        // Act
+        inTransaction(() -> service.stageResultsReceived(
+                PipelineStage.EXTRACTION,
+                List.of(
+                        PaperPipelineService.StageResult.succeeded(bulk),
+                        PaperPipelineService.StageResult.succeeded(interactive)),
+                LocalDateTime.now()));
+
+        // Assert
+        assertEquals(
+                1,
+                meterRegistry
+                        .timer("scholarai.pipeline.stage.wait", "stage", "extraction", "lane", "bulk")
+                        .count());
+        assertEquals(
+                1,
+                meterRegistry
+                        .timer("scholarai.pipeline.stage.wait", "stage", "extraction", "lane", "interactive")
+                        .count());
+    }
+
+    @Test
+    void pipelineDepthGauges_Refresh_CountsQueuedPapersPerStageAndLane() {
+        // Arrange
+        PipelineDepthGauges gauges = new PipelineDepthGauges(paperPipelineRepository, meterRegistry, 15);
+        inTransaction(() -> service.stageRequested(PipelineStage.EXTRACTION, RequestLane.BULK, paperIds.subList(0, 8)));
+        inTransaction(() -> service.stageRequested(PipelineStage.EXTRACTION, paperIds.subList(8, 10)));
+        inTransaction(() -> service.stageResultsReceived(
+                PipelineStage.EXTRACTION,
+                List.of(PaperPipelineService.StageResult.succeeded(paperIds.get(0))),
+                LocalDateTime.now()));
+
+        // Act
+        inTransaction(gauges::refresh);
+
+        // Assert
+        assertEquals(7, gauges.queued(PipelineStage.EXTRACTION, RequestLane.BULK));
+        assertEquals(2, gauges.queued(PipelineStage.EXTRACTION, RequestLane.INTERACTIVE));
+        assertEquals(0, gauges.queued(PipelineStage.STRUCTURING, RequestLane.BULK));
+        assertEquals(
+                7,
+                meterRegistry
+                        .get("scholarai.pipeline.queued")
+                        .tags("stage", "extraction", "lane", "bulk")
+                        .gauge()
+                        .value());
+    }
+
+    @Test
+    void getProjectProgress_CountsPapersPerStageAndStatus() {
+        // Arrange
+        List<UUID> extracting = paperIds.subList(0, 10);
+        List<UUID> finished = paperIds.subList(10, 12);
+        inTransaction(() -> service.stageRequested(PipelineStage.EXTRACTION, extracting));
+        inTransaction(() -> service.stageRequested(PipelineStage.GAP_ANALYSIS, finished));
+        inTransaction(() -> service.stageResultsReceived(
+                PipelineStage.GAP_ANALYSIS,
+                finished.stream()
+                        .map(PaperPipelineService.StageResult::succeeded)
+                        .toList(),
+                LocalDateTime.now()));
+
+        // Act
+        PipelineProgressDto progress = inTransaction(() -> service.getProjectProgress(projectId, userId));
+
+        // Assert
+        assertEquals(PAPERS, progress.totalPapers());
+        assertEquals(PAPERS - 12, progress.notStarted());
+        assertEquals(2, progress.finished());
+        PipelineStageCountDto extraction = progress.stages().get(0);
+        assertEquals(PipelineStage.EXTRACTION, extraction.stage());
+        assertEquals(10, extraction.queued());
+        assertNotNull(extraction.oldestQueuedSeconds());
+        assertEquals(2, progress.stages().get(3).completed());
+        PaperPipelineDto queued = progress.papers().stream()
+                .filter(paper -> paper.paperId().equals(extracting.get(0)))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Paper 0", queued.title());
+        assertEquals(PipelineStatus.QUEUED, queued.status());
+        assertNotNull(queued.waitingSeconds());
+    }
+
+    @Test
+    void getProjectProgress_NoAccess_Rejected() {
+        assertThrows(RuntimeException.class, () -> service.getProjectProgress(projectId, UUID.randomUUID()));
+    }
+
+    private PaperPipeline find(UUID paperId) {
+        return inTransaction(() -> paperPipelineRepository.findById(paperId).orElseThrow());
+    }
+
+    private long timerCount(String name, String stage) {
+        return meterRegistry.find(name).tag("stage", stage).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private long counted(Runnable work) {
+        statistics.clear();
+        inTransaction(work);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void inTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> work.run());
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
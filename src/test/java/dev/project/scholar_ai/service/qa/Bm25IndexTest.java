@@ -0,0 +1,46 @@
+package dev.project.scholar_ai.service.qa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class Bm25IndexTest {
+
+    private final Bm25Index index = Bm25Index.build(List.of(
+            "Transformers use attention over token sequences.",
+            "We evaluate on three benchmark datasets and report accuracy.",
+            "Attention weights are visualized; attention heads specialize.",
+            "Related work covers convolutional networks."));
+
+    @Test
+    void search_RanksChunksByTermFrequencyAndRarity() {
+        // Act
+        List<Bm25Index.Hit> hits = index.search("How do the attention heads behave?", 2);
+
+        // Assert
+        assertEquals(List.of(2, 0), hits.stream().map(Bm25Index.Hit::chunk).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void search_PluralAndCase_MatchTheSameTerm() {
+        // Act
+        List<Bm25Index.Hit> hits = index.search("Which DATASET", 3);
+
+        // Assert
+        assertEquals(1, hits.size());
+        assertEquals(1, hits.get(0).chunk());
+    }
+
+    @Test
+    void search_OnlyStopWordsOrUnknownTerms_NoHits() {
+        assertTrue(index.search("what is this about", 3).isEmpty());
+        assertTrue(index.search("quantum", 3).isEmpty());
+    }
+
+    @Test
+    void tokenize_DropsStopWordsAndSingleCharacters() {
+        assertEquals(List.of("model", "x2", "layer"), Bm25Index.tokenize("The model's x2 layers, a"));
+    }
+}
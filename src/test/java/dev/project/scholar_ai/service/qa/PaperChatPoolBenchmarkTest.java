@@ -0,0 +1,317 @@
+package dev.project.scholar_ai.service.qa;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import dev.project.scholar_ai.dto.qa.ChatRequest;
+import dev.project.scholar_ai.dto.qa.ChatResponse;
+import dev.project.scholar_ai.model.core.auth.AuthUser;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.core.auth.AuthUserRepository;
+import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.repository.qa.QAMessageRepository;
+import dev.project.scholar_ai.repository.qa.QASessionRepository;
+import dev.project.scholar_ai.service.extraction.PaperTextStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Core-DB pool use while many users chat with papers at once, with the whole
+ * chat turn in one transaction (as under the former class-level
+ * {@code @Transactional}) and in short transactions around the agent call.
+ *
+ * <p>Sessions and messages go to H2 behind a Hikari pool of the production
+ * size; the QA agent is simulated and answers after {@code agentMillis}.
+ * While the chats run, a probe takes a connection for a trivial query in a
+ * loop, as the rest of the API does, and its wait is reported along with the
+ * pool's active connections and waiting threads. For a larger run:
+ * {@code mvn test -Pbenchmark -Dtest=PaperChatPoolBenchmarkTest -Dscholarai.benchmark.chats=200}
+ *
+ * <p>That no transaction spans the agent call is checked deterministically by
+ * {@link PaperQAServiceTest}.
+ */
+@Slf4j
+@Tag("benchmark")
+class PaperChatPoolBenchmarkTest {
+
+    private static final int CHATS = Integer.getInteger("scholarai.benchmark.chats", 50);
+    private static final int POOL_SIZE = Integer.getInteger("scholarai.benchmark.poolSize", 10);
+    private static final long AGENT_MILLIS = Long.getLong("scholarai.benchmark.agentMillis", 500);
+    private static final String ANSWER = "It replaces recurrence with self-attention.";
+
+    private final UUID paperId = UUID.randomUUID();
+    private final List<String> emails = new ArrayList<>();
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private JpaTransactionManager transactionManager;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private PaperQAService paperQAService;
+
+    /**
+     * What one run of concurrent chats did to the pool.
+     *
+     * @param peakActive Most connections in use at once
+     * @param peakWaiting Most threads waiting for a connection at once
+     * @param meanActive Connections in use, averaged over the run
+     * @param probeWaitsMillis Time the probe took to get a connection and run its query, sorted
+     * @param chatMillis Latency of each chat, sorted
+     * @param wallMillis Time for all chats to finish
+     */
+    private record PoolUsage(
+            int peakActive,
+            int peakWaiting,
+            double meanActive,
+            long[] probeWaitsMillis,
+            long[] chatMillis,
+            long wallMillis) {}
+
+    @BeforeEach
+    void setUp() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:chat-pool-bench-" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=VALUE");
+        dataSource.setMaximumPoolSize(POOL_SIZE);
+        dataSource.setConnectionTimeout(Duration.ofSeconds(30).toMillis());
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(
+                "dev.project.scholar_ai.model.qa",
+                "dev.project.scholar_ai.model.core.auth",
+                "dev.project.scholar_ai.model.core.project");
+        factory.setPersistenceUnitName("chat-pool-bench");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop", "hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        AuthUserRepository authUserRepository = repositories.getRepository(AuthUserRepository.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < CHATS; i++) {
+                AuthUser user = new AuthUser();
+                user.setEmail("reader" + i + "@example.com");
+                user.setRole("USER");
+                emails.add(authUserRepository.save(user).getEmail());
+            }
+        });
+
+        Paper paper = Paper.builder()
+                .id(paperId)
+                .title("Attention Is All You Need")
+                .extractedTextLength(5_000)
+                .extractedTextChecksum(42L)
+                .build();
+        PaperRepository paperRepository = mock(PaperRepository.class);
+        when(paperRepository.findById(paperId)).thenReturn(Optional.of(paper));
+        PaperTextStore paperTextStore = mock(PaperTextStore.class);
+        when(paperTextStore.read(paperId)).thenReturn(Optional.of("The Transformer relies on attention. ".repeat(100)));
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.postForObject(anyString(), any(), eq(Map.class))).thenAnswer(call -> {
+            Thread.sleep(AGENT_MILLIS);
+            return Map.of("response", ANSWER);
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        paperQAService = new PaperQAService(
+                repositories.getRepository(QASessionRepository.class),
+                repositories.getRepository(QAMessageRepository.class),
+                paperRepository,
+                authUserRepository,
+                paperTextStore,
+                restTemplate,
+                WebClient.create(),
+                mock(PaperRetriever.class),
+                new ObjectMapper().findAndRegisterModules(),
+                meterRegistry,
+                new QAAnswerCache(meterRegistry, false, 0, 0, Duration.ZERO, System::nanoTime),
+                transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Test
+    void concurrentChats_ReportsPoolSaturationWithAndWithoutTransactionAcrossAgentCall() throws Exception {
+        // Arrange
+        Function<String, ChatResponse> wholeTurnInTransaction = email ->
+                transactionTemplate.execute(status -> paperQAService.chatWithPaper(paperId, question(), email));
+        Function<String, ChatResponse> shortTransactions =
+                email -> paperQAService.chatWithPaper(paperId, question(), email);
+
+        // Act
+        PoolUsage before = run(wholeTurnInTransaction);
+        long messagesBefore = countMessages();
+        PoolUsage after = run(shortTransactions);
+        long messagesAfter = countMessages() - messagesBefore;
+
+        // Assert
+        report("transaction across agent call", before);
+        report("short transactions", after);
+        assertEquals(2L * CHATS, messagesBefore);
+        assertEquals(2L * CHATS, messagesAfter);
+        assertEquals(POOL_SIZE, before.peakActive());
+        assertTrue(before.peakWaiting() > 0);
+        assertTrue(percentile(before.probeWaitsMillis(), 1.0) >= AGENT_MILLIS);
+        assertTrue(percentile(after.probeWaitsMillis(), 1.0) < AGENT_MILLIS);
+        assertTrue(after.meanActive() < before.meanActive());
+    }
+
+    private PoolUsage run(Function<String, ChatResponse> chat) throws Exception {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        List<Long> probeWaits = new ArrayList<>();
+        int[] peaks = new int[2];
+        long[] activeSamples = new long[2];
+        CountDownLatch go = new CountDownLatch(1);
+        long[] chatMillis = new long[CHATS];
+        long start;
+
+        try (ExecutorService chats = Executors.newVirtualThreadPerTaskExecutor();
+                ExecutorService watchers = Executors.newFixedThreadPool(2)) {
+            List<Future<ChatResponse>> responses = new ArrayList<>(CHATS);
+            for (int i = 0; i < CHATS; i++) {
+                String email = emails.get(i);
+                int slot = i;
+                responses.add(chats.submit(() -> {
+                    go.await();
+                    long chatStart = System.nanoTime();
+                    ChatResponse response = chat.apply(email);
+                    chatMillis[slot] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chatStart);
+                    return response;
+                }));
+            }
+            Future<?> sampler = watchers.submit(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    int active = pool.getActiveConnections();
+                    peaks[0] = Math.max(peaks[0], active);
+                    peaks[1] = Math.max(peaks[1], pool.getThreadsAwaitingConnection());
+                    activeSamples[0] += active;
+                    activeSamples[1]++;
+                    try {
+                        Thread.sleep(2);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            Future<?> probe = watchers.submit(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long probeStart = System.nanoTime();
+                    try {
+                        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                    } catch (RuntimeException e) {
+                        return;
+                    }
+                    synchronized (probeWaits) {
+                        probeWaits.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - probeStart));
+                    }
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+
+            start = System.nanoTime();
+            go.countDown();
+            for (Future<ChatResponse> response : responses) {
+                assertEquals(ANSWER, response.get().getResponse());
+            }
+            long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            sampler.cancel(true);
+            probe.cancel(true);
+            watchers.shutdown();
+            assertTrue(watchers.awaitTermination(10, TimeUnit.SECONDS));
+
+            long[] waits;
+            synchronized (probeWaits) {
+                waits = probeWaits.stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+            Arrays.sort(chatMillis);
+            return new PoolUsage(
+                    peaks[0],
+                    peaks[1],
+                    activeSamples[1] == 0 ? 0 : activeSamples[0] / (double) activeSamples[1],
+                    waits,
+                    chatMillis,
+                    wallMillis);
+        }
+    }
+
+    private static ChatRequest question() {
+        return ChatRequest.builder()
+                .message("What does the Transformer replace recurrence with?")
+                .build();
+    }
+
+    private long countMessages() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM qa_messages", Long.class);
+    }
+
+    private static void report(String mode, PoolUsage usage) {
+        log.info(String.format(
+                "%-30s %d chats, pool %d, agent %d ms: peak active %d, peak waiting %d, mean active %.1f, "
+                        + "probe wait p50 %d ms max %d ms, chat p50 %d ms p99 %d ms, wall %d ms",
+                mode,
+                CHATS,
+                POOL_SIZE,
+                AGENT_MILLIS,
+                usage.peakActive(),
+                usage.peakWaiting(),
+                usage.meanActive(),
+                percentile(usage.probeWaitsMillis(), 0.50),
+                percentile(usage.probeWaitsMillis(), 1.0),
+                percentile(usage.chatMillis(), 0.50),
+                percentile(usage.chatMillis(), 0.99),
+                usage.wallMillis()));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,336 @@
+package dev.project.scholar_ai.service.qa;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.project.scholar_ai.config.WebClientConfig;
+import dev.project.scholar_ai.dto.qa.ChatRequest;
+import dev.project.scholar_ai.dto.qa.ChatResponse;
+import dev.project.scholar_ai.dto.qa.ChatStreamEvent;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.core.auth.AuthUserRepository;
+import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.repository.qa.QAMessageRepository;
+import dev.project.scholar_ai.repository.qa.QASessionRepository;
+import dev.project.scholar_ai.service.extraction.PaperTextStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Time to first token and thread use of paper chat under concurrency, with
+ * the blocking endpoint and with the answer streamed over Server-Sent Events.
+ *
+ * <p>A local HTTP server plays the QA agent, generating {@code tokens} pieces
+ * {@code tokenMillis} apart: the blocking endpoint answers once all are
+ * generated, the streaming one sends each as it is generated. Requests are
+ * handled on a fixed pool of {@code servletThreads}, standing in for Tomcat's
+ * worker threads; a blocking chat holds its thread until the answer is
+ * complete, a streaming one only until the stream is set up. Conversation
+ * storage is mocked. For a longer run:
+ * {@code mvn test -Pbenchmark -Dtest=PaperChatStreamingBenchmarkTest -Dscholarai.benchmark.chats=500}
+ */
+@Slf4j
+@Tag("benchmark")
+class PaperChatStreamingBenchmarkTest {
+
+    private static final int CHATS = Integer.getInteger("scholarai.benchmark.chats", 100);
+    private static final int SERVLET_THREADS = Integer.getInteger("scholarai.benchmark.servletThreads", 20);
+    private static final int TOKENS = Integer.getInteger("scholarai.benchmark.tokens", 40);
+    private static final long TOKEN_MILLIS = Long.getLong("scholarai.benchmark.tokenMillis", 25);
+
+    private final UUID paperId = UUID.randomUUID();
+    private final String answer = "token ".repeat(TOKENS);
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private HttpServer agent;
+    private ExecutorService agentExecutor;
+    private ConnectionProvider connectionProvider;
+    private PaperQAService paperQAService;
+
+    /**
+     * Latencies of one run, each sorted, and the threads it used.
+     *
+     * @param firstTokenMillis From request to the first piece of the answer reaching the client
+     * @param completeMillis From request to the whole answer reaching the client
+     * @param servletHoldMillis How long each request occupied its servlet thread
+     * @param streamThreads Distinct threads that delivered answer events after the servlet thread was released
+     * @param peakThreads Most live JVM threads during the run
+     */
+    private record Run(
+            long[] firstTokenMillis,
+            long[] completeMillis,
+            long[] servletHoldMillis,
+            int streamThreads,
+            int peakThreads,
+            long wallMillis) {}
+
+    @BeforeEach
+    void setUp() throws IOException {
+        agentExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        agent = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        agent.setExecutor(agentExecutor);
+        agent.createContext("/api/v1/papers/" + paperId + "/chat", this::answerWhole);
+        agent.createContext("/api/v1/papers/" + paperId + "/chat/stream", this::answerStreamed);
+        agent.start();
+
+        PaperRepository paperRepository = mock(PaperRepository.class);
+        when(paperRepository.findById(paperId))
+                .thenReturn(Optional.of(Paper.builder()
+                        .id(paperId)
+                        .title("Attention Is All You Need")
+                        .extractedTextLength(5_000)
+                        .extractedTextChecksum(42L)
+                        .build()));
+        PaperTextStore paperTextStore = mock(PaperTextStore.class);
+        when(paperTextStore.read(paperId)).thenReturn(Optional.of("The Transformer relies on attention. ".repeat(100)));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        connectionProvider = new WebClientConfig().qaStreamConnectionProvider(500, 10);
+
+        paperQAService = new PaperQAService(
+                mock(QASessionRepository.class),
+                mock(QAMessageRepository.class),
+                paperRepository,
+                mock(AuthUserRepository.class),
+                paperTextStore,
+                new RestTemplate(),
+                new WebClientConfig().qaStreamWebClient(WebClient.builder(), connectionProvider, 5_000),
+                mock(PaperRetriever.class),
+                new ObjectMapper().findAndRegisterModules(),
+                meterRegistry,
+                new QAAnswerCache(meterRegistry, false, 0, 0, Duration.ZERO, System::nanoTime),
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(
+                paperQAService,
+                "fastApiBaseUrl",
+                "http://localhost:" + agent.getAddress().getPort());
+        ReflectionTestUtils.setField(paperQAService, "streamIdleTimeoutSeconds", 30L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        agent.stop(0);
+        agentExecutor.shutdownNow();
+    }
+
+    @Test
+    void concurrentChats_ReportsTimeToFirstTokenAndThreadUse() throws Exception {
+        // Arrange
+        chatBlocking(1);
+        chatStreaming(1);
+
+        // Act
+        Run blockingAlone = chatBlocking(1);
+        Run streamingAlone = chatStreaming(1);
+        Run blocking = chatBlocking(CHATS);
+        Run streaming = chatStreaming(CHATS);
+
+        // Assert
+        report("blocking", 1, blockingAlone);
+        report("streaming (SSE)", 1, streamingAlone);
+        report("blocking", CHATS, blocking);
+        report("streaming (SSE)", CHATS, streaming);
+        long generationMillis = TOKENS * TOKEN_MILLIS;
+        assertTrue(blockingAlone.firstTokenMillis()[0] >= generationMillis);
+        assertTrue(streamingAlone.firstTokenMillis()[0] < generationMillis / 4);
+        assertTrue(percentile(streaming.firstTokenMillis(), 0.50) < percentile(blocking.firstTokenMillis(), 0.50) / 2);
+        assertTrue(percentile(blocking.servletHoldMillis(), 0.50) >= generationMillis);
+        assertTrue(percentile(streaming.servletHoldMillis(), 0.99) < percentile(blocking.servletHoldMillis(), 0.50));
+        assertTrue(streaming.wallMillis() < blocking.wallMillis());
+    }
+
+    private Run chatBlocking(int chats) throws Exception {
+        long[] firstToken = new long[chats];
+        long[] hold = new long[chats];
+        threads.resetPeakThreadCount();
+        long start = System.nanoTime();
+        try (ExecutorService servlet = Executors.newFixedThreadPool(SERVLET_THREADS)) {
+            List<Future<?>> requests = new ArrayList<>(chats);
+            for (int i = 0; i < chats; i++) {
+                int slot = i;
+                long submitted = System.nanoTime();
+                requests.add(servlet.submit(() -> {
+                    long started = System.nanoTime();
+                    ChatResponse response = paperQAService.chatWithPaper(paperId, question(), "anonymous");
+                    long finished = System.nanoTime();
+                    assertEquals(answer, response.getResponse());
+                    // The client sees nothing until the whole answer is written
+                    firstToken[slot] = TimeUnit.NANOSECONDS.toMillis(finished - submitted);
+                    hold[slot] = TimeUnit.NANOSECONDS.toMillis(finished - started);
+                    return null;
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        }
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new Run(
+                sorted(firstToken),
+                sorted(firstToken.clone()),
+                sorted(hold),
+                0,
+                threads.getPeakThreadCount(),
+                wallMillis);
+    }
+
+    private Run chatStreaming(int chats) throws Exception {
+        long[] firstToken = new long[chats];
+        long[] complete = new long[chats];
+        long[] hold = new long[chats];
+        Set<String> streamThreads = ConcurrentHashMap.newKeySet();
+        CountDownLatch finished = new CountDownLatch(chats);
+        threads.resetPeakThreadCount();
+        long start = System.nanoTime();
+        try (ExecutorService servlet = Executors.newFixedThreadPool(SERVLET_THREADS)) {
+            for (int i = 0; i < chats; i++) {
+                int slot = i;
+                long submitted = System.nanoTime();
+                servlet.submit(() -> {
+                    long started = System.nanoTime();
+                    Thread servletThread = Thread.currentThread();
+                    StringBuilder received = new StringBuilder();
+                    // Subscribed and released as Spring MVC does for a Flux return value
+                    paperQAService
+                            .streamChatWithPaper(paperId, question(), "anonymous")
+                            .subscribe(
+                                    event -> {
+                                        if (Thread.currentThread() != servletThread) {
+                                            streamThreads.add(
+                                                    Thread.currentThread().getName());
+                                        }
+                                        ChatStreamEvent data = event.data();
+                                        if (data.token() != null && received.isEmpty()) {
+                                            firstToken[slot] =
+                                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted);
+                                        }
+                                        if (data.token() != null) {
+                                            received.append(data.token());
+                                        }
+                                    },
+                                    error -> finished.countDown(),
+                                    () -> {
+                                        complete[slot] = received.toString().equals(answer)
+                                                ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted)
+                                                : -1;
+                                        finished.countDown();
+                                    });
+                    hold[slot] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                });
+            }
+            assertTrue(finished.await(2, TimeUnit.MINUTES));
+        }
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(Arrays.stream(complete).allMatch(millis -> millis >= 0), "every streamed answer is complete");
+        return new Run(
+                sorted(firstToken),
+                sorted(complete),
+                sorted(hold),
+                streamThreads.size(),
+                threads.getPeakThreadCount(),
+                wallMillis);
+    }
+
+    private void answerWhole(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        sleep(TOKENS * TOKEN_MILLIS);
+        byte[] body = new ObjectMapper().writeValueAsBytes(Map.of("response", answer));
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void answerStreamed(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < TOKENS; i++) {
+                sleep(TOKEN_MILLIS);
+                out.write("data: {\"token\": \"token \"}\n\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+            out.write("event: done\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static ChatRequest question() {
+        return ChatRequest.builder().message("What replaces recurrence?").build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long[] sorted(long[] values) {
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static void report(String mode, int chats, Run run) {
+        log.info(String.format(
+                "%-16s %3d chats on %d servlet threads, %d tokens x %d ms: first token p50 %d ms p99 %d ms, "
+                        + "complete p50 %d ms p99 %d ms, servlet thread held p50 %d ms p99 %d ms, "
+                        + "stream threads %d, peak JVM threads %d, wall %d ms",
+                mode,
+                chats,
+                SERVLET_THREADS,
+                TOKENS,
+                TOKEN_MILLIS,
+                percentile(run.firstTokenMillis(), 0.50),
+                percentile(run.firstTokenMillis(), 0.99),
+                percentile(run.completeMillis(), 0.50),
+                percentile(run.completeMillis(), 0.99),
+                percentile(run.servletHoldMillis(), 0.50),
+                percentile(run.servletHoldMillis(), 0.99),
+                run.streamThreads(),
+                run.peakThreads(),
+                run.wallMillis()));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
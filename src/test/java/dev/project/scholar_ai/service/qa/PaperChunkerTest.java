@@ -0,0 +1,58 @@
+package dev.project.scholar_ai.service.qa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.project.scholar_ai.service.extraction.ExtractedTextService.Section;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PaperChunkerTest {
+
+    @Test
+    void chunk_Unstructured_OverlappingChunksEndingAtSentenceBreaks() {
+        // Arrange
+        String text = "First sentence here. Second sentence follows. Third one ends it. Fourth adds more. Fifth.";
+
+        // Act
+        List<PaperChunker.Chunk> chunks = PaperChunker.chunk(text, List.of(), 40, 10);
+
+        // Assert
+        assertTrue(chunks.size() > 1);
+        assertEquals("First sentence here.", chunks.get(0).text());
+        for (int i = 1; i < chunks.size(); i++) {
+            PaperChunker.Chunk previous = chunks.get(i - 1);
+            assertTrue(
+                    chunks.get(i).offset() < previous.offset() + previous.text().length(), "chunks overlap");
+            assertTrue(chunks.get(i).offset() > previous.offset(), "chunks advance");
+        }
+        assertTrue(chunks.get(chunks.size() - 1).text().endsWith("Fifth."));
+        assertNull(chunks.get(0).section());
+    }
+
+    @Test
+    void chunk_Sections_NeverCrossABoundaryAndCarryTheTitle() {
+        // Arrange
+        String text = "Front matter. Introduction We study things. Methods We measure things carefully.";
+        int intro = text.indexOf("Introduction");
+        int methods = text.indexOf("Methods");
+        List<Section> sections = List.of(
+                new Section(0, "Introduction", intro, methods - intro, true),
+                new Section(1, "Missing", methods, 0, false),
+                new Section(2, "Methods", methods, text.length() - methods, true));
+
+        // Act
+        List<PaperChunker.Chunk> chunks = PaperChunker.chunk(text, sections, 1000, 100);
+
+        // Assert
+        assertEquals(3, chunks.size());
+        assertEquals(new PaperChunker.Chunk(null, 0, "Front matter."), chunks.get(0));
+        assertEquals(new PaperChunker.Chunk("Introduction", intro, "Introduction We study things."), chunks.get(1));
+        assertEquals("Methods", chunks.get(2).section());
+        assertEquals("Methods We measure things carefully.", chunks.get(2).text());
+    }
+
+    @Test
+    void chunk_OverlapNotSmallerThanSize_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> PaperChunker.chunk("text", List.of(), 10, 10));
+    }
+}
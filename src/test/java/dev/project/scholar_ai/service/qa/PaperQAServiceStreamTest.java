@@ -0,0 +1,217 @@
+package dev.project.scholar_ai.service.qa;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.project.scholar_ai.dto.qa.ChatRequest;
+import dev.project.scholar_ai.dto.qa.ChatStreamEvent;
+import dev.project.scholar_ai.enums.MessageRole;
+import dev.project.scholar_ai.model.core.auth.AuthUser;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.model.qa.QAMessage;
+import dev.project.scholar_ai.model.qa.QASession;
+import dev.project.scholar_ai.repository.core.auth.AuthUserRepository;
+import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.repository.qa.QAMessageRepository;
+import dev.project.scholar_ai.repository.qa.QASessionRepository;
+import dev.project.scholar_ai.service.extraction.PaperTextStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+class PaperQAServiceStreamTest {
+
+    private static final String EMAIL = "reader@example.com";
+    private static final String QUESTION = "What replaces recurrence?";
+
+    private final UUID paperId = UUID.randomUUID();
+    private final QASession session =
+            QASession.builder().id(UUID.randomUUID()).title("Chat").build();
+    private final AtomicInteger agentCalls = new AtomicInteger();
+    private QAMessageRepository qaMessageRepository;
+    private QAAnswerCache answerCache;
+    private String agentEvents;
+    private PaperQAService paperQAService;
+
+    @BeforeEach
+    void setUp() {
+        QASessionRepository qaSessionRepository = mock(QASessionRepository.class);
+        when(qaSessionRepository.save(any(QASession.class))).thenReturn(session);
+        when(qaSessionRepository.getReferenceById(session.getId())).thenReturn(session);
+        qaMessageRepository = mock(QAMessageRepository.class);
+        when(qaMessageRepository.findRecentMessagesBySessionId(eq(session.getId()), any()))
+                .thenReturn(List.of(QAMessage.builder()
+                        .role(MessageRole.USER)
+                        .content(QUESTION)
+                        .build()));
+        AuthUserRepository authUserRepository = mock(AuthUserRepository.class);
+        AuthUser user = new AuthUser();
+        user.setId(UUID.randomUUID());
+        user.setEmail(EMAIL);
+        when(authUserRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        PaperRepository paperRepository = mock(PaperRepository.class);
+        when(paperRepository.findById(paperId))
+                .thenReturn(Optional.of(Paper.builder()
+                        .id(paperId)
+                        .title("Attention Is All You Need")
+                        .extractedTextLength(100)
+                        .extractedTextChecksum(7L)
+                        .build()));
+        PaperTextStore paperTextStore = mock(PaperTextStore.class);
+        when(paperTextStore.read(paperId)).thenReturn(Optional.of("The Transformer relies on attention."));
+
+        // The QA agent's stream, answered without a server
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    agentCalls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                            .body(agentEvents)
+                            .build());
+                })
+                .build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        answerCache = new QAAnswerCache(meterRegistry, true, 100, 1 << 20, Duration.ofHours(1), System::nanoTime);
+
+        paperQAService = new PaperQAService(
+                qaSessionRepository,
+                qaMessageRepository,
+                paperRepository,
+                authUserRepository,
+                paperTextStore,
+                mock(RestTemplate.class),
+                webClient,
+                mock(PaperRetriever.class),
+                new ObjectMapper().findAndRegisterModules(),
+                meterRegistry,
+                answerCache,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(paperQAService, "streamIdleTimeoutSeconds", 5L);
+    }
+
+    @Test
+    void streamChatWithPaper_AgentStreamsTokens_RelaysThemThenStoresAnswer() {
+        // Arrange
+        agentEvents = "data: {\"token\": \"Self\"}\n\n"
+                + "data: {\"token\": \"-attention\"}\n\n"
+                + "event: done\ndata: {}\n\n";
+
+        // Act
+        List<ServerSentEvent<ChatStreamEvent>> events = stream();
+
+        // Assert
+        assertEquals(List.of("session", "token", "token", "done"), names(events));
+        assertEquals(session.getId(), events.get(0).data().sessionId());
+        assertEquals("Self", events.get(1).data().token());
+        assertEquals("-attention", events.get(2).data().token());
+        assertEquals("Self-attention", events.get(3).data().response());
+        assertEquals(List.of(QUESTION, "Self-attention"), savedContents());
+        assertEquals(Optional.of("Self-attention"), answerCache.get(paperId, 7L, QUESTION));
+    }
+
+    @Test
+    void streamChatWithPaper_AgentReportsError_StoresFallbackAndEndsWithError() {
+        // Arrange
+        agentEvents = "data: {\"token\": \"Par\"}\n\nevent: error\ndata: model overloaded\n\n";
+
+        // Act
+        List<ServerSentEvent<ChatStreamEvent>> events = stream();
+
+        // Assert
+        assertEquals(List.of("session", "token", "error"), names(events));
+        List<String> saved = savedContents();
+        assertEquals(2, saved.size());
+        assertTrue(saved.get(1).startsWith("Sorry, there was an error"));
+        assertEquals(Optional.empty(), answerCache.get(paperId, 7L, QUESTION));
+    }
+
+    @Test
+    void streamChatWithPaper_ClientDisconnectsMidAnswer_StoresPartialAnswer() {
+        // Arrange
+        agentEvents = "data: {\"token\": \"Self\"}\n\n"
+                + "data: {\"token\": \"-attention\"}\n\n"
+                + "event: done\ndata: {}\n\n";
+
+        // Act - the client leaves after the first token
+        List<ServerSentEvent<ChatStreamEvent>> events = stream(2);
+
+        // Assert
+        assertEquals(List.of("session", "token"), names(events));
+        verify(qaMessageRepository, timeout(5_000).times(2)).save(any(QAMessage.class));
+        assertEquals(List.of(QUESTION, "Self"), savedContents());
+        assertEquals(Optional.empty(), answerCache.get(paperId, 7L, QUESTION));
+    }
+
+    @Test
+    void streamChatWithPaper_ClientDisconnectsBeforeAnyToken_StoresFallbackReply() {
+        // Arrange
+        agentEvents = "data: {\"token\": \"Self\"}\n\nevent: done\ndata: {}\n\n";
+
+        // Act
+        List<ServerSentEvent<ChatStreamEvent>> events = stream(1);
+
+        // Assert
+        assertEquals(List.of("session"), names(events));
+        verify(qaMessageRepository, timeout(5_000).times(2)).save(any(QAMessage.class));
+        List<String> saved = savedContents();
+        assertEquals(QUESTION, saved.get(0));
+        assertTrue(saved.get(1).startsWith("Sorry, there was an error"));
+    }
+
+    @Test
+    void streamChatWithPaper_CachedStandaloneQuestion_AnswersWithoutCallingAgent() {
+        // Arrange
+        answerCache.put(paperId, 7L, QUESTION, "Self-attention.", 1_000_000);
+
+        // Act
+        List<ServerSentEvent<ChatStreamEvent>> events = stream();
+
+        // Assert
+        assertEquals(List.of("session", "token", "done"), names(events));
+        assertEquals("Self-attention.", events.get(2).data().response());
+        assertEquals(0, agentCalls.get());
+        assertEquals(List.of(QUESTION, "Self-attention."), savedContents());
+    }
+
+    private List<ServerSentEvent<ChatStreamEvent>> stream() {
+        return stream(Long.MAX_VALUE);
+    }
+
+    /** Reads at most {@code events} events, then cancels as a disconnecting client does */
+    private List<ServerSentEvent<ChatStreamEvent>> stream(long events) {
+        ChatRequest request = ChatRequest.builder().message(QUESTION).build();
+        return paperQAService
+                .streamChatWithPaper(paperId, request, EMAIL)
+                .take(events)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+    }
+
+    private static List<String> names(List<ServerSentEvent<ChatStreamEvent>> events) {
+        return events.stream().map(ServerSentEvent::event).toList();
+    }
+
+    private List<String> savedContents() {
+        ArgumentCaptor<QAMessage> saved = ArgumentCaptor.forClass(QAMessage.class);
+        verify(qaMessageRepository, atLeast(0)).save(saved.capture());
+        return saved.getAllValues().stream().map(QAMessage::getContent).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package dev.project.scholar_ai.service.qa;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.project.scholar_ai.dto.qa.ChatRequest;
+import dev.project.scholar_ai.dto.qa.ChatResponse;
+import dev.project.scholar_ai.model.core.auth.AuthUser;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.model.qa.QAMessage;
+import dev.project.scholar_ai.model.qa.QASession;
+import dev.project.scholar_ai.repository.core.auth.AuthUserRepository;
+import dev.project.scholar_ai.repository.paper.PaperRepository;
+import dev.project.scholar_ai.repository.qa.QAMessageRepository;
+import dev.project.scholar_ai.repository.qa.QASessionRepository;
+import dev.project.scholar_ai.service.extraction.PaperTextStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class PaperQAServiceTest {
+
+    private static final String EMAIL = "reader@example.com";
+    private static final String ANSWER = "It replaces recurrence with self-attention.";
+
+    private final UUID paperId = UUID.randomUUID();
+    private final QASession session =
+            QASession.builder().id(UUID.randomUUID()).title("Chat").build();
+    private QAMessageRepository qaMessageRepository;
+    private RestTemplate restTemplate;
+    private PlatformTransactionManager transactionManager;
+    private PaperQAService paperQAService;
+
+    @BeforeEach
+    void setUp() {
+        QASessionRepository qaSessionRepository = mock(QASessionRepository.class);
+        when(qaSessionRepository.save(any(QASession.class))).thenReturn(session);
+        when(qaSessionRepository.getReferenceById(session.getId())).thenReturn(session);
+        qaMessageRepository = mock(QAMessageRepository.class);
+        when(qaMessageRepository.findRecentMessagesBySessionId(eq(session.getId()), any()))
+                .thenReturn(List.of());
+        AuthUserRepository authUserRepository = mock(AuthUserRepository.class);
+        AuthUser user = new AuthUser();
+        user.setId(UUID.randomUUID());
+        user.setEmail(EMAIL);
+        when(authUserRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        PaperRepository paperRepository = mock(PaperRepository.class);
+        when(paperRepository.findById(paperId))
+                .thenReturn(Optional.of(Paper.builder()
+                        .id(paperId)
+                        .title("Attention Is All You Need")
+                        .extractedTextLength(100)
+                        .extractedTextChecksum(7L)
+                        .build()));
+        PaperTextStore paperTextStore = mock(PaperTextStore.class);
+        when(paperTextStore.read(paperId)).thenReturn(Optional.of("The Transformer relies on attention."));
+        restTemplate = mock(RestTemplate.class);
+        when(restTemplate.postForObject(anyString(), any(), eq(Map.class))).thenReturn(Map.of("response", ANSWER));
+        transactionManager = mock(PlatformTransactionManager.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        paperQAService = new PaperQAService(
+                qaSessionRepository,
+                qaMessageRepository,
+                paperRepository,
+                authUserRepository,
+                paperTextStore,
+                restTemplate,
+                WebClient.create(),
+                mock(PaperRetriever.class),
+                new ObjectMapper().findAndRegisterModules(),
+                meterRegistry,
+                new QAAnswerCache(meterRegistry, false, 0, 0, Duration.ZERO, System::nanoTime),
+                transactionManager);
+    }
+
+    @Test
+    void chatWithPaper_CommitsQuestionBeforeCallingAgentAndSavesAnswerInNewTransaction() {
+        // Act
+        ChatResponse response = paperQAService.chatWithPaper(
+                paperId, ChatRequest.builder().message("What replaces recurrence?").build(), EMAIL);
+
+        // Assert - no transaction, and so no pooled connection, is held across the agent call
+        assertEquals(ANSWER, response.getResponse());
+        InOrder inOrder = inOrder(transactionManager, qaMessageRepository, restTemplate);
+        inOrder.verify(transactionManager).getTransaction(any(TransactionDefinition.class));
+        inOrder.verify(qaMessageRepository).save(any(QAMessage.class));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(restTemplate).postForObject(anyString(), any(), eq(Map.class));
+        inOrder.verify(transactionManager).getTransaction(any(TransactionDefinition.class));
+        inOrder.verify(qaMessageRepository).save(any(QAMessage.class));
+        inOrder.verify(transactionManager).commit(any());
+        verify(transactionManager, times(2)).getTransaction(any(TransactionDefinition.class));
+    }
+}
@@ -0,0 +1,134 @@
+package dev.project.scholar_ai.service.qa;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.project.scholar_ai.service.extraction.ExtractedTextService;
+import dev.project.scholar_ai.service.extraction.ExtractedTextService.Section;
+import dev.project.scholar_ai.service.extraction.PaperTextStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Chat payload size with retrieved chunks against the full text, and the cost
+ * of indexing a paper and answering a question from its index.
+ *
+ * <p>Papers are ~200k characters of generated prose in eight sections, a long
+ * paper. Runs on 20 papers by default; for more run:
+ * {@code mvn test -Pbenchmark -Dtest=PaperRetrievalBenchmarkTest -Dscholarai.benchmark.papers=200}
+ */
+@Slf4j
+@Tag("benchmark")
+class PaperRetrievalBenchmarkTest {
+
+    private static final int TEXT_CHARS = 200_000;
+    private static final int QUESTIONS_PER_PAPER = 20;
+    private static final String[] SECTIONS = {
+        "Abstract", "Introduction", "Related Work", "Method", "Experiments", "Results", "Discussion", "Conclusion"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void retrieve_ReportsPayloadSizeAndIndexCost() throws Exception {
+        // Arrange
+        int paperCount = Integer.getInteger("scholarai.benchmark.papers", 20);
+        PaperTextStore paperTextStore = mock(PaperTextStore.class);
+        ExtractedTextService extractedTextService = mock(ExtractedTextService.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PaperRetriever retriever =
+                new PaperRetriever(paperTextStore, extractedTextService, meterRegistry, 1500, 200, 6, paperCount);
+        String[] vocabulary = vocabulary(5_000);
+        SplittableRandom random = new SplittableRandom(11);
+        List<UUID> paperIds = new ArrayList<>();
+        for (int p = 0; p < paperCount; p++) {
+            UUID paperId = UUID.randomUUID();
+            List<Section> sections = new ArrayList<>();
+            String text = paper(vocabulary, random, sections);
+            when(paperTextStore.read(paperId)).thenReturn(Optional.of(text));
+            when(extractedTextService.sections(paperId)).thenReturn(sections);
+            paperIds.add(paperId);
+        }
+
+        // Act
+        long fullBytes = 0;
+        long retrievedBytes = 0;
+        long queryNanos = 0;
+        int queries = 0;
+        for (UUID paperId : paperIds) {
+            String text = paperTextStore.read(paperId).orElseThrow();
+            retriever.retrieve(paperId, 1L, "warm"); // builds the index
+            for (int q = 0; q < QUESTIONS_PER_PAPER; q++) {
+                String question = "What about " + vocabulary[random.nextInt(200)] + " and "
+                        + vocabulary[random.nextInt(vocabulary.length)] + "?";
+                long start = System.nanoTime();
+                PaperRetriever.Retrieval retrieval =
+                        retriever.retrieve(paperId, 1L, question).orElseThrow();
+                queryNanos += System.nanoTime() - start;
+                queries++;
+                fullBytes += payloadBytes(question, text);
+                retrievedBytes += payloadBytes(question, retrieval.context());
+            }
+        }
+
+        // Assert
+        double buildMs = meterRegistry.timer("scholarai.qa.index.build").mean(TimeUnit.MILLISECONDS);
+        assertEquals(paperCount, meterRegistry.timer("scholarai.qa.index.build").count());
+        assertTrue(retrievedBytes * 10 < fullBytes, "retrieved " + retrievedBytes + " vs full " + fullBytes);
+        log.info(String.format(
+                "papers=%d payload full=%.0fKB retrieved=%.1fKB (%.1f%%) build=%.1fms/paper query=%.1fus",
+                paperCount,
+                fullBytes / 1024.0 / queries,
+                retrievedBytes / 1024.0 / queries,
+                100.0 * retrievedBytes / fullBytes,
+                buildMs,
+                queryNanos / 1_000.0 / queries));
+    }
+
+    private long payloadBytes(String question, String content) throws Exception {
+        return objectMapper.writeValueAsBytes(Map.of("query", question, "paper_content", content)).length;
+    }
+
+    private static String paper(String[] vocabulary, SplittableRandom random, List<Section> sections) {
+        StringBuilder text = new StringBuilder(TEXT_CHARS + 200);
+        int sectionChars = TEXT_CHARS / SECTIONS.length;
+        for (int s = 0; s < SECTIONS.length; s++) {
+            int start = text.length();
+            text.append(SECTIONS[s]).append('\n');
+            while (text.length() - start < sectionChars) {
+                int words = 8 + random.nextInt(20);
+                for (int w = 0; w < words; w++) {
+                    // Zipf-like: low ranks are far more frequent
+                    int rank = (int) Math.min(vocabulary.length - 1, Math.pow(vocabulary.length, random.nextDouble()));
+                    text.append(vocabulary[rank]).append(w == words - 1 ? ". " : " ");
+                }
+            }
+            sections.add(new Section(s, SECTIONS[s], start, text.length() - start, true));
+        }
+        return text.toString();
+    }
+
+    private static String[] vocabulary(int size) {
+        SplittableRandom random = new SplittableRandom(1);
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 3 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+}
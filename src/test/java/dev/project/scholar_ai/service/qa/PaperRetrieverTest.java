@@ -0,0 +1,83 @@
+package dev.project.scholar_ai.service.qa;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.service.extraction.ExtractedTextService;
+import dev.project.scholar_ai.service.extraction.PaperTextStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PaperRetrieverTest {
+
+    private static final String TEXT = "Abstract We propose a retrieval method. "
+            + "Introduction Large documents are costly to send. "
+            + "Methods Chunks are scored with BM25 and the best are kept. "
+            + "Results Payloads shrink by two orders of magnitude.";
+
+    private final PaperTextStore paperTextStore = mock(PaperTextStore.class);
+    private final ExtractedTextService extractedTextService = mock(ExtractedTextService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID paperId = UUID.randomUUID();
+    private PaperRetriever retriever;
+
+    @BeforeEach
+    void setUp() {
+        when(paperTextStore.read(paperId)).thenReturn(Optional.of(TEXT));
+        when(extractedTextService.sections(paperId)).thenReturn(List.of());
+        retriever = new PaperRetriever(paperTextStore, extractedTextService, meterRegistry, 60, 10, 2, 8);
+    }
+
+    @Test
+    void retrieve_ReturnsTopChunksInDocumentOrder() {
+        // Act
+        PaperRetriever.Retrieval retrieval =
+                retriever.retrieve(paperId, 1L, "How are chunks scored?").orElseThrow();
+
+        // Assert
+        assertTrue(retrieval.chunks().size() <= 2);
+        assertTrue(retrieval.chunks().get(0).text().contains("BM25"));
+        assertTrue(retrieval.totalChunks() > retrieval.chunks().size());
+        assertEquals(TEXT.length(), retrieval.paperChars());
+        assertTrue(retrieval.context().length() < TEXT.length());
+    }
+
+    @Test
+    void retrieve_NoMatchingTerm_FallsBackToTheOpening() {
+        // Act
+        PaperRetriever.Retrieval retrieval =
+                retriever.retrieve(paperId, 1L, "Summarize").orElseThrow();
+
+        // Assert
+        assertEquals(2, retrieval.chunks().size());
+        assertEquals(0, retrieval.chunks().get(0).offset());
+        assertEquals(0, retrieval.chunks().get(0).score());
+    }
+
+    @Test
+    void retrieve_SameChecksum_ReusesTheIndexAndRebuildsOnChange() {
+        // Act
+        retriever.retrieve(paperId, 1L, "methods");
+        retriever.retrieve(paperId, 1L, "results");
+        retriever.retrieve(paperId, 2L, "results");
+
+        // Assert
+        verify(paperTextStore, times(2)).read(paperId);
+        assertEquals(2, meterRegistry.timer("scholarai.qa.index.build").count());
+        assertEquals(1, retriever.cachedPapers());
+    }
+
+    @Test
+    void retrieve_NoStoredText_IsEmpty() {
+        // Arrange
+        UUID unextracted = UUID.randomUUID();
+        when(paperTextStore.read(unextracted)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(retriever.retrieve(unextracted, null, "methods").isEmpty());
+    }
+}
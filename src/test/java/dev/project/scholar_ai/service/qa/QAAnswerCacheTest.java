@@ -0,0 +1,112 @@
+package dev.project.scholar_ai.service.qa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class QAAnswerCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final UUID paperId = UUID.randomUUID();
+
+    @Test
+    void get_SameQuestionDifferentlyWritten_HitsAndRecordsSavedLatency() {
+        // Arrange
+        QAAnswerCache cache = cache(10, 1 << 20);
+        cache.put(paperId, 7L, "What is the main contribution?", "A new index.", TimeUnit.SECONDS.toNanos(3));
+
+        // Act
+        Optional<String> answer = cache.get(paperId, 7L, "  what is the MAIN   contribution ");
+
+        // Assert
+        assertEquals(Optional.of("A new index."), answer);
+        assertEquals(1, requests("hit"));
+        assertEquals(3, meterRegistry.timer("scholarai.qa.cache.saved").totalTime(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void get_TextChecksumChanged_Misses() {
+        // Arrange
+        QAAnswerCache cache = cache(10, 1 << 20);
+        cache.put(paperId, 7L, "What is the main contribution?", "A new index.", 1);
+
+        // Act & Assert
+        assertTrue(cache.get(paperId, 8L, "What is the main contribution?").isEmpty());
+        assertTrue(cache.get(UUID.randomUUID(), 7L, "What is the main contribution?")
+                .isEmpty());
+        assertEquals(2, requests("miss"));
+    }
+
+    @Test
+    void get_AfterTtl_MissesAndFreesTheEntry() {
+        // Arrange
+        QAAnswerCache cache = cache(10, 1 << 20);
+        cache.put(paperId, 7L, "Which datasets?", "Three.", 1);
+        nanos.addAndGet(Duration.ofMinutes(61).toNanos());
+
+        // Act & Assert
+        assertTrue(cache.get(paperId, 7L, "Which datasets?").isEmpty());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.memoryBytes());
+    }
+
+    @Test
+    void put_OverMaxEntries_EvictsLeastRecentlyUsed() {
+        // Arrange
+        QAAnswerCache cache = cache(2, 1 << 20);
+        cache.put(paperId, 7L, "first", "1", 1);
+        cache.put(paperId, 7L, "second", "2", 1);
+        cache.get(paperId, 7L, "first");
+
+        // Act
+        cache.put(paperId, 7L, "third", "3", 1);
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertTrue(cache.get(paperId, 7L, "second").isEmpty());
+        assertTrue(cache.get(paperId, 7L, "first").isPresent());
+    }
+
+    @Test
+    void put_OverMaxMemory_EvictsUntilWithinBudget() {
+        // Arrange
+        QAAnswerCache cache = cache(100, 2_000);
+        cache.put(paperId, 7L, "first", "a".repeat(500), 1);
+
+        // Act
+        cache.put(paperId, 7L, "second", "b".repeat(500), 1);
+
+        // Assert
+        assertEquals(1, cache.size());
+        assertTrue(cache.memoryBytes() <= 2_000);
+        assertTrue(cache.get(paperId, 7L, "second").isPresent());
+    }
+
+    @Test
+    void get_Disabled_NeverHits() {
+        // Arrange
+        QAAnswerCache cache = new QAAnswerCache(meterRegistry, false, 10, 1 << 20, Duration.ofHours(1), nanos::get);
+        cache.put(paperId, 7L, "Which datasets?", "Three.", 1);
+
+        // Act & Assert
+        assertTrue(cache.get(paperId, 7L, "Which datasets?").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    private QAAnswerCache cache(int maxEntries, long maxBytes) {
+        return new QAAnswerCache(meterRegistry, true, maxEntries, maxBytes, Duration.ofHours(1), nanos::get);
+    }
+
+    private double requests(String result) {
+        return meterRegistry
+                .counter("scholarai.qa.cache.requests", "result", result)
+                .count();
+    }
+}
@@ -0,0 +1,138 @@
+package dev.project.scholar_ai.service.websearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class MinHashLshIndexTest {
+
+    private static final int ABSTRACT_WORDS = 150;
+
+    @Test
+    void findBest_NearDuplicatesAmongUnrelatedPapers_FoundWithoutFalseMatches() {
+        // Act
+        Corpus corpus = new Corpus(2_000, 1_000);
+        corpus.index();
+        corpus.lookUp();
+
+        // Assert
+        assertTrue(corpus.correct >= corpus.expected() * 0.99, "recall " + corpus.correct + "/" + corpus.expected());
+        assertTrue(corpus.found - corpus.correct <= corpus.expected() * 0.01, "false matches");
+    }
+
+    /**
+     * Signing and lookup throughput, run with {@code mvn test -Pbenchmark}.
+     * Add {@code -Dscholarai.benchmark.papers=1000000} for the 1M-paper figure.
+     */
+    @Test
+    @Tag("benchmark")
+    void signAndLookup_Throughput() {
+        // Arrange
+        int paperCount = Integer.getInteger("scholarai.benchmark.papers", 20_000);
+        Corpus corpus = new Corpus(paperCount, 10_000);
+
+        // Act
+        corpus.index();
+        corpus.lookUp();
+
+        // Assert
+        assertTrue(corpus.correct >= corpus.expected() * 0.99, "recall " + corpus.correct + "/" + corpus.expected());
+        log.info(
+                "papers={} sign={}us/paper lookup={}us/query",
+                paperCount,
+                String.format("%.1f", corpus.signNanos / 1_000.0 / paperCount),
+                String.format("%.1f", corpus.lookupNanos / 1_000.0 / corpus.lookups));
+    }
+
+    /**
+     * Seeded papers of random words; half the lookups are near-duplicates of
+     * indexed papers, half are unseen papers.
+     */
+    private static final class Corpus {
+
+        private final int paperCount;
+        private final int lookups;
+        private final MinHashSigner signer = new MinHashSigner(60, 3, 8, 42);
+        private final MinHashLshIndex index;
+        private final String[] vocabulary = vocabulary(20_000);
+        private final SplittableRandom random = new SplittableRandom(7);
+        private final UUID[] ids;
+        private final String[] probes;
+        private int found;
+        private int correct;
+        private long signNanos;
+        private long lookupNanos;
+
+        private Corpus(int paperCount, int lookups) {
+            this.paperCount = paperCount;
+            this.lookups = lookups;
+            this.index = new MinHashLshIndex(60, 12, paperCount);
+            this.ids = new UUID[lookups];
+            this.probes = new String[lookups];
+        }
+
+        private void index() {
+            for (int i = 0; i < paperCount; i++) {
+                String text = text();
+                UUID id = new UUID(0, i);
+                long start = System.nanoTime();
+                int[] signature = signer.sign("Paper " + i, text);
+                signNanos += System.nanoTime() - start;
+                index.add(id, signature);
+                if (i < lookups) {
+                    ids[i] = id;
+                    probes[i] = text;
+                }
+            }
+        }
+
+        private void lookUp() {
+            for (int i = 0; i < lookups; i++) {
+                boolean duplicate = i % 2 == 0;
+                int[] signature = duplicate
+                        ? signer.sign("paper " + i, probes[i] + " extended version")
+                        : signer.sign("Unseen " + i, text());
+                long start = System.nanoTime();
+                MinHashLshIndex.Match match = index.findBest(signature, 0.85);
+                lookupNanos += System.nanoTime() - start;
+                if (match != null) {
+                    found++;
+                    if (duplicate && match.paperId().equals(ids[i])) {
+                        correct++;
+                    }
+                }
+            }
+        }
+
+        private int expected() {
+            return Math.min(lookups, paperCount) / 2;
+        }
+
+        private String text() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < ABSTRACT_WORDS; i++) {
+                text.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            return text.toString();
+        }
+
+        private static String[] vocabulary(int size) {
+            SplittableRandom random = new SplittableRandom(1);
+            String[] words = new String[size];
+            for (int i = 0; i < size; i++) {
+                StringBuilder word = new StringBuilder();
+                int length = 3 + random.nextInt(8);
+                for (int j = 0; j < length; j++) {
+                    word.append((char) ('a' + random.nextInt(26)));
+                }
+                words[i] = word.toString();
+            }
+            return words;
+        }
+    }
+}
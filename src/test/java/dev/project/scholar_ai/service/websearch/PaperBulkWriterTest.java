@@ -0,0 +1,162 @@
+package dev.project.scholar_ai.service.websearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.project.scholar_ai.model.paper.metadata.Author;
+import dev.project.scholar_ai.model.paper.metadata.ExternalId;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.model.paper.metadata.PaperMetrics;
+import dev.project.scholar_ai.model.paper.metadata.PublicationVenue;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class PaperBulkWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:bulk-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+                "sa",
+                ""));
+        jdbcTemplate.execute("CREATE TABLE papers (id UUID PRIMARY KEY, correlation_id VARCHAR(100) NOT NULL,"
+                + " title VARCHAR(500) NOT NULL, abstractText TEXT, publication_date DATE, doi VARCHAR(100),"
+                + " semantic_scholar_id VARCHAR(100), source VARCHAR(50), pdf_content_url VARCHAR(500),"
+                + " pdf_url VARCHAR(500), is_open_access BOOLEAN, paper_url VARCHAR(500),"
+                + " publication_types VARCHAR(200), fields_of_study TEXT, extraction_status VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE authors (id UUID PRIMARY KEY, paper_id UUID NOT NULL REFERENCES papers,"
+                + " name VARCHAR(200) NOT NULL, author_id VARCHAR(100), orcid VARCHAR(50), affiliation VARCHAR(1000))");
+        jdbcTemplate.execute(
+                "CREATE TABLE external_ids (id UUID PRIMARY KEY,"
+                        + " paper_id UUID NOT NULL REFERENCES papers, source VARCHAR(50) NOT NULL, value VARCHAR(200) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE publication_venues (id UUID PRIMARY KEY,"
+                + " paper_id UUID NOT NULL REFERENCES papers, venue_name VARCHAR(300), publisher VARCHAR(200),"
+                + " volume VARCHAR(50), issue VARCHAR(50), pages VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE paper_metrics (id UUID PRIMARY KEY,"
+                + " paper_id UUID NOT NULL REFERENCES papers, citation_count INT, reference_count INT,"
+                + " influential_citation_count INT)");
+        jdbcTemplate.execute("CREATE TABLE project_papers (id UUID PRIMARY KEY, project_id UUID NOT NULL,"
+                + " paper_id UUID NOT NULL REFERENCES papers, correlation_id VARCHAR(100) NOT NULL,"
+                + " added_at TIMESTAMP NOT NULL, UNIQUE (project_id, paper_id))");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1000})
+    void insertPapers_WritesWholeGraph(int eventSize) {
+        // Arrange
+        PaperBulkWriter writer = new PaperBulkWriter(jdbcTemplate, 250);
+        List<Paper> papers = papers(eventSize);
+
+        // Act
+        List<Paper> saved = writer.insertPapers(papers);
+
+        // Assert
+        assertEquals(eventSize, count("papers"));
+        assertEquals(eventSize * 2, count("authors"));
+        assertEquals(eventSize * 2, count("external_ids"));
+        assertEquals(eventSize, count("publication_venues"));
+        assertEquals(eventSize, count("paper_metrics"));
+        assertTrue(saved.stream().allMatch(paper -> paper.getId() != null));
+    }
+
+    @Test
+    void insertPapers_LinksChildRowsToGeneratedPaperIds() {
+        // Arrange
+        PaperBulkWriter writer = new PaperBulkWriter(jdbcTemplate, 1);
+        List<Paper> papers = papers(3);
+
+        // Act
+        writer.insertPapers(papers);
+
+        // Assert
+        for (Paper paper : papers) {
+            assertEquals(
+                    2,
+                    jdbcTemplate.queryForObject(
+                            "SELECT COUNT(*) FROM authors WHERE paper_id = ?", Integer.class, paper.getId()));
+            assertEquals(
+                    paper.getId(),
+                    jdbcTemplate.queryForObject(
+                            "SELECT paper_id FROM paper_metrics WHERE id = ?",
+                            UUID.class,
+                            paper.getMetrics().getId()));
+        }
+        assertEquals(
+                "PENDING", jdbcTemplate.queryForObject("SELECT DISTINCT extraction_status FROM papers", String.class));
+    }
+
+    @Test
+    void linkPapersToProject_KeepsFirstMembershipPerProject() {
+        // Arrange
+        PaperBulkWriter writer = new PaperBulkWriter(jdbcTemplate, 2);
+        List<UUID> paperIds =
+                writer.insertPapers(papers(3)).stream().map(Paper::getId).toList();
+        UUID project = UUID.randomUUID();
+        UUID otherProject = UUID.randomUUID();
+
+        // Act
+        writer.linkPapersToProject(project, "search-1", paperIds.subList(0, 2));
+        writer.linkPapersToProject(project, "search-2", paperIds);
+        writer.linkPapersToProject(otherProject, "search-3", paperIds.subList(0, 1));
+
+        // Assert
+        assertEquals(4, count("project_papers"));
+        assertEquals(
+                2,
+                jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM project_papers WHERE project_id = ? AND correlation_id = 'search-1'",
+                        Integer.class,
+                        project));
+        assertEquals(
+                "search-2",
+                jdbcTemplate.queryForObject(
+                        "SELECT correlation_id FROM project_papers WHERE paper_id = ? AND project_id = ?",
+                        String.class,
+                        paperIds.get(2),
+                        project));
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new PaperBulkWriter(jdbcTemplate, 0));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private static List<Paper> papers(int count) {
+        List<Paper> papers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Paper paper = Paper.builder()
+                    .correlationId("bench-correlation")
+                    .title("Paper " + i)
+                    .abstractText("Abstract of paper " + i)
+                    .publicationDate(LocalDate.of(2024, 1, 1))
+                    .doi("10.1000/" + i)
+                    .semanticScholarId("ss-" + i)
+                    .source("Semantic Scholar")
+                    .isOpenAccess(true)
+                    .build();
+            paper.addAuthor(Author.builder().name("Author A" + i).build());
+            paper.addAuthor(Author.builder().name("Author B" + i).build());
+            paper.addExternalId(
+                    ExternalId.builder().source("ArXiv").value("2401." + i).build());
+            paper.addExternalId(
+                    ExternalId.builder().source("DBLP").value("conf/x/" + i).build());
+            paper.setVenue(PublicationVenue.builder().venueName("NeurIPS").build());
+            paper.setMetrics(PaperMetrics.builder().citationCount(i).build());
+            papers.add(paper);
+        }
+        return papers;
+    }
+}
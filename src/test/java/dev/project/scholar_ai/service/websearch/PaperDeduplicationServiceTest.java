@@ -0,0 +1,219 @@
+package dev.project.scholar_ai.service.websearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.dto.paper.metadata.PaperMetadataDto;
+import dev.project.scholar_ai.model.paper.metadata.ExternalId;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.paper.ExternalIdRepository;
+import dev.project.scholar_ai.repository.paper.PaperRepository;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PaperDeduplicationServiceTest {
+
+    @Mock
+    private PaperRepository paperRepository;
+
+    @Mock
+    private ExternalIdRepository externalIdRepository;
+
+    @Mock
+    private PaperIdentifierIndex paperIdentifierIndex;
+
+    @Mock
+    private PaperSimilarityIndex paperSimilarityIndex;
+
+    @InjectMocks
+    private PaperDeduplicationService paperDeduplicationService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1000})
+    void findExistingPapers_QueryCountStaysFlatAsBatchGrows(int batchSize) {
+        // Arrange
+        List<PaperMetadataDto> batch = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(paperDto("10.1000/" + i, "ss-" + i, Map.of("ArXiv", "2401." + i, "DBLP", "conf/x/" + i)));
+        }
+        when(paperRepository.findByDoiIn(anyCollection())).thenReturn(List.of());
+        when(paperRepository.findBySemanticScholarIdIn(anyCollection())).thenReturn(List.of());
+        when(externalIdRepository.findWithPaperBySourceInAndValueIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of());
+
+        // Act
+        Map<PaperMetadataDto, Paper> matches = paperDeduplicationService.findExistingPapers(batch);
+
+        // Assert - exactly one set query per identifier kind, whatever the batch size
+        assertTrue(matches.isEmpty());
+        verify(paperRepository, times(1)).findByDoiIn(anyCollection());
+        verify(paperRepository, times(1)).findBySemanticScholarIdIn(anyCollection());
+        verify(externalIdRepository, times(1)).findWithPaperBySourceInAndValueIn(anyCollection(), anyCollection());
+        verifyNoMoreInteractions(paperRepository, externalIdRepository);
+    }
+
+    @Test
+    void findExistingPapers_KeepsDoiThenSemanticScholarThenExternalIdPrecedence() {
+        // Arrange
+        Paper byDoi = paper("10.1000/a", null);
+        Paper bySemanticScholar = paper(null, "ss-b");
+        Paper byArxiv = paper(null, null);
+
+        PaperMetadataDto doiAndSsMatch = paperDto("10.1000/a", "ss-b", Map.of());
+        PaperMetadataDto ssAndArxivMatch = paperDto("10.1000/unknown", "ss-b", Map.of("arxiv", "2401.1"));
+        PaperMetadataDto arxivOnly = paperDto(null, null, Map.of("arxiv", "2401.1"));
+        PaperMetadataDto unreliableSourceOnly = paperDto(null, null, Map.of("MAG", "2401.1"));
+
+        when(paperRepository.findByDoiIn(anyCollection())).thenReturn(List.of(byDoi));
+        when(paperRepository.findBySemanticScholarIdIn(anyCollection())).thenReturn(List.of(bySemanticScholar));
+        when(externalIdRepository.findWithPaperBySourceInAndValueIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(ExternalId.builder()
+                        .source("arxiv")
+                        .value("2401.1")
+                        .paper(byArxiv)
+                        .build()));
+
+        // Act
+        Map<PaperMetadataDto, Paper> matches = paperDeduplicationService.findExistingPapers(
+                List.of(doiAndSsMatch, ssAndArxivMatch, arxivOnly, unreliableSourceOnly));
+
+        // Assert
+        assertSame(byDoi, matches.get(doiAndSsMatch));
+        assertSame(bySemanticScholar, matches.get(ssAndArxivMatch));
+        assertSame(byArxiv, matches.get(arxivOnly));
+        assertFalse(matches.containsKey(unreliableSourceOnly));
+    }
+
+    @Test
+    void filterNewPapers_WithoutIdentifiers_ShouldNotQueryDatabase() {
+        // Arrange
+        List<PaperMetadataDto> batch = List.of(paperDto(null, null, null), paperDto("", " ", Map.of()));
+
+        // Act
+        List<PaperMetadataDto> newPapers = paperDeduplicationService.filterNewPapers(batch);
+
+        // Assert
+        assertEquals(2, newPapers.size());
+        verifyNoInteractions(paperRepository, externalIdRepository);
+    }
+
+    @Test
+    void findExistingPapers_IndexRulesOutEveryIdentifier_ShouldNotQueryDatabase() {
+        // Arrange
+        when(paperIdentifierIndex.isReady()).thenReturn(true);
+        List<PaperMetadataDto> batch = List.of(
+                paperDto("10.1000/new", "ss-new", Map.of("ArXiv", "2401.9")), paperDto(null, "ss-other", Map.of()));
+
+        // Act
+        Map<PaperMetadataDto, Paper> matches = paperDeduplicationService.findExistingPapers(batch);
+
+        // Assert
+        assertTrue(matches.isEmpty());
+        verify(paperIdentifierIndex).mightContainDoi("10.1000/new");
+        verify(paperIdentifierIndex).mightContainExternalId("ArXiv", "2401.9");
+        verifyNoInteractions(paperRepository, externalIdRepository);
+    }
+
+    @Test
+    void findExistingPapers_QueriesOnlyMaybeIdentifiersAndRecordsFalsePositives() {
+        // Arrange
+        Paper existing = paper("10.1000/known", null);
+        when(paperIdentifierIndex.isReady()).thenReturn(true);
+        when(paperIdentifierIndex.mightContainDoi("10.1000/known")).thenReturn(true);
+        when(paperIdentifierIndex.mightContainDoi("10.1000/collision")).thenReturn(true);
+        when(paperRepository.findByDoiIn(anyCollection())).thenReturn(List.of(existing));
+        PaperMetadataDto known = paperDto("10.1000/known", null, null);
+        PaperMetadataDto collision = paperDto("10.1000/collision", null, null);
+        PaperMetadataDto fresh = paperDto("10.1000/fresh", null, null);
+
+        // Act
+        Map<PaperMetadataDto, Paper> matches =
+                paperDeduplicationService.findExistingPapers(List.of(known, collision, fresh));
+
+        // Assert
+        assertEquals(Map.of(known, existing), matches);
+        verify(paperRepository).findByDoiIn(Set.of("10.1000/known", "10.1000/collision"));
+        verify(paperIdentifierIndex).recordFalsePositives(PaperIdentifierIndex.KIND_DOI, 1);
+        verifyNoMoreInteractions(paperRepository);
+        verifyNoInteractions(externalIdRepository);
+    }
+
+    @Test
+    void findExistingPapers_NearDuplicateTier_ResolvesOnlyUnmatchedDtos() {
+        // Arrange
+        Paper byDoi = paper("10.1000/a", null);
+        Paper published = paper(null, null);
+        PaperMetadataDto doiMatch = paperDto("10.1000/a", null, null);
+        PaperMetadataDto preprint = paperDto(null, null, Map.of("MAG", "1"));
+        PaperMetadataDto unrelated = paperDto(null, null, Map.of("MAG", "2"));
+
+        when(paperSimilarityIndex.isEnabled()).thenReturn(true);
+        when(paperRepository.findByDoiIn(anyCollection())).thenReturn(List.of(byDoi));
+        when(paperSimilarityIndex.findNearDuplicate(preprint.title(), preprint.abstractText()))
+                .thenReturn(Optional.of(new PaperSimilarityIndex.NearDuplicate(published.getId(), 0.92)))
+                .thenReturn(Optional.empty());
+        when(paperRepository.findAllById(Set.of(published.getId()))).thenReturn(List.of(published));
+
+        // Act
+        Map<PaperMetadataDto, Paper> matches =
+                paperDeduplicationService.findExistingPapers(List.of(doiMatch, preprint, unrelated));
+
+        // Assert - the DOI match never reaches the similarity index
+        assertSame(byDoi, matches.get(doiMatch));
+        assertSame(published, matches.get(preprint));
+        assertFalse(matches.containsKey(unrelated));
+        verify(paperSimilarityIndex, times(2)).findNearDuplicate(anyString(), any());
+    }
+
+    private static Paper paper(String doi, String semanticScholarId) {
+        return Paper.builder()
+                .id(UUID.randomUUID())
+                .title("Existing paper")
+                .doi(doi)
+                .semanticScholarId(semanticScholarId)
+                .build();
+    }
+
+    private static PaperMetadataDto paperDto(String doi, String semanticScholarId, Map<String, Object> externalIds) {
+        return new PaperMetadataDto(
+                null,
+                "Paper " + doi,
+                null,
+                List.of(),
+                null,
+                doi,
+                semanticScholarId,
+                externalIds != null ? new LinkedHashMap<>(externalIds) : null,
+                "Semantic Scholar",
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null);
+    }
+}
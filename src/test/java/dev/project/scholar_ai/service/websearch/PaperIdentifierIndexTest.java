@@ -0,0 +1,148 @@
+package dev.project.scholar_ai.service.websearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.project.scholar_ai.model.paper.metadata.ExternalId;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class PaperIdentifierIndexTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private PaperIdentifierIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:index-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE", "sa", ""));
+        jdbcTemplate.execute(
+                "CREATE TABLE papers (id UUID PRIMARY KEY, doi VARCHAR(100), semantic_scholar_id VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE external_ids (id UUID PRIMARY KEY, paper_id UUID NOT NULL,"
+                + " source VARCHAR(50) NOT NULL, value VARCHAR(200) NOT NULL)");
+        meterRegistry = new SimpleMeterRegistry();
+        index = new PaperIdentifierIndex(jdbcTemplate, meterRegistry, 10_000, 0.01);
+    }
+
+    @Test
+    void mightContain_BeforeFirstBuild_AlwaysAnswersMaybe() {
+        assertFalse(index.isReady());
+        assertTrue(index.mightContainDoi("10.1000/anything"));
+        assertEquals(0L, index.stats().get("lookups"));
+    }
+
+    @Test
+    void rebuild_LoadsPaperAndReliableExternalIdentifiers() {
+        // Arrange
+        UUID paperId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO papers VALUES (?, ?, ?)", paperId, "10.1000/1", "ss-1");
+        jdbcTemplate.update("INSERT INTO papers VALUES (?, ?, ?)", UUID.randomUUID(), null, "ss-2");
+        jdbcTemplate.update(
+                "INSERT INTO external_ids VALUES (?, ?, ?, ?)", UUID.randomUUID(), paperId, "ArXiv", "2401.1");
+        jdbcTemplate.update("INSERT INTO external_ids VALUES (?, ?, ?, ?)", UUID.randomUUID(), paperId, "MAG", "42");
+
+        // Act
+        long loaded = index.rebuild();
+
+        // Assert
+        assertEquals(4, loaded);
+        assertTrue(index.isReady());
+        assertTrue(index.mightContainDoi("10.1000/1"));
+        assertTrue(index.mightContainSemanticScholarId("ss-2"));
+        assertTrue(index.mightContainExternalId("ArXiv", "2401.1"));
+        assertFalse(index.mightContainDoi("ss-1"), "identifier kinds must not collide");
+    }
+
+    @Test
+    void addPapers_MakesNewIdentifiersVisibleWithoutRebuild() {
+        // Arrange
+        index.rebuild();
+        Paper paper =
+                Paper.builder().doi("10.1000/new").semanticScholarId("ss-new").build();
+        paper.addExternalId(
+                ExternalId.builder().source("DBLP").value("conf/x/1").build());
+
+        // Act
+        index.addPapers(List.of(paper));
+
+        // Assert
+        assertTrue(index.mightContainDoi("10.1000/new"));
+        assertTrue(index.mightContainSemanticScholarId("ss-new"));
+        assertTrue(index.mightContainExternalId("DBLP", "conf/x/1"));
+    }
+
+    @Test
+    void addPapersAfterCommit_InTransaction_AddsIdentifiersOnlyOnceCommitted() {
+        // Arrange
+        index.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            index.addPapersAfterCommit(
+                    List.of(Paper.builder().doi("10.1000/pending").build()));
+
+            // Assert - a rebuild before the commit must not see the rows yet, so neither may the index
+            assertFalse(index.mightContainDoi("10.1000/pending"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertTrue(index.mightContainDoi("10.1000/pending"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuildAsync_RebuildAlreadyScheduled_DoesNotStartAnother() throws InterruptedException {
+        // Act
+        boolean first = index.rebuildAsync();
+        boolean second = index.rebuildAsync();
+        while (Boolean.TRUE.equals(index.stats().get("rebuilding")) || !index.isReady()) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(index.rebuildAsync());
+    }
+
+    @Test
+    void stats_ReportHitRateAndFalsePositiveRateWithinConfiguredBound() {
+        // Arrange
+        index.rebuild();
+        for (int i = 0; i < 5_000; i++) {
+            index.addPapers(List.of(Paper.builder().doi("10.1000/" + i).build()));
+        }
+
+        // Act - probe 10k identifiers that were never indexed
+        int maybes = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (index.mightContainDoi("10.2000/" + i)) {
+                maybes++;
+            }
+        }
+        index.recordFalsePositives(PaperIdentifierIndex.KIND_DOI, maybes);
+
+        // Assert
+        double falsePositiveRate = maybes / 10_000.0;
+        assertTrue(falsePositiveRate < 0.03, "false-positive rate " + falsePositiveRate);
+        assertEquals(1.0 - falsePositiveRate, index.hitRate(), 1e-9);
+        assertEquals(maybes > 0 ? 1.0 : 0.0, index.falsePositiveRate(), 1e-9);
+        assertEquals(
+                10_000 - maybes,
+                meterRegistry
+                        .get("scholarai.dedup.index.lookups")
+                        .tag("kind", PaperIdentifierIndex.KIND_DOI)
+                        .tag("result", "absent")
+                        .counter()
+                        .count(),
+                1e-9);
+    }
+}
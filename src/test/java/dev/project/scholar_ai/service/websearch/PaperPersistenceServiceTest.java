@@ -0,0 +1,130 @@
+package dev.project.scholar_ai.service.websearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import dev.project.scholar_ai.dto.paper.metadata.PaperMetadataDto;
+import dev.project.scholar_ai.mapping.paper.PaperMapper;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.repository.paper.ProjectPaperRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PaperPersistenceServiceTest {
+
+    @Mock
+    private ProjectPaperRepository projectPaperRepository;
+
+    @Mock
+    private PaperMapper paperMapper;
+
+    @Mock
+    private PaperDeduplicationService paperDeduplicationService;
+
+    @Mock
+    private PaperBulkWriter paperBulkWriter;
+
+    @Mock
+    private PaperIdentifierIndex paperIdentifierIndex;
+
+    @Mock
+    private PaperSimilarityIndex paperSimilarityIndex;
+
+    @InjectMocks
+    private PaperPersistenceService paperPersistenceService;
+
+    @Test
+    void savePapers_LinksExistingPapersInsteadOfDroppingThem() {
+        // Arrange
+        UUID projectId = UUID.randomUUID();
+        PaperMetadataDto known = dto("Known paper");
+        PaperMetadataDto fresh = dto("Fresh paper");
+        Paper existing = Paper.builder().id(UUID.randomUUID()).build();
+        Paper mapped = Paper.builder().title("Fresh paper").build();
+        Paper inserted = Paper.builder().id(UUID.randomUUID()).build();
+
+        when(paperDeduplicationService.findExistingPapers(List.of(known, fresh)))
+                .thenReturn(Map.of(known, existing));
+        when(paperMapper.toEntity(fresh)).thenReturn(mapped);
+        when(paperBulkWriter.insertPapers(List.of(mapped))).thenReturn(List.of(inserted));
+
+        // Act
+        List<Paper> saved = paperPersistenceService.savePapers(List.of(known, fresh), "search-1", projectId);
+
+        // Assert
+        assertEquals(List.of(inserted), saved);
+        assertEquals("search-1", mapped.getCorrelationId());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> linked = ArgumentCaptor.forClass(Collection.class);
+        verify(paperBulkWriter).linkPapersToProject(eq(projectId), eq("search-1"), linked.capture());
+        assertEquals(Set.of(existing.getId(), inserted.getId()), Set.copyOf(linked.getValue()));
+    }
+
+    @Test
+    void savePapers_AllDuplicates_LinksWithoutInserting() {
+        // Arrange
+        UUID projectId = UUID.randomUUID();
+        PaperMetadataDto known = dto("Known paper");
+        Paper existing = Paper.builder().id(UUID.randomUUID()).build();
+        when(paperDeduplicationService.findExistingPapers(List.of(known))).thenReturn(Map.of(known, existing));
+
+        // Act
+        List<Paper> saved = paperPersistenceService.savePapers(List.of(known), "search-2", projectId);
+
+        // Assert
+        assertTrue(saved.isEmpty());
+        verify(paperBulkWriter, never()).insertPapers(anyList());
+        verify(paperBulkWriter).linkPapersToProject(projectId, "search-2", Set.of(existing.getId()));
+    }
+
+    @Test
+    void findPapersByProjectId_UsesSingleMembershipQuery() {
+        // Arrange
+        UUID projectId = UUID.randomUUID();
+        List<Paper> library = List.of(Paper.builder().id(UUID.randomUUID()).build());
+        when(projectPaperRepository.findPapersByProjectId(projectId)).thenReturn(library);
+
+        // Act & Assert
+        assertSame(library, paperPersistenceService.findPapersByProjectId(projectId));
+        verify(projectPaperRepository, times(1)).findPapersByProjectId(projectId);
+        verifyNoMoreInteractions(projectPaperRepository);
+    }
+
+    private static PaperMetadataDto dto(String title) {
+        return new PaperMetadataDto(
+                null,
+                title,
+                null,
+                List.of(),
+                null,
+                null,
+                null,
+                null,
+                "Semantic Scholar",
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null);
+    }
+}
@@ -0,0 +1,173 @@
+package dev.project.scholar_ai.service.websearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import dev.project.scholar_ai.dto.paper.metadata.PaperMetadataDto;
+import dev.project.scholar_ai.mapping.paper.PaperMapper;
+import dev.project.scholar_ai.model.paper.metadata.Author;
+import dev.project.scholar_ai.model.paper.metadata.ExternalId;
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import dev.project.scholar_ai.model.paper.metadata.PaperMetrics;
+import dev.project.scholar_ai.model.paper.metadata.PublicationVenue;
+import dev.project.scholar_ai.repository.paper.ProjectPaperRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Counts the SQL statements behind the library and search-result read paths
+ * with Hibernate statistics, on an H2 schema generated from the paper entities.
+ */
+class PaperReadPathStatisticsTest {
+
+    private static final int LIBRARY_SIZE = 500;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private PaperMapper paperMapper;
+    private ProjectPaperRepository projectPaperRepository;
+    private PaperPersistenceService paperPersistenceService;
+    private final UUID projectId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:read-path-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=VALUE",
+                "sa",
+                "");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("dev.project.scholar_ai.model.paper");
+        factory.setPersistenceUnitName("paper-read-path-test");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.generate_statistics", true));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Seed the library through the bulk ingest path
+        PaperBulkWriter writer = new PaperBulkWriter(new JdbcTemplate(dataSource), 250);
+        List<Paper> papers = writer.insertPapers(papers(LIBRARY_SIZE));
+        writer.linkPapersToProject(
+                projectId, "search-1", papers.stream().map(Paper::getId).toList());
+
+        entityManager = entityManagerFactory.createEntityManager();
+        projectPaperRepository = new JpaRepositoryFactory(entityManager).getRepository(ProjectPaperRepository.class);
+        paperMapper = Mappers.getMapper(PaperMapper.class);
+        paperPersistenceService = new PaperPersistenceService(
+                projectPaperRepository,
+                paperMapper,
+                mock(PaperDeduplicationService.class),
+                writer,
+                mock(PaperIdentifierIndex.class),
+                mock(PaperSimilarityIndex.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void findPaperDtosByProjectId_500PaperLibrary_UsesThreeStatements() {
+        // Arrange
+        statistics.clear();
+
+        // Act
+        List<PaperMetadataDto> library = paperPersistenceService.findPaperDtosByProjectId(projectId);
+
+        // Assert
+        assertEquals(LIBRARY_SIZE, library.size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "no entity may be initialized");
+        PaperMetadataDto first = library.get(0);
+        assertEquals(2, first.authors().size());
+        assertEquals(2, first.externalIds().size());
+        assertEquals("NeurIPS", first.venueName());
+        assertNotNull(first.citationCount());
+        assertEquals(List.of("Computer Science", "Mathematics"), first.fieldsOfStudy());
+    }
+
+    @Test
+    void findPaperDtosByCorrelationId_500PaperSearch_UsesThreeStatements() {
+        // Arrange
+        statistics.clear();
+
+        // Act
+        List<PaperMetadataDto> results = paperPersistenceService.findPaperDtosByCorrelationId("search-1");
+
+        // Assert
+        assertEquals(LIBRARY_SIZE, results.size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void projectionMatchesEntityMapping() {
+        // Arrange
+        List<PaperMetadataDto> projected = paperPersistenceService.findPaperDtosByProjectId(projectId);
+        statistics.clear();
+
+        // Act - the entity path this replaces
+        List<PaperMetadataDto> mapped = projectPaperRepository.findPapersByProjectId(projectId).stream()
+                .map(paperMapper::toDto)
+                .toList();
+        long entityPathStatements = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertEquals(mapped, projected);
+        assertTrue(
+                entityPathStatements > LIBRARY_SIZE,
+                "entity path issued " + entityPathStatements + " statements for " + LIBRARY_SIZE + " papers");
+    }
+
+    private static List<Paper> papers(int count) {
+        List<Paper> papers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Paper paper = Paper.builder()
+                    .correlationId("search-1")
+                    .title("Paper " + i)
+                    .abstractText("Abstract of paper " + i)
+                    .publicationDate(LocalDate.of(2024, 1, 1))
+                    .doi("10.1000/" + i)
+                    .semanticScholarId("ss-" + i)
+                    .source("Semantic Scholar")
+                    .isOpenAccess(true)
+                    .fieldsOfStudy("Computer Science,Mathematics")
+                    .build();
+            paper.addAuthor(Author.builder().name("Author A" + i).build());
+            paper.addAuthor(Author.builder().name("Author B" + i).build());
+            paper.addExternalId(
+                    ExternalId.builder().source("ArXiv").value("2401." + i).build());
+            paper.addExternalId(
+                    ExternalId.builder().source("DBLP").value("conf/x/" + i).build());
+            paper.setVenue(PublicationVenue.builder().venueName("NeurIPS").build());
+            paper.setMetrics(PaperMetrics.builder().citationCount(i).build());
+            papers.add(paper);
+        }
+        return papers;
+    }
+}
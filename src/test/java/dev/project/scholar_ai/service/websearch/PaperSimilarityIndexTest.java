@@ -0,0 +1,157 @@
+package dev.project.scholar_ai.service.websearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.project.scholar_ai.model.paper.metadata.Paper;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class PaperSimilarityIndexTest {
+
+    private static final String TITLE = "Attention Is All You Need";
+    private static final String ABSTRACT = "The dominant sequence transduction models are based on complex recurrent or"
+            + " convolutional neural networks that include an encoder and a decoder. The best performing models also"
+            + " connect the encoder and decoder through an attention mechanism. We propose a new simple network"
+            + " architecture, the Transformer, based solely on attention mechanisms, dispensing with recurrence and"
+            + " convolutions entirely.";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:similarity-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE papers (id UUID PRIMARY KEY, title VARCHAR(500), abstractText TEXT)");
+    }
+
+    @Test
+    void findNearDuplicate_PreprintWithReformattedText_MatchesPublishedVersion() {
+        // Arrange
+        UUID published = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO papers VALUES (?, ?, ?)", published, TITLE, ABSTRACT);
+        jdbcTemplate.update(
+                "INSERT INTO papers VALUES (?, ?, ?)",
+                UUID.randomUUID(),
+                "Graph Neural Networks: A Review of Methods and Applications",
+                "Lots of learning tasks require dealing with graph data which contains rich relation information"
+                        + " among elements. Modeling physics systems, learning molecular fingerprints and predicting"
+                        + " protein interface all require a model to learn from graph inputs.");
+        PaperSimilarityIndex index = index(0.8);
+        index.rebuild();
+
+        // Act - same paper as a preprint: different casing, punctuation and a trailing sentence
+        Optional<PaperSimilarityIndex.NearDuplicate> match = index.findNearDuplicate(
+                "ATTENTION is all you need!",
+                ABSTRACT.replace(",", " ").replace("Transformer", "TRANSFORMER") + " Code is available online.");
+
+        // Assert
+        assertTrue(match.isPresent());
+        assertEquals(published, match.get().paperId());
+        assertTrue(match.get().similarity() >= 0.8);
+    }
+
+    @Test
+    void findNearDuplicate_UnrelatedOrTooShortText_FindsNothing() {
+        // Arrange
+        PaperSimilarityIndex index = index(0.85);
+        index.rebuild();
+        index.addPapers(List.of(Paper.builder()
+                .id(UUID.randomUUID())
+                .title(TITLE)
+                .abstractText(ABSTRACT)
+                .build()));
+
+        // Act & Assert
+        assertTrue(index.findNearDuplicate(
+                        "Deep Residual Learning for Image Recognition",
+                        "Deeper neural networks are more difficult to train. We present a residual learning"
+                                + " framework to ease the training of networks that are substantially deeper.")
+                .isEmpty());
+        assertTrue(index.findNearDuplicate("Introduction", null).isEmpty());
+        assertTrue(index.findNearDuplicate(TITLE, ABSTRACT).isPresent());
+    }
+
+    @Test
+    void addPapersAfterCommit_RolledBack_LeavesNoEntry() {
+        // Arrange
+        PaperSimilarityIndex index = index(0.85);
+        index.rebuild();
+        Paper paper = Paper.builder()
+                .id(UUID.randomUUID())
+                .title(TITLE)
+                .abstractText(ABSTRACT)
+                .build();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            index.addPapersAfterCommit(List.of(paper));
+
+            // Assert - nothing is indexed before the commit, and a rollback never calls afterCommit
+            assertEquals(0, index.size());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization ->
+                            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertEquals(0, index.size());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void addPapersAfterCommit_Committed_IndexesPaper() {
+        // Arrange
+        PaperSimilarityIndex index = index(0.85);
+        index.rebuild();
+        UUID paperId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            index.addPapersAfterCommit(List.of(Paper.builder()
+                    .id(paperId)
+                    .title(TITLE)
+                    .abstractText(ABSTRACT)
+                    .build()));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            assertEquals(
+                    paperId,
+                    index.findNearDuplicate(TITLE, ABSTRACT).orElseThrow().paperId());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findNearDuplicate_Disabled_NeverMatches() {
+        // Arrange
+        PaperSimilarityIndex index = new PaperSimilarityIndex(jdbcTemplate, false, 0.85, 60, 12, 3, 8, 16);
+        index.addPapers(List.of(Paper.builder()
+                .id(UUID.randomUUID())
+                .title(TITLE)
+                .abstractText(ABSTRACT)
+                .build()));
+
+        // Act & Assert
+        assertFalse(index.isEnabled());
+        assertTrue(index.findNearDuplicate(TITLE, ABSTRACT).isEmpty());
+    }
+
+    @Test
+    void constructor_RejectsBandsThatDoNotDivideHashes() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new PaperSimilarityIndex(jdbcTemplate, true, 0.85, 60, 7, 3, 8, 16));
+    }
+
+    private PaperSimilarityIndex index(double threshold) {
+        return new PaperSimilarityIndex(jdbcTemplate, true, threshold, 60, 12, 3, 8, 16);
+    }
+}
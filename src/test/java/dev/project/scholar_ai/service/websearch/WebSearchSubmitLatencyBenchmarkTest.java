@@ -0,0 +1,269 @@
+package dev.project.scholar_ai.service.websearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import dev.project.scholar_ai.config.RabbitMQConfig;
+import dev.project.scholar_ai.dto.agent.request.WebSearchRequestDTO;
+import dev.project.scholar_ai.messaging.outbox.AgentRequestOutbox;
+import dev.project.scholar_ai.messaging.outbox.OutboxRelay;
+import dev.project.scholar_ai.messaging.publisher.RequestLanes;
+import dev.project.scholar_ai.messaging.publisher.WebSearchRequestSender;
+import dev.project.scholar_ai.model.core.project.Project;
+import dev.project.scholar_ai.repository.core.outbox.OutboxMessageRepository;
+import dev.project.scholar_ai.repository.core.project.ProjectCollaboratorRepository;
+import dev.project.scholar_ai.repository.core.project.ProjectRepository;
+import dev.project.scholar_ai.repository.core.websearch.WebSearchOperationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Latency of submitting a web search under concurrent load, publishing the
+ * agent request on the request thread (as before) and through the outbox.
+ *
+ * <p>The operation and outbox rows go to H2; the broker is simulated. Each
+ * publish costs {@code brokerMicros}, and every {@code stallEvery}-th publish
+ * blocks for {@code stallMillis}, as a publisher does while the broker applies
+ * flow control or a channel is re-established. The relay runs in the
+ * background during the outbox run and pays the same cost per message. For a
+ * longer run:
+ * {@code mvn test -Pbenchmark -Dtest=WebSearchSubmitLatencyBenchmarkTest -Dscholarai.benchmark.requests=400}
+ */
+@Slf4j
+@Tag("benchmark")
+class WebSearchSubmitLatencyBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("scholarai.benchmark.threads", 4);
+    private static final int REQUESTS_PER_THREAD = Integer.getInteger("scholarai.benchmark.requests", 100);
+    private static final int WARMUP_PER_THREAD = 10;
+    private static final long BROKER_MICROS = Long.getLong("scholarai.benchmark.brokerMicros", 1_000);
+    private static final int STALL_EVERY = Integer.getInteger("scholarai.benchmark.stallEvery", 50);
+    private static final long STALL_MILLIS = Long.getLong("scholarai.benchmark.stallMillis", 25);
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicLong publishes = new AtomicLong();
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private JpaTransactionManager transactionManager;
+    private TransactionTemplate transactionTemplate;
+    private OutboxMessageRepository outboxMessageRepository;
+    private WebSearchOperationRepository webSearchOperationRepository;
+    private RabbitTemplate rabbitTemplate;
+    private RabbitMQConfig rabbitMQConfig;
+
+    @BeforeEach
+    void setUp() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:submit-bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        dataSource.setMaximumPoolSize(THREADS + 2);
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(
+                "dev.project.scholar_ai.model.core.outbox", "dev.project.scholar_ai.model.core.websearch");
+        factory.setPersistenceUnitName("submit-bench");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop", "hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        outboxMessageRepository = repositories.getRepository(OutboxMessageRepository.class);
+        webSearchOperationRepository = repositories.getRepository(WebSearchOperationRepository.class);
+
+        rabbitTemplate = mock(RabbitTemplate.class);
+        doAnswer(call -> {
+                    publish();
+                    return null;
+                })
+                .when(rabbitTemplate)
+                .convertAndSend(anyString(), anyString(), any(Object.class));
+        when(rabbitTemplate.invoke(any())).thenAnswer(call -> {
+            // One channel for the batch; every message still pays the publish cost
+            return ((RabbitOperations.OperationsCallback<?>) call.getArgument(0)).doInRabbit(batchChannel());
+        });
+        rabbitMQConfig = mock(RabbitMQConfig.class);
+        when(rabbitMQConfig.getExchangeName()).thenReturn("scholarai.exchange");
+        when(rabbitMQConfig.getWebSearchRoutingKey()).thenReturn("scholarai.websearch");
+        when(rabbitMQConfig.getWebSearchQueue()).thenReturn("scholarai.websearch.queue");
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Test
+    void submitUnderLoad_ReportsP99WithAndWithoutRelay() throws Exception {
+        // Arrange
+        OutboxRelay directRelay = relay(false);
+        OutboxRelay backgroundRelay = relay(true);
+
+        WebSearchService directService = service(directRelay);
+        WebSearchService outboxService = service(backgroundRelay);
+        backgroundRelay.start();
+        long[] direct;
+        long[] outbox;
+        try {
+            run(directService, WARMUP_PER_THREAD);
+            run(outboxService, WARMUP_PER_THREAD);
+            awaitRelayed(backgroundRelay);
+
+            // Act
+            direct = run(directService, REQUESTS_PER_THREAD);
+            outbox = run(outboxService, REQUESTS_PER_THREAD);
+            awaitRelayed(backgroundRelay);
+        } finally {
+            backgroundRelay.stop();
+        }
+
+        // Assert
+        int total = THREADS * REQUESTS_PER_THREAD;
+        int warmup = THREADS * WARMUP_PER_THREAD;
+        assertEquals(2L * (total + warmup), webSearchOperationRepository.count());
+        assertEquals(total + warmup, outboxMessageRepository.count());
+        assertEquals(0, outboxMessageRepository.countByPublishedAtIsNull(), "relay published every request");
+        log.info(String.format(
+                "threads=%d requests=%d broker=%dus stall=%dms/%d | direct p50=%.2fms p99=%.2fms max=%.2fms"
+                        + " | outbox p50=%.2fms p99=%.2fms max=%.2fms",
+                THREADS,
+                total,
+                BROKER_MICROS,
+                STALL_MILLIS,
+                STALL_EVERY,
+                percentile(direct, 0.50),
+                percentile(direct, 0.99),
+                percentile(direct, 1.0),
+                percentile(outbox, 0.50),
+                percentile(outbox, 0.99),
+                percentile(outbox, 1.0)));
+    }
+
+    private void awaitRelayed(OutboxRelay relay) throws InterruptedException {
+        long deadline = System.nanoTime() + 60_000_000_000L;
+        while (outboxMessageRepository.countByPublishedAtIsNull() > 0 && System.nanoTime() < deadline) {
+            relay.wakeUp();
+            Thread.sleep(50);
+        }
+    }
+
+    private long[] run(WebSearchService service, int requestsPerThread) throws Exception {
+        long[] latencies = new long[THREADS * requestsPerThread];
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t * requestsPerThread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        WebSearchRequestDTO request =
+                                new WebSearchRequestDTO(projectId, List.of("retrieval", "rag"), "Computer Science", 10);
+                        long start = System.nanoTime();
+                        transactionTemplate.executeWithoutResult(status -> service.initiateWebSearch(request, userId));
+                        latencies[offset + i] = System.nanoTime() - start;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return latencies;
+    }
+
+    private WebSearchService service(OutboxRelay relay) {
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        when(projectRepository.findByIdAndUserId(projectId, userId)).thenReturn(Optional.of(new Project()));
+        AgentRequestOutbox outbox =
+                new AgentRequestOutbox(outboxMessageRepository, new Jackson2JsonMessageConverter(), relay);
+        return new WebSearchService(
+                new WebSearchRequestSender(
+                        rabbitTemplate,
+                        rabbitMQConfig,
+                        outbox,
+                        relay,
+                        new RequestLanes(rabbitMQConfig, new SimpleMeterRegistry())),
+                webSearchOperationRepository,
+                mock(PaperPersistenceService.class),
+                projectRepository,
+                mock(ProjectCollaboratorRepository.class),
+                new ObjectMapper());
+    }
+
+    private OutboxRelay relay(boolean enabled) {
+        return new OutboxRelay(
+                outboxMessageRepository,
+                rabbitTemplate,
+                transactionManager,
+                new SimpleMeterRegistry(),
+                enabled,
+                100,
+                1000,
+                5000,
+                24);
+    }
+
+    private RabbitOperations batchChannel() {
+        RabbitOperations channel = mock(RabbitOperations.class);
+        doAnswer(call -> {
+                    publish();
+                    return null;
+                })
+                .when(channel)
+                .send(anyString(), anyString(), any(Message.class));
+        return channel;
+    }
+
+    private void publish() throws InterruptedException {
+        long n = publishes.incrementAndGet();
+        if (n % STALL_EVERY == 0) {
+            Thread.sleep(STALL_MILLIS);
+        } else {
+            LockSupport.parkNanos(BROKER_MICROS * 1_000);
+        }
+    }
+
+    private static double percentile(long[] latencies, double p) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
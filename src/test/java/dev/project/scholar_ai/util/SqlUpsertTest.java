@@ -0,0 +1,99 @@
+package dev.project.scholar_ai.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class SqlUpsertTest {
+
+    private static final List<String> COLUMNS = List.of("summary_text", "updated_at", "paper_id", "created_at");
+
+    @Test
+    void upsert_OnH2_InsertsNewRowsAndUpdatesExistingOnesKeepingInsertOnlyColumns() {
+        // Arrange
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:upsert-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE generated_summaries (paper_id UUID PRIMARY KEY,"
+                + " summary_text TEXT NOT NULL, updated_at TIMESTAMP NOT NULL, created_at TIMESTAMP NOT NULL)");
+        SqlUpsert upsert =
+                new SqlUpsert(jdbcTemplate, "generated_summaries", "paper_id", COLUMNS, Set.of("created_at"));
+        UUID existing = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+        Timestamp created = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        upsert.upsert(List.<Object[]>of(new Object[] {"First", created, existing, created}));
+
+        // Act
+        upsert.upsert(List.of(new Object[] {"Second", now, existing, now}, new Object[] {"New", now, added, now}));
+
+        // Assert
+        Map<String, String> summaries = new HashMap<>();
+        jdbcTemplate.query("SELECT paper_id, summary_text FROM generated_summaries", rs -> {
+            summaries.put(rs.getString(1), rs.getString(2));
+        });
+        assertEquals(Map.of(existing.toString(), "Second", added.toString(), "New"), summaries);
+        assertEquals(
+                created,
+                jdbcTemplate.queryForObject(
+                        "SELECT created_at FROM generated_summaries WHERE paper_id = ?", Timestamp.class, existing));
+    }
+
+    @Test
+    void upsert_OnPostgres_UsesOnConflictAndLeavesInsertOnlyColumnsAlone() throws SQLException {
+        // Arrange
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(connection.getMetaData().getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation ->
+                        invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        SqlUpsert upsert =
+                new SqlUpsert(jdbcTemplate, "generated_summaries", "paper_id", COLUMNS, Set.of("created_at"));
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            rows.add(new Object[] {"Summary", null, UUID.randomUUID(), null});
+        }
+
+        // Act
+        upsert.upsert(rows);
+
+        // Assert - one statement per 500 rows
+        verify(jdbcTemplate)
+                .update(
+                        eq("INSERT INTO generated_summaries (summary_text, updated_at, paper_id, created_at) VALUES "
+                                + String.join(", ", Collections.nCopies(500, "(?, ?, ?, ?)"))
+                                + " ON CONFLICT (paper_id) DO UPDATE SET summary_text = EXCLUDED.summary_text,"
+                                + " updated_at = EXCLUDED.updated_at"),
+                        any(Object[].class));
+        verify(jdbcTemplate)
+                .update(
+                        eq("INSERT INTO generated_summaries (summary_text, updated_at, paper_id, created_at)"
+                                + " VALUES (?, ?, ?, ?) ON CONFLICT (paper_id) DO UPDATE SET"
+                                + " summary_text = EXCLUDED.summary_text, updated_at = EXCLUDED.updated_at"),
+                        any(Object[].class));
+        verify(jdbcTemplate, times(1)).execute(any(ConnectionCallback.class));
+    }
+
+    @Test
+    void constructor_KeyNotAmongColumns_Throws() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SqlUpsert(mock(JdbcTemplate.class), "t", "id", List.of("name"), Set.of()));
+    }
+}